@@ -2,10 +2,10 @@ package com.att.tdp.popcorn_palace;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableRetry
+@EnableScheduling
 public class PopcornPalaceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,24 @@
+package com.att.tdp.popcorn_palace.constants;
+
+public class BookingConstants {
+    public static final int MAX_SEATS_PER_BOOKING = 10;
+    public static final int BEST_AVAILABLE_CLAIM_ATTEMPTS = 3;
+    public static final int HOLD_DURATION_MINUTES = 10;
+    public static final long HOLD_EXPIRY_TICK_MILLIS = 1000;
+    public static final int HOLD_EXPIRY_WHEEL_LEVELS = 4;
+    public static final int BOOKING_SHARDS = 16;
+    public static final int BOOKING_SHARD_QUEUE_CAPACITY = 256;
+    public static final long GROUP_COMMIT_WINDOW_MILLIS = 2;
+    public static final int GROUP_COMMIT_MAX_BATCH_SIZE = 256;
+    public static final int GROUP_COMMIT_QUEUE_CAPACITY = 4096;
+    public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 255;
+    public static final int IDEMPOTENCY_CACHE_SIZE = 10_000;
+    public static final int IDEMPOTENCY_KEY_TTL_HOURS = 24;
+    public static final long IDEMPOTENCY_PURGE_INTERVAL_MILLIS = 60 * 60 * 1000;
+    public static final int ASYNC_BOOKING_QUEUE_CAPACITY = 10_000;
+    public static final int ASYNC_BOOKING_WORKERS = 4;
+    public static final int ASYNC_BOOKING_BATCH_SIZE = 64;
+    public static final int ASYNC_TICKET_TTL_MINUTES = 15;
+    public static final long ASYNC_TICKET_EXPIRY_TICK_MILLIS = 1000;
+    public static final int ASYNC_TICKET_EXPIRY_WHEEL_LEVELS = 3;
+}
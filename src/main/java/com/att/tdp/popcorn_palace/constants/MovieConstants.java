@@ -0,0 +1,13 @@
+package com.att.tdp.popcorn_palace.constants;
+
+public class MovieConstants {
+    public static final int MAX_TITLE_LENGTH = 255;
+    public static final int MAX_GENRE_LENGTH = 255;
+    public static final int DEFAULT_SEARCH_RESULTS = 10;
+    public static final int MAX_SEARCH_RESULTS = 50;
+    public static final int MAX_SEARCH_QUERY_LENGTH = 100;
+    public static final int IMPORT_BATCH_SIZE = 1_000;
+    public static final int MAX_IMPORT_ERRORS = 1_000;
+    public static final int MAX_IMPORT_LINE_LENGTH = 4_096;
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+}
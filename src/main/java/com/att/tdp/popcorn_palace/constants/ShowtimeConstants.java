@@ -0,0 +1,12 @@
+package com.att.tdp.popcorn_palace.constants;
+
+public class ShowtimeConstants {
+    public static final int MAX_SHOWTIMES_PER_IMPORT = 20_000;
+    public static final int IMPORT_BATCH_SIZE = 1_000;
+    public static final int DELETE_BATCH_SIZE = 1_000;
+    public static final int SHOW_SEAT_RETENTION_DAYS = 7;
+    public static final int SHOWTIME_RETENTION_DAYS = 365;
+    public static final String RETENTION_CRON = "0 0 4 * * *";
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+}
@@ -3,4 +3,5 @@ package com.att.tdp.popcorn_palace.constants;
 public class TheaterConstants {
     public static final int DEFAULT_SEATS = 100;
     public static final int MAX_THEATERS = 500;
+    public static final int SEAT_INSERT_BATCH_SIZE = 1_000;
 }
@@ -1,27 +1,71 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.AsyncBookingStatusDTO;
+import com.att.tdp.popcorn_palace.dto.BestAvailableBookingDTO;
+import com.att.tdp.popcorn_palace.dto.BestAvailableBookingResponseDTO;
 import com.att.tdp.popcorn_palace.dto.BookingDTO;
 import com.att.tdp.popcorn_palace.dto.BookingResponseDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingResponseDTO;
+import com.att.tdp.popcorn_palace.service.AsyncBookingService;
 import com.att.tdp.popcorn_palace.service.BookingService;
+import com.att.tdp.popcorn_palace.service.IdempotencyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
+import java.net.URI;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/bookings")
 public class BookingController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final BookingService bookingService;
+    private final IdempotencyService idempotencyService;
+    private final AsyncBookingService asyncBookingService;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, IdempotencyService idempotencyService, AsyncBookingService asyncBookingService) {
         this.bookingService = bookingService;
+        this.idempotencyService = idempotencyService;
+        this.asyncBookingService = asyncBookingService;
     }
 
     @PostMapping
-    public ResponseEntity<BookingResponseDTO> bookTicket(@Valid @RequestBody BookingDTO bookingDTO) {
-        BookingResponseDTO bookingResponse = bookingService.bookTicket(bookingDTO);
+    public ResponseEntity<BookingResponseDTO> bookTicket(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody BookingDTO bookingDTO) {
+        BookingResponseDTO bookingResponse = idempotencyKey == null
+                ? bookingService.bookTicket(bookingDTO)
+                : idempotencyService.bookTicket(idempotencyKey, bookingDTO, () -> bookingService.bookTicket(bookingDTO));
+        return ResponseEntity.ok(bookingResponse);
+    }
+
+    @PostMapping("/group")
+    public ResponseEntity<GroupBookingResponseDTO> bookTickets(@Valid @RequestBody GroupBookingDTO groupBookingDTO) {
+        GroupBookingResponseDTO bookingResponse = bookingService.bookTickets(groupBookingDTO);
         return ResponseEntity.ok(bookingResponse);
     }
+
+    @PostMapping("/best-available")
+    public ResponseEntity<BestAvailableBookingResponseDTO> bookBestAvailable(@Valid @RequestBody BestAvailableBookingDTO bestAvailableDTO) {
+        BestAvailableBookingResponseDTO bookingResponse = bookingService.bookBestAvailable(bestAvailableDTO);
+        return ResponseEntity.ok(bookingResponse);
+    }
+
+    @PostMapping("/async")
+    public ResponseEntity<AsyncBookingStatusDTO> submitBooking(@Valid @RequestBody BookingDTO bookingDTO) {
+        AsyncBookingStatusDTO ticket = asyncBookingService.submit(bookingDTO);
+        return ResponseEntity.accepted()
+                .location(URI.create("/bookings/async/" + ticket.getTicketId()))
+                .body(ticket);
+    }
+
+    @GetMapping("/async/{ticketId}")
+    public ResponseEntity<AsyncBookingStatusDTO> getBookingStatus(@PathVariable UUID ticketId) {
+        return ResponseEntity.ok(asyncBookingService.getStatus(ticketId));
+    }
 }
@@ -1,12 +1,21 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.constants.MovieConstants;
 import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.MovieImportResultDTO;
+import com.att.tdp.popcorn_palace.service.MovieCatalogCache.MovieCatalog;
+import com.att.tdp.popcorn_palace.service.MovieImportReader.Format;
 import com.att.tdp.popcorn_palace.service.MovieService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -20,10 +29,26 @@ public class MovieController {
         this.movieService = movieService;
     }
 
+    /**
+     * Serves the pre-serialized catalog; a request whose If-None-Match holds the current ETag gets 304 without a body
+     */
     @GetMapping("/all")
-    public ResponseEntity<List<MovieDTO>> getAllMovies() {
-        List<MovieDTO> movies = movieService.getAllMovies();
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<byte[]> getAllMovies(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        MovieCatalog catalog = movieService.getMovieCatalog();
+        if (catalog.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalog.eTag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(catalog.eTag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalog.json());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<MovieDTO>> searchMovies(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(movieService.searchMovies(query, limit));
     }
 
     @PostMapping
@@ -32,6 +57,19 @@ public class MovieController {
         return ResponseEntity.ok(createdMovie);
     }
 
+    /**
+     * Streams an NDJSON (one movie per line) or CSV upload into the catalog without buffering it
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<MovieImportResultDTO> importMoviesFromNdjson(InputStream upload) throws IOException {
+        return ResponseEntity.ok(movieService.importMovies(upload, Format.NDJSON));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MovieConstants.CSV_MEDIA_TYPE)
+    public ResponseEntity<MovieImportResultDTO> importMoviesFromCsv(InputStream upload) throws IOException {
+        return ResponseEntity.ok(movieService.importMovies(upload, Format.CSV));
+    }
+
     @PutMapping("/update/{title}")
     public ResponseEntity<MovieDTO> updateMovie(@PathVariable String title, @Valid @RequestBody MovieDTO movieDTO) {
         MovieDTO updatedMovie = movieService.updateMovie(title, movieDTO);
@@ -0,0 +1,43 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.dto.GroupBookingDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingResponseDTO;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponseDTO;
+import com.att.tdp.popcorn_palace.service.SeatHoldService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/bookings/holds")
+public class SeatHoldController {
+
+    private final SeatHoldService seatHoldService;
+
+    @Autowired
+    public SeatHoldController(SeatHoldService seatHoldService) {
+        this.seatHoldService = seatHoldService;
+    }
+
+    @PostMapping
+    public ResponseEntity<SeatHoldResponseDTO> holdSeats(@Valid @RequestBody GroupBookingDTO holdDTO) {
+        SeatHoldResponseDTO seatHold = seatHoldService.holdSeats(holdDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(seatHold);
+    }
+
+    @PostMapping("/{holdId}/confirm")
+    public ResponseEntity<GroupBookingResponseDTO> confirmHold(@PathVariable UUID holdId) {
+        GroupBookingResponseDTO bookingResponse = seatHoldService.confirmHold(holdId);
+        return ResponseEntity.ok(bookingResponse);
+    }
+
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable UUID holdId) {
+        seatHoldService.releaseHold(holdId);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -1,12 +1,16 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.ShowtimeAvailabilityDTO;
 import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimePageDTO;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -26,18 +30,42 @@ public class ShowtimeController {
         return ResponseEntity.ok(showtime);
     }
 
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<ShowtimeAvailabilityDTO> getAvailability(@PathVariable Long id) {
+        ShowtimeAvailabilityDTO availability = showtimeService.getAvailability(id);
+        return ResponseEntity.ok(availability);
+    }
+
     @GetMapping("/all")
     public ResponseEntity<List<ShowtimeDTO>> getAllShowtimes() {
         List<ShowtimeDTO> showtimes = showtimeService.getAllShowtimes();
         return ResponseEntity.ok(showtimes);
     }
 
+    @GetMapping
+    public ResponseEntity<ShowtimePageDTO> getShowtimes(
+            @RequestParam(required = false) Long movieId,
+            @RequestParam(required = false) String theater,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        ShowtimePageDTO page = showtimeService.getShowtimes(movieId, theater, from, to, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @PostMapping
     public ResponseEntity<ShowtimeDTO> addShowtime(@Valid @RequestBody ShowtimeDTO showtimeDTO) {
         ShowtimeDTO createdShowtime = showtimeService.addShowtime(showtimeDTO);
         return ResponseEntity.ok(createdShowtime);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ShowtimeDTO>> addShowtimes(@RequestBody List<ShowtimeDTO> showtimeDTOs) {
+        List<ShowtimeDTO> createdShowtimes = showtimeService.addShowtimes(showtimeDTOs);
+        return ResponseEntity.ok(createdShowtimes);
+    }
+
     @PutMapping("/update/{id}")
     public ResponseEntity<ShowtimeDTO> updateShowtime(@PathVariable Long id, @Valid @RequestBody ShowtimeDTO showtimeDTO) {
         ShowtimeDTO updatedShowtime = showtimeService.updateShowtime(id, showtimeDTO);
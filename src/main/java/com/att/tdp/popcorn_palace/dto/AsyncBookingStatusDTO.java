@@ -0,0 +1,23 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AsyncBookingStatusDTO {
+
+    public enum Status {
+        PENDING,
+        CONFIRMED,
+        FAILED
+    }
+
+    private UUID ticketId;
+    private Status status;
+    private UUID bookingId;
+    private String message;
+}
@@ -0,0 +1,24 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import com.att.tdp.popcorn_palace.constants.BookingConstants;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import javax.validation.constraints.*;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BestAvailableBookingDTO {
+    @NotNull(message = "Showtime ID is required")
+    private Long showtimeId;
+
+    @NotNull(message = "Number of seats is required")
+    @Positive(message = "Number of seats must be greater than 0")
+    @Max(value = BookingConstants.MAX_SEATS_PER_BOOKING, message = "Too many seats in one booking")
+    private Integer numberOfSeats;
+
+    @NotNull(message = "User ID is required")
+    private UUID userId;
+}
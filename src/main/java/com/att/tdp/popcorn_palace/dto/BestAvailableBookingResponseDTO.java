@@ -0,0 +1,15 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BestAvailableBookingResponseDTO {
+    private List<UUID> bookingIds;
+    private List<Integer> seatNumbers;
+}
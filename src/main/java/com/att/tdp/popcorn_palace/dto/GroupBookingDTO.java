@@ -0,0 +1,24 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import com.att.tdp.popcorn_palace.constants.BookingConstants;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import javax.validation.constraints.*;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupBookingDTO {
+    @NotNull(message = "Showtime ID is required")
+    private Long showtimeId;
+
+    @NotEmpty(message = "At least one seat number is required")
+    @Size(max = BookingConstants.MAX_SEATS_PER_BOOKING, message = "Too many seats in one booking")
+    private List<@Positive(message = "Seat number must be greater than 0") Integer> seatNumbers;
+
+    @NotNull(message = "User ID is required")
+    private UUID userId;
+}
@@ -0,0 +1,14 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupBookingResponseDTO {
+    private List<UUID> bookingIds;
+}
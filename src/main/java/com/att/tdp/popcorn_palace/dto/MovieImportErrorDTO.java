@@ -0,0 +1,15 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieImportErrorDTO {
+    // Line of the upload, starting at 1 (the header line for CSV)
+    private long line;
+    private String title;
+    private String message;
+}
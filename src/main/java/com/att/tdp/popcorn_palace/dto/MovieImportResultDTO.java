@@ -0,0 +1,18 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieImportResultDTO {
+    private int imported;
+    private int failed;
+    // The first failed rows only - see MovieConstants.MAX_IMPORT_ERRORS
+    private List<MovieImportErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldResponseDTO {
+    private UUID holdId;
+    private Long showtimeId;
+    private List<Integer> seatNumbers;
+    private LocalDateTime expiresAt;
+}
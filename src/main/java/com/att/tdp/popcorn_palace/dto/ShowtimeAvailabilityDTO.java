@@ -0,0 +1,14 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowtimeAvailabilityDTO {
+    private Long showtimeId;
+    private Integer totalSeats;
+    private Integer remainingSeats;
+}
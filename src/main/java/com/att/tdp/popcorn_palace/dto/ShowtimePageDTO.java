@@ -0,0 +1,16 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowtimePageDTO {
+    private List<ShowtimeDTO> showtimes;
+    // Pass as cursor to get the next page, null on the last page
+    private String nextCursor;
+}
@@ -7,7 +7,8 @@ import lombok.NoArgsConstructor;
 import java.util.UUID;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", uniqueConstraints = @UniqueConstraint(
+        name = "uk_bookings_showtime_seat", columnNames = {"showtime_id", "seat_number"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
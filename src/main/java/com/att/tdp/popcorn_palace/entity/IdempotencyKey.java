@@ -0,0 +1,29 @@
+package com.att.tdp.popcorn_palace.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    @Column(name = "request_fingerprint", nullable = false)
+    private String requestFingerprint;
+
+    @Column(name = "booking_id", nullable = false)
+    private UUID bookingId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
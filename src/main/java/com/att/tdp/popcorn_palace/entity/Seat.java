@@ -6,7 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "seats")
+@Table(name = "seats", indexes = @Index(name = "idx_seats_theater_number", columnList = "theater_id, number"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -4,9 +4,13 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
-@Table(name = "show_seats")
+@Table(name = "show_seats", indexes = {
+        @Index(name = "idx_show_seats_hold_id", columnList = "hold_id"),
+        @Index(name = "idx_show_seats_showtime_seat", columnList = "showtime_id, seat_id")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,4 +28,18 @@ public class ShowSeat {
     
     @Column(name = "is_available", nullable = false)
     private Boolean isAvailable = true;
+
+    // Set while the seat is temporarily held for a user, before the booking is confirmed
+    @Column(name = "hold_id")
+    private UUID holdId;
+
+    @Column(name = "held_until")
+    private LocalDateTime heldUntil;
+
+    public ShowSeat(Long id, Long showtimeId, Long seatId, Boolean isAvailable) {
+        this.id = id;
+        this.showtimeId = showtimeId;
+        this.seatId = seatId;
+        this.isAvailable = isAvailable;
+    }
 }
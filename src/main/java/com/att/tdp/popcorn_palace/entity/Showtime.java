@@ -7,7 +7,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "showtimes")
+@Table(name = "showtimes", indexes = {
+        @Index(name = "idx_showtimes_end_time", columnList = "end_time"),
+        @Index(name = "idx_showtimes_start_time_id", columnList = "start_time, id"),
+        @Index(name = "idx_showtimes_theater_start_time", columnList = "theater_id, start_time")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,8 +26,8 @@ public class Showtime {
     @Column(name = "movie_id", nullable = false)
     private Long movieId;
     
-    @Column(nullable = false)
-    private String theater;
+    @Column(name = "theater_id", nullable = false)
+    private Long theaterId;
     
     @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
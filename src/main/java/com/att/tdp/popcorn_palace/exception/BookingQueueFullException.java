@@ -0,0 +1,8 @@
+package com.att.tdp.popcorn_palace.exception;
+
+// Booking Queue Full Exception - the showtime's booking shard cannot accept more requests right now
+public class BookingQueueFullException extends RuntimeException {
+    public BookingQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.att.tdp.popcorn_palace.exception;
+
+// Idempotency Key Reused Exception - the key was already used for a different request
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.att.tdp.popcorn_palace.exception;
+
+// Showtime Ended Exception - the showtime is over, its seats can no longer be booked or held
+public class ShowtimeEndedException extends RuntimeException {
+    public ShowtimeEndedException(String message) {
+        super(message);
+    }
+}
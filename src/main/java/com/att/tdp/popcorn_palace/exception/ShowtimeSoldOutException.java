@@ -0,0 +1,8 @@
+package com.att.tdp.popcorn_palace.exception;
+
+// Showtime Sold Out Exception - the showtime has fewer free seats than the booking asks for
+public class ShowtimeSoldOutException extends RuntimeException {
+    public ShowtimeSoldOutException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,28 @@
 package com.att.tdp.popcorn_palace.repository;
 
 import com.att.tdp.popcorn_palace.entity.Booking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
-    boolean existsByShowtimeIdAndSeatNumber(Long showtimeId, Integer seatNumber);
     void deleteByShowtimeId(Long showtimeId);
+
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.showtimeId IN :showtimeIds")
+    int deleteByShowtimeIdIn(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+    @Query("SELECT b.seatNumber FROM Booking b WHERE b.showtimeId = :showtimeId")
+    List<Integer> findSeatNumbersByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    @Query("SELECT DISTINCT b.showtimeId FROM Booking b WHERE NOT EXISTS (SELECT 1 FROM Showtime s WHERE s.id = b.showtimeId)")
+    List<Long> findShowtimeIdsWithoutShowtime(Pageable pageable);
 }
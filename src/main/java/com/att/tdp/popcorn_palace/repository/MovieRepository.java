@@ -2,12 +2,17 @@ package com.att.tdp.popcorn_palace.repository;
 
 import com.att.tdp.popcorn_palace.entity.Movie;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+public interface MovieRepository extends JpaRepository<Movie, Long>, MovieRepositoryCustom {
     Optional<Movie> findByTitle(String title);
     void deleteByTitle(String title);
+
+    @Query("SELECT m.title FROM Movie m")
+    List<String> findAllTitles();
 }
@@ -0,0 +1,14 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.entity.Movie;
+
+import java.util.List;
+
+public interface MovieRepositoryCustom {
+
+    /**
+     * Inserts new movies with one JDBC batch rather than one statement per movie,
+     * and sets the generated id on each of them
+     */
+    void insertAll(List<Movie> movies);
+}
@@ -0,0 +1,57 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.entity.Movie;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Movie ids come from an identity column, which keeps Hibernate from batching their inserts -
+ * bulk inserts go through JDBC instead
+ */
+public class MovieRepositoryImpl implements MovieRepositoryCustom {
+
+    private static final String INSERT_MOVIE =
+            "INSERT INTO movies (title, genre, duration, rating, release_year) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public MovieRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Movie> movies) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_MOVIE, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Movie movie = movies.get(i);
+                        statement.setString(1, movie.getTitle());
+                        statement.setString(2, movie.getGenre());
+                        statement.setInt(3, movie.getDuration());
+                        statement.setDouble(4, movie.getRating());
+                        statement.setInt(5, movie.getReleaseYear());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return movies.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < movies.size(); i++) {
+            movies.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+}
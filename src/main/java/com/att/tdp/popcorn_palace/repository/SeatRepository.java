@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SeatRepository extends JpaRepository<Seat, Long> {
+public interface SeatRepository extends JpaRepository<Seat, Long>, SeatRepositoryCustom {
     List<Seat> findByTheaterId(Long theaterId);
     
     @Query("SELECT s FROM Seat s WHERE s.theaterId = :theaterId AND s.number = :seatNumber")
@@ -0,0 +1,10 @@
+package com.att.tdp.popcorn_palace.repository;
+
+public interface SeatRepositoryCustom {
+
+    /**
+     * Inserts the seats numbered 1 to numberOfSeats of a theater with JDBC batches rather than one statement per seat
+     * @return number of seats inserted
+     */
+    int insertSeats(Long theaterId, int numberOfSeats);
+}
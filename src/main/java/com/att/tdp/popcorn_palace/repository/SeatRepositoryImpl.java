@@ -0,0 +1,48 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.constants.TheaterConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Seat ids come from an identity column, which keeps Hibernate from batching their inserts -
+ * a theater's seats are inserted through JDBC instead
+ */
+public class SeatRepositoryImpl implements SeatRepositoryCustom {
+
+    private static final String INSERT_SEAT = "INSERT INTO seats (theater_id, number) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SeatRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertSeats(Long theaterId, int numberOfSeats) {
+        int inserted = 0;
+        for (int from = 1; from <= numberOfSeats; from += TheaterConstants.SEAT_INSERT_BATCH_SIZE) {
+            int first = from;
+            int batchSize = Math.min(TheaterConstants.SEAT_INSERT_BATCH_SIZE, numberOfSeats - from + 1);
+            jdbcTemplate.batchUpdate(INSERT_SEAT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    statement.setLong(1, theaterId);
+                    statement.setInt(2, first + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batchSize;
+                }
+            });
+            inserted += batchSize;
+        }
+        return inserted;
+    }
+}
@@ -2,22 +2,87 @@ package com.att.tdp.popcorn_palace.repository;
 
 import com.att.tdp.popcorn_palace.entity.ShowSeat;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Repository
 public interface ShowSeatRepository extends JpaRepository<ShowSeat, Long> {
-    Optional<ShowSeat> findByShowtimeIdAndSeatId(Long showtimeId, Long seatId);
     List<ShowSeat> findByShowtimeId(Long showtimeId);
     void deleteByShowtimeId(Long showtimeId);
+
+    @Modifying
+    @Query("DELETE FROM ShowSeat ss WHERE ss.showtimeId IN :showtimeIds")
+    int deleteByShowtimeIdIn(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+    @Query("SELECT s.number FROM ShowSeat ss JOIN Seat s ON s.id = ss.seatId " +
+           "WHERE ss.showtimeId = :showtimeId AND ss.isAvailable = false")
+    List<Integer> findUnavailableSeatNumbers(@Param("showtimeId") Long showtimeId);
+
+    @Query("SELECT DISTINCT ss.showtimeId FROM ShowSeat ss WHERE NOT EXISTS (SELECT 1 FROM Showtime s WHERE s.id = ss.showtimeId)")
+    List<Long> findShowtimeIdsWithoutShowtime(Pageable pageable);
     
+    /**
+     * Creates an available show seat for every seat of a theater in one set-based statement
+     * @return number of show seats created
+     */
+    @Modifying
+    @Query(value = "INSERT INTO show_seats (showtime_id, seat_id, is_available) " +
+                   "SELECT :showtimeId, s.id, true FROM seats s WHERE s.theater_id = :theaterId", nativeQuery = true)
+    int insertShowSeatsForTheater(@Param("showtimeId") Long showtimeId, @Param("theaterId") Long theaterId);
+
+    /**
+     * Creates the available show seats of several showtimes of one theater in one set-based statement
+     * @return number of show seats created
+     */
+    @Modifying
+    @Query(value = "INSERT INTO show_seats (showtime_id, seat_id, is_available) " +
+                   "SELECT st.id, s.id, true FROM seats s JOIN showtimes st ON st.id IN (:showtimeIds) " +
+                   "WHERE s.theater_id = :theaterId", nativeQuery = true)
+    int insertShowSeatsForShowtimes(@Param("showtimeIds") Collection<Long> showtimeIds, @Param("theaterId") Long theaterId);
+
+    /**
+     * Flips a show seat from available to unavailable in a single conditional statement
+     * @return 1 if this call claimed the seat, 0 if it was already taken (or does not exist)
+     */
+    @Modifying
+    @Query(value = "UPDATE show_seats SET is_available = false " +
+                   "WHERE showtime_id = :showtimeId AND seat_id = :seatId AND is_available = true", nativeQuery = true)
+    int claimSeat(@Param("showtimeId") Long showtimeId, @Param("seatId") Long seatId);
+
+    /**
+     * Holds an available show seat for a hold, in a single conditional statement
+     * @return 1 if this call held the seat, 0 if it was already taken
+     */
+    @Modifying
+    @Query(value = "UPDATE show_seats SET is_available = false, hold_id = :holdId, held_until = :heldUntil " +
+                   "WHERE showtime_id = :showtimeId AND seat_id = :seatId AND is_available = true", nativeQuery = true)
+    int holdSeat(@Param("showtimeId") Long showtimeId, @Param("seatId") Long seatId,
+                 @Param("holdId") UUID holdId, @Param("heldUntil") LocalDateTime heldUntil);
+
+    /**
+     * Turns the seats of a hold into regular reserved seats
+     * @return number of seats that were still held
+     */
+    @Modifying
+    @Query(value = "UPDATE show_seats SET hold_id = NULL, held_until = NULL WHERE hold_id = :holdId", nativeQuery = true)
+    int confirmHold(@Param("holdId") UUID holdId);
+
+    @Modifying
+    @Query(value = "UPDATE show_seats SET is_available = true, hold_id = NULL, held_until = NULL " +
+                   "WHERE hold_id IN (:holdIds)", nativeQuery = true)
+    int releaseHolds(@Param("holdIds") Collection<UUID> holdIds);
+
     @Modifying
-    @Query(value = "UPDATE show_seats SET id = id WHERE showtime_id = :showtimeId AND seat_id = :seatId", nativeQuery = true)
-    void lockRow(@Param("showtimeId") Long showtimeId, @Param("seatId") Long seatId);
+    @Query(value = "UPDATE show_seats SET is_available = true, hold_id = NULL, held_until = NULL " +
+                   "WHERE hold_id IS NOT NULL", nativeQuery = true)
+    int releaseAllHolds();
 }
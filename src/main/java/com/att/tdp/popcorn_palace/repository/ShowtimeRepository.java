@@ -1,6 +1,7 @@
 package com.att.tdp.popcorn_palace.repository;
 
 import com.att.tdp.popcorn_palace.entity.Showtime;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,16 +11,27 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
+public interface ShowtimeRepository extends JpaRepository<Showtime, Long>, ShowtimeRepositoryCustom {
     
-    @Query("SELECT s FROM Showtime s WHERE s.theater = :theater AND " +
+    @Query("SELECT s FROM Showtime s WHERE s.theaterId = :theaterId AND " +
            "((s.startTime <= :endTime AND s.endTime >= :startTime) OR " +
            "(s.startTime >= :startTime AND s.startTime < :endTime) OR " +
            "(s.endTime > :startTime AND s.endTime <= :endTime))")
     List<Showtime> findByTheaterAndTimeRange(
-            @Param("theater") String theater,
+            @Param("theaterId") Long theaterId,
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime);
 
     List<Showtime> findByMovieId(Long movieId);
+
+    List<Showtime> findByTheaterId(Long theaterId);
+
+    List<Showtime> findByEndTimeBeforeOrderById(LocalDateTime endTime, Pageable pageable);
+
+    @Query("SELECT s.id FROM Showtime s WHERE s.endTime >= :endedFrom AND s.endTime < :endedBefore AND s.id > :afterId ORDER BY s.id")
+    List<Long> findIdsByEndTimeBetween(
+            @Param("endedFrom") LocalDateTime endedFrom,
+            @Param("endedBefore") LocalDateTime endedBefore,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
 }
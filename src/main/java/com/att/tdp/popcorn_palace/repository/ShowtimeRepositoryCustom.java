@@ -0,0 +1,25 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.entity.Showtime;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ShowtimeRepositoryCustom {
+
+    /**
+     * Inserts new showtimes with JDBC batches rather than one statement per showtime,
+     * and sets the generated id on each of them
+     */
+    void insertAll(List<Showtime> showtimes);
+
+    /**
+     * One page of showtimes ordered by start time and id. Every filter may be null.
+     * @param from only showtimes starting at or after this time
+     * @param to only showtimes starting before this time
+     * @param afterStartTime start time of the last showtime of the previous page, null for the first page
+     * @param afterId id of the last showtime of the previous page, null for the first page
+     */
+    List<Showtime> findPage(Long movieId, Long theaterId, LocalDateTime from, LocalDateTime to,
+                            LocalDateTime afterStartTime, Long afterId, int limit);
+}
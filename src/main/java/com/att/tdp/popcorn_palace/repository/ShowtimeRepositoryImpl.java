@@ -0,0 +1,110 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.constants.ShowtimeConstants;
+import com.att.tdp.popcorn_palace.entity.Showtime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Showtime ids come from an identity column, which keeps Hibernate from batching their inserts -
+ * bulk inserts go through JDBC instead
+ */
+public class ShowtimeRepositoryImpl implements ShowtimeRepositoryCustom {
+
+    private static final String INSERT_SHOWTIME =
+            "INSERT INTO showtimes (price, movie_id, theater_id, start_time, end_time) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SHOWTIMES =
+            "SELECT id, price, movie_id, theater_id, start_time, end_time FROM showtimes WHERE 1 = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ShowtimeRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Showtime> showtimes) {
+        for (int from = 0; from < showtimes.size(); from += ShowtimeConstants.IMPORT_BATCH_SIZE) {
+            List<Showtime> batch = showtimes.subList(from, Math.min(from + ShowtimeConstants.IMPORT_BATCH_SIZE, showtimes.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SHOWTIME, new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            Showtime showtime = batch.get(i);
+                            statement.setDouble(1, showtime.getPrice());
+                            statement.setLong(2, showtime.getMovieId());
+                            statement.setLong(3, showtime.getTheaterId());
+                            statement.setTimestamp(4, Timestamp.valueOf(showtime.getStartTime()));
+                            statement.setTimestamp(5, Timestamp.valueOf(showtime.getEndTime()));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            }
+        }
+    }
+
+    /**
+     * Keyset pagination - the next page starts after the last (start_time, id) seen, so a page costs the same
+     * for any page number and reads only its own rows through idx_showtimes_start_time_id
+     */
+    @Override
+    public List<Showtime> findPage(Long movieId, Long theaterId, LocalDateTime from, LocalDateTime to,
+                                   LocalDateTime afterStartTime, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SHOWTIMES);
+        List<Object> parameters = new ArrayList<>();
+        if (movieId != null) {
+            sql.append(" AND movie_id = ?");
+            parameters.add(movieId);
+        }
+        if (theaterId != null) {
+            sql.append(" AND theater_id = ?");
+            parameters.add(theaterId);
+        }
+        if (from != null) {
+            sql.append(" AND start_time >= ?");
+            parameters.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND start_time < ?");
+            parameters.add(Timestamp.valueOf(to));
+        }
+        if (afterStartTime != null && afterId != null) {
+            sql.append(" AND (start_time > ? OR (start_time = ? AND id > ?))");
+            parameters.add(Timestamp.valueOf(afterStartTime));
+            parameters.add(Timestamp.valueOf(afterStartTime));
+            parameters.add(afterId);
+        }
+        sql.append(" ORDER BY start_time, id LIMIT ?");
+        parameters.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (resultSet, rowNum) -> new Showtime(
+                resultSet.getLong("id"),
+                resultSet.getDouble("price"),
+                resultSet.getLong("movie_id"),
+                resultSet.getLong("theater_id"),
+                resultSet.getTimestamp("start_time").toLocalDateTime(),
+                resultSet.getTimestamp("end_time").toLocalDateTime()), parameters.toArray());
+    }
+}
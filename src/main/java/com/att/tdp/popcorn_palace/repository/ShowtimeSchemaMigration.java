@@ -0,0 +1,78 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Migrates a showtimes table created while showtimes referenced their theater by name: fills {@code theater_id} from
+ * the theater names and drops the {@code theater} column. Runs at startup before Hibernate updates the schema, and does
+ * nothing on a database that is new or already migrated.
+ */
+@Component
+public class ShowtimeSchemaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(ShowtimeSchemaMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ShowtimeSchemaMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // The JPA transaction manager needs the entity manager factory, which must wait for this migration
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * @throws IllegalStateException if a showtime references a theater name that does not exist - nothing is changed then
+     */
+    @PostConstruct
+    public void migrate() {
+        if (!hasTheaterNameColumn()) {
+            return;
+        }
+        int migrated = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("ALTER TABLE showtimes ADD COLUMN IF NOT EXISTS theater_id BIGINT");
+            int updated = jdbcTemplate.update("UPDATE showtimes SET theater_id = "
+                    + "(SELECT t.id FROM theaters t WHERE t.name = showtimes.theater) WHERE theater_id IS NULL");
+            Integer unresolved = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM showtimes WHERE theater_id IS NULL", Integer.class);
+            if (unresolved != null && unresolved > 0) {
+                throw new IllegalStateException(unresolved + " showtimes reference a theater that does not exist, "
+                        + "the showtimes table cannot be migrated to theater ids");
+            }
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_showtimes_theater_start_time");
+            jdbcTemplate.execute("ALTER TABLE showtimes ALTER COLUMN theater_id SET NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE showtimes DROP COLUMN theater");
+            return updated;
+        });
+        log.info("Migrated {} showtimes from theater names to theater ids", migrated);
+    }
+
+    private boolean hasTheaterNameColumn() {
+        Integer columns = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE LOWER(table_name) = 'showtimes' AND LOWER(column_name) = 'theater' "
+                + "AND table_schema = CURRENT_SCHEMA", Integer.class);
+        return columns != null && columns > 0;
+    }
+
+    /**
+     * Makes the entity manager factory wait for the migration, so Hibernate never sees the old column
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnMigration extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnMigration() {
+            super(ShowtimeSchemaMigration.class);
+        }
+    }
+}
@@ -2,11 +2,18 @@ package com.att.tdp.popcorn_palace.repository;
 
 import com.att.tdp.popcorn_palace.entity.Theater;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TheaterRepository extends JpaRepository<Theater, Long> {
     Optional<Theater> findByName(String name);
+    List<Theater> findByNameIn(Collection<String> names);
+
+    @Query("SELECT t.name FROM Theater t")
+    List<String> findAllNames();
 }
@@ -0,0 +1,215 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.BookingConstants;
+import com.att.tdp.popcorn_palace.dto.AsyncBookingStatusDTO;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.BookingResponseDTO;
+import com.att.tdp.popcorn_palace.exception.BookingQueueFullException;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.exception.ShowtimeEndedException;
+import com.att.tdp.popcorn_palace.exception.ShowtimeSoldOutException;
+import com.att.tdp.popcorn_palace.util.HierarchicalTimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts bookings without making the request thread wait for the database.
+ * A submitted booking is validated, queued and answered with a ticket id right away; worker threads, started with the
+ * application context, drain the queue in batches through {@link BookingService#bookTicketBatch} and record each
+ * outcome, which clients poll by ticket id.
+ * Finished tickets are kept for {@link BookingConstants#ASYNC_TICKET_TTL_MINUTES} minutes.
+ */
+@Service
+public class AsyncBookingService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncBookingService.class);
+
+    private final BookingService bookingService;
+    private final BlockingQueue<QueuedBooking> queue = new ArrayBlockingQueue<>(BookingConstants.ASYNC_BOOKING_QUEUE_CAPACITY);
+    private final ConcurrentMap<UUID, AsyncBookingStatusDTO> tickets = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel<UUID> ticketExpiryWheel = new HierarchicalTimingWheel<>(
+            BookingConstants.ASYNC_TICKET_EXPIRY_TICK_MILLIS, BookingConstants.ASYNC_TICKET_EXPIRY_WHEEL_LEVELS, System.currentTimeMillis());
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    @Autowired
+    public AsyncBookingService(BookingService bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    /**
+     * Starts the workers once the context has started - bookings submitted before then wait in the queue
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        for (int i = 0; i < BookingConstants.ASYNC_BOOKING_WORKERS; i++) {
+            Thread worker = new Thread(this::drainQueue, "async-booking-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        workers.forEach(Thread::interrupt);
+        try {
+            for (Thread worker : workers) {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.clear();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Validates and queues a booking
+     * @return the pending ticket to poll for the outcome
+     * @throws BookingQueueFullException if the queue is full
+     */
+    public AsyncBookingStatusDTO submit(BookingDTO bookingDto) {
+        bookingService.validateBookingData(bookingDto);
+        bookingService.rejectIfSoldOut(bookingDto.getShowtimeId(), 1);
+
+        UUID ticketId = UUID.randomUUID();
+        AsyncBookingStatusDTO ticket = new AsyncBookingStatusDTO(ticketId, AsyncBookingStatusDTO.Status.PENDING, null, null);
+        tickets.put(ticketId, ticket);
+        if (!queue.offer(new QueuedBooking(ticketId, bookingDto))) {
+            tickets.remove(ticketId);
+            throw new BookingQueueFullException("Too many bookings waiting to be processed, please try again shortly.");
+        }
+        return ticket;
+    }
+
+    /**
+     * @throws ResourceNotFoundException if the ticket does not exist or has expired
+     */
+    public AsyncBookingStatusDTO getStatus(UUID ticketId) {
+        AsyncBookingStatusDTO ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            throw new ResourceNotFoundException("Booking ticket not found with id: " + ticketId);
+        }
+        return ticket;
+    }
+
+    @Scheduled(fixedDelay = BookingConstants.ASYNC_TICKET_EXPIRY_TICK_MILLIS)
+    public void expireTickets() {
+        expireTickets(System.currentTimeMillis());
+    }
+
+    /**
+     * Drops finished tickets whose time to live has passed
+     * @return number of tickets dropped
+     */
+    public int expireTickets(long nowMillis) {
+        List<UUID> expired = ticketExpiryWheel.advance(nowMillis);
+        expired.forEach(tickets::remove);
+        return expired.size();
+    }
+
+    /**
+     * Takes up to {@link BookingConstants#ASYNC_BOOKING_BATCH_SIZE} queued bookings at a time and books them as one batch,
+     * waiting for the batch before taking the next so the booking service is never handed more than the workers can follow
+     */
+    private void drainQueue() {
+        List<QueuedBooking> batch = new ArrayList<>(BookingConstants.ASYNC_BOOKING_BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, BookingConstants.ASYNC_BOOKING_BATCH_SIZE - 1);
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    void process(List<QueuedBooking> batch) {
+        List<CompletableFuture<BookingResponseDTO>> results;
+        try {
+            results = bookingService.bookTicketBatch(batch.stream().map(QueuedBooking::bookingDto).toList());
+        } catch (RuntimeException e) {
+            results = batch.stream().map(queuedBooking -> CompletableFuture.<BookingResponseDTO>failedFuture(e)).toList();
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            QueuedBooking queuedBooking = batch.get(i);
+            results.get(i).whenComplete((response, failure) -> record(queuedBooking, response, failure));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .exceptionally(failure -> null)
+                .join();
+    }
+
+    private void record(QueuedBooking queuedBooking, BookingResponseDTO response, Throwable failure) {
+        AsyncBookingStatusDTO outcome = failure == null
+                ? new AsyncBookingStatusDTO(queuedBooking.ticketId(), AsyncBookingStatusDTO.Status.CONFIRMED, response.getBookingId(), null)
+                : new AsyncBookingStatusDTO(queuedBooking.ticketId(), AsyncBookingStatusDTO.Status.FAILED, null,
+                        failureMessage(queuedBooking, failure));
+        tickets.put(queuedBooking.ticketId(), outcome);
+        ticketExpiryWheel.schedule(queuedBooking.ticketId(),
+                System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(BookingConstants.ASYNC_TICKET_TTL_MINUTES));
+    }
+
+    /**
+     * The reason a client sees for a failed ticket - a fixed message per known failure, so database and other
+     * internal error details never reach the client; unexpected failures are logged instead
+     */
+    private String failureMessage(QueuedBooking queuedBooking, Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        BookingDTO bookingDto = queuedBooking.bookingDto();
+        if (failure instanceof SeatAlreadyBookedException) {
+            return "Seat " + bookingDto.getSeatNumber() + " is already booked for this showtime.";
+        }
+        if (failure instanceof ShowtimeSoldOutException) {
+            return "Showtime " + bookingDto.getShowtimeId() + " is sold out.";
+        }
+        if (failure instanceof ShowtimeEndedException) {
+            return "Showtime " + bookingDto.getShowtimeId() + " has already ended.";
+        }
+        if (failure instanceof ResourceNotFoundException) {
+            return "Showtime not found with id: " + bookingDto.getShowtimeId();
+        }
+        if (failure instanceof IllegalArgumentException) {
+            return "Seat " + bookingDto.getSeatNumber() + " does not exist for this showtime.";
+        }
+        if (failure instanceof BookingQueueFullException) {
+            return "Too many bookings waiting to be written, please try again shortly.";
+        }
+        log.error("Booking ticket {} failed", queuedBooking.ticketId(), failure);
+        return "The booking could not be completed, please try again.";
+    }
+
+    record QueuedBooking(UUID ticketId, BookingDTO bookingDto) {
+    }
+}
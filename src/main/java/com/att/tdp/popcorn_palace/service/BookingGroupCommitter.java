@@ -0,0 +1,229 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.BookingConstants;
+import com.att.tdp.popcorn_palace.entity.Booking;
+import com.att.tdp.popcorn_palace.exception.BookingQueueFullException;
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit stage for single-ticket bookings.
+ * Bookings submitted by concurrent requests are collected for a short window (or until the batch is full) and
+ * their show seat claims and booking inserts are written in one transaction, so a spike pays one commit per
+ * batch instead of one per ticket. A caller gets its booking id only after its batch has committed.
+ */
+@Service
+public class BookingGroupCommitter {
+
+    public enum Mode {
+        DIRECT,
+        GROUP_COMMIT
+    }
+
+    private final BookingRepository bookingRepository;
+    private final ShowSeatService showSeatService;
+    private final TransactionTemplate transactionTemplate;
+    private final Mode mode;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingBooking> pendingBookings;
+    private final DistributionSummary batchSizes;
+    private final Timer commitLatency;
+    private final Thread committerThread;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public BookingGroupCommitter(
+            BookingRepository bookingRepository,
+            ShowSeatService showSeatService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${booking.write.mode:direct}") String mode,
+            @Value("${booking.write.batch-window-millis:" + BookingConstants.GROUP_COMMIT_WINDOW_MILLIS + "}") long batchWindowMillis,
+            @Value("${booking.write.max-batch-size:" + BookingConstants.GROUP_COMMIT_MAX_BATCH_SIZE + "}") int maxBatchSize,
+            @Value("${booking.write.queue-capacity:" + BookingConstants.GROUP_COMMIT_QUEUE_CAPACITY + "}") int queueCapacity) {
+        if (batchWindowMillis < 0 || maxBatchSize <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Group commit window must not be negative and batch size and queue capacity must be greater than 0");
+        }
+        this.bookingRepository = bookingRepository;
+        this.showSeatService = showSeatService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.mode = Mode.valueOf(mode.trim().replace('-', '_').toUpperCase());
+        this.batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(batchWindowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.pendingBookings = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("booking.group.commit.batch.size")
+                .description("Number of bookings written per group commit")
+                .register(meterRegistry);
+        this.commitLatency = Timer.builder("booking.group.commit.latency")
+                .description("Time to write and commit one group commit batch")
+                .register(meterRegistry);
+
+        if (this.mode == Mode.GROUP_COMMIT) {
+            this.committerThread = new Thread(this::run, "booking-group-commit");
+            this.committerThread.setDaemon(true);
+            this.committerThread.start();
+        } else {
+            this.committerThread = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return mode == Mode.GROUP_COMMIT;
+    }
+
+    /**
+     * Claims the show seat and inserts the booking as part of the next batch, and waits until the batch has committed
+     * @return id of the committed booking
+     * @throws SeatAlreadyBookedException if the show seat was no longer available
+     * @throws BookingQueueFullException if too many bookings are already waiting for a batch
+     */
+    public UUID write(Booking booking, Long seatId) {
+        CompletableFuture<UUID> result = submit(booking, seatId);
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the booking to be written", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Queues the booking for the next batch without waiting for it
+     * @return completed with the id of the committed booking, or exceptionally with why it was not written
+     * @throws BookingQueueFullException if too many bookings are already waiting for a batch
+     */
+    public CompletableFuture<UUID> submit(Booking booking, Long seatId) {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Booking group commit is not enabled");
+        }
+        PendingBooking pendingBooking = new PendingBooking(booking, seatId, new CompletableFuture<>());
+        if (!running || !pendingBookings.offer(pendingBooking)) {
+            throw new BookingQueueFullException("Too many bookings waiting to be written, please try again shortly.");
+        }
+        return pendingBooking.result();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (committerThread != null) {
+            committerThread.interrupt();
+            committerThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        List<PendingBooking> leftover = new ArrayList<>();
+        pendingBookings.drainTo(leftover);
+        leftover.forEach(pendingBooking -> pendingBooking.result()
+                .completeExceptionally(new IllegalStateException("Booking group commit was stopped")));
+    }
+
+    private void run() {
+        List<PendingBooking> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(pendingBookings.take());
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                batch.forEach(pendingBooking -> pendingBooking.result()
+                        .completeExceptionally(new IllegalStateException("Booking group commit was stopped")));
+                return;
+            }
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void collectBatch(List<PendingBooking> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + batchWindowNanos;
+        while (batch.size() < maxBatchSize) {
+            if (pendingBookings.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingBooking next = pendingBookings.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Writes one batch in a single transaction and completes its callers once it has committed.
+     * Bookings whose show seat was taken meanwhile are rejected without affecting the rest of the batch.
+     */
+    void commit(List<PendingBooking> batch) {
+        long start = System.nanoTime();
+        List<PendingBooking> accepted = new ArrayList<>(batch.size());
+        List<PendingBooking> rejected = new ArrayList<>();
+        List<Booking> savedBookings;
+        try {
+            savedBookings = transactionTemplate.execute(status -> {
+                accepted.clear();
+                rejected.clear();
+                for (PendingBooking pendingBooking : batch) {
+                    Booking booking = pendingBooking.booking();
+                    if (showSeatService.reserveSeat(booking.getShowtimeId(), pendingBooking.seatId())) {
+                        accepted.add(pendingBooking);
+                    } else {
+                        rejected.add(pendingBooking);
+                    }
+                }
+                return bookingRepository.saveAllAndFlush(accepted.stream().map(PendingBooking::booking).toList());
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A booking of the batch broke the one booking per seat constraint - write them one by one to find it
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(new SeatAlreadyBookedException(
+                        "Seat " + batch.get(0).booking().getSeatNumber() + " is already booked for this showtime."));
+            } else {
+                batch.forEach(pendingBooking -> commit(List.of(pendingBooking)));
+            }
+            return;
+        } catch (RuntimeException e) {
+            batch.forEach(pendingBooking -> pendingBooking.result().completeExceptionally(e));
+            return;
+        }
+        commitLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).result().complete(savedBookings.get(i).getBookingId());
+        }
+        rejected.forEach(pendingBooking -> pendingBooking.result().completeExceptionally(new SeatAlreadyBookedException(
+                "Seat " + pendingBooking.booking().getSeatNumber() + " is already booked for this showtime.")));
+    }
+
+    record PendingBooking(Booking booking, Long seatId, CompletableFuture<UUID> result) {
+    }
+}
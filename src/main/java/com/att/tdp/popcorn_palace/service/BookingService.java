@@ -1,72 +1,127 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.constants.BookingConstants;
+import com.att.tdp.popcorn_palace.dto.BestAvailableBookingDTO;
+import com.att.tdp.popcorn_palace.dto.BestAvailableBookingResponseDTO;
 import com.att.tdp.popcorn_palace.dto.BookingDTO;
 import com.att.tdp.popcorn_palace.dto.BookingResponseDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingResponseDTO;
 import com.att.tdp.popcorn_palace.entity.Booking;
-import com.att.tdp.popcorn_palace.entity.Seat;
-import com.att.tdp.popcorn_palace.entity.Showtime;
-import com.att.tdp.popcorn_palace.entity.Theater;
-import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.exception.BookingQueueFullException;
 import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.exception.ShowtimeEndedException;
+import com.att.tdp.popcorn_palace.exception.ShowtimeSoldOutException;
 import com.att.tdp.popcorn_palace.repository.BookingRepository;
-import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
-import com.att.tdp.popcorn_palace.repository.TheaterRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeResolutionCache.ShowtimeResolution;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
 
     private final BookingRepository bookingRepository;
-    private final ShowtimeRepository showtimeRepository;
-    private final TheaterRepository theaterRepository;
-    private final SeatService seatService;
+    private final ShowtimeResolutionCache showtimeResolutionCache;
     private final ShowSeatService showSeatService;
+    private final SeatStateService seatStateService;
+    private final ShowtimeShardExecutor showtimeShardExecutor;
+    private final BookingGroupCommitter bookingGroupCommitter;
 
     @Autowired
     public BookingService(
             BookingRepository bookingRepository,
-            ShowtimeRepository showtimeRepository,
-            TheaterRepository theaterRepository,
-            SeatService seatService,
-            ShowSeatService showSeatService) {
+            ShowtimeResolutionCache showtimeResolutionCache,
+            ShowSeatService showSeatService,
+            SeatStateService seatStateService,
+            ShowtimeShardExecutor showtimeShardExecutor,
+            BookingGroupCommitter bookingGroupCommitter) {
         this.bookingRepository = bookingRepository;
-        this.showtimeRepository = showtimeRepository;
-        this.theaterRepository = theaterRepository;
-        this.seatService = seatService;
+        this.showtimeResolutionCache = showtimeResolutionCache;
         this.showSeatService = showSeatService;
+        this.seatStateService = seatStateService;
+        this.showtimeShardExecutor = showtimeShardExecutor;
+        this.bookingGroupCommitter = bookingGroupCommitter;
     }
 
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    /**
+     * Books one seat - runs in its own transaction on the executor that owns the showtime
+     */
     public BookingResponseDTO bookTicket(BookingDTO bookingDto) {
         validateBookingData(bookingDto);
+        rejectIfSoldOut(bookingDto.getShowtimeId(), 1);
+        // An open transaction cannot wait for another thread's batch, so it writes the booking itself
+        if (bookingGroupCommitter.isEnabled() && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return groupCommitTicket(bookingDto);
+        }
+        return showtimeShardExecutor.execute(bookingDto.getShowtimeId(), () -> reserveTicket(bookingDto));
+    }
 
-        // Validate showtime exists
-        Showtime showtime = showtimeRepository.findById(bookingDto.getShowtimeId())
-                .orElseThrow(() -> new ResourceNotFoundException("Showtime not found with id: " + bookingDto.getShowtimeId()));
-
-        // Get theater
-        Theater theater = theaterRepository.findByName(showtime.getTheater())
-                .orElseThrow(() -> new ResourceNotFoundException("Theater not found with name: " + showtime.getTheater()));
-
-        // Check if seat number is valid for this theater
-        if (bookingDto.getSeatNumber() <= 0 || bookingDto.getSeatNumber() > theater.getNumberOfSeats()) {
-            throw new IllegalArgumentException("Invalid seat number. Must be between 1 and " + theater.getNumberOfSeats());
+    /**
+     * Books several independent single seats, e.g. ones drained from a queue - each succeeds or fails on its own.
+     * With group commit all of them are handed to the group commit stage before any is waited for, so they share its batches.
+     * @return one result per booking, in order, completed once that booking has committed or failed
+     */
+    public List<CompletableFuture<BookingResponseDTO>> bookTicketBatch(List<BookingDTO> bookingDtos) {
+        boolean groupCommit = bookingGroupCommitter.isEnabled() && !TransactionSynchronizationManager.isActualTransactionActive();
+        List<CompletableFuture<BookingResponseDTO>> results = new ArrayList<>(bookingDtos.size());
+        for (BookingDTO bookingDto : bookingDtos) {
+            try {
+                results.add(groupCommit ? submitTicket(bookingDto) : CompletableFuture.completedFuture(bookTicket(bookingDto)));
+            } catch (RuntimeException e) {
+                results.add(CompletableFuture.failedFuture(e));
+            }
         }
+        return results;
+    }
 
-        // Find seat by theater and seat number
-        Seat seat = seatService.findByTheaterIdAndNumber(theater.getId(), bookingDto.getSeatNumber());
+    /**
+     * Books several seats of one showtime for one user, all-or-nothing, in a single transaction.
+     * Seats are claimed in ascending seat number order so concurrent group bookings never deadlock.
+     */
+    public GroupBookingResponseDTO bookTickets(GroupBookingDTO groupBookingDto) {
+        validateGroupBookingData(groupBookingDto);
+        rejectIfSoldOut(groupBookingDto.getShowtimeId(), groupBookingDto.getSeatNumbers().size());
+        return showtimeShardExecutor.execute(groupBookingDto.getShowtimeId(), () -> reserveTickets(groupBookingDto));
+    }
 
-        // Check if seat is already booked
-        if (bookingRepository.existsByShowtimeIdAndSeatNumber(bookingDto.getShowtimeId(), bookingDto.getSeatNumber())) {
-            throw new SeatAlreadyBookedException("Seat " + bookingDto.getSeatNumber() + " is already booked for this showtime.");
+    /**
+     * Books the best block of adjacent free seats of a showtime for one user, closest to the middle of the theater
+     */
+    public BestAvailableBookingResponseDTO bookBestAvailable(BestAvailableBookingDTO bestAvailableDto) {
+        validateBestAvailableBookingData(bestAvailableDto);
+        rejectIfSoldOut(bestAvailableDto.getShowtimeId(), bestAvailableDto.getNumberOfSeats());
+        return showtimeShardExecutor.execute(bestAvailableDto.getShowtimeId(), () -> reserveBestAvailable(bestAvailableDto));
+    }
+
+    /**
+     * Fails a booking for a showtime known to have fewer free seats than wanted - before any transaction or query
+     * @throws ShowtimeSoldOutException if the showtime cannot fit the booking
+     */
+    void rejectIfSoldOut(Long showtimeId, int seatsWanted) {
+        if (seatStateService.isSoldOut(showtimeId, seatsWanted)) {
+            throw new ShowtimeSoldOutException(seatsWanted == 1
+                    ? "Showtime " + showtimeId + " is sold out."
+                    : "Showtime " + showtimeId + " does not have " + seatsWanted + " free seats left.");
         }
+    }
+
+    private BookingResponseDTO reserveTicket(BookingDTO bookingDto) {
+        Long seatId = claimSeat(bookingDto);
 
         // Reserve seat - according to data flow
-        boolean reserved = showSeatService.reserveSeat(showtime.getId(), seat.getId());
+        boolean reserved = showSeatService.reserveSeat(bookingDto.getShowtimeId(), seatId);
         if (!reserved) {
+            // Database disagrees with the in-memory state, re-seed it on next access
+            seatStateService.evict(bookingDto.getShowtimeId());
             throw new SeatAlreadyBookedException("Seat " + bookingDto.getSeatNumber() + " is already booked for this showtime.");
         }
 
@@ -76,17 +131,190 @@ public class BookingService {
         booking.setSeatNumber(bookingDto.getSeatNumber());
         booking.setUserId(bookingDto.getUserId());
 
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking = insertBookings(bookingDto.getShowtimeId(), List.of(booking)).get(0);
         
         return new BookingResponseDTO(savedBooking.getBookingId());
     }
 
+    /**
+     * Claims the seat in memory and hands the show seat update and booking insert to the group commit stage
+     */
+    private BookingResponseDTO groupCommitTicket(BookingDTO bookingDto) {
+        Long seatId = showtimeShardExecutor.execute(bookingDto.getShowtimeId(), () -> claimSeat(bookingDto));
+        Booking booking = new Booking(null, bookingDto.getShowtimeId(), bookingDto.getSeatNumber(), bookingDto.getUserId());
+        try {
+            return new BookingResponseDTO(bookingGroupCommitter.write(booking, seatId));
+        } catch (SeatAlreadyBookedException e) {
+            // Database disagrees with the in-memory state, re-seed it on next access
+            seatStateService.evict(bookingDto.getShowtimeId());
+            throw e;
+        } catch (BookingQueueFullException e) {
+            // Never queued, so nothing was written
+            seatStateService.release(bookingDto.getShowtimeId(), bookingDto.getSeatNumber());
+            throw e;
+        } catch (RuntimeException e) {
+            // Interrupted or failed while waiting - the batch may have committed anyway, re-seed the state on next access
+            seatStateService.evict(bookingDto.getShowtimeId());
+            throw e;
+        }
+    }
+
+    /**
+     * Like {@link #groupCommitTicket} but without waiting for the batch to commit
+     */
+    private CompletableFuture<BookingResponseDTO> submitTicket(BookingDTO bookingDto) {
+        validateBookingData(bookingDto);
+        rejectIfSoldOut(bookingDto.getShowtimeId(), 1);
+        Long seatId = showtimeShardExecutor.execute(bookingDto.getShowtimeId(), () -> claimSeat(bookingDto));
+        Booking booking = new Booking(null, bookingDto.getShowtimeId(), bookingDto.getSeatNumber(), bookingDto.getUserId());
+        CompletableFuture<UUID> written;
+        try {
+            written = bookingGroupCommitter.submit(booking, seatId);
+        } catch (BookingQueueFullException e) {
+            // Never queued, so nothing was written
+            seatStateService.release(bookingDto.getShowtimeId(), bookingDto.getSeatNumber());
+            throw e;
+        }
+        return written
+                .whenComplete((bookingId, failure) -> {
+                    if (failure != null) {
+                        // Rejected or failed in its batch - re-seed the state on next access
+                        seatStateService.evict(bookingDto.getShowtimeId());
+                    }
+                })
+                .thenApply(BookingResponseDTO::new);
+    }
+
+    /**
+     * Validates the showtime and seat and claims the seat in memory
+     * @return the id of the theater seat that was claimed
+     */
+    private Long claimSeat(BookingDTO bookingDto) {
+        // Validate showtime exists and resolve its theater and seats
+        ShowtimeResolution showtime = resolveBookableShowtime(bookingDto.getShowtimeId());
+
+        // Check if seat number is valid for this theater
+        if (bookingDto.getSeatNumber() <= 0 || bookingDto.getSeatNumber() > showtime.seatCount()) {
+            throw new IllegalArgumentException("Invalid seat number. Must be between 1 and " + showtime.seatCount());
+        }
+
+        // Claim the seat in memory first - conflicting requests fail here without touching the database
+        if (!seatStateService.claim(showtime.showtimeId(), showtime.seatCount(), bookingDto.getSeatNumber())) {
+            throw new SeatAlreadyBookedException("Seat " + bookingDto.getSeatNumber() + " is already booked for this showtime.");
+        }
+
+        return showtime.seatId(bookingDto.getSeatNumber());
+    }
+
+    /**
+     * Resolves a showtime that can still be booked
+     * @throws ShowtimeEndedException if the showtime has ended
+     */
+    private ShowtimeResolution resolveBookableShowtime(Long showtimeId) {
+        ShowtimeResolution showtime = showtimeResolutionCache.resolve(showtimeId);
+        if (showtime.hasEnded()) {
+            throw new ShowtimeEndedException("Showtime " + showtimeId + " has already ended.");
+        }
+        return showtime;
+    }
+
+    private GroupBookingResponseDTO reserveTickets(GroupBookingDTO groupBookingDto) {
+        List<Integer> seatNumbers = groupBookingDto.getSeatNumbers().stream()
+                .sorted()
+                .collect(Collectors.toList());
+
+        // Validate showtime exists and resolve its theater and seats
+        ShowtimeResolution showtime = resolveBookableShowtime(groupBookingDto.getShowtimeId());
+
+        // Check if all seat numbers are valid for this theater
+        for (Integer seatNumber : seatNumbers) {
+            if (seatNumber > showtime.seatCount()) {
+                throw new IllegalArgumentException("Invalid seat number. Must be between 1 and " + showtime.seatCount());
+            }
+        }
+
+        // Claim all seats in memory first - nothing is held if any of them is taken
+        if (!seatStateService.claimAll(showtime.showtimeId(), showtime.seatCount(), seatNumbers)) {
+            throw new SeatAlreadyBookedException("One or more of seats " + seatNumbers + " are already booked for this showtime.");
+        }
+
+        List<UUID> bookingIds = reserveClaimedSeats(showtime, seatNumbers, groupBookingDto.getUserId());
+        return new GroupBookingResponseDTO(bookingIds);
+    }
+
+    private BestAvailableBookingResponseDTO reserveBestAvailable(BestAvailableBookingDTO bestAvailableDto) {
+        // Validate showtime exists and resolve its theater and seats
+        ShowtimeResolution showtime = resolveBookableShowtime(bestAvailableDto.getShowtimeId());
+
+        if (bestAvailableDto.getNumberOfSeats() > showtime.seatCount()) {
+            throw new IllegalArgumentException("Number of seats must be between 1 and " + showtime.seatCount());
+        }
+
+        // Pick seats from the in-memory seat state and claim them - pick again if another booking took one of them meanwhile
+        List<Integer> seatNumbers = List.of();
+        for (int attempt = 0; attempt < BookingConstants.BEST_AVAILABLE_CLAIM_ATTEMPTS && seatNumbers.isEmpty(); attempt++) {
+            List<Integer> candidates = seatStateService.findBestAvailable(showtime.showtimeId(), showtime.seatCount(), bestAvailableDto.getNumberOfSeats());
+            if (candidates.isEmpty()) {
+                throw new SeatAlreadyBookedException("No " + bestAvailableDto.getNumberOfSeats() + " adjacent seats are available for this showtime.");
+            }
+            if (seatStateService.claimAll(showtime.showtimeId(), showtime.seatCount(), candidates)) {
+                seatNumbers = candidates;
+            }
+        }
+        if (seatNumbers.isEmpty()) {
+            throw new SeatAlreadyBookedException("The available seats changed while booking, please try again.");
+        }
+
+        List<UUID> bookingIds = reserveClaimedSeats(showtime, seatNumbers, bestAvailableDto.getUserId());
+        return new BestAvailableBookingResponseDTO(bookingIds, seatNumbers);
+    }
+
+    /**
+     * Reserves seats already claimed in memory and creates their bookings.
+     * Show seats are reserved in ascending seat order - a failure rolls back the whole group.
+     */
+    private List<UUID> reserveClaimedSeats(ShowtimeResolution showtime, List<Integer> seatNumbers, UUID userId) {
+        Long showtimeId = showtime.showtimeId();
+        for (Integer seatNumber : seatNumbers) {
+            if (!showSeatService.reserveSeat(showtimeId, showtime.seatId(seatNumber))) {
+                seatStateService.evict(showtimeId);
+                throw new SeatAlreadyBookedException("Seat " + seatNumber + " is already booked for this showtime.");
+            }
+        }
+
+        // Create bookings
+        List<Booking> bookings = seatNumbers.stream()
+                .map(seatNumber -> new Booking(null, showtimeId, seatNumber, userId))
+                .collect(Collectors.toList());
+
+        return insertBookings(showtimeId, bookings).stream()
+                .map(Booking::getBookingId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Inserts bookings right away rather than at commit, so a seat that is already booked - the only guard
+     * for virtual show seats - fails as a booking conflict
+     * @throws SeatAlreadyBookedException if one of the seats already has a booking
+     */
+    private List<Booking> insertBookings(Long showtimeId, List<Booking> bookings) {
+        try {
+            return bookingRepository.saveAllAndFlush(bookings);
+        } catch (DataIntegrityViolationException e) {
+            // Database disagrees with the in-memory state, re-seed it on next access
+            seatStateService.evict(showtimeId);
+            throw new SeatAlreadyBookedException("One or more of seats "
+                    + bookings.stream().map(Booking::getSeatNumber).collect(Collectors.toList())
+                    + " are already booked for this showtime.");
+        }
+    }
+
     /**
      * Validates the booking data according to the data modeling requirements
      * @param bookingDTO the booking data to validate
      * @throws IllegalArgumentException if validation fails
      */
-    private void validateBookingData(BookingDTO bookingDTO) {
+    void validateBookingData(BookingDTO bookingDTO) {
         if (bookingDTO == null) {
             throw new IllegalArgumentException("Booking data cannot be null");
         }
@@ -104,6 +332,70 @@ public class BookingService {
         }
     }
 
+    /**
+     * Validates the group booking data according to the data modeling requirements
+     * @param groupBookingDTO the group booking data to validate
+     * @throws IllegalArgumentException if validation fails
+     */
+    private void validateGroupBookingData(GroupBookingDTO groupBookingDTO) {
+        if (groupBookingDTO == null) {
+            throw new IllegalArgumentException("Booking data cannot be null");
+        }
+
+        if (groupBookingDTO.getShowtimeId() == null) {
+            throw new IllegalArgumentException("Showtime ID is required for a booking");
+        }
+
+        List<Integer> seatNumbers = groupBookingDTO.getSeatNumbers();
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat number is required for a booking");
+        }
+
+        if (seatNumbers.size() > BookingConstants.MAX_SEATS_PER_BOOKING) {
+            throw new IllegalArgumentException("A booking can contain at most " + BookingConstants.MAX_SEATS_PER_BOOKING + " seats");
+        }
+
+        if (seatNumbers.stream().anyMatch(seatNumber -> seatNumber == null || seatNumber <= 0)) {
+            throw new IllegalArgumentException("Seat number must be greater than 0");
+        }
+
+        if (new HashSet<>(seatNumbers).size() != seatNumbers.size()) {
+            throw new IllegalArgumentException("Seat numbers in a booking must be unique");
+        }
+
+        if (groupBookingDTO.getUserId() == null) {
+            throw new IllegalArgumentException("User ID is required for a booking");
+        }
+    }
+
+    /**
+     * Validates the best available booking data according to the data modeling requirements
+     * @param bestAvailableDTO the best available booking data to validate
+     * @throws IllegalArgumentException if validation fails
+     */
+    private void validateBestAvailableBookingData(BestAvailableBookingDTO bestAvailableDTO) {
+        if (bestAvailableDTO == null) {
+            throw new IllegalArgumentException("Booking data cannot be null");
+        }
+
+        if (bestAvailableDTO.getShowtimeId() == null) {
+            throw new IllegalArgumentException("Showtime ID is required for a booking");
+        }
+
+        Integer numberOfSeats = bestAvailableDTO.getNumberOfSeats();
+        if (numberOfSeats == null || numberOfSeats <= 0) {
+            throw new IllegalArgumentException("Number of seats must be greater than 0");
+        }
+
+        if (numberOfSeats > BookingConstants.MAX_SEATS_PER_BOOKING) {
+            throw new IllegalArgumentException("A booking can contain at most " + BookingConstants.MAX_SEATS_PER_BOOKING + " seats");
+        }
+
+        if (bestAvailableDTO.getUserId() == null) {
+            throw new IllegalArgumentException("User ID is required for a booking");
+        }
+    }
+
     // Helper methods for DTO to Entity conversion
     private BookingDTO convertToDTO(Booking booking) {
         return new BookingDTO(
@@ -0,0 +1,175 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.BookingConstants;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.BookingResponseDTO;
+import com.att.tdp.popcorn_palace.entity.IdempotencyKey;
+import com.att.tdp.popcorn_palace.exception.IdempotencyKeyReusedException;
+import com.att.tdp.popcorn_palace.repository.IdempotencyKeyRepository;
+import com.att.tdp.popcorn_palace.util.ExpiringLruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Makes booking requests with an Idempotency-Key safe to retry.
+ * The first request with a key books the ticket; retries with the same key get the original response back without
+ * running the booking again. Completed keys are kept in a bounded in-memory cache and in the idempotency_keys table,
+ * concurrent retries of a request that is still running wait for its result. A key is written in the transaction of its
+ * booking, so a committed booking always has a key to replay.
+ */
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExpiringLruCache<String, IdempotencyKey> completedKeys = new ExpiringLruCache<>(
+            BookingConstants.IDEMPOTENCY_CACHE_SIZE, TimeUnit.HOURS.toMillis(BookingConstants.IDEMPOTENCY_KEY_TTL_HOURS));
+    private final ConcurrentMap<String, InFlightRequest> inFlightRequests = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository, PlatformTransactionManager transactionManager) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    /**
+     * Books the ticket once per idempotency key
+     * @param booking books the ticket, only run for the first request with the key
+     * @throws IdempotencyKeyReusedException if the key was already used for a different booking request
+     */
+    public BookingResponseDTO bookTicket(String idempotencyKey, BookingDTO bookingDto, Supplier<BookingResponseDTO> booking) {
+        validateIdempotencyKey(idempotencyKey);
+        String fingerprint = fingerprint(bookingDto);
+
+        IdempotencyKey completed = findCompleted(idempotencyKey);
+        if (completed != null) {
+            return replay(completed, fingerprint);
+        }
+
+        InFlightRequest request = new InFlightRequest(fingerprint, new CompletableFuture<>());
+        InFlightRequest running = inFlightRequests.putIfAbsent(idempotencyKey, request);
+        if (running != null) {
+            checkFingerprint(idempotencyKey, running.fingerprint(), fingerprint);
+            return await(running.result());
+        }
+
+        try {
+            // The first request may have completed between the lookup and registering this one
+            completed = findCompleted(idempotencyKey);
+            BookingResponseDTO response = completed != null ? replay(completed, fingerprint) : book(idempotencyKey, fingerprint, booking);
+            request.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            request.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(idempotencyKey, request);
+        }
+    }
+
+    @Scheduled(fixedDelay = BookingConstants.IDEMPOTENCY_PURGE_INTERVAL_MILLIS)
+    public void purgeExpiredKeys() {
+        idempotencyKeyRepository.deleteByCreatedAtBefore(
+                LocalDateTime.now().minusHours(BookingConstants.IDEMPOTENCY_KEY_TTL_HOURS));
+    }
+
+    /**
+     * Books and saves the key in one transaction - the booking joins it, so it does not go through
+     * the booking shards or the group commit stage
+     */
+    private BookingResponseDTO book(String idempotencyKey, String fingerprint, Supplier<BookingResponseDTO> booking) {
+        IdempotencyKey completed = transactionTemplate.execute(status -> {
+            BookingResponseDTO response = booking.get();
+            IdempotencyKey key = new IdempotencyKey(idempotencyKey, fingerprint, response.getBookingId(), LocalDateTime.now());
+            idempotencyKeyRepository.save(key);
+            return key;
+        });
+        cache(completed);
+        return new BookingResponseDTO(completed.getBookingId());
+    }
+
+    private IdempotencyKey findCompleted(String idempotencyKey) {
+        IdempotencyKey completed = completedKeys.get(idempotencyKey);
+        if (completed != null) {
+            return completed;
+        }
+        LocalDateTime expiredBefore = LocalDateTime.now().minusHours(BookingConstants.IDEMPOTENCY_KEY_TTL_HOURS);
+        completed = idempotencyKeyRepository.findById(idempotencyKey)
+                .filter(key -> key.getCreatedAt().isAfter(expiredBefore))
+                .orElse(null);
+        if (completed != null) {
+            cache(completed);
+        }
+        return completed;
+    }
+
+    /**
+     * Caches a completed key until it expires - its creation time plus the time to live, also when it was read back from the table
+     */
+    private void cache(IdempotencyKey completed) {
+        long expiresAtMillis = completed.getCreatedAt().plusHours(BookingConstants.IDEMPOTENCY_KEY_TTL_HOURS)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        completedKeys.put(completed.getIdempotencyKey(), completed, expiresAtMillis);
+    }
+
+    private static BookingResponseDTO replay(IdempotencyKey completed, String fingerprint) {
+        checkFingerprint(completed.getIdempotencyKey(), completed.getRequestFingerprint(), fingerprint);
+        return new BookingResponseDTO(completed.getBookingId());
+    }
+
+    private static void checkFingerprint(String idempotencyKey, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyKeyReusedException("Idempotency key " + idempotencyKey + " was already used for a different booking request");
+        }
+    }
+
+    private static String fingerprint(BookingDTO bookingDto) {
+        return bookingDto.getShowtimeId() + ":" + bookingDto.getSeatNumber() + ":" + bookingDto.getUserId();
+    }
+
+    private static BookingResponseDTO await(CompletableFuture<BookingResponseDTO> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original booking request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Validates the idempotency key
+     * @param idempotencyKey the key to validate
+     * @throws IllegalArgumentException if validation fails
+     */
+    private void validateIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.trim().isEmpty()) {
+            throw new IllegalArgumentException("Idempotency key cannot be empty");
+        }
+
+        if (idempotencyKey.length() > BookingConstants.IDEMPOTENCY_KEY_MAX_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key can be at most " + BookingConstants.IDEMPOTENCY_KEY_MAX_LENGTH + " characters");
+        }
+    }
+
+    private record InFlightRequest(String fingerprint, CompletableFuture<BookingResponseDTO> result) {
+    }
+}
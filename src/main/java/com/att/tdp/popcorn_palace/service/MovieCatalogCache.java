@@ -0,0 +1,112 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Snapshot of the whole movie catalog, serialized to JSON once and served until a movie is added, updated or deleted.
+ * The snapshot carries a strong ETag derived from its bytes, so a client holding the current catalog is answered
+ * without a query or serialization. Every movie write must invalidate it.
+ */
+@Service
+public class MovieCatalogCache {
+
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<MovieCatalog> catalog = new AtomicReference<>();
+    // Bumped by every invalidation, so a load that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public MovieCatalogCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param loader reads all movies, called only when there is no current snapshot
+     */
+    public MovieCatalog getCatalog(Supplier<List<MovieDTO>> loader) {
+        MovieCatalog current = catalog.get();
+        if (current != null) {
+            return current;
+        }
+
+        long version = invalidations.get();
+        MovieCatalog loaded = build(loader.get());
+        if (invalidations.get() == version && catalog.compareAndSet(null, loaded) && invalidations.get() != version) {
+            // Invalidated while being stored
+            catalog.compareAndSet(loaded, null);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the snapshot now and, when called inside a transaction, again once it completes -
+     * a read that loaded the old catalog in between cannot leave a stale snapshot behind
+     */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        catalog.set(null);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidations.incrementAndGet();
+                    catalog.set(null);
+                }
+            });
+        }
+    }
+
+    private MovieCatalog build(List<MovieDTO> movies) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(movies);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String eTag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+            return new MovieCatalog(List.copyOf(movies), json, eTag);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not serialize the movie catalog", e);
+        }
+    }
+
+    /**
+     * One version of the catalog. Its movies are shared between requests and must not be modified.
+     * @param json the movies as a JSON array, ready to be written to a response
+     * @param eTag strong entity tag of json, including the quotes
+     */
+    public record MovieCatalog(List<MovieDTO> movies, byte[] json, String eTag) {
+
+        /**
+         * @param ifNoneMatch value of an If-None-Match request header, may be null
+         * @return true if the client already holds this version
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                // If-None-Match uses the weak comparison
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(eTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
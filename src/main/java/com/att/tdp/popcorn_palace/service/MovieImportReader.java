@@ -0,0 +1,213 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.MovieConstants;
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the movies of an upload one line at a time, so memory use does not depend on the size of the upload.
+ * NDJSON: one movie object per line. CSV: a header line naming the columns title, genre, duration, rating and releaseYear
+ * in any order, then one movie per line - fields may be double-quoted, with "" for a quote, but cannot span lines.
+ * Blank lines are skipped.
+ */
+public class MovieImportReader implements Closeable {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    /**
+     * A non-blank line of the upload - either its movie or why it could not be read
+     */
+    public record Row(long line, MovieDTO movie, String error) {
+    }
+
+    private static final List<String> CSV_COLUMNS = List.of("title", "genre", "duration", "rating", "releaseYear");
+
+    private final Reader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private final StringBuilder lineBuffer = new StringBuilder();
+    private long lineNumber;
+    private boolean lineTooLong;
+    private Map<String, Integer> csvColumnIndexes;
+    private int csvColumnCount;
+
+    public MovieImportReader(InputStream upload, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(upload, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the next row, null at the end of the upload
+     * @throws IllegalArgumentException if the CSV header does not name every column
+     */
+    public Row next() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            if (lineTooLong) {
+                return new Row(lineNumber, null, "Line is longer than " + MovieConstants.MAX_IMPORT_LINE_LENGTH + " characters");
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.NDJSON) {
+                return parseJson(line);
+            }
+            if (csvColumnIndexes == null) {
+                readCsvHeader(line);
+                continue;
+            }
+            return parseCsv(line);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads up to the next line break, keeping at most {@link MovieConstants#MAX_IMPORT_LINE_LENGTH} characters of the line
+     * @return the line without its line break, null at the end of the upload
+     */
+    private String readLine() throws IOException {
+        lineBuffer.setLength(0);
+        lineTooLong = false;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (lineBuffer.length() < MovieConstants.MAX_IMPORT_LINE_LENGTH) {
+                lineBuffer.append((char) c);
+            } else {
+                lineTooLong = true;
+            }
+        }
+        if (c == -1 && lineBuffer.length() == 0 && !lineTooLong) {
+            return null;
+        }
+        lineNumber++;
+        if (lineBuffer.length() > 0 && lineBuffer.charAt(lineBuffer.length() - 1) == '\r') {
+            lineBuffer.setLength(lineBuffer.length() - 1);
+        }
+        if (lineNumber == 1 && lineBuffer.length() > 0 && lineBuffer.charAt(0) == '\uFEFF') {
+            lineBuffer.deleteCharAt(0);
+        }
+        return lineBuffer.toString();
+    }
+
+    private Row parseJson(String line) {
+        try {
+            return new Row(lineNumber, objectMapper.readValue(line, MovieDTO.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void readCsvHeader(String line) {
+        List<String> columns = splitCsvLine(line);
+        csvColumnIndexes = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            csvColumnIndexes.put(columns.get(i).trim(), i);
+        }
+        csvColumnCount = columns.size();
+        for (String column : CSV_COLUMNS) {
+            if (!csvColumnIndexes.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header must name the columns " + String.join(", ", CSV_COLUMNS));
+            }
+        }
+    }
+
+    private Row parseCsv(String line) {
+        List<String> fields;
+        try {
+            fields = splitCsvLine(line);
+        } catch (IllegalArgumentException e) {
+            return new Row(lineNumber, null, e.getMessage());
+        }
+        if (fields.size() != csvColumnCount) {
+            return new Row(lineNumber, null, "Expected " + csvColumnCount + " fields but found " + fields.size());
+        }
+
+        MovieDTO movie = new MovieDTO();
+        movie.setTitle(emptyToNull(fields.get(csvColumnIndexes.get("title"))));
+        movie.setGenre(emptyToNull(fields.get(csvColumnIndexes.get("genre"))));
+        try {
+            movie.setDuration(parseInteger(fields.get(csvColumnIndexes.get("duration")), "duration"));
+            movie.setRating(parseDouble(fields.get(csvColumnIndexes.get("rating")), "rating"));
+            movie.setReleaseYear(parseInteger(fields.get(csvColumnIndexes.get("releaseYear")), "releaseYear"));
+        } catch (IllegalArgumentException e) {
+            return new Row(lineNumber, movie, e.getMessage());
+        }
+        return new Row(lineNumber, movie, null);
+    }
+
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Quoted field is not closed");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String emptyToNull(String field) {
+        String trimmed = field.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static Integer parseInteger(String field, String column) {
+        String value = emptyToNull(field);
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static Double parseDouble(String field, String column) {
+        String value = emptyToNull(field);
+        try {
+            return value == null ? null : Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+}
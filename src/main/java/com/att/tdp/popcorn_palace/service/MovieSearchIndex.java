@@ -0,0 +1,120 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.entity.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.util.PrefixIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search index over movie titles and genres, used for type-ahead search without a LIKE scan of the movies table.
+ * Loaded once on first use and kept in sync by {@link MovieService}, so all movie writes must go through it.
+ * Changes are applied when the transaction making them commits. Matches are ranked by rating, then release year.
+ */
+@Service
+public class MovieSearchIndex {
+
+    private static final Comparator<Movie> RANKING = Comparator
+            .comparing(Movie::getRating, Comparator.reverseOrder())
+            .thenComparing(Movie::getReleaseYear, Comparator.reverseOrder())
+            .thenComparing(Movie::getTitle);
+
+    private final MovieRepository movieRepository;
+    private final PrefixIndex index = new PrefixIndex();
+    private final Map<Long, Movie> movies = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    @Autowired
+    public MovieSearchIndex(MovieRepository movieRepository) {
+        this.movieRepository = movieRepository;
+    }
+
+    /**
+     * @return up to limit movies whose title or genre has, for every word of the query, a word starting with it, best ranked first
+     */
+    public List<Movie> search(String query, int limit) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return index.search(query).stream()
+                    .map(movies::get)
+                    .sorted(RANKING)
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a saved movie, replacing its previous title and genre
+     */
+    public void put(Movie movie) {
+        afterCommit(() -> {
+            movies.put(movie.getId(), movie);
+            index.add(movie.getId(), movie.getTitle(), movie.getGenre());
+        });
+    }
+
+    public void remove(Long movieId) {
+        afterCommit(() -> {
+            movies.remove(movieId);
+            index.remove(movieId);
+        });
+    }
+
+    /**
+     * Applies a change once the surrounding transaction commits. Before the index is loaded there is nothing to change -
+     * the load reads the committed movie.
+     */
+    private void afterCommit(Runnable change) {
+        Runnable guardedChange = () -> {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    change.run();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            guardedChange.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                guardedChange.run();
+            }
+        });
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                for (Movie movie : movieRepository.findAll()) {
+                    movies.put(movie.getId(), movie);
+                    index.add(movie.getId(), movie.getTitle(), movie.getGenre());
+                }
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -1,35 +1,120 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.constants.MovieConstants;
 import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.MovieImportErrorDTO;
+import com.att.tdp.popcorn_palace.dto.MovieImportResultDTO;
 import com.att.tdp.popcorn_palace.entity.Movie;
 import com.att.tdp.popcorn_palace.exception.ResourceAlreadyExistsException;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
-import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.MovieCatalogCache.MovieCatalog;
+import com.att.tdp.popcorn_palace.service.MovieImportReader.Format;
+import com.att.tdp.popcorn_palace.service.MovieImportReader.Row;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 @Service
 public class MovieService {
 
+    /**
+     * How the bookings and show seats of a deleted movie's showtimes are removed
+     */
+    public enum DeleteMode {
+        /** in the transaction deleting the movie */
+        INLINE,
+        /** by a background thread once the movie and its showtimes are deleted and committed */
+        BACKGROUND
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(MovieService.class);
+
     private final MovieRepository movieRepository;
-    private final ShowtimeRepository showtimeRepository;
     private final ShowtimeService showtimeService;
+    private final MovieCatalogCache movieCatalogCache;
+    private final MovieSearchIndex movieSearchIndex;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final DeleteMode deleteMode;
+    private final ExecutorService purgeExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "movie-delete-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Autowired
-    public MovieService(MovieRepository movieRepository, ShowtimeRepository showtimeRepository, ShowtimeService showtimeService) {
+    public MovieService(
+            MovieRepository movieRepository,
+            ShowtimeService showtimeService,
+            MovieCatalogCache movieCatalogCache,
+            MovieSearchIndex movieSearchIndex,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${movie.delete.mode:inline}") String deleteMode) {
         this.movieRepository = movieRepository;
-        this.showtimeRepository = showtimeRepository;
         this.showtimeService = showtimeService;
+        this.movieCatalogCache = movieCatalogCache;
+        this.movieSearchIndex = movieSearchIndex;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.deleteMode = DeleteMode.valueOf(deleteMode.trim().toUpperCase());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purgeExecutor.shutdown();
     }
 
+    /**
+     * @return all movies from the current catalog snapshot - shared, must not be modified
+     */
     public List<MovieDTO> getAllMovies() {
-        return movieRepository.findAll().stream()
+        return getMovieCatalog().movies();
+    }
+
+    /**
+     * @return the current catalog snapshot, loaded from the database only after a movie write
+     */
+    public MovieCatalog getMovieCatalog() {
+        return movieCatalogCache.getCatalog(() -> movieRepository.findAll().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Type-ahead search over titles and genres, served from the in-memory search index
+     * @param query words the title or genre must have words starting with, e.g. "dark kn"
+     * @param limit number of results, {@link MovieConstants#DEFAULT_SEARCH_RESULTS} if null
+     * @return matching movies, highest rated and newest first
+     */
+    public List<MovieDTO> searchMovies(String query, Integer limit) {
+        int maxResults = limit == null ? MovieConstants.DEFAULT_SEARCH_RESULTS : limit;
+        validateMovieSearchData(query, maxResults);
+        return movieSearchIndex.search(query, maxResults).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -50,9 +135,60 @@ public class MovieService {
         
         Movie movie = convertToEntity(movieDto);
         Movie savedMovie = movieRepository.save(movie);
+        movieCatalogCache.invalidate();
+        movieSearchIndex.put(savedMovie);
         return convertToDTO(savedMovie);
     }
 
+    /**
+     * Imports the movies of an NDJSON or CSV upload, read one line at a time. Valid movies are inserted with JDBC batches
+     * of {@link MovieConstants#IMPORT_BATCH_SIZE}, each batch committed on its own. Invalid rows and titles that already exist
+     * are skipped and reported instead of failing the import.
+     * @return how many movies were imported and which rows were not
+     * @throws IllegalArgumentException if a CSV upload has no valid header
+     */
+    public MovieImportResultDTO importMovies(InputStream upload, Format format) throws IOException {
+        MovieImportResultDTO result = new MovieImportResultDTO();
+        // Titles are checked against this set rather than with a query per row - it includes the titles imported so far
+        Set<String> titles = new HashSet<>(movieRepository.findAllTitles());
+        List<Movie> batch = new ArrayList<>();
+        List<Long> batchLines = new ArrayList<>();
+
+        try (MovieImportReader reader = new MovieImportReader(upload, format, objectMapper)) {
+            Row row;
+            while ((row = reader.next()) != null) {
+                MovieDTO movieDto = row.movie();
+                String title = movieDto == null ? null : movieDto.getTitle();
+                if (row.error() != null) {
+                    addImportError(result, row.line(), title, row.error());
+                    continue;
+                }
+                try {
+                    validateMovieData(movieDto);
+                } catch (IllegalArgumentException e) {
+                    addImportError(result, row.line(), title, e.getMessage());
+                    continue;
+                }
+                if (!titles.add(title)) {
+                    addImportError(result, row.line(), title, "Movie with title " + title + " already exists.");
+                    continue;
+                }
+
+                Movie movie = convertToEntity(movieDto);
+                movie.setId(null);
+                batch.add(movie);
+                batchLines.add(row.line());
+                if (batch.size() == MovieConstants.IMPORT_BATCH_SIZE) {
+                    insertImportBatch(batch, batchLines, result);
+                    batch.clear();
+                    batchLines.clear();
+                }
+            }
+        }
+        insertImportBatch(batch, batchLines, result);
+        return result;
+    }
+
     @Transactional(isolation = Isolation.READ_COMMITTED)
     public MovieDTO updateMovie(String movieTitle, MovieDTO movieDto) {
         validateMovieData(movieDto);
@@ -67,6 +203,8 @@ public class MovieService {
         movie.setReleaseYear(movieDto.getReleaseYear());
         
         Movie updatedMovie = movieRepository.save(movie);
+        movieCatalogCache.invalidate();
+        movieSearchIndex.put(updatedMovie);
         return convertToDTO(updatedMovie);
     }
 
@@ -75,19 +213,74 @@ public class MovieService {
         Movie movie = movieRepository.findByTitle(movieTitle)
                 .orElseThrow(() -> new ResourceNotFoundException("Movie not found with title: " + movieTitle));
         
-        // Per data flow: Delete associated showtimes when a movie is deleted
-        List<Long> showtimeIds = showtimeRepository.findByMovieId(movie.getId())
-                .stream()
-                .map(showtime -> showtime.getId())
-                .collect(Collectors.toList());
-        
-        // Delete each showtime (this will cascade to delete associated bookings and show seats)
-        for (Long showtimeId : showtimeIds) {
-            showtimeService.deleteShowtime(showtimeId);
+        // Per data flow: Delete associated showtimes when a movie is deleted - set-based, not one showtime at a time
+        List<Long> showtimeIds = showtimeService.deleteShowtimesByMovie(movie.getId());
+
+        // Then their bookings and show seats, now or once the deletion has committed
+        if (deleteMode == DeleteMode.BACKGROUND && !showtimeIds.isEmpty()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    purgeExecutor.execute(() -> purgeBookingsAndShowSeats(showtimeIds));
+                }
+            });
+        } else if (!showtimeIds.isEmpty()) {
+            showtimeService.purgeBookingsAndShowSeats(showtimeIds);
         }
         
         // Now delete the movie itself
         movieRepository.delete(movie);
+        movieCatalogCache.invalidate();
+        movieSearchIndex.remove(movie.getId());
+    }
+
+    private void purgeBookingsAndShowSeats(List<Long> showtimeIds) {
+        try {
+            showtimeService.purgeBookingsAndShowSeats(showtimeIds);
+        } catch (RuntimeException e) {
+            // The showtimes are gone already - the nightly retention run removes what is left of them
+            log.error("Purging the bookings and show seats of {} deleted showtimes failed", showtimeIds.size(), e);
+        }
+    }
+
+    private void insertImportBatch(List<Movie> batch, List<Long> batchLines, MovieImportResultDTO result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveImportedMovies(batch));
+            result.setImported(result.getImported() + batch.size());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request added one of the titles after they were loaded - insert the batch one movie at a time
+            for (int i = 0; i < batch.size(); i++) {
+                Movie movie = batch.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> saveImportedMovies(List.of(movie)));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    if (movieRepository.findByTitle(movie.getTitle()).isPresent()) {
+                        addImportError(result, batchLines.get(i), movie.getTitle(), "Movie with title " + movie.getTitle() + " already exists.");
+                    } else {
+                        log.warn("Importing movie {} failed", movie.getTitle(), rowFailure);
+                        addImportError(result, batchLines.get(i), movie.getTitle(), "Movie with title " + movie.getTitle() + " could not be saved.");
+                    }
+                }
+            }
+        }
+    }
+
+    private void saveImportedMovies(List<Movie> movies) {
+        movieRepository.insertAll(movies);
+        movieCatalogCache.invalidate();
+        movies.forEach(movieSearchIndex::put);
+    }
+
+    private void addImportError(MovieImportResultDTO result, long line, String title, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MovieConstants.MAX_IMPORT_ERRORS) {
+            result.getErrors().add(new MovieImportErrorDTO(line, title, message));
+        }
     }
 
     // Helper methods for DTO to Entity conversion
@@ -127,10 +320,18 @@ public class MovieService {
             throw new IllegalArgumentException("Movie title cannot be empty");
         }
         
+        if (movieDTO.getTitle().length() > MovieConstants.MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("Movie title cannot be longer than " + MovieConstants.MAX_TITLE_LENGTH + " characters");
+        }
+        
         if (movieDTO.getGenre() == null || movieDTO.getGenre().trim().isEmpty()) {
             throw new IllegalArgumentException("Movie genre cannot be empty");
         }
         
+        if (movieDTO.getGenre().length() > MovieConstants.MAX_GENRE_LENGTH) {
+            throw new IllegalArgumentException("Movie genre cannot be longer than " + MovieConstants.MAX_GENRE_LENGTH + " characters");
+        }
+        
         if (movieDTO.getDuration() == null || movieDTO.getDuration() <= 0) {
             throw new IllegalArgumentException("Movie duration must be greater than 0 minutes");
         }
@@ -143,4 +344,24 @@ public class MovieService {
             throw new IllegalArgumentException("Movie release year must be after 1880");
         }
     }
+
+    /**
+     * Validates the movie search data according to the data modeling requirements
+     * @param query the search words
+     * @param limit the number of results
+     * @throws IllegalArgumentException if validation fails
+     */
+    private void validateMovieSearchData(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search query cannot be empty");
+        }
+
+        if (query.length() > MovieConstants.MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query cannot be longer than " + MovieConstants.MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+
+        if (limit <= 0 || limit > MovieConstants.MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MovieConstants.MAX_SEARCH_RESULTS);
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.ShowtimeConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps show_seats and bookings from growing without bound, as assumed by the capacity estimations:
+ * show seats are purged {@link ShowtimeConstants#SHOW_SEAT_RETENTION_DAYS} days after their showtime ended,
+ * showtimes and their bookings {@link ShowtimeConstants#SHOWTIME_RETENTION_DAYS} days after.
+ * Data is deleted {@link ShowtimeConstants#DELETE_BATCH_SIZE} showtimes at a time, each batch in its own short
+ * transaction, so a run never holds locks on a large part of a table. Each run also removes the bookings and show seats
+ * of showtimes that no longer exist, which a failed background purge after a movie delete leaves behind.
+ */
+@Service
+public class RetentionService {
+
+    private final ShowtimeService showtimeService;
+
+    // End time up to which show seats have been purged - a run only scans the showtimes that ended since the previous one
+    private LocalDateTime showSeatsPurgedUpTo;
+
+    @Autowired
+    public RetentionService(ShowtimeService showtimeService) {
+        this.showtimeService = showtimeService;
+    }
+
+    @Scheduled(cron = ShowtimeConstants.RETENTION_CRON)
+    public void purgeExpiredData() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime showtimesEndedBefore = now.minusDays(ShowtimeConstants.SHOWTIME_RETENTION_DAYS);
+        // Expired showtimes first - their show seats go with them and need not be purged separately
+        deleteEndedShowtimes(showtimesEndedBefore);
+        // After a restart every showtime still kept is scanned once
+        purgeShowSeats(showSeatsPurgedUpTo != null ? showSeatsPurgedUpTo : showtimesEndedBefore,
+                now.minusDays(ShowtimeConstants.SHOW_SEAT_RETENTION_DAYS));
+        purgeOrphanedData();
+    }
+
+    /**
+     * @return number of deleted showtimes whose leftover bookings and show seats were removed
+     */
+    public int purgeOrphanedData() {
+        int total = 0;
+        int purged;
+        while ((purged = showtimeService.purgeOrphanedBookingsAndShowSeats()) > 0) {
+            total += purged;
+        }
+        return total;
+    }
+
+    /**
+     * @return number of showtimes deleted with their bookings and show seats
+     */
+    public int deleteEndedShowtimes(LocalDateTime endedBefore) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = showtimeService.deleteEndedShowtimes(endedBefore);
+            total += deleted;
+        } while (deleted == ShowtimeConstants.DELETE_BATCH_SIZE);
+        return total;
+    }
+
+    /**
+     * Purges the show seats of the showtimes that ended in the given period and remembers its end for the next run
+     * @return number of ended showtimes whose show seats were purged
+     */
+    public int purgeShowSeats(LocalDateTime endedFrom, LocalDateTime endedBefore) {
+        int total = 0;
+        long afterShowtimeId = 0;
+        List<Long> purged = showtimeService.purgeShowSeatsOfEndedShowtimes(endedFrom, endedBefore, afterShowtimeId);
+        while (!purged.isEmpty()) {
+            total += purged.size();
+            afterShowtimeId = purged.get(purged.size() - 1);
+            purged = showtimeService.purgeShowSeatsOfEndedShowtimes(endedFrom, endedBefore, afterShowtimeId);
+        }
+        showSeatsPurgedUpTo = endedBefore;
+        return total;
+    }
+}
@@ -0,0 +1,315 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.BookingConstants;
+import com.att.tdp.popcorn_palace.dto.GroupBookingDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingResponseDTO;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponseDTO;
+import com.att.tdp.popcorn_palace.entity.Booking;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.exception.ShowtimeEndedException;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeResolutionCache.ShowtimeResolution;
+import com.att.tdp.popcorn_palace.util.HierarchicalTimingWheel;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Temporary seat holds taken before payment.
+ * A hold reserves its show seats right away (so no row lock stays open while the user pays) and is either
+ * confirmed into bookings or released. Unconfirmed holds are released when they expire, driven by an
+ * in-memory timing wheel rather than by polling show_seats.
+ * Holds, confirmations and releases run on the executor that owns the showtime, like bookings of that showtime.
+ */
+@Service
+public class SeatHoldService {
+
+    private final BookingRepository bookingRepository;
+    private final ShowtimeResolutionCache showtimeResolutionCache;
+    private final ShowSeatService showSeatService;
+    private final SeatStateService seatStateService;
+    private final ShowtimeShardExecutor showtimeShardExecutor;
+
+    private final ConcurrentMap<UUID, SeatHold> activeHolds = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel<UUID> expiryWheel = new HierarchicalTimingWheel<>(
+            BookingConstants.HOLD_EXPIRY_TICK_MILLIS, BookingConstants.HOLD_EXPIRY_WHEEL_LEVELS, System.currentTimeMillis());
+
+    @Autowired
+    public SeatHoldService(
+            BookingRepository bookingRepository,
+            ShowtimeResolutionCache showtimeResolutionCache,
+            ShowSeatService showSeatService,
+            SeatStateService seatStateService,
+            ShowtimeShardExecutor showtimeShardExecutor) {
+        this.bookingRepository = bookingRepository;
+        this.showtimeResolutionCache = showtimeResolutionCache;
+        this.showSeatService = showSeatService;
+        this.seatStateService = seatStateService;
+        this.showtimeShardExecutor = showtimeShardExecutor;
+    }
+
+    @PostConstruct
+    public void registerHeldSeats() {
+        seatStateService.setHeldSeatSource(this::findHeldSeatNumbers);
+    }
+
+    /**
+     * Holds seats of one showtime for a user, all-or-nothing, for {@link BookingConstants#HOLD_DURATION_MINUTES} minutes
+     */
+    public SeatHoldResponseDTO holdSeats(GroupBookingDTO holdDto) {
+        validateSeatHoldData(holdDto);
+        return showtimeShardExecutor.execute(holdDto.getShowtimeId(), () -> reserveHold(holdDto));
+    }
+
+    /**
+     * Turns a hold into bookings for the user who took it
+     * @throws ResourceNotFoundException if the hold does not exist, was released or has expired
+     */
+    public GroupBookingResponseDTO confirmHold(UUID holdId) {
+        return showtimeShardExecutor.execute(findActiveHold(holdId).showtimeId(), () -> bookHold(holdId));
+    }
+
+    /**
+     * Gives the seats of a hold back before it expires
+     * @throws ResourceNotFoundException if the hold does not exist, was released or has expired
+     */
+    public void releaseHold(UUID holdId) {
+        showtimeShardExecutor.execute(findActiveHold(holdId).showtimeId(), () -> {
+            SeatHold seatHold = takeActiveHold(holdId);
+            showSeatService.releaseHolds(List.of(holdId));
+            afterCommit(() -> releaseSeatState(seatHold));
+            return null;
+        });
+    }
+
+    private SeatHoldResponseDTO reserveHold(GroupBookingDTO holdDto) {
+        List<Integer> seatNumbers = holdDto.getSeatNumbers().stream()
+                .sorted()
+                .collect(Collectors.toList());
+
+        // Validate showtime exists and resolve its theater and seats
+        ShowtimeResolution showtime = showtimeResolutionCache.resolve(holdDto.getShowtimeId());
+        if (showtime.hasEnded()) {
+            throw new ShowtimeEndedException("Showtime " + showtime.showtimeId() + " has already ended.");
+        }
+
+        for (Integer seatNumber : seatNumbers) {
+            if (seatNumber > showtime.seatCount()) {
+                throw new IllegalArgumentException("Invalid seat number. Must be between 1 and " + showtime.seatCount());
+            }
+        }
+
+        // Claim all seats in memory first - nothing is held if any of them is taken
+        if (!seatStateService.claimAll(showtime.showtimeId(), showtime.seatCount(), seatNumbers)) {
+            throw new SeatAlreadyBookedException("One or more of seats " + seatNumbers + " are already booked for this showtime.");
+        }
+
+        // Hold show seats in ascending seat order - a failure rolls back the whole hold
+        UUID holdId = UUID.randomUUID();
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(BookingConstants.HOLD_DURATION_MINUTES);
+        for (Integer seatNumber : seatNumbers) {
+            if (!showSeatService.holdSeat(showtime.showtimeId(), showtime.seatId(seatNumber), holdId, expiresAt)) {
+                seatStateService.evict(showtime.showtimeId());
+                throw new SeatAlreadyBookedException("Seat " + seatNumber + " is already booked for this showtime.");
+            }
+        }
+
+        SeatHold seatHold = new SeatHold(holdId, showtime.showtimeId(), holdDto.getUserId(), seatNumbers, expiresAt);
+        afterCommit(() -> register(seatHold));
+
+        return new SeatHoldResponseDTO(holdId, showtime.showtimeId(), seatNumbers, expiresAt);
+    }
+
+    private GroupBookingResponseDTO bookHold(UUID holdId) {
+        SeatHold seatHold = takeActiveHold(holdId);
+
+        if (!showSeatService.confirmHold(holdId, seatHold.seatNumbers().size())) {
+            throw new ResourceNotFoundException("Hold not found or expired with id: " + holdId);
+        }
+
+        List<Booking> bookings = seatHold.seatNumbers().stream()
+                .map(seatNumber -> new Booking(null, seatHold.showtimeId(), seatNumber, seatHold.userId()))
+                .collect(Collectors.toList());
+
+        List<UUID> bookingIds;
+        try {
+            bookingIds = bookingRepository.saveAllAndFlush(bookings).stream()
+                    .map(Booking::getBookingId)
+                    .collect(Collectors.toList());
+        } catch (DataIntegrityViolationException e) {
+            // Database disagrees with the in-memory state, re-seed it on next access
+            seatStateService.evict(seatHold.showtimeId());
+            throw new SeatAlreadyBookedException("One or more of seats " + seatHold.seatNumbers() + " are already booked for this showtime.");
+        }
+
+        return new GroupBookingResponseDTO(bookingIds);
+    }
+
+    @Scheduled(fixedDelay = BookingConstants.HOLD_EXPIRY_TICK_MILLIS)
+    public void expireHolds() {
+        expireHolds(System.currentTimeMillis());
+    }
+
+    /**
+     * Releases every hold whose expiry time has passed, with a single show_seats update per tick
+     * @return number of holds released
+     */
+    public int expireHolds(long nowMillis) {
+        List<SeatHold> expiredHolds = new ArrayList<>();
+        for (UUID holdId : expiryWheel.advance(nowMillis)) {
+            SeatHold seatHold = activeHolds.remove(holdId);
+            if (seatHold != null) {
+                expiredHolds.add(seatHold);
+            }
+        }
+        if (expiredHolds.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            showSeatService.releaseHolds(expiredHolds.stream().map(SeatHold::holdId).collect(Collectors.toList()));
+        } catch (RuntimeException e) {
+            // Keep the holds and try again on the next tick
+            expiredHolds.forEach(seatHold -> {
+                activeHolds.put(seatHold.holdId(), seatHold);
+                expiryWheel.schedule(seatHold.holdId(), nowMillis);
+            });
+            throw e;
+        }
+        expiredHolds.forEach(this::releaseSeatState);
+        return expiredHolds.size();
+    }
+
+    /**
+     * Holds only live in memory, so any hold left in show_seats by a previous run can never be confirmed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void releaseOrphanedHolds() {
+        showSeatService.releaseAllHolds();
+    }
+
+    public int getActiveHoldCount() {
+        return activeHolds.size();
+    }
+
+    /**
+     * @return the seats of a showtime held by active holds
+     */
+    List<Integer> findHeldSeatNumbers(Long showtimeId) {
+        return activeHolds.values().stream()
+                .filter(seatHold -> seatHold.showtimeId().equals(showtimeId))
+                .flatMap(seatHold -> seatHold.seatNumbers().stream())
+                .collect(Collectors.toList());
+    }
+
+    private SeatHold findActiveHold(UUID holdId) {
+        SeatHold seatHold = activeHolds.get(holdId);
+        if (seatHold == null) {
+            throw new ResourceNotFoundException("Hold not found or expired with id: " + holdId);
+        }
+        return seatHold;
+    }
+
+    private SeatHold takeActiveHold(UUID holdId) {
+        SeatHold seatHold = activeHolds.remove(holdId);
+        if (seatHold == null) {
+            throw new ResourceNotFoundException("Hold not found or expired with id: " + holdId);
+        }
+        // Put the hold back if the confirmation or release does not commit - scheduled again, as its expiry
+        // may have fired while it was taken; an expiry time already passed fires on the next tick
+        afterRollback(() -> register(seatHold));
+        return seatHold;
+    }
+
+    private void register(SeatHold seatHold) {
+        activeHolds.put(seatHold.holdId(), seatHold);
+        expiryWheel.schedule(seatHold.holdId(), seatHold.expiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void releaseSeatState(SeatHold seatHold) {
+        seatHold.seatNumbers().forEach(seatNumber -> seatStateService.release(seatHold.showtimeId(), seatNumber));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Validates the hold data according to the data modeling requirements
+     * @param holdDTO the hold data to validate
+     * @throws IllegalArgumentException if validation fails
+     */
+    private void validateSeatHoldData(GroupBookingDTO holdDTO) {
+        if (holdDTO == null) {
+            throw new IllegalArgumentException("Hold data cannot be null");
+        }
+
+        if (holdDTO.getShowtimeId() == null) {
+            throw new IllegalArgumentException("Showtime ID is required for a hold");
+        }
+
+        List<Integer> seatNumbers = holdDTO.getSeatNumbers();
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat number is required for a hold");
+        }
+
+        if (seatNumbers.size() > BookingConstants.MAX_SEATS_PER_BOOKING) {
+            throw new IllegalArgumentException("A hold can contain at most " + BookingConstants.MAX_SEATS_PER_BOOKING + " seats");
+        }
+
+        if (seatNumbers.stream().anyMatch(seatNumber -> seatNumber == null || seatNumber <= 0)) {
+            throw new IllegalArgumentException("Seat number must be greater than 0");
+        }
+
+        if (new HashSet<>(seatNumbers).size() != seatNumbers.size()) {
+            throw new IllegalArgumentException("Seat numbers in a hold must be unique");
+        }
+
+        if (holdDTO.getUserId() == null) {
+            throw new IllegalArgumentException("User ID is required for a hold");
+        }
+    }
+
+    private record SeatHold(UUID holdId, Long showtimeId, UUID userId, List<Integer> seatNumbers, LocalDateTime expiresAt) {
+    }
+}
@@ -34,6 +34,16 @@ public class SeatService {
         return convertToDTO(savedSeat);
     }
 
+    /**
+     * Creates the seats numbered 1 to numberOfSeats of a new theater with batched inserts
+     * @return number of seats created
+     */
+    @Transactional
+    public int addSeats(Long theaterId, Integer numberOfSeats) {
+        validateSeatsData(theaterId, numberOfSeats);
+        return seatRepository.insertSeats(theaterId, numberOfSeats);
+    }
+
     public Seat findByTheaterIdAndNumber(Long theaterId, Integer seatNumber) {
         return seatRepository.findByTheaterIdAndNumber(theaterId, seatNumber)
                 .orElseThrow(() -> new RuntimeException("Seat not found with theater id: " + theaterId + " and number: " + seatNumber));
@@ -74,4 +84,20 @@ public class SeatService {
             throw new IllegalArgumentException("Seat number must be greater than 0");
         }
     }
+
+    /**
+     * Validates the seats of a new theater
+     * @param theaterId the theater of the seats
+     * @param numberOfSeats how many seats to create
+     * @throws IllegalArgumentException if validation fails
+     */
+    private void validateSeatsData(Long theaterId, Integer numberOfSeats) {
+        if (theaterId == null) {
+            throw new IllegalArgumentException("Theater ID is required for a seat");
+        }
+        
+        if (numberOfSeats == null || numberOfSeats <= 0) {
+            throw new IllegalArgumentException("Number of seats must be greater than 0");
+        }
+    }
 }
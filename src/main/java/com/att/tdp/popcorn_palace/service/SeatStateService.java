@@ -0,0 +1,149 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.util.SeatBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory, authoritative seat state per showtime.
+ * Each showtime's availability is kept in a {@link SeatBitmap} seeded once from its unavailable show seats,
+ * so conflicting claims are rejected without touching the database.
+ */
+@Service
+public class SeatStateService {
+
+    private final ShowSeatService showSeatService;
+    private final ConcurrentMap<Long, SeatBitmap> seatStates = new ConcurrentHashMap<>();
+    private volatile Function<Long, Collection<Integer>> heldSeatSource = showtimeId -> List.of();
+
+    @Autowired
+    public SeatStateService(ShowSeatService showSeatService) {
+        this.showSeatService = showSeatService;
+    }
+
+    /**
+     * Claims a seat for a showtime. When called inside a transaction the claim is
+     * released automatically if that transaction does not commit.
+     * @return true if the seat was free and is now claimed by the caller
+     */
+    public boolean claim(Long showtimeId, int seatCount, int seatNumber) {
+        return claimAll(showtimeId, seatCount, List.of(seatNumber));
+    }
+
+    /**
+     * Claims several seats of a showtime all-or-nothing, in the given order.
+     * If any seat is taken, the seats claimed by this call are given back and nothing is held.
+     * @return true if every seat was free and is now claimed by the caller
+     */
+    public boolean claimAll(Long showtimeId, int seatCount, List<Integer> seatNumbers) {
+        SeatBitmap seatBitmap = getSeatBitmap(showtimeId, seatCount);
+        for (int i = 0; i < seatNumbers.size(); i++) {
+            if (!seatBitmap.claim(seatNumbers.get(i))) {
+                for (int j = 0; j < i; j++) {
+                    seatBitmap.release(seatNumbers.get(j));
+                }
+                return false;
+            }
+        }
+        releaseOnRollback(seatBitmap, seatNumbers);
+        return true;
+    }
+
+    /**
+     * Finds the best block of adjacent free seats of a showtime, closest to the middle of the theater.
+     * The seats are not claimed - pass them to {@link #claimAll} to take them.
+     * @return the seat numbers in ascending order, or an empty list if no block of that size is free
+     */
+    public List<Integer> findBestAvailable(Long showtimeId, int seatCount, int numberOfSeats) {
+        int start = getSeatBitmap(showtimeId, seatCount).findBestFreeBlock(numberOfSeats);
+        if (start < 0) {
+            return List.of();
+        }
+        return IntStream.range(start, start + numberOfSeats).boxed().collect(Collectors.toList());
+    }
+
+    public void release(Long showtimeId, int seatNumber) {
+        SeatBitmap seatBitmap = seatStates.get(showtimeId);
+        if (seatBitmap != null) {
+            seatBitmap.release(seatNumber);
+        }
+    }
+
+    /**
+     * @return number of seats of a showtime that are neither booked nor held
+     */
+    public int getRemainingSeats(Long showtimeId, int seatCount) {
+        return getSeatBitmap(showtimeId, seatCount).getFreeSeats();
+    }
+
+    /**
+     * Tells in O(1), without touching the database, whether a showtime is known to have fewer free seats than wanted.
+     * A showtime whose state is not loaded yet is never reported as sold out.
+     */
+    public boolean isSoldOut(Long showtimeId, int seatsWanted) {
+        SeatBitmap seatBitmap = seatStates.get(showtimeId);
+        return seatBitmap != null && seatBitmap.getFreeSeats() < seatsWanted;
+    }
+
+    public boolean isClaimed(Long showtimeId, int seatCount, int seatNumber) {
+        return getSeatBitmap(showtimeId, seatCount).isClaimed(seatNumber);
+    }
+
+    /**
+     * Drops the cached state of a showtime; it is re-seeded from the database on next access
+     */
+    public void evict(Long showtimeId) {
+        seatStates.remove(showtimeId);
+    }
+
+    /**
+     * Sets where the seats held only in memory come from - virtual show seats have no row to record a hold,
+     * so without this a re-seeded state would see held seats as free
+     */
+    public void setHeldSeatSource(Function<Long, Collection<Integer>> heldSeatSource) {
+        this.heldSeatSource = heldSeatSource;
+    }
+
+    private SeatBitmap getSeatBitmap(Long showtimeId, int seatCount) {
+        return seatStates.computeIfAbsent(showtimeId, id -> loadSeatBitmap(id, seatCount));
+    }
+
+    private SeatBitmap loadSeatBitmap(Long showtimeId, int seatCount) {
+        SeatBitmap seatBitmap = new SeatBitmap(seatCount);
+        claimSeats(seatBitmap, showSeatService.findUnavailableSeatNumbers(showtimeId));
+        claimSeats(seatBitmap, heldSeatSource.apply(showtimeId));
+        return seatBitmap;
+    }
+
+    private void claimSeats(SeatBitmap seatBitmap, Collection<Integer> seatNumbers) {
+        for (Integer seatNumber : seatNumbers) {
+            if (seatNumber != null && seatNumber > 0 && seatNumber <= seatBitmap.getCapacity()) {
+                seatBitmap.claim(seatNumber);
+            }
+        }
+    }
+
+    private void releaseOnRollback(SeatBitmap seatBitmap, List<Integer> seatNumbers) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    seatNumbers.forEach(seatBitmap::release);
+                }
+            }
+        });
+    }
+}
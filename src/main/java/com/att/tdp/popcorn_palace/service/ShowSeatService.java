@@ -1,36 +1,109 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.constants.ShowtimeConstants;
 import com.att.tdp.popcorn_palace.dto.ShowSeatDTO;
 import com.att.tdp.popcorn_palace.entity.ShowSeat;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
 import com.att.tdp.popcorn_palace.repository.ShowSeatRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeResolutionCache.ShowtimeResolution;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * Seat availability per showtime.
+ * In materialized mode every showtime has one show_seats row per theater seat, and seats are claimed and held
+ * with conditional updates on those rows. In virtual mode no rows are written: a seat is taken when a booking
+ * for it exists, the unique (showtime_id, seat_number) constraint on bookings rejects a second booking,
+ * and holds live only in the in-memory seat state.
+ */
 @Service
 public class ShowSeatService {
 
+    public enum Mode {
+        MATERIALIZED,
+        VIRTUAL
+    }
+
     private final ShowSeatRepository showSeatRepository;
+    private final BookingRepository bookingRepository;
+    private final ShowtimeResolutionCache showtimeResolutionCache;
+    private final Mode mode;
 
     @Autowired
-    public ShowSeatService(ShowSeatRepository showSeatRepository) {
+    public ShowSeatService(
+            ShowSeatRepository showSeatRepository,
+            BookingRepository bookingRepository,
+            ShowtimeResolutionCache showtimeResolutionCache,
+            @Value("${booking.show-seats.mode:materialized}") String mode) {
         this.showSeatRepository = showSeatRepository;
+        this.bookingRepository = bookingRepository;
+        this.showtimeResolutionCache = showtimeResolutionCache;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase());
+    }
+
+    public boolean isVirtual() {
+        return mode == Mode.VIRTUAL;
+    }
+
+    /**
+     * Creates the show seats of a showtime from the seats of its theater with a single INSERT ... SELECT,
+     * so the cost is one round-trip whatever the size of the theater. Virtual show seats need no rows.
+     * @return number of show seats created
+     */
+    @Transactional
+    public int createShowSeats(Long showtimeId, Long theaterId) {
+        if (isVirtual()) {
+            return 0;
+        }
+        return showSeatRepository.insertShowSeatsForTheater(showtimeId, theaterId);
+    }
+
+    /**
+     * Creates the show seats of many showtimes at once - one INSERT ... SELECT per theater
+     * and {@link ShowtimeConstants#IMPORT_BATCH_SIZE} showtimes
+     * @param showtimeIdsByTheaterId ids of the new showtimes, by the id of their theater
+     * @return number of show seats created
+     */
+    @Transactional
+    public int createShowSeats(Map<Long, List<Long>> showtimeIdsByTheaterId) {
+        if (isVirtual()) {
+            return 0;
+        }
+        int created = 0;
+        for (Map.Entry<Long, List<Long>> theaterShowtimes : showtimeIdsByTheaterId.entrySet()) {
+            List<Long> showtimeIds = theaterShowtimes.getValue();
+            for (int from = 0; from < showtimeIds.size(); from += ShowtimeConstants.IMPORT_BATCH_SIZE) {
+                created += showSeatRepository.insertShowSeatsForShowtimes(
+                        showtimeIds.subList(from, Math.min(from + ShowtimeConstants.IMPORT_BATCH_SIZE, showtimeIds.size())),
+                        theaterShowtimes.getKey());
+            }
+        }
+        return created;
     }
 
-    public void createShowSeats(Long showtimeId, List<Long> seatIds) {
-        for (Long seatId : seatIds) {
-            ShowSeat showSeat = new ShowSeat();
-            showSeat.setShowtimeId(showtimeId);
-            showSeat.setSeatId(seatId);
-            showSeat.setIsAvailable(true);
-            showSeatRepository.save(showSeat);
+    /**
+     * Seat numbers of a showtime that cannot be booked - reserved or held show seats,
+     * or the booked seats in virtual mode
+     */
+    public List<Integer> findUnavailableSeatNumbers(Long showtimeId) {
+        if (isVirtual()) {
+            return bookingRepository.findSeatNumbersByShowtimeId(showtimeId);
         }
+        return showSeatRepository.findUnavailableSeatNumbers(showtimeId);
     }
 
     @Transactional
@@ -38,33 +111,108 @@ public class ShowSeatService {
         showSeatRepository.deleteByShowtimeId(showtimeId);
     }
 
+    /**
+     * Deletes the show seats of many showtimes with one DELETE statement
+     * @return number of show seats deleted
+     */
+    @Transactional
+    public int deleteShowSeatsByShowtimes(Collection<Long> showtimeIds) {
+        return showSeatRepository.deleteByShowtimeIdIn(showtimeIds);
+    }
+
+    /**
+     * @return ids of up to the given number of showtimes that no longer exist but still have show seats
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public List<Long> findShowtimeIdsWithoutShowtime(int limit) {
+        if (isVirtual()) {
+            return List.of();
+        }
+        return showSeatRepository.findShowtimeIdsWithoutShowtime(PageRequest.of(0, limit));
+    }
+
     @Transactional(isolation = Isolation.REPEATABLE_READ)
     public List<ShowSeatDTO> getSeatsByShowtimeId(Long showtimeId) {
+        if (isVirtual()) {
+            return deriveShowSeats(showtimeId);
+        }
         return showSeatRepository.findByShowtimeId(showtimeId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
-    @Retryable(
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 100, multiplier = 2.5, maxDelay = 1000, random = true),
-        include = {Exception.class}
-    )
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    /**
+     * Claims a show seat with one conditional update - concurrent losers get false right away
+     * instead of waiting on a serialization failure and retrying.
+     * Virtual show seats have no row to claim - the booking insert is the claim.
+     * @return true if the seat was available and is now reserved by the caller
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public boolean reserveSeat(Long showtimeId, Long seatId) {
-        showSeatRepository.lockRow(showtimeId, seatId);
-        ShowSeat showSeat = showSeatRepository.findByShowtimeIdAndSeatId(showtimeId, seatId)
-                .orElseThrow(() -> new RuntimeException("Show seat not found for showtime: " + showtimeId + " and seat: " + seatId));
-        
-        if (!showSeat.getIsAvailable()) {
-            return false;
+        if (isVirtual()) {
+            return true;
+        }
+        return showSeatRepository.claimSeat(showtimeId, seatId) == 1;
+    }
+
+    /**
+     * Holds a show seat until the given time with one conditional update
+     * @return true if the seat was available and is now held
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public boolean holdSeat(Long showtimeId, Long seatId, UUID holdId, LocalDateTime heldUntil) {
+        if (isVirtual()) {
+            return true;
+        }
+        return showSeatRepository.holdSeat(showtimeId, seatId, holdId, heldUntil) == 1;
+    }
+
+    /**
+     * Turns the seats of a hold into regular reserved seats
+     * @param seatCount number of seats the hold was taken for
+     * @return true if all of them were still held
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public boolean confirmHold(UUID holdId, int seatCount) {
+        if (isVirtual()) {
+            return true;
+        }
+        return showSeatRepository.confirmHold(holdId) == seatCount;
+    }
+
+    /**
+     * Makes the seats of the given holds available again, in one statement
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int releaseHolds(Collection<UUID> holdIds) {
+        if (holdIds.isEmpty() || isVirtual()) {
+            return 0;
+        }
+        return showSeatRepository.releaseHolds(holdIds);
+    }
+
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int releaseAllHolds() {
+        if (isVirtual()) {
+            return 0;
+        }
+        return showSeatRepository.releaseAllHolds();
+    }
+
+    /**
+     * Builds the show seats of a showtime from its theater's seats and its bookings; derived show seats have no id
+     */
+    private List<ShowSeatDTO> deriveShowSeats(Long showtimeId) {
+        ShowtimeResolution showtime = showtimeResolutionCache.resolve(showtimeId);
+        Set<Integer> bookedSeatNumbers = new HashSet<>(bookingRepository.findSeatNumbersByShowtimeId(showtimeId));
+        List<ShowSeatDTO> showSeats = new ArrayList<>(showtime.seatCount());
+        for (int seatNumber = 1; seatNumber <= showtime.seatCount(); seatNumber++) {
+            if (showtime.seatIds()[seatNumber] != 0) {
+                showSeats.add(new ShowSeatDTO(null, showtimeId, showtime.seatIds()[seatNumber], !bookedSeatNumbers.contains(seatNumber)));
+            }
         }
-        
-        showSeat.setIsAvailable(false);
-        showSeatRepository.save(showSeat);
-        return true;
+        return showSeats;
     }
-    
 
     // Helper methods for DTO to Entity conversion
     private ShowSeatDTO convertToDTO(ShowSeat showSeat) {
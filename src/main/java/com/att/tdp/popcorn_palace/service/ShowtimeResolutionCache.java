@@ -0,0 +1,143 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.entity.Seat;
+import com.att.tdp.popcorn_palace.entity.Showtime;
+import com.att.tdp.popcorn_palace.entity.Theater;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.repository.SeatRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches what the booking path needs to know about a showtime - its theater id, seat count and seat ids by
+ * seat number - so a booking does not load the showtime, look up the theater by name and resolve the seat on every request.
+ * A showtime's entry must be invalidated whenever the showtime is updated or deleted.
+ */
+@Service
+public class ShowtimeResolutionCache {
+
+    private final ShowtimeRepository showtimeRepository;
+    private final TheaterCache theaterCache;
+    private final SeatRepository seatRepository;
+    private final ConcurrentMap<Long, ShowtimeResolution> resolutions = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, so a load that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public ShowtimeResolutionCache(
+            ShowtimeRepository showtimeRepository,
+            TheaterCache theaterCache,
+            SeatRepository seatRepository) {
+        this.showtimeRepository = showtimeRepository;
+        this.theaterCache = theaterCache;
+        this.seatRepository = seatRepository;
+    }
+
+    /**
+     * @throws ResourceNotFoundException if the showtime or its theater does not exist
+     */
+    public ShowtimeResolution resolve(Long showtimeId) {
+        ShowtimeResolution resolution = resolutions.get(showtimeId);
+        if (resolution != null) {
+            return resolution;
+        }
+
+        long version = invalidations.get();
+        resolution = load(showtimeId);
+        if (invalidations.get() == version) {
+            ShowtimeResolution cached = resolutions.putIfAbsent(showtimeId, resolution);
+            if (cached != null) {
+                return cached;
+            }
+            forgetOnRollback(showtimeId, resolution);
+        }
+        return resolution;
+    }
+
+    /**
+     * Drops the entry of a showtime now and, when called inside a transaction, again once it completes -
+     * a booking that loaded the old showtime in between cannot leave a stale entry behind
+     */
+    public void invalidate(Long showtimeId) {
+        invalidations.incrementAndGet();
+        resolutions.remove(showtimeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidations.incrementAndGet();
+                    resolutions.remove(showtimeId);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        return resolutions.size();
+    }
+
+    private ShowtimeResolution load(Long showtimeId) {
+        Showtime showtime = showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Showtime not found with id: " + showtimeId));
+
+        Theater theater = theaterCache.getTheater(showtime.getTheaterId());
+
+        // Seat numbers are dense (1..numberOfSeats), index 0 is unused
+        long[] seatIds = new long[theater.getNumberOfSeats() + 1];
+        for (Seat seat : seatRepository.findByTheaterId(theater.getId())) {
+            if (seat.getNumber() != null && seat.getNumber() > 0 && seat.getNumber() < seatIds.length) {
+                seatIds[seat.getNumber()] = seat.getId();
+            }
+        }
+        return new ShowtimeResolution(showtimeId, theater.getId(), showtime.getEndTime(), theater.getNumberOfSeats(), seatIds);
+    }
+
+    /**
+     * An entry loaded inside a transaction that rolls back may describe rows that never got committed
+     */
+    private void forgetOnRollback(Long showtimeId, ShowtimeResolution resolution) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    resolutions.remove(showtimeId, resolution);
+                }
+            }
+        });
+    }
+
+    /**
+     * The immutable facts the booking path needs about a showtime
+     * @param seatIds seat ids indexed by seat number, 0 where the theater has no such seat
+     */
+    public record ShowtimeResolution(Long showtimeId, Long theaterId, LocalDateTime endTime, int seatCount, long[] seatIds) {
+
+        /**
+         * A showtime that has ended cannot be booked - its show seats may already have been purged
+         */
+        public boolean hasEnded() {
+            return !endTime.isAfter(LocalDateTime.now());
+        }
+
+        /**
+         * @throws RuntimeException if the theater has no seat with this number
+         */
+        public Long seatId(int seatNumber) {
+            if (seatNumber <= 0 || seatNumber >= seatIds.length || seatIds[seatNumber] == 0) {
+                throw new RuntimeException("Seat not found with theater id: " + theaterId + " and number: " + seatNumber);
+            }
+            return seatIds[seatNumber];
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.entity.Showtime;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.util.ShowtimeSchedule;
+import com.att.tdp.popcorn_palace.util.ShowtimeSchedule.Slot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of the showtimes of every theater, used to detect overlapping showtimes without a query.
+ * A theater's {@link ShowtimeSchedule} is loaded once on first use and kept in sync by {@link ShowtimeService},
+ * so all showtime writes must go through it. A reported overlap is confirmed against the database before
+ * a showtime is rejected - showtimes removed behind the index's back are dropped from it then.
+ */
+@Service
+public class ShowtimeScheduleIndex {
+
+    private final ShowtimeRepository showtimeRepository;
+    private final ConcurrentMap<Long, ShowtimeSchedule> schedules = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ShowtimeScheduleIndex(ShowtimeRepository showtimeRepository) {
+        this.showtimeRepository = showtimeRepository;
+    }
+
+    /**
+     * @param excludedShowtimeId showtime to ignore, e.g. the one being updated, may be null
+     * @return true if another showtime of the theater overlaps [startTime, endTime]
+     */
+    public boolean overlaps(Long theaterId, LocalDateTime startTime, LocalDateTime endTime, Long excludedShowtimeId) {
+        ShowtimeSchedule schedule = getSchedule(theaterId);
+        synchronized (schedule) {
+            return hasOverlap(schedule, theaterId, startTime, endTime, excludedShowtimeId);
+        }
+    }
+
+    /**
+     * Adds a saved showtime unless it overlaps another one, as one atomic step - two concurrent requests
+     * cannot both add overlapping showtimes. When called inside a transaction the showtime is removed
+     * again if that transaction does not commit.
+     * @return false, and nothing is added, if the showtime overlaps another showtime of its theater
+     */
+    public boolean tryAdd(Showtime showtime) {
+        ShowtimeSchedule schedule = getSchedule(showtime.getTheaterId());
+        synchronized (schedule) {
+            if (hasOverlap(schedule, showtime.getTheaterId(), showtime.getStartTime(), showtime.getEndTime(), showtime.getId())) {
+                return false;
+            }
+            boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+            Slot slot = schedule.add(showtime.getId(), showtime.getStartTime(), showtime.getEndTime(), !inTransaction);
+            if (inTransaction) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_COMMITTED) {
+                            slot.commit();
+                        } else {
+                            schedule.remove(slot);
+                        }
+                    }
+                });
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes a showtime as it was indexed - once the surrounding transaction commits, so the slot stays
+     * taken while it may still roll back
+     */
+    public void remove(Long showtimeId, Long theaterId, LocalDateTime startTime, LocalDateTime endTime) {
+        Runnable removal = () -> {
+            ShowtimeSchedule schedule = schedules.get(theaterId);
+            if (schedule != null) {
+                Slot slot = schedule.find(showtimeId, startTime, endTime);
+                if (slot != null) {
+                    schedule.remove(slot);
+                }
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            removal.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                removal.run();
+            }
+        });
+    }
+
+    private ShowtimeSchedule getSchedule(Long theaterId) {
+        return schedules.computeIfAbsent(theaterId, this::loadSchedule);
+    }
+
+    private ShowtimeSchedule loadSchedule(Long theaterId) {
+        ShowtimeSchedule schedule = new ShowtimeSchedule();
+        for (Showtime showtime : showtimeRepository.findByTheaterId(theaterId)) {
+            schedule.add(showtime.getId(), showtime.getStartTime(), showtime.getEndTime(), true);
+        }
+        return schedule;
+    }
+
+    /**
+     * Must be called while holding the schedule's lock
+     */
+    private boolean hasOverlap(ShowtimeSchedule schedule, Long theaterId, LocalDateTime startTime, LocalDateTime endTime,
+                               Long excludedShowtimeId) {
+        List<Slot> overlapping = schedule.findOverlapping(startTime, endTime, excludedShowtimeId);
+        if (overlapping.isEmpty()) {
+            return false;
+        }
+        // A showtime another transaction is still adding counts as scheduled
+        if (overlapping.stream().anyMatch(slot -> !slot.isCommitted())) {
+            return true;
+        }
+
+        // Confirm the hit - the database is the source of truth for committed showtimes
+        Set<Long> storedShowtimeIds = showtimeRepository.findByTheaterAndTimeRange(theaterId, startTime, endTime).stream()
+                .map(Showtime::getId)
+                .filter(id -> !id.equals(excludedShowtimeId))
+                .collect(Collectors.toSet());
+        for (Slot slot : overlapping) {
+            if (!storedShowtimeIds.contains(slot.getShowtimeId())) {
+                schedule.remove(slot);
+            }
+        }
+        return !storedShowtimeIds.isEmpty();
+    }
+}
@@ -1,47 +1,68 @@
 package com.att.tdp.popcorn_palace.service;
 
-import com.att.tdp.popcorn_palace.dto.SeatDTO;
+import com.att.tdp.popcorn_palace.constants.ShowtimeConstants;
+import com.att.tdp.popcorn_palace.dto.ShowtimeAvailabilityDTO;
 import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
-import com.att.tdp.popcorn_palace.dto.TheaterDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimePageDTO;
+import com.att.tdp.popcorn_palace.entity.Movie;
 import com.att.tdp.popcorn_palace.entity.Showtime;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.exception.ShowtimeOverlapException;
 import com.att.tdp.popcorn_palace.repository.BookingRepository;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeResolutionCache.ShowtimeResolution;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
 public class ShowtimeService {
 
+    private static final String CURSOR_SEPARATOR = "~";
+
     private final ShowtimeRepository showtimeRepository;
     private final MovieRepository movieRepository;
     private final BookingRepository bookingRepository;
-    private final TheaterService theaterService;
-    private final SeatService seatService;
+    private final TheaterCache theaterCache;
     private final ShowSeatService showSeatService;
+    private final SeatStateService seatStateService;
+    private final ShowtimeResolutionCache showtimeResolutionCache;
+    private final ShowtimeScheduleIndex showtimeScheduleIndex;
 
     @Autowired
     public ShowtimeService(
             ShowtimeRepository showtimeRepository,
             MovieRepository movieRepository,
             BookingRepository bookingRepository,
-            TheaterService theaterService,
-            SeatService seatService,
-            ShowSeatService showSeatService) {
+            TheaterCache theaterCache,
+            ShowSeatService showSeatService,
+            SeatStateService seatStateService,
+            ShowtimeResolutionCache showtimeResolutionCache,
+            ShowtimeScheduleIndex showtimeScheduleIndex) {
         this.showtimeRepository = showtimeRepository;
         this.movieRepository = movieRepository;
         this.bookingRepository = bookingRepository;
-        this.theaterService = theaterService;
-        this.seatService = seatService;
+        this.theaterCache = theaterCache;
         this.showSeatService = showSeatService;
+        this.seatStateService = seatStateService;
+        this.showtimeResolutionCache = showtimeResolutionCache;
+        this.showtimeScheduleIndex = showtimeScheduleIndex;
     }
 
     public ShowtimeDTO getShowtimeById(Long id) {
@@ -50,6 +71,16 @@ public class ShowtimeService {
         return convertToDTO(showtime);
     }
 
+    /**
+     * Reads the number of seats left from the in-memory seat state instead of counting show seat rows.
+     * An ended showtime has no seats left - its show seats may already have been purged.
+     */
+    public ShowtimeAvailabilityDTO getAvailability(Long showtimeId) {
+        ShowtimeResolution showtime = showtimeResolutionCache.resolve(showtimeId);
+        int remainingSeats = showtime.hasEnded() ? 0 : seatStateService.getRemainingSeats(showtimeId, showtime.seatCount());
+        return new ShowtimeAvailabilityDTO(showtimeId, showtime.seatCount(), remainingSeats);
+    }
+
     public List<ShowtimeDTO> getAllShowtimes() {
         List<Showtime> showtimes = showtimeRepository.findAll();
         return showtimes.stream()
@@ -57,6 +88,38 @@ public class ShowtimeService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lists showtimes ordered by start time, one page at a time. Every filter may be null.
+     * @param from only showtimes starting at or after this time
+     * @param to only showtimes starting before this time
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @param limit page size, {@link ShowtimeConstants#DEFAULT_PAGE_SIZE} if null
+     */
+    public ShowtimePageDTO getShowtimes(Long movieId, String theater, LocalDateTime from, LocalDateTime to,
+                                        String cursor, Integer limit) {
+        int pageSize = limit == null ? ShowtimeConstants.DEFAULT_PAGE_SIZE : limit;
+        validateShowtimePageData(from, to, pageSize);
+        LocalDateTime afterStartTime = null;
+        Long afterId = null;
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor);
+            afterStartTime = LocalDateTime.parse(position[0]);
+            afterId = Long.parseLong(position[1]);
+        }
+
+        Long theaterId = theater == null ? null : theaterCache.getId(theater);
+
+        // One extra row tells whether there is a next page
+        List<Showtime> showtimes = showtimeRepository.findPage(movieId, theaterId, from, to, afterStartTime, afterId, pageSize + 1);
+        String nextCursor = null;
+        if (showtimes.size() > pageSize) {
+            showtimes = showtimes.subList(0, pageSize);
+            Showtime last = showtimes.get(pageSize - 1);
+            nextCursor = encodeCursor(last);
+        }
+        return new ShowtimePageDTO(showtimes.stream().map(this::convertToDTO).collect(Collectors.toList()), nextCursor);
+    }
+
     @Transactional(isolation = Isolation.READ_COMMITTED)
     public ShowtimeDTO addShowtime(ShowtimeDTO showtimeDto) {
         validateShowtimeData(showtimeDto);
@@ -70,29 +133,105 @@ public class ShowtimeService {
             throw new ResourceNotFoundException("Movie with id " + showtimeDto.getMovieId() + " does not exist.");
         }
 
+        // Get theater id by name
+        Long theaterId = theaterCache.getId(showtimeDto.getTheater());
+
         // Check for overlapping showtimes
-        if (isShowtimeOverlapping(showtimeDto.getTheater(), showtimeDto.getStartTime(), showtimeDto.getEndTime())) {
+        if (isShowtimeOverlapping(theaterId, showtimeDto.getStartTime(), showtimeDto.getEndTime())) {
             throw new ShowtimeOverlapException("There is already a showtime scheduled at this theater during the specified time.");
         }
 
-        // Get theater by name
-        TheaterDTO theaterDTO = theaterService.getTheaterByName(showtimeDto.getTheater());
-
         // Create and save the showtime
-        Showtime showtime = convertToEntity(showtimeDto);
+        Showtime showtime = convertToEntity(showtimeDto, theaterId);
         Showtime savedShowtime = showtimeRepository.save(showtime);
 
-        // Get all seats for the theater and collect their IDs directly
-        List<Long> seatIds = seatService.getSeatsByTheater(theaterDTO.getId()).stream()
-                .map(SeatDTO::getId)
-                .collect(Collectors.toList());
+        // Add it to the schedule index - fails if a concurrent request scheduled an overlapping showtime meanwhile
+        if (!showtimeScheduleIndex.tryAdd(savedShowtime)) {
+            throw new ShowtimeOverlapException("There is already a showtime scheduled at this theater during the specified time.");
+        }
 
-        // Create show seats for this showtime
-        showSeatService.createShowSeats(savedShowtime.getId(), seatIds);
+        // Create show seats for this showtime from the theater's seats, in one statement
+        showSeatService.createShowSeats(savedShowtime.getId(), theaterId);
 
         return convertToDTO(savedShowtime);
     }
 
+    /**
+     * Imports many showtimes at once, all-or-nothing. Movies and theaters are checked with one query each,
+     * overlaps within the batch are found by sweeping each theater's showtimes in start order and overlaps with
+     * existing showtimes through the in-memory schedule index. Showtimes and their show seats are inserted in batches.
+     * @return the created showtimes, in request order
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public List<ShowtimeDTO> addShowtimes(List<ShowtimeDTO> showtimeDtos) {
+        validateShowtimeImportData(showtimeDtos);
+
+        // Validate movies exist, in one query
+        Set<Long> movieIds = showtimeDtos.stream().map(ShowtimeDTO::getMovieId).collect(Collectors.toSet());
+        Set<Long> existingMovieIds = movieRepository.findAllById(movieIds).stream()
+                .map(Movie::getId)
+                .collect(Collectors.toSet());
+        for (Long movieId : movieIds) {
+            if (!existingMovieIds.contains(movieId)) {
+                throw new ResourceNotFoundException("Movie with id " + movieId + " does not exist.");
+            }
+        }
+
+        // Validate theaters exist - the ones not known yet are looked up in one query
+        Map<String, Long> theaterIds = theaterCache.getIds(
+                showtimeDtos.stream().map(ShowtimeDTO::getTheater).collect(Collectors.toSet()));
+
+        // Check for overlapping showtimes within the batch - sweep each theater's showtimes in start order
+        Map<String, List<ShowtimeDTO>> showtimesByTheater = showtimeDtos.stream()
+                .collect(Collectors.groupingBy(ShowtimeDTO::getTheater));
+        for (List<ShowtimeDTO> theaterShowtimes : showtimesByTheater.values()) {
+            theaterShowtimes.sort(Comparator.comparing(ShowtimeDTO::getStartTime));
+            ShowtimeDTO latestEnding = null;
+            for (ShowtimeDTO showtimeDto : theaterShowtimes) {
+                if (latestEnding != null && !showtimeDto.getStartTime().isAfter(latestEnding.getEndTime())) {
+                    throw new ShowtimeOverlapException("Showtimes at " + showtimeDto.getTheater() + " starting at "
+                            + latestEnding.getStartTime() + " and " + showtimeDto.getStartTime() + " overlap.");
+                }
+                if (latestEnding == null || showtimeDto.getEndTime().isAfter(latestEnding.getEndTime())) {
+                    latestEnding = showtimeDto;
+                }
+            }
+        }
+
+        // Check for overlapping existing showtimes
+        for (ShowtimeDTO showtimeDto : showtimeDtos) {
+            if (isShowtimeOverlapping(theaterIds.get(showtimeDto.getTheater()), showtimeDto.getStartTime(), showtimeDto.getEndTime())) {
+                throw new ShowtimeOverlapException("There is already a showtime scheduled at " + showtimeDto.getTheater()
+                        + " during " + showtimeDto.getStartTime() + " - " + showtimeDto.getEndTime() + ".");
+            }
+        }
+
+        // Insert the showtimes in batches
+        List<Showtime> showtimes = showtimeDtos.stream()
+                .map(showtimeDto -> convertToEntity(showtimeDto, theaterIds.get(showtimeDto.getTheater())))
+                .collect(Collectors.toList());
+        showtimes.forEach(showtime -> showtime.setId(null));
+        showtimeRepository.insertAll(showtimes);
+
+        // Add them to the schedule index - fails if a concurrent request scheduled an overlapping showtime meanwhile
+        for (int i = 0; i < showtimes.size(); i++) {
+            Showtime showtime = showtimes.get(i);
+            if (!showtimeScheduleIndex.tryAdd(showtime)) {
+                throw new ShowtimeOverlapException("There is already a showtime scheduled at " + showtimeDtos.get(i).getTheater()
+                        + " during " + showtime.getStartTime() + " - " + showtime.getEndTime() + ".");
+            }
+        }
+
+        // Create show seats for all of them from their theaters' seats
+        showSeatService.createShowSeats(showtimes.stream().collect(Collectors.groupingBy(
+                Showtime::getTheaterId,
+                Collectors.mapping(Showtime::getId, Collectors.toList()))));
+
+        return showtimes.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(isolation = Isolation.READ_COMMITTED)
     public ShowtimeDTO updateShowtime(Long showtimeId, ShowtimeDTO showtimeDto) {
         validateShowtimeData(showtimeDto);
@@ -107,33 +246,42 @@ public class ShowtimeService {
             throw new ResourceNotFoundException("Movie with id " + showtimeDto.getMovieId() + " does not exist.");
         }
 
-        // If theater is changing, get theater by name
-        if (!showtime.getTheater().equals(showtimeDto.getTheater())) {
-            theaterService.getTheaterByName(showtimeDto.getTheater());
-        }
+        // Get theater id by name
+        Long theaterId = theaterCache.getId(showtimeDto.getTheater());
 
         // Check for overlapping showtimes (excluding this showtime)
-        if (isShowtimeOverlappingExcludingCurrent(showtimeId, showtimeDto.getTheater(), 
+        if (isShowtimeOverlappingExcludingCurrent(showtimeId, theaterId, 
                 showtimeDto.getStartTime(), showtimeDto.getEndTime())) {
             throw new ShowtimeOverlapException("There is already another showtime scheduled at this theater during the specified time.");
         }
 
         // Update showtime properties
+        Long previousTheaterId = showtime.getTheaterId();
+        LocalDateTime previousStartTime = showtime.getStartTime();
+        LocalDateTime previousEndTime = showtime.getEndTime();
         showtime.setMovieId(showtimeDto.getMovieId());
-        showtime.setTheater(showtimeDto.getTheater());
+        showtime.setTheaterId(theaterId);
         showtime.setStartTime(showtimeDto.getStartTime());
         showtime.setEndTime(showtimeDto.getEndTime());
         showtime.setPrice(showtimeDto.getPrice());
 
         Showtime updatedShowtime = showtimeRepository.save(showtime);
+
+        // Move it in the schedule index
+        if (!showtimeScheduleIndex.tryAdd(updatedShowtime)) {
+            throw new ShowtimeOverlapException("There is already another showtime scheduled at this theater during the specified time.");
+        }
+        showtimeScheduleIndex.remove(showtimeId, previousTheaterId, previousStartTime, previousEndTime);
+
+        // The showtime may have moved to another theater
+        showtimeResolutionCache.invalidate(showtimeId);
         return convertToDTO(updatedShowtime);
     }
 
     @Transactional(isolation = Isolation.READ_COMMITTED)
     public void deleteShowtime(Long showtimeId) {
-        if (!showtimeRepository.existsById(showtimeId)) {
-            throw new ResourceNotFoundException("Showtime not found with id: " + showtimeId);
-        }
+        Showtime showtime = showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Showtime not found with id: " + showtimeId));
         
         // According to data flow, we need to delete related bookings first
         bookingRepository.deleteByShowtimeId(showtimeId);
@@ -143,43 +291,216 @@ public class ShowtimeService {
         
         // Delete the showtime
         showtimeRepository.deleteById(showtimeId);
+
+        // Drop the in-memory seat state of the deleted showtime once the delete has committed
+        afterCommit(() -> {
+            seatStateService.evict(showtimeId);
+            showtimeResolutionCache.invalidate(showtimeId);
+        });
+        showtimeScheduleIndex.remove(showtimeId, showtime.getTheaterId(), showtime.getStartTime(), showtime.getEndTime());
+    }
+
+    /**
+     * Deletes all showtimes of a movie with one DELETE per {@link ShowtimeConstants#DELETE_BATCH_SIZE} showtimes
+     * and drops their in-memory state. Their bookings and show seats are left to {@link #purgeBookingsAndShowSeats}.
+     * @return ids of the deleted showtimes
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public List<Long> deleteShowtimesByMovie(Long movieId) {
+        return deleteShowtimes(showtimeRepository.findByMovieId(movieId));
+    }
+
+    /**
+     * Deletes up to {@link ShowtimeConstants#DELETE_BATCH_SIZE} showtimes that ended before the given time,
+     * with their bookings and show seats
+     * @return number of showtimes deleted - less than the batch size once none are left
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int deleteEndedShowtimes(LocalDateTime endedBefore) {
+        List<Long> showtimeIds = deleteShowtimes(showtimeRepository.findByEndTimeBeforeOrderById(
+                endedBefore, PageRequest.of(0, ShowtimeConstants.DELETE_BATCH_SIZE)));
+        purgeBookingsAndShowSeats(showtimeIds);
+        return showtimeIds.size();
+    }
+
+    /**
+     * Deletes the show seats of up to {@link ShowtimeConstants#DELETE_BATCH_SIZE} showtimes that ended in the given
+     * period, in id order - a seat of a showtime that has ended cannot be booked any more
+     * @param endedFrom start of the period, inclusive
+     * @param endedBefore end of the period, exclusive
+     * @param afterShowtimeId only showtimes with a greater id are purged, 0 to start from the first one
+     * @return ids of the purged showtimes, empty once all showtimes of the period are done
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public List<Long> purgeShowSeatsOfEndedShowtimes(LocalDateTime endedFrom, LocalDateTime endedBefore, long afterShowtimeId) {
+        List<Long> showtimeIds = showtimeRepository.findIdsByEndTimeBetween(
+                endedFrom, endedBefore, afterShowtimeId, PageRequest.of(0, ShowtimeConstants.DELETE_BATCH_SIZE));
+        if (!showtimeIds.isEmpty()) {
+            showSeatService.deleteShowSeatsByShowtimes(showtimeIds);
+            afterCommit(() -> showtimeIds.forEach(showtimeId -> {
+                seatStateService.evict(showtimeId);
+                showtimeResolutionCache.invalidate(showtimeId);
+            }));
+        }
+        return showtimeIds;
+    }
+
+    private List<Long> deleteShowtimes(List<Showtime> showtimes) {
+        List<Long> showtimeIds = showtimes.stream().map(Showtime::getId).collect(Collectors.toList());
+        for (List<Long> batch : partition(showtimeIds)) {
+            showtimeRepository.deleteAllByIdInBatch(batch);
+        }
+
+        // Drop the in-memory state only once the delete has committed - a reload before that would re-cache the showtimes
+        afterCommit(() -> showtimeIds.forEach(showtimeId -> {
+            seatStateService.evict(showtimeId);
+            showtimeResolutionCache.invalidate(showtimeId);
+        }));
+        for (Showtime showtime : showtimes) {
+            showtimeScheduleIndex.remove(showtime.getId(), showtime.getTheaterId(), showtime.getStartTime(), showtime.getEndTime());
+        }
+        return showtimeIds;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Deletes the bookings and show seats left behind by up to {@link ShowtimeConstants#DELETE_BATCH_SIZE} showtimes that
+     * no longer exist, e.g. when the background purge after a movie delete failed
+     * @return number of showtimes cleaned up, 0 once none are left
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int purgeOrphanedBookingsAndShowSeats() {
+        Set<Long> showtimeIds = new TreeSet<>(bookingRepository.findShowtimeIdsWithoutShowtime(
+                PageRequest.of(0, ShowtimeConstants.DELETE_BATCH_SIZE)));
+        showtimeIds.addAll(showSeatService.findShowtimeIdsWithoutShowtime(ShowtimeConstants.DELETE_BATCH_SIZE));
+        purgeBookingsAndShowSeats(new ArrayList<>(showtimeIds));
+        return showtimeIds.size();
+    }
+
+    /**
+     * Deletes the bookings and show seats of deleted showtimes - two DELETE statements per
+     * {@link ShowtimeConstants#DELETE_BATCH_SIZE} showtimes, nothing is loaded
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void purgeBookingsAndShowSeats(List<Long> showtimeIds) {
+        for (List<Long> batch : partition(showtimeIds)) {
+            bookingRepository.deleteByShowtimeIdIn(batch);
+            showSeatService.deleteShowSeatsByShowtimes(batch);
+        }
+    }
+
+    private static List<List<Long>> partition(List<Long> showtimeIds) {
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < showtimeIds.size(); from += ShowtimeConstants.DELETE_BATCH_SIZE) {
+            batches.add(showtimeIds.subList(from, Math.min(from + ShowtimeConstants.DELETE_BATCH_SIZE, showtimeIds.size())));
+        }
+        return batches;
     }
 
-    public boolean isShowtimeOverlapping(String theater, LocalDateTime startTime, LocalDateTime endTime) {
-        List<Showtime> overlappingShowtimes = showtimeRepository.findByTheaterAndTimeRange(theater, startTime, endTime);
-        return !overlappingShowtimes.isEmpty();
+    /**
+     * Checks the in-memory schedule of the theater - the database is only queried to confirm an overlap
+     */
+    public boolean isShowtimeOverlapping(Long theaterId, LocalDateTime startTime, LocalDateTime endTime) {
+        return showtimeScheduleIndex.overlaps(theaterId, startTime, endTime, null);
     }
 
-    private boolean isShowtimeOverlappingExcludingCurrent(Long showtimeId, String theater, 
+    private boolean isShowtimeOverlappingExcludingCurrent(Long showtimeId, Long theaterId, 
                                                       LocalDateTime startTime, LocalDateTime endTime) {
-        List<Showtime> overlappingShowtimes = showtimeRepository.findByTheaterAndTimeRange(theater, startTime, endTime);
-        return overlappingShowtimes.stream()
-                .anyMatch(showtime -> !showtime.getId().equals(showtimeId));
+        return showtimeScheduleIndex.overlaps(theaterId, startTime, endTime, showtimeId);
     }
 
-    // Helper methods for DTO to Entity conversion
+    // Helper methods for DTO to Entity conversion - the API names theaters, showtimes store their id
     private ShowtimeDTO convertToDTO(Showtime showtime) {
         return new ShowtimeDTO(
                 showtime.getId(),
                 showtime.getPrice(),
                 showtime.getMovieId(),
-                showtime.getTheater(),
+                theaterCache.getName(showtime.getTheaterId()),
                 showtime.getStartTime(),
                 showtime.getEndTime()
         );
     }
 
-    private Showtime convertToEntity(ShowtimeDTO showtimeDTO) {
+    private Showtime convertToEntity(ShowtimeDTO showtimeDTO, Long theaterId) {
         return new Showtime(
                 showtimeDTO.getId(),
                 showtimeDTO.getPrice(),
                 showtimeDTO.getMovieId(),
-                showtimeDTO.getTheater(),
+                theaterId,
                 showtimeDTO.getStartTime(),
                 showtimeDTO.getEndTime()
         );
     }
 
+    /**
+     * Validates a showtime import according to the data modeling requirements
+     * @param showtimeDtos the showtimes to import
+     * @throws IllegalArgumentException if validation fails, naming the position of the first invalid showtime
+     */
+    private void validateShowtimeImportData(List<ShowtimeDTO> showtimeDtos) {
+        if (showtimeDtos == null || showtimeDtos.isEmpty()) {
+            throw new IllegalArgumentException("At least one showtime is required for an import");
+        }
+
+        if (showtimeDtos.size() > ShowtimeConstants.MAX_SHOWTIMES_PER_IMPORT) {
+            throw new IllegalArgumentException("Cannot import more than " + ShowtimeConstants.MAX_SHOWTIMES_PER_IMPORT + " showtimes at once");
+        }
+
+        for (int i = 0; i < showtimeDtos.size(); i++) {
+            try {
+                validateShowtimeData(showtimeDtos.get(i));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Showtime " + i + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static String encodeCursor(Showtime last) {
+        String position = last.getStartTime() + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return start time and id of the last showtime of the previous page
+     * @throws IllegalArgumentException if the cursor was not returned by {@link #getShowtimes}
+     */
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(CURSOR_SEPARATOR);
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid showtime page cursor");
+        }
+    }
+
+    /**
+     * Validates the showtime page request according to the data modeling requirements
+     * @throws IllegalArgumentException if validation fails
+     */
+    private void validateShowtimePageData(LocalDateTime from, LocalDateTime to, int limit) {
+        if (limit <= 0 || limit > ShowtimeConstants.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + ShowtimeConstants.MAX_PAGE_SIZE);
+        }
+
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("Time window start must be before its end");
+        }
+    }
+
     /**
      * Validates the showtime data according to the data modeling requirements
      * @param showtimeDTO the showtime data to validate
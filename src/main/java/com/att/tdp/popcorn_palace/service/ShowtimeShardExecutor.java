@@ -0,0 +1,125 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.BookingConstants;
+import com.att.tdp.popcorn_palace.exception.BookingQueueFullException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs booking work in a read committed transaction, either on the calling thread (direct mode) or on the
+ * single thread that owns the showtime (sharded mode). In sharded mode all bookings of a showtime run one
+ * at a time, so hot showtimes never contend on seat state or show_seats rows.
+ * Each shard has a bounded queue - when it is full the request is rejected instead of piling up.
+ */
+@Service
+public class ShowtimeShardExecutor {
+
+    public enum Mode {
+        DIRECT,
+        SHARDED
+    }
+
+    private final Mode mode;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor[] shards;
+
+    @Autowired
+    public ShowtimeShardExecutor(
+            PlatformTransactionManager transactionManager,
+            @Value("${booking.execution.mode:direct}") String mode,
+            @Value("${booking.execution.shards:" + BookingConstants.BOOKING_SHARDS + "}") int shardCount,
+            @Value("${booking.execution.queue-capacity:" + BookingConstants.BOOKING_SHARD_QUEUE_CAPACITY + "}") int queueCapacity) {
+        if (shardCount <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Booking shards and queue capacity must be greater than 0");
+        }
+        this.mode = Mode.valueOf(mode.trim().toUpperCase());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.shards = this.mode == Mode.SHARDED ? createShards(shardCount, queueCapacity) : new ThreadPoolExecutor[0];
+    }
+
+    /**
+     * Runs the task for a showtime and waits for its result
+     * @throws BookingQueueFullException if the showtime's shard queue is full
+     */
+    public <T> T execute(Long showtimeId, Supplier<T> task) {
+        // A transaction that is already open cannot be handed over to a shard thread, so join it here
+        if (mode == Mode.DIRECT || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> task.get());
+        }
+
+        Future<T> result;
+        try {
+            result = shardFor(showtimeId).submit(() -> transactionTemplate.execute(status -> task.get()));
+        } catch (RejectedExecutionException e) {
+            throw new BookingQueueFullException("Too many booking requests for showtime " + showtimeId + ", please try again shortly.");
+        }
+        return await(result);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor shard : shards) {
+            shard.shutdown();
+        }
+        for (ThreadPoolExecutor shard : shards) {
+            shard.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private ThreadPoolExecutor shardFor(Long showtimeId) {
+        return shards[Math.floorMod(Long.hashCode(showtimeId), shards.length)];
+    }
+
+    private static <T> T await(Future<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the booking to complete", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static ThreadPoolExecutor[] createShards(int shardCount, int queueCapacity) {
+        ThreadPoolExecutor[] shards = new ThreadPoolExecutor[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            String threadName = "booking-shard-" + i;
+            shards[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        return shards;
+    }
+}
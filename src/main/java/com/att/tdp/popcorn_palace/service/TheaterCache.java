@@ -0,0 +1,144 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.entity.Theater;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.repository.TheaterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Read-through cache of all theaters by name and by id. Theaters are few and never renamed or deleted, so the cache
+ * is loaded once at startup and entries never go stale - lookups do not reach the database unless a theater was added
+ * behind the service's back. Translates between theater names, used by the API, and theater ids, stored on showtimes.
+ * Unknown names and ids are not remembered, and neither is a theater read inside a transaction until that transaction
+ * commits - it may have created the theater and roll back. Cached theaters are shared and must not be modified.
+ */
+@Service
+public class TheaterCache {
+
+    private final TheaterRepository theaterRepository;
+    private final ConcurrentMap<String, Theater> theatersByName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Theater> theatersById = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TheaterCache(TheaterRepository theaterRepository) {
+        this.theaterRepository = theaterRepository;
+    }
+
+    /**
+     * Loads every theater, so lookups after startup are served from memory
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        theaterRepository.findAll().forEach(this::remember);
+    }
+
+    /**
+     * @throws ResourceNotFoundException if there is no theater with this name
+     */
+    public Theater getTheater(String theaterName) {
+        Theater theater = theatersByName.get(theaterName);
+        if (theater != null) {
+            return theater;
+        }
+        theater = theaterRepository.findByName(theaterName)
+                .orElseThrow(() -> new ResourceNotFoundException("Theater not found with name: " + theaterName));
+        put(theater);
+        return theater;
+    }
+
+    /**
+     * @throws ResourceNotFoundException if there is no theater with this id
+     */
+    public Theater getTheater(Long theaterId) {
+        Theater theater = theatersById.get(theaterId);
+        if (theater != null) {
+            return theater;
+        }
+        theater = theaterRepository.findById(theaterId)
+                .orElseThrow(() -> new ResourceNotFoundException("Theater not found with id: " + theaterId));
+        put(theater);
+        return theater;
+    }
+
+    /**
+     * @throws ResourceNotFoundException if there is no theater with this name
+     */
+    public Long getId(String theaterName) {
+        return getTheater(theaterName).getId();
+    }
+
+    /**
+     * Looks up several theaters, loading the ones not known yet in one query
+     * @return theater name to theater id
+     * @throws ResourceNotFoundException if any of the theaters does not exist
+     */
+    public Map<String, Long> getIds(Collection<String> theaterNames) {
+        Map<String, Long> theaterIds = new HashMap<>();
+        List<String> unknownNames = new ArrayList<>();
+        for (String theaterName : theaterNames) {
+            Theater theater = theatersByName.get(theaterName);
+            if (theater != null) {
+                theaterIds.put(theaterName, theater.getId());
+            } else {
+                unknownNames.add(theaterName);
+            }
+        }
+        if (!unknownNames.isEmpty()) {
+            for (Theater theater : theaterRepository.findByNameIn(unknownNames)) {
+                put(theater);
+                theaterIds.put(theater.getName(), theater.getId());
+            }
+            for (String theaterName : unknownNames) {
+                if (!theaterIds.containsKey(theaterName)) {
+                    throw new ResourceNotFoundException("Theater not found with name: " + theaterName);
+                }
+            }
+        }
+        return theaterIds;
+    }
+
+    /**
+     * @throws ResourceNotFoundException if there is no theater with this id
+     */
+    public String getName(Long theaterId) {
+        return getTheater(theaterId).getName();
+    }
+
+    /**
+     * Caches a theater that was just read or written. Inside a transaction it is cached once the transaction commits.
+     */
+    public void put(Theater theater) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(theater);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(theater);
+            }
+        });
+    }
+
+    private void remember(Theater theater) {
+        // A theater re-created under the same name replaces the old one
+        Theater previous = theatersByName.put(theater.getName(), theater);
+        if (previous != null && !previous.getId().equals(theater.getId())) {
+            theatersById.remove(previous.getId(), previous);
+        }
+        theatersById.put(theater.getId(), theater);
+    }
+}
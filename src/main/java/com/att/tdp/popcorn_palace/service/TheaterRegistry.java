@@ -0,0 +1,139 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.TheaterConstants;
+import com.att.tdp.popcorn_palace.exception.ResourceAlreadyExistsException;
+import com.att.tdp.popcorn_palace.exception.TheaterLimitExceededException;
+import com.att.tdp.popcorn_palace.repository.TheaterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Names of all theaters, kept in memory so adding a theater can enforce unique names and the theater limit
+ * without counting or locking the theaters table. Loaded from the database on first use.
+ * A new theater claims its name and a slot with atomic operations; both are given back if the transaction adding it
+ * does not commit, so concurrent additions never exceed {@link TheaterConstants#MAX_THEATERS} between them.
+ * Theaters are never deleted by the service - a name reported as taken is still confirmed against the database
+ * before a theater is rejected, and dropped if its theater is gone.
+ */
+@Service
+public class TheaterRegistry {
+
+    private final TheaterRepository theaterRepository;
+    // Theater name -> true once the transaction adding the theater committed
+    private final ConcurrentMap<String, Boolean> names = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile List<String> committedNames = List.of();
+    private volatile boolean loaded;
+
+    @Autowired
+    public TheaterRegistry(TheaterRepository theaterRepository) {
+        this.theaterRepository = theaterRepository;
+    }
+
+    /**
+     * Reserves a name and a slot for a theater about to be added. When called inside a transaction the reservation
+     * is released again if that transaction does not commit.
+     * @throws ResourceAlreadyExistsException if a theater with this name exists or is being added
+     * @throws TheaterLimitExceededException if the theater limit is reached
+     */
+    public void register(String theaterName) {
+        ensureLoaded();
+        claimName(theaterName);
+        if (!claimSlot()) {
+            names.remove(theaterName);
+            List<String> theaterNames = getTheaterNames();
+            throw new TheaterLimitExceededException("Maximum number of theaters reached. Available theaters: " + theaterNames, theaterNames);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commit(theaterName);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    commit(theaterName);
+                } else {
+                    names.remove(theaterName);
+                    size.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    /**
+     * @return names of all committed theaters in alphabetical order, without a query
+     */
+    public List<String> getTheaterNames() {
+        ensureLoaded();
+        return committedNames;
+    }
+
+    private void claimName(String theaterName) {
+        Boolean committed = names.putIfAbsent(theaterName, false);
+        if (committed == null) {
+            return;
+        }
+        // A committed name may belong to a theater removed behind the registry's back
+        if (committed && theaterRepository.findByName(theaterName).isEmpty() && names.remove(theaterName, true)) {
+            size.decrementAndGet();
+            refreshTheaterNames();
+            if (names.putIfAbsent(theaterName, false) == null) {
+                return;
+            }
+        }
+        throw new ResourceAlreadyExistsException("Theater with name '" + theaterName + "' already exists.");
+    }
+
+    private boolean claimSlot() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= TheaterConstants.MAX_THEATERS) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void commit(String theaterName) {
+        names.put(theaterName, true);
+        refreshTheaterNames();
+    }
+
+    /**
+     * Rebuilds the name list after committed names changed - rare, at most once per added theater
+     */
+    private synchronized void refreshTheaterNames() {
+        committedNames = names.entrySet().stream()
+                .filter(Map.Entry::getValue)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                for (String theaterName : theaterRepository.findAllNames()) {
+                    names.put(theaterName, true);
+                }
+                size.set(names.size());
+                refreshTheaterNames();
+                loaded = true;
+            }
+        }
+    }
+}
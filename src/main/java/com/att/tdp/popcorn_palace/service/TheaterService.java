@@ -1,12 +1,7 @@
 package com.att.tdp.popcorn_palace.service;
 
-import com.att.tdp.popcorn_palace.constants.TheaterConstants;
 import com.att.tdp.popcorn_palace.dto.TheaterDTO;
-import com.att.tdp.popcorn_palace.dto.SeatDTO;
 import com.att.tdp.popcorn_palace.entity.Theater;
-import com.att.tdp.popcorn_palace.exception.ResourceAlreadyExistsException;
-import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
-import com.att.tdp.popcorn_palace.exception.TheaterLimitExceededException;
 import com.att.tdp.popcorn_palace.repository.TheaterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -14,26 +9,30 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 @Service
 public class TheaterService {
 
     private final TheaterRepository theaterRepository;
     private final SeatService seatService;
+    private final TheaterRegistry theaterRegistry;
+    private final TheaterCache theaterCache;
 
     @Autowired
-    public TheaterService(TheaterRepository theaterRepository, SeatService seatService) {
+    public TheaterService(
+            TheaterRepository theaterRepository,
+            SeatService seatService,
+            TheaterRegistry theaterRegistry,
+            TheaterCache theaterCache) {
         this.theaterRepository = theaterRepository;
         this.seatService = seatService;
+        this.theaterRegistry = theaterRegistry;
+        this.theaterCache = theaterCache;
     }
 
     public TheaterDTO getTheaterById(Long id) {
-        Theater theater = theaterRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Theater not found with id: " + id));
-        return convertToDTO(theater);
+        return convertToDTO(theaterCache.getTheater(id));
     }
 
     public List<TheaterDTO> getAllTheaters() {
@@ -42,47 +41,28 @@ public class TheaterService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public TheaterDTO addTheater(TheaterDTO theaterDto) {
         validateTheaterData(theaterDto);
 
-        // Check if we've reached the maximum number of theaters
-        if (theaterRepository.count() >= TheaterConstants.MAX_THEATERS) {
-            List<String> theaterNames = theaterRepository.findAll().stream()
-                    .map(Theater::getName)
-                    .collect(Collectors.toList());
-            throw new TheaterLimitExceededException("Maximum number of theaters reached. Available theaters: " + theaterNames, theaterNames);
-        }
-
-        // Check if theater with this name already exists
-        Optional<Theater> existingTheater = theaterRepository.findByName(theaterDto.getName());
-        if (existingTheater.isPresent()) {
-            throw new ResourceAlreadyExistsException("Theater with name '" + theaterDto.getName() + "' already exists.");
-        }
+        // Reserve the name and a slot below the maximum number of theaters - released again if this transaction rolls back
+        theaterRegistry.register(theaterDto.getName());
 
         // Create and save the theater
         Theater theater = convertToEntity(theaterDto);
-                Theater savedTheater = theaterRepository.save(theater);
+        Theater savedTheater = theaterRepository.save(theater);
 
-        // Data flow - Create seats for the theater
-        createSeatsForTheater(savedTheater.getId(), savedTheater.getNumberOfSeats());
+        // Data flow - Create seats for the theater, all of them in batched inserts
+        seatService.addSeats(savedTheater.getId(), savedTheater.getNumberOfSeats());
+
+        // Lookups find the theater in memory once this transaction commits
+        theaterCache.put(savedTheater);
 
         return convertToDTO(savedTheater);
     }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public TheaterDTO getTheaterByName(String theaterName) {
-        Theater theater = theaterRepository.findByName(theaterName)
-                .orElseThrow(() -> new ResourceNotFoundException("Theater not found with name: " + theaterName));
-        return convertToDTO(theater);
-    }
-
-    private void createSeatsForTheater(Long theaterId, Integer numberOfSeats) {
-        IntStream.rangeClosed(1, numberOfSeats)
-                .forEach(seatNumber -> {
-                    SeatDTO seatDTO = new SeatDTO(null, theaterId, seatNumber);
-                    seatService.addSeat(seatDTO);
-                });
+        return convertToDTO(theaterCache.getTheater(theaterName));
     }
 
     // Helper methods for DTO to Entity conversion
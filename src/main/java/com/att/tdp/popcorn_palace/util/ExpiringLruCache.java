@@ -0,0 +1,82 @@
+package com.att.tdp.popcorn_palace.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded cache whose entries also expire a fixed time after they were written.
+ * The least recently used entry is evicted once the cache is full; expired entries are dropped when they are read.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public ExpiringLruCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    public ExpiringLruCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        if (maxSize <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Cache size and time to live must be greater than 0");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > ExpiringLruCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cached value, or null if there is none or it has expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= clock.getAsLong()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.getAsLong() + ttlMillis));
+    }
+
+    /**
+     * Caches a value that expires at the given time rather than a full time to live from now - for a value
+     * that already existed elsewhere before it was cached. A value that has already expired is not cached.
+     */
+    public synchronized void put(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= clock.getAsLong()) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry<>(value, Math.min(expiresAtMillis, clock.getAsLong() + ttlMillis)));
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.att.tdp.popcorn_palace.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for expiring large numbers of timers without scanning them.
+ * <p>
+ * Time is divided into ticks of {@code tickMillis}. Level 0 has one slot per tick, and every higher level
+ * has slots {@value #SLOTS_PER_LEVEL} times wider. A timer is placed on the lowest level that can address its
+ * deadline and cascades down one level whenever the wheel enters its slot, so scheduling is O(1) and
+ * advancing costs O(expired timers) plus one slot per elapsed tick.
+ * <p>
+ * The wheel is driven by the caller through {@link #advance(long)}; it does not own any threads.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+
+    private final long tickMillis;
+    private final int levels;
+    private final ArrayDeque<Timer<T>>[][] slots;
+    private final List<Timer<T>> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis duration of one tick, the resolution of the wheel
+     * @param levels number of levels; the wheel can address deadlines up to tickMillis * 64^levels ahead
+     * @param startMillis the current time, timers due at or before it expire on the next advance
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int levels, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be greater than 0");
+        }
+        if (levels <= 0 || levels * SLOT_BITS >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Number of levels must be between 1 and " + ((Long.SIZE - 2) / SLOT_BITS));
+        }
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.slots = new ArrayDeque[levels][SLOTS_PER_LEVEL];
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot < SLOTS_PER_LEVEL; slot++) {
+                slots[level][slot] = new ArrayDeque<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules a payload to expire at the given time
+     * @return a handle that can cancel the timer
+     * @throws IllegalArgumentException if the deadline is beyond the range of the wheel
+     */
+    public synchronized Timer<T> schedule(T payload, long deadlineMillis) {
+        Timer<T> timer = new Timer<>(payload, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        if (timer.deadlineTick - currentTick >= 1L << (SLOT_BITS * levels)) {
+            throw new IllegalArgumentException("Deadline is too far ahead for this timing wheel");
+        }
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Moves the wheel forward to the given time
+     * @return the payloads of all non-cancelled timers that are due
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        collect(overdue, expired);
+        overdue.clear();
+
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Cascade the higher level slots the wheel is entering, from the top down
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    ArrayDeque<Timer<T>> slot = slots[level][slotIndex(currentTick, level)];
+                    Timer<T> timer;
+                    while ((timer = slot.pollFirst()) != null) {
+                        place(timer);
+                    }
+                }
+            }
+            ArrayDeque<Timer<T>> slot = slots[0][slotIndex(currentTick, 0)];
+            collect(slot, expired);
+            slot.clear();
+            // Timers cascaded onto the current tick itself
+            collect(overdue, expired);
+            overdue.clear();
+        }
+        return expired;
+    }
+
+    /**
+     * @return number of scheduled timers that have not expired yet, including cancelled ones not yet reached
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Timer<T> timer) {
+        if (timer.deadlineTick <= currentTick) {
+            overdue.add(timer);
+            return;
+        }
+        // Lowest level on which the deadline and the current tick share all higher-order slot bits
+        int level = 0;
+        while (level < levels - 1 && (timer.deadlineTick >>> (SLOT_BITS * (level + 1))) != (currentTick >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        slots[level][slotIndex(timer.deadlineTick, level)].addLast(timer);
+    }
+
+    private void collect(Iterable<Timer<T>> timers, List<T> expired) {
+        for (Timer<T> timer : timers) {
+            size--;
+            if (!timer.cancelled) {
+                expired.add(timer.payload);
+            }
+        }
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    public static final class Timer<T> {
+        private final T payload;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timer(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
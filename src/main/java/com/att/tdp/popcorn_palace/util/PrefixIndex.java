@@ -0,0 +1,104 @@
+package com.att.tdp.popcorn_palace.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inverted index from words to the ids of the documents containing them, answering prefix queries.
+ * Terms are kept in a sorted map, so all terms starting with a prefix form one contiguous range - looking up a prefix
+ * costs O(log t + m) for t terms and m matching terms, without scanning the documents or storing n-grams.
+ * Words are lower-cased runs of letters and digits. Not thread-safe.
+ */
+public class PrefixIndex {
+
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByDocument = new HashMap<>();
+
+    /**
+     * Indexes the words of a document, replacing whatever was indexed for it before
+     */
+    public void add(Long documentId, String... texts) {
+        remove(documentId);
+        Set<String> terms = new HashSet<>();
+        for (String text : texts) {
+            terms.addAll(tokenize(text));
+        }
+        for (String term : terms) {
+            postings.computeIfAbsent(term, key -> new HashSet<>()).add(documentId);
+        }
+        termsByDocument.put(documentId, terms);
+    }
+
+    public void remove(Long documentId) {
+        Set<String> terms = termsByDocument.remove(documentId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Set<Long> documentIds = postings.get(term);
+            documentIds.remove(documentId);
+            if (documentIds.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * @return ids of the documents having, for every word of the query, a word starting with it; empty for a query without words
+     */
+    public Set<Long> search(String query) {
+        List<Set<Long>> matchesPerWord = new ArrayList<>();
+        for (String prefix : new HashSet<>(tokenize(query))) {
+            Set<Long> matches = new HashSet<>();
+            for (Set<Long> documentIds : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                matches.addAll(documentIds);
+            }
+            if (matches.isEmpty()) {
+                return Set.of();
+            }
+            matchesPerWord.add(matches);
+        }
+        if (matchesPerWord.isEmpty()) {
+            return Set.of();
+        }
+
+        // Intersect, starting from the most selective word
+        matchesPerWord.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = matchesPerWord.get(0);
+        for (int i = 1; i < matchesPerWord.size() && !result.isEmpty(); i++) {
+            result.retainAll(matchesPerWord.get(i));
+        }
+        return result;
+    }
+
+    public int size() {
+        return termsByDocument.size();
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean wordCharacter = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (wordCharacter && start < 0) {
+                start = i;
+            } else if (!wordCharacter && start >= 0) {
+                words.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,155 @@
+package com.att.tdp.popcorn_palace.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free seat availability map for a single showtime.
+ * Seat numbers are 1-based; seat n is tracked by bit (n - 1). A set bit means the seat is taken.
+ * A counter of free seats is kept next to the bits so it can be read without scanning them.
+ */
+public class SeatBitmap {
+
+    private final int capacity;
+    private final AtomicLongArray words;
+    private final AtomicInteger freeSeats;
+
+    public SeatBitmap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Seat bitmap capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.words = new AtomicLongArray((capacity + Long.SIZE - 1) / Long.SIZE);
+        this.freeSeats = new AtomicInteger(capacity);
+    }
+
+    /**
+     * Atomically marks a seat as taken
+     * @param seatNumber the 1-based seat number
+     * @return true if this call took the seat, false if it was already taken
+     */
+    public boolean claim(int seatNumber) {
+        int index = wordIndex(seatNumber);
+        long mask = bitMask(seatNumber);
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, current, current | mask)) {
+                freeSeats.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Atomically marks a seat as free again
+     * @param seatNumber the 1-based seat number
+     * @return true if this call freed the seat, false if it was not taken
+     */
+    public boolean release(int seatNumber) {
+        int index = wordIndex(seatNumber);
+        long mask = bitMask(seatNumber);
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) == 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, current, current & ~mask)) {
+                freeSeats.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Finds the block of adjacent free seats whose middle is closest to the middle of the theater.
+     * Free runs are found a word (64 seats) at a time; the result is a snapshot, so the caller still has to claim the seats.
+     * @param count number of adjacent seats wanted
+     * @return first seat number of the block, or -1 if no block of that size is free
+     */
+    public int findBestFreeBlock(int count) {
+        if (count <= 0 || count > capacity) {
+            throw new IllegalArgumentException("Number of seats must be between 1 and " + capacity);
+        }
+        double center = (capacity + 1) / 2.0;
+        // Ties between two equally centered placements go to the lower seat numbers
+        int idealStart = (int) Math.floor(center - (count - 1) / 2.0);
+        int bestStart = -1;
+        double bestDistance = Double.MAX_VALUE;
+
+        int runStart = nextFree(1);
+        while (runStart > 0) {
+            int runEnd = nextTaken(runStart) - 1;
+            if (runEnd - runStart + 1 >= count) {
+                // Closest placement to the center within this run of free seats
+                int start = Math.max(runStart, Math.min(idealStart, runEnd - count + 1));
+                double distance = Math.abs(start + (count - 1) / 2.0 - center);
+                if (distance < bestDistance) {
+                    bestStart = start;
+                    bestDistance = distance;
+                }
+            }
+            runStart = runEnd + 1 <= capacity ? nextFree(runEnd + 1) : -1;
+        }
+        return bestStart;
+    }
+
+    public boolean isClaimed(int seatNumber) {
+        return (words.get(wordIndex(seatNumber)) & bitMask(seatNumber)) != 0;
+    }
+
+    /**
+     * @return number of free seats - exact once concurrent claims and releases have returned
+     */
+    public int getFreeSeats() {
+        return freeSeats.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the first free seat at or after fromSeat, or -1 if there is none
+     */
+    private int nextFree(int fromSeat) {
+        int index = (fromSeat - 1) / Long.SIZE;
+        long free = ~words.get(index) & (-1L << ((fromSeat - 1) % Long.SIZE));
+        while (free == 0) {
+            if (++index == words.length()) {
+                return -1;
+            }
+            free = ~words.get(index);
+        }
+        int seatNumber = index * Long.SIZE + Long.numberOfTrailingZeros(free) + 1;
+        return seatNumber <= capacity ? seatNumber : -1;
+    }
+
+    /**
+     * @return the first taken seat at or after fromSeat, or capacity + 1 if there is none
+     */
+    private int nextTaken(int fromSeat) {
+        int index = (fromSeat - 1) / Long.SIZE;
+        long taken = words.get(index) & (-1L << ((fromSeat - 1) % Long.SIZE));
+        while (taken == 0) {
+            if (++index == words.length()) {
+                return capacity + 1;
+            }
+            taken = words.get(index);
+        }
+        return Math.min(index * Long.SIZE + Long.numberOfTrailingZeros(taken) + 1, capacity + 1);
+    }
+
+    private int wordIndex(int seatNumber) {
+        if (seatNumber <= 0 || seatNumber > capacity) {
+            throw new IllegalArgumentException("Invalid seat number. Must be between 1 and " + capacity);
+        }
+        return (seatNumber - 1) / Long.SIZE;
+    }
+
+    private long bitMask(int seatNumber) {
+        return 1L << ((seatNumber - 1) % Long.SIZE);
+    }
+}
@@ -0,0 +1,122 @@
+package com.att.tdp.popcorn_palace.util;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Showtimes of one theater as time intervals, sorted by start time.
+ * Intervals are closed - a showtime ending exactly when another one starts overlaps it.
+ * A showtime overlapping [start, end] must start in [start - longest showtime, end], so an overlap lookup only
+ * scans that range of the sorted set: O(log n + k) for k showtimes starting in it.
+ * All methods are synchronized on the schedule; callers may synchronize on it to check and add atomically.
+ */
+public class ShowtimeSchedule {
+
+    private static final Comparator<Slot> ORDER = Comparator
+            .comparing((Slot slot) -> slot.start)
+            .thenComparingLong(slot -> slot.sequence);
+
+    private final NavigableSet<Slot> slots = new TreeSet<>(ORDER);
+    private Duration longest = Duration.ZERO;
+    private long sequence;
+
+    /**
+     * @param committed false for a showtime whose transaction has not committed yet
+     * @return the added slot, needed to remove or commit it later
+     */
+    public synchronized Slot add(Long showtimeId, LocalDateTime start, LocalDateTime end, boolean committed) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        Slot slot = new Slot(showtimeId, start, end, ++sequence, committed);
+        slots.add(slot);
+        Duration duration = Duration.between(start, end);
+        if (duration.compareTo(longest) > 0) {
+            longest = duration;
+        }
+        return slot;
+    }
+
+    /**
+     * @param excludedShowtimeId slots of this showtime are ignored, may be null
+     * @return slots overlapping [start, end] in start time order
+     */
+    public synchronized List<Slot> findOverlapping(LocalDateTime start, LocalDateTime end, Long excludedShowtimeId) {
+        Slot from = new Slot(null, start.minus(longest), null, Long.MIN_VALUE, false);
+        Slot to = new Slot(null, end, null, Long.MAX_VALUE, false);
+        List<Slot> overlapping = new ArrayList<>();
+        for (Slot slot : slots.subSet(from, true, to, true)) {
+            if (!slot.end.isBefore(start) && (excludedShowtimeId == null || !excludedShowtimeId.equals(slot.showtimeId))) {
+                overlapping.add(slot);
+            }
+        }
+        return overlapping;
+    }
+
+    /**
+     * @return the first slot of the showtime with exactly these times, or null
+     */
+    public synchronized Slot find(Long showtimeId, LocalDateTime start, LocalDateTime end) {
+        Slot from = new Slot(null, start, null, Long.MIN_VALUE, false);
+        Slot to = new Slot(null, start, null, Long.MAX_VALUE, false);
+        for (Slot slot : slots.subSet(from, true, to, true)) {
+            if (showtimeId.equals(slot.showtimeId) && slot.end.equals(end)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    public synchronized boolean remove(Slot slot) {
+        return slots.remove(slot);
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /**
+     * One showtime in the schedule. A slot is pending until the transaction that added it commits.
+     */
+    public static final class Slot {
+
+        private final Long showtimeId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final long sequence;
+        private volatile boolean committed;
+
+        private Slot(Long showtimeId, LocalDateTime start, LocalDateTime end, long sequence, boolean committed) {
+            this.showtimeId = showtimeId;
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.committed = committed;
+        }
+
+        public Long getShowtimeId() {
+            return showtimeId;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDateTime getEnd() {
+            return end;
+        }
+
+        public boolean isCommitted() {
+            return committed;
+        }
+
+        public void commit() {
+            committed = true;
+        }
+    }
+}
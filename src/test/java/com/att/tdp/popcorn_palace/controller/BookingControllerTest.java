@@ -1,10 +1,20 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.AsyncBookingStatusDTO;
+import com.att.tdp.popcorn_palace.dto.BestAvailableBookingDTO;
+import com.att.tdp.popcorn_palace.dto.BestAvailableBookingResponseDTO;
 import com.att.tdp.popcorn_palace.dto.BookingDTO;
 import com.att.tdp.popcorn_palace.dto.BookingResponseDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingResponseDTO;
+import com.att.tdp.popcorn_palace.exception.BookingQueueFullException;
+import com.att.tdp.popcorn_palace.exception.IdempotencyKeyReusedException;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.exception.ShowtimeSoldOutException;
+import com.att.tdp.popcorn_palace.service.AsyncBookingService;
 import com.att.tdp.popcorn_palace.service.BookingService;
+import com.att.tdp.popcorn_palace.service.IdempotencyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +23,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,6 +46,12 @@ public class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private AsyncBookingService asyncBookingService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -76,6 +98,104 @@ public class BookingControllerTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    public void testBookTicket_WithIdempotencyKey() throws Exception {
+        // Given
+        BookingDTO bookingDTO = new BookingDTO(null, 1L, 10, UUID.randomUUID());
+        UUID bookingId = UUID.randomUUID();
+
+        when(idempotencyService.bookTicket(eq("retry-key-1"), any(BookingDTO.class), any()))
+                .thenReturn(new BookingResponseDTO(bookingId));
+
+        // When & Then
+        mockMvc.perform(post("/bookings")
+                .header(BookingController.IDEMPOTENCY_KEY_HEADER, "retry-key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingId").value(bookingId.toString()));
+        verify(bookingService, never()).bookTicket(any(BookingDTO.class));
+    }
+
+    @Test
+    public void testBookTicket_IdempotencyKeyReused() throws Exception {
+        // Given
+        BookingDTO bookingDTO = new BookingDTO(null, 1L, 11, UUID.randomUUID());
+
+        when(idempotencyService.bookTicket(eq("retry-key-1"), any(BookingDTO.class), any()))
+                .thenThrow(new IdempotencyKeyReusedException("Idempotency key retry-key-1 was already used for a different booking request"));
+
+        // When & Then
+        mockMvc.perform(post("/bookings")
+                .header(BookingController.IDEMPOTENCY_KEY_HEADER, "retry-key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingDTO)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void testSubmitBooking_Accepted() throws Exception {
+        // Given
+        BookingDTO bookingDTO = new BookingDTO(null, 1L, 10, UUID.randomUUID());
+        UUID ticketId = UUID.randomUUID();
+
+        when(asyncBookingService.submit(any(BookingDTO.class)))
+                .thenReturn(new AsyncBookingStatusDTO(ticketId, AsyncBookingStatusDTO.Status.PENDING, null, null));
+
+        // When & Then
+        mockMvc.perform(post("/bookings/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/bookings/async/" + ticketId))
+                .andExpect(jsonPath("$.ticketId").value(ticketId.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    public void testGetBookingStatus_Confirmed() throws Exception {
+        // Given
+        UUID ticketId = UUID.randomUUID();
+        UUID bookingId = UUID.randomUUID();
+
+        when(asyncBookingService.getStatus(ticketId))
+                .thenReturn(new AsyncBookingStatusDTO(ticketId, AsyncBookingStatusDTO.Status.CONFIRMED, bookingId, null));
+
+        // When & Then
+        mockMvc.perform(get("/bookings/async/" + ticketId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONFIRMED"))
+                .andExpect(jsonPath("$.bookingId").value(bookingId.toString()));
+    }
+
+    @Test
+    public void testGetBookingStatus_UnknownTicket() throws Exception {
+        // Given
+        UUID ticketId = UUID.randomUUID();
+
+        when(asyncBookingService.getStatus(ticketId))
+                .thenThrow(new ResourceNotFoundException("Booking ticket not found with id: " + ticketId));
+
+        // When & Then
+        mockMvc.perform(get("/bookings/async/" + ticketId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testBookTicket_BookingQueueFull() throws Exception {
+        // Given
+        BookingDTO bookingDTO = new BookingDTO(null, 1L, 10, UUID.randomUUID());
+
+        when(bookingService.bookTicket(any(BookingDTO.class)))
+                .thenThrow(new BookingQueueFullException("Too many booking requests for showtime 1, please try again shortly."));
+
+        // When & Then
+        mockMvc.perform(post("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingDTO)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
     @Test
     public void testBookTicket_ShowtimeNotFound() throws Exception {
         // Given
@@ -95,4 +215,86 @@ public class BookingControllerTest {
                 .content(objectMapper.writeValueAsString(bookingDTO)))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    public void testBookTickets_Success() throws Exception {
+        // Given
+        GroupBookingDTO groupBookingDTO = new GroupBookingDTO(1L, List.of(10, 11), UUID.randomUUID());
+        List<UUID> bookingIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        when(bookingService.bookTickets(any(GroupBookingDTO.class))).thenReturn(new GroupBookingResponseDTO(bookingIds));
+
+        // When & Then
+        mockMvc.perform(post("/bookings/group")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(groupBookingDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingIds.length()").value(2))
+                .andExpect(jsonPath("$.bookingIds[0]").value(bookingIds.get(0).toString()));
+    }
+
+    @Test
+    public void testBookTickets_SeatAlreadyBooked() throws Exception {
+        // Given
+        GroupBookingDTO groupBookingDTO = new GroupBookingDTO(1L, List.of(10, 11), UUID.randomUUID());
+
+        when(bookingService.bookTickets(any(GroupBookingDTO.class)))
+                .thenThrow(new SeatAlreadyBookedException("Seat 11 is already booked for this showtime."));
+
+        // When & Then
+        mockMvc.perform(post("/bookings/group")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(groupBookingDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void testBookBestAvailable_Success() throws Exception {
+        // Given
+        BestAvailableBookingDTO bestAvailableDTO = new BestAvailableBookingDTO(1L, 2, UUID.randomUUID());
+        List<UUID> bookingIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        when(bookingService.bookBestAvailable(any(BestAvailableBookingDTO.class)))
+                .thenReturn(new BestAvailableBookingResponseDTO(bookingIds, List.of(50, 51)));
+
+        // When & Then
+        mockMvc.perform(post("/bookings/best-available")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bestAvailableDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingIds.length()").value(2))
+                .andExpect(jsonPath("$.seatNumbers[0]").value(50))
+                .andExpect(jsonPath("$.seatNumbers[1]").value(51));
+    }
+
+    @Test
+    public void testBookBestAvailable_NoAdjacentSeats() throws Exception {
+        // Given
+        BestAvailableBookingDTO bestAvailableDTO = new BestAvailableBookingDTO(1L, 4, UUID.randomUUID());
+
+        when(bookingService.bookBestAvailable(any(BestAvailableBookingDTO.class)))
+                .thenThrow(new SeatAlreadyBookedException("No 4 adjacent seats are available for this showtime."));
+
+        // When & Then
+        mockMvc.perform(post("/bookings/best-available")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bestAvailableDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void testBookTicket_SoldOut() throws Exception {
+        // Given
+        BookingDTO bookingDTO = new BookingDTO(null, 1L, 10, UUID.randomUUID());
+
+        when(bookingService.bookTicket(any(BookingDTO.class)))
+                .thenThrow(new ShowtimeSoldOutException("Showtime 1 is sold out."));
+
+        // When & Then
+        mockMvc.perform(post("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Showtime 1 is sold out."));
+    }
 }
@@ -1,17 +1,23 @@
 package com.att.tdp.popcorn_palace.controller;
 
 import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.MovieImportErrorDTO;
+import com.att.tdp.popcorn_palace.dto.MovieImportResultDTO;
 import com.att.tdp.popcorn_palace.exception.ResourceAlreadyExistsException;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.service.MovieCatalogCache.MovieCatalog;
+import com.att.tdp.popcorn_palace.service.MovieImportReader.Format;
 import com.att.tdp.popcorn_palace.service.MovieService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -19,6 +25,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -41,15 +49,47 @@ public class MovieControllerTest {
         MovieDTO movie2 = new MovieDTO(2L, "The Dark Knight", "Action", 152, 9.0, 2008);
         List<MovieDTO> movies = Arrays.asList(movie1, movie2);
 
-        when(movieService.getAllMovies()).thenReturn(movies);
+        when(movieService.getMovieCatalog()).thenReturn(new MovieCatalog(movies, objectMapper.writeValueAsBytes(movies), "\"v1\""));
 
         // When & Then
         mockMvc.perform(get("/movies/all"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
                 .andExpect(jsonPath("$[0].title").value("Inception"))
                 .andExpect(jsonPath("$[1].title").value("The Dark Knight"));
     }
 
+    @Test
+    public void testGetAllMovies_NotModified() throws Exception {
+        // Given
+        List<MovieDTO> movies = List.of(new MovieDTO(1L, "Inception", "Sci-Fi", 148, 8.8, 2010));
+        when(movieService.getMovieCatalog()).thenReturn(new MovieCatalog(movies, objectMapper.writeValueAsBytes(movies), "\"v1\""));
+
+        // When & Then - the current ETag gets no body, an old one gets the catalog
+        mockMvc.perform(get("/movies/all").header(HttpHeaders.IF_NONE_MATCH, "\"v0\", \"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/movies/all").header(HttpHeaders.IF_NONE_MATCH, "\"v0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Inception"));
+    }
+
+    @Test
+    public void testSearchMovies() throws Exception {
+        // Given
+        when(movieService.searchMovies("dark kn", 5))
+                .thenReturn(List.of(new MovieDTO(2L, "The Dark Knight", "Action", 152, 9.0, 2008)));
+        when(movieService.searchMovies(null, null)).thenThrow(new IllegalArgumentException("Search query cannot be empty"));
+
+        // When & Then
+        mockMvc.perform(get("/movies/search").param("query", "dark kn").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("The Dark Knight"));
+        mockMvc.perform(get("/movies/search"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testAddMovie() throws Exception {
         // Given
@@ -82,6 +122,33 @@ public class MovieControllerTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    public void testImportMovies() throws Exception {
+        // Given
+        MovieImportResultDTO result = new MovieImportResultDTO(1, 1,
+                List.of(new MovieImportErrorDTO(3L, "Inception", "Movie with title Inception already exists.")));
+        when(movieService.importMovies(any(InputStream.class), eq(Format.CSV))).thenReturn(result);
+        when(movieService.importMovies(any(InputStream.class), eq(Format.NDJSON))).thenReturn(new MovieImportResultDTO());
+
+        // When & Then - the format follows the content type
+        mockMvc.perform(post("/movies/bulk")
+                .contentType("text/csv")
+                .content("title,genre,duration,rating,releaseYear\nInterstellar,Sci-Fi,169,8.6,2014\nInception,Sci-Fi,148,8.8,2010\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+        mockMvc.perform(post("/movies/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"title\": \"Interstellar\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(0));
+        mockMvc.perform(post("/movies/bulk")
+                .contentType(MediaType.APPLICATION_XML)
+                .content("<movies/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
     @Test
     public void testUpdateMovie() throws Exception {
         // Given
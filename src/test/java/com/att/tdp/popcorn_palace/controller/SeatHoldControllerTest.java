@@ -0,0 +1,122 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.dto.GroupBookingDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingResponseDTO;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponseDTO;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.service.SeatHoldService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SeatHoldController.class)
+public class SeatHoldControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testHoldSeats_Success() throws Exception {
+        // Given
+        GroupBookingDTO holdDTO = new GroupBookingDTO(1L, List.of(10, 11), UUID.randomUUID());
+        UUID holdId = UUID.randomUUID();
+
+        when(seatHoldService.holdSeats(any(GroupBookingDTO.class)))
+                .thenReturn(new SeatHoldResponseDTO(holdId, 1L, List.of(10, 11), LocalDateTime.now().plusMinutes(10)));
+
+        // When & Then
+        mockMvc.perform(post("/bookings/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(holdDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.holdId").value(holdId.toString()))
+                .andExpect(jsonPath("$.seatNumbers.length()").value(2));
+    }
+
+    @Test
+    public void testHoldSeats_SeatAlreadyBooked() throws Exception {
+        // Given
+        GroupBookingDTO holdDTO = new GroupBookingDTO(1L, List.of(10), UUID.randomUUID());
+
+        when(seatHoldService.holdSeats(any(GroupBookingDTO.class)))
+                .thenThrow(new SeatAlreadyBookedException("Seat 10 is already booked for this showtime."));
+
+        // When & Then
+        mockMvc.perform(post("/bookings/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(holdDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void testConfirmHold_Success() throws Exception {
+        // Given
+        UUID holdId = UUID.randomUUID();
+        UUID bookingId = UUID.randomUUID();
+
+        when(seatHoldService.confirmHold(holdId)).thenReturn(new GroupBookingResponseDTO(List.of(bookingId)));
+
+        // When & Then
+        mockMvc.perform(post("/bookings/holds/" + holdId + "/confirm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingIds[0]").value(bookingId.toString()));
+    }
+
+    @Test
+    public void testConfirmHold_Expired() throws Exception {
+        // Given
+        UUID holdId = UUID.randomUUID();
+
+        when(seatHoldService.confirmHold(holdId)).thenThrow(new ResourceNotFoundException("Hold not found or expired"));
+
+        // When & Then
+        mockMvc.perform(post("/bookings/holds/" + holdId + "/confirm"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testReleaseHold_Success() throws Exception {
+        // Given
+        UUID holdId = UUID.randomUUID();
+
+        // When & Then
+        mockMvc.perform(delete("/bookings/holds/" + holdId))
+                .andExpect(status().isOk());
+        verify(seatHoldService).releaseHold(holdId);
+    }
+
+    @Test
+    public void testReleaseHold_NotFound() throws Exception {
+        // Given
+        UUID holdId = UUID.randomUUID();
+        doThrow(new ResourceNotFoundException("Hold not found or expired")).when(seatHoldService).releaseHold(holdId);
+
+        // When & Then
+        mockMvc.perform(delete("/bookings/holds/" + holdId))
+                .andExpect(status().isNotFound());
+    }
+}
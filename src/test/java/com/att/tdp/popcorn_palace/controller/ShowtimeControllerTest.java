@@ -1,6 +1,8 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.ShowtimeAvailabilityDTO;
 import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimePageDTO;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.exception.ShowtimeOverlapException;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
@@ -18,6 +20,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -91,6 +94,39 @@ public class ShowtimeControllerTest {
         verify(showtimeService, times(1)).getAllShowtimes();
     }
 
+    @Test
+    public void testGetShowtimes_FilteredPage() throws Exception {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 6, 1, 0, 0);
+        LocalDateTime startTime = from.plusHours(12);
+        ShowtimeDTO showtime = new ShowtimeDTO(1L, 12.50, 1L, "Theater 1", startTime, startTime.plusHours(2));
+        when(showtimeService.getShowtimes(1L, "Theater 1", from, from.plusDays(1), null, 1))
+                .thenReturn(new ShowtimePageDTO(List.of(showtime), "next"));
+
+        // When & Then
+        mockMvc.perform(get("/showtimes")
+                .param("movieId", "1")
+                .param("theater", "Theater 1")
+                .param("from", "2025-06-01T00:00:00")
+                .param("to", "2025-06-02T00:00:00")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.showtimes", hasSize(1)))
+                .andExpect(jsonPath("$.showtimes[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    public void testGetShowtimes_InvalidCursor() throws Exception {
+        // Given
+        when(showtimeService.getShowtimes(null, null, null, null, "bad", null))
+                .thenThrow(new IllegalArgumentException("Invalid showtime page cursor"));
+
+        // When & Then
+        mockMvc.perform(get("/showtimes").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testGetAllShowtimes_EmptyList() throws Exception {
         // Given
@@ -158,6 +194,44 @@ public class ShowtimeControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void testAddShowtimes() throws Exception {
+        // Given
+        LocalDateTime startTime = LocalDateTime.now();
+        List<ShowtimeDTO> showtimesToAdd = List.of(
+                new ShowtimeDTO(null, 12.50, 1L, "Theater 1", startTime, startTime.plusHours(2)),
+                new ShowtimeDTO(null, 12.50, 1L, "Theater 1", startTime.plusHours(3), startTime.plusHours(5)));
+        List<ShowtimeDTO> addedShowtimes = List.of(
+                new ShowtimeDTO(1L, 12.50, 1L, "Theater 1", startTime, startTime.plusHours(2)),
+                new ShowtimeDTO(2L, 12.50, 1L, "Theater 1", startTime.plusHours(3), startTime.plusHours(5)));
+
+        when(showtimeService.addShowtimes(anyList())).thenReturn(addedShowtimes);
+
+        // When & Then
+        mockMvc.perform(post("/showtimes/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(showtimesToAdd)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    public void testAddShowtimes_Overlap() throws Exception {
+        // Given
+        LocalDateTime startTime = LocalDateTime.now();
+        List<ShowtimeDTO> showtimesToAdd = List.of(
+                new ShowtimeDTO(null, 12.50, 1L, "Theater 1", startTime, startTime.plusHours(2)));
+
+        when(showtimeService.addShowtimes(anyList())).thenThrow(new ShowtimeOverlapException("Overlapping showtime"));
+
+        // When & Then
+        mockMvc.perform(post("/showtimes/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(showtimesToAdd)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     public void testUpdateShowtime() throws Exception {
         // Given
@@ -233,5 +307,26 @@ public class ShowtimeControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void testGetAvailability() throws Exception {
+        // Given
+        when(showtimeService.getAvailability(1L)).thenReturn(new ShowtimeAvailabilityDTO(1L, 100, 42));
+
+        // When & Then
+        mockMvc.perform(get("/showtimes/1/availability"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.showtimeId").value(1))
+                .andExpect(jsonPath("$.totalSeats").value(100))
+                .andExpect(jsonPath("$.remainingSeats").value(42));
+    }
 
+    @Test
+    public void testGetAvailability_NotFound() throws Exception {
+        // Given
+        when(showtimeService.getAvailability(999L)).thenThrow(new ResourceNotFoundException("Showtime not found with id: 999"));
+
+        // When & Then
+        mockMvc.perform(get("/showtimes/999/availability"))
+                .andExpect(status().isNotFound());
+    }
 }
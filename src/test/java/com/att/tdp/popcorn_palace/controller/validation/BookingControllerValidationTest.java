@@ -3,7 +3,9 @@ package com.att.tdp.popcorn_palace.controller.validation;
 import com.att.tdp.popcorn_palace.controller.BookingController;
 import com.att.tdp.popcorn_palace.dto.BookingDTO;
 import com.att.tdp.popcorn_palace.dto.BookingResponseDTO;
+import com.att.tdp.popcorn_palace.service.AsyncBookingService;
 import com.att.tdp.popcorn_palace.service.BookingService;
+import com.att.tdp.popcorn_palace.service.IdempotencyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +34,12 @@ public class BookingControllerValidationTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private AsyncBookingService asyncBookingService;
+
     @Test
     public void bookTicket_NullShowtimeId_ReturnsBadRequest() throws Exception {
         BookingDTO bookingDTO = new BookingDTO();
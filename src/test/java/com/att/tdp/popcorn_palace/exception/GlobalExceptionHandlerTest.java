@@ -3,10 +3,12 @@ package com.att.tdp.popcorn_palace.exception;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
@@ -71,6 +73,20 @@ public class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.CONFLICT.value(), response.getBody().getStatus());
     }
 
+    @Test
+    public void testHandleShowtimeEndedException() {
+        // Arrange
+        ShowtimeEndedException exception = new ShowtimeEndedException("Showtime 1 has already ended.");
+
+        // Act
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleShowtimeEndedException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Showtime 1 has already ended.", response.getBody().getMessage());
+        assertEquals(HttpStatus.CONFLICT.value(), response.getBody().getStatus());
+    }
+
     @Test
     public void testHandleSeatAlreadyBookedException() {
         // Arrange
@@ -167,6 +183,21 @@ public class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.METHOD_NOT_ALLOWED.value(), response.getBody().getStatus());
     }
 
+    @Test
+    public void testHandleMediaTypeNotSupportedException() {
+        // Arrange
+        HttpMediaTypeNotSupportedException exception = new HttpMediaTypeNotSupportedException(
+            MediaType.APPLICATION_XML, Arrays.asList(MediaType.APPLICATION_NDJSON, MediaType.parseMediaType("text/csv")));
+        
+        // Act
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleMediaTypeNotSupportedException(exception);
+        
+        // Assert
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, response.getStatusCode());
+        assertNotNull(response.getBody().getMessage());
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(), response.getBody().getStatus());
+    }
+
     @Test
     public void testHandleTheaterLimitExceededException() {
         // Arrange
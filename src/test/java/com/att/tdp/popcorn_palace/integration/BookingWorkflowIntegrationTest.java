@@ -7,11 +7,13 @@ import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
 import com.att.tdp.popcorn_palace.dto.TheaterDTO;
 import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
 import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import com.att.tdp.popcorn_palace.repository.IdempotencyKeyRepository;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowSeatRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.repository.TheaterRepository;
 import com.att.tdp.popcorn_palace.service.BookingService;
+import com.att.tdp.popcorn_palace.service.IdempotencyService;
 import com.att.tdp.popcorn_palace.service.MovieService;
 import com.att.tdp.popcorn_palace.service.SeatService;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
@@ -60,6 +62,12 @@ public class BookingWorkflowIntegrationTest {
     @Autowired
     private ShowSeatRepository showSeatRepository;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
     private static final String TEST_THEATER_NAME = "Integration Test Theater";
 
     @BeforeEach
@@ -144,4 +152,30 @@ public class BookingWorkflowIntegrationTest {
         assertNotNull(differentSeatResponse);
         assertNotNull(differentSeatResponse.getBookingId());
     }
+
+    @Test
+    public void testIdempotentBookingRetry() {
+        // 1. Add a movie and a showtime
+        MovieDTO savedMovie = movieService.addMovie(new MovieDTO(null, "Idempotency Test Movie", "Comedy", 100, 7.0, 2024));
+        LocalDateTime startTime = LocalDateTime.now().plusDays(2);
+        ShowtimeDTO savedShowtime = showtimeService.addShowtime(new ShowtimeDTO(
+                null, 10.00, savedMovie.getId(), TEST_THEATER_NAME, startTime, startTime.plusHours(2)));
+
+        // 2. Book a seat with an idempotency key
+        String idempotencyKey = UUID.randomUUID().toString();
+        BookingDTO bookingDTO = new BookingDTO(null, savedShowtime.getId(), 7, UUID.randomUUID());
+        BookingResponseDTO original = idempotencyService.bookTicket(idempotencyKey, bookingDTO,
+                () -> bookingService.bookTicket(bookingDTO));
+
+        // 3. A retry with the same key gets the original booking instead of a conflict
+        BookingResponseDTO retry = idempotencyService.bookTicket(idempotencyKey, bookingDTO,
+                () -> bookingService.bookTicket(bookingDTO));
+        assertEquals(original.getBookingId(), retry.getBookingId());
+        assertEquals(1, bookingRepository.findAll().stream()
+                .filter(booking -> booking.getShowtimeId().equals(savedShowtime.getId()))
+                .count());
+
+        // 4. The key is persisted
+        assertTrue(idempotencyKeyRepository.existsById(idempotencyKey));
+    }
 }
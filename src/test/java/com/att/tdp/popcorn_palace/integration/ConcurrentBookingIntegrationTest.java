@@ -2,28 +2,56 @@ package com.att.tdp.popcorn_palace.integration;
 
 import com.att.tdp.popcorn_palace.dto.BookingDTO;
 import com.att.tdp.popcorn_palace.dto.BookingResponseDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingResponseDTO;
 import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponseDTO;
 import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
 import com.att.tdp.popcorn_palace.dto.TheaterDTO;
+import com.att.tdp.popcorn_palace.entity.Showtime;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.exception.ShowtimeSoldOutException;
 import com.att.tdp.popcorn_palace.repository.BookingRepository;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowSeatRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.repository.TheaterRepository;
+import com.att.tdp.popcorn_palace.service.BookingGroupCommitter;
 import com.att.tdp.popcorn_palace.service.BookingService;
 import com.att.tdp.popcorn_palace.service.MovieService;
+import com.att.tdp.popcorn_palace.service.SeatHoldService;
+import com.att.tdp.popcorn_palace.service.SeatService;
+import com.att.tdp.popcorn_palace.service.SeatStateService;
+import com.att.tdp.popcorn_palace.service.ShowSeatService;
+import com.att.tdp.popcorn_palace.service.ShowtimeResolutionCache;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import com.att.tdp.popcorn_palace.service.ShowtimeShardExecutor;
 import com.att.tdp.popcorn_palace.service.TheaterService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -33,6 +61,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @ActiveProfiles("test")
 public class ConcurrentBookingIntegrationTest {
 
+    private static final Logger log = LoggerFactory.getLogger(ConcurrentBookingIntegrationTest.class);
+
     @Autowired
     private MovieService movieService;
 
@@ -60,8 +90,33 @@ public class ConcurrentBookingIntegrationTest {
     @Autowired
     private ShowSeatRepository showSeatRepository;
 
+    @Autowired
+    private ShowSeatService showSeatService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatStateService seatStateService;
+
+    @Autowired
+    private ShowtimeResolutionCache showtimeResolutionCache;
+
+    @Autowired
+    private ShowtimeShardExecutor showtimeShardExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private static final String TEST_THEATER_NAME = "Concurrent Test Theater";
     private static final int TEST_SEAT_NUMBER = 42; // Use a unique seat number for concurrent testing
+    private static final int CONTENDING_THREADS = 16;
 
     @BeforeEach
     public void setup() {
@@ -184,8 +239,8 @@ public class ConcurrentBookingIntegrationTest {
                 "Failure should be due to seat already booked, but was: " + failureException.getClass().getName());
         
         // 5. Verify the seat is now booked by checking repository
-        boolean seatIsBooked = bookingRepository.existsByShowtimeIdAndSeatNumber(
-                savedShowtime.getId(), TEST_SEAT_NUMBER);
+        boolean seatIsBooked = bookingRepository.findSeatNumbersByShowtimeId(savedShowtime.getId())
+                .contains(TEST_SEAT_NUMBER);
         assertTrue(seatIsBooked, "Seat should be marked as booked in the repository");
         
         // 6. Verify only one booking exists for this seat (using findAll instead of count)
@@ -205,4 +260,346 @@ public class ConcurrentBookingIntegrationTest {
                 .orElse(null);
         assertEquals(expectedBooker, actualBooker, "The correct user should be assigned the booking");
     }
+
+    @Test
+    public void testContendedSeatClaim() throws Exception {
+        // 1. Add a movie and a showtime
+        MovieDTO savedMovie = movieService.addMovie(new MovieDTO(null, "Contended Claim Movie", "Drama", 100, 7.5, 2024));
+        LocalDateTime startTime = LocalDateTime.now().plusDays(2);
+        ShowtimeDTO savedShowtime = showtimeService.addShowtime(new ShowtimeDTO(
+                null, 10.00, savedMovie.getId(), TEST_THEATER_NAME, startTime, startTime.plusHours(2)));
+        Long theaterId = theaterRepository.findByName(TEST_THEATER_NAME).orElseThrow().getId();
+        Long seatId = seatService.findByTheaterIdAndNumber(theaterId, TEST_SEAT_NUMBER).getId();
+
+        // Warm up the claim path on another seat so the statements and timings below are only the contended claims
+        Long warmUpSeatId = seatService.findByTheaterIdAndNumber(theaterId, TEST_SEAT_NUMBER + 1).getId();
+        assertTrue(showSeatService.reserveSeat(savedShowtime.getId(), warmUpSeatId));
+
+        // 2. Let all threads claim the same show seat at once
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONTENDING_THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Long> latenciesNanos = Collections.synchronizedList(new ArrayList<>());
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < CONTENDING_THREADS; i++) {
+            results.add(executor.submit(() -> {
+                startLatch.await();
+                long start = System.nanoTime();
+                boolean claimed = showSeatService.reserveSeat(savedShowtime.getId(), seatId);
+                latenciesNanos.add(System.nanoTime() - start);
+                return claimed;
+            }));
+        }
+        startLatch.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Test timed out waiting for claim threads");
+        long claimStatements = statistics.getPrepareStatementCount();
+
+        // 3. Exactly one claim wins, everybody else fails fast
+        int winners = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                winners++;
+            }
+        }
+        assertEquals(1, winners, "Exactly one concurrent claim should win the seat");
+        assertFalse(showSeatRepository.findByShowtimeId(savedShowtime.getId()).stream()
+                .filter(showSeat -> showSeat.getSeatId().equals(seatId))
+                .findFirst().orElseThrow().getIsAvailable());
+
+        // 4. One statement per claim (the former path issued a lock, a select and an update, plus retries)
+        assertEquals(CONTENDING_THREADS, claimStatements,
+                "Every claim should be a single conditional update");
+
+        // 5. Report the p99 claim latency - the former path backed off at least 100 ms before retrying
+        Collections.sort(latenciesNanos);
+        long p99Micros = TimeUnit.NANOSECONDS.toMicros(
+                latenciesNanos.get((int) Math.ceil(latenciesNanos.size() * 0.99) - 1));
+        log.info("p99 claim latency of {} contending threads: {} us", CONTENDING_THREADS, p99Micros);
+    }
+
+    @Test
+    public void testWarmBookingSkipsShowtimeResolution() {
+        // 1. Add a movie and a showtime and book a first seat to warm up the caches
+        MovieDTO savedMovie = movieService.addMovie(new MovieDTO(null, "Resolution Cache Movie", "Drama", 100, 7.5, 2024));
+        LocalDateTime startTime = LocalDateTime.now().plusDays(6);
+        ShowtimeDTO savedShowtime = showtimeService.addShowtime(new ShowtimeDTO(
+                null, 10.00, savedMovie.getId(), TEST_THEATER_NAME, startTime, startTime.plusHours(2)));
+        bookingService.bookTicket(new BookingDTO(null, savedShowtime.getId(), 1, UUID.randomUUID()));
+
+        // 2. Book another seat of the same showtime
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        BookingResponseDTO response = bookingService.bookTicket(new BookingDTO(null, savedShowtime.getId(), 2, UUID.randomUUID()));
+        long bookingStatements = statistics.getPrepareStatementCount();
+
+        // 3. Only the show seat claim and the booking insert reach the database
+        assertNotNull(response.getBookingId());
+        assertEquals(2, bookingStatements,
+                "A warm booking should not load the showtime, the theater or the seat");
+    }
+
+    @Test
+    public void testSoldOutShowtimeFailsFast() {
+        // 1. Add a small theater, a movie and a showtime and book every seat
+        String theaterName = "Sold Out Test Theater";
+        if (theaterRepository.findByName(theaterName).isEmpty()) {
+            theaterService.addTheater(new TheaterDTO(null, theaterName, 3));
+        }
+        MovieDTO savedMovie = movieService.addMovie(new MovieDTO(null, "Sold Out Movie", "Comedy", 95, 6.5, 2024));
+        LocalDateTime startTime = LocalDateTime.now().plusDays(7);
+        ShowtimeDTO savedShowtime = showtimeService.addShowtime(new ShowtimeDTO(
+                null, 9.00, savedMovie.getId(), theaterName, startTime, startTime.plusHours(2)));
+        assertEquals(3, showtimeService.getAvailability(savedShowtime.getId()).getRemainingSeats());
+        bookingService.bookTickets(new GroupBookingDTO(savedShowtime.getId(), List.of(1, 2, 3), UUID.randomUUID()));
+
+        // 2. Try to book the sold-out showtime
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        assertThrows(ShowtimeSoldOutException.class, () -> bookingService.bookTicket(
+                new BookingDTO(null, savedShowtime.getId(), 1, UUID.randomUUID())));
+        long rejectStatements = statistics.getPrepareStatementCount();
+
+        // 3. Rejected without a query, and the counter is visible to availability pages
+        assertEquals(0, rejectStatements, "A sold-out showtime should be rejected without touching the database");
+        assertEquals(0, showtimeService.getAvailability(savedShowtime.getId()).getRemainingSeats());
+    }
+
+    @Test
+    public void testConcurrentOverlappingGroupBookings() throws Exception {
+        // 1. Add a movie and a showtime
+        MovieDTO savedMovie = movieService.addMovie(new MovieDTO(null, "Group Booking Movie", "Family", 95, 7.0, 2024));
+        LocalDateTime startTime = LocalDateTime.now().plusDays(3);
+        ShowtimeDTO savedShowtime = showtimeService.addShowtime(new ShowtimeDTO(
+                null, 9.00, savedMovie.getId(), TEST_THEATER_NAME, startTime, startTime.plusHours(2)));
+
+        // 2. Two families ask for overlapping seats - listed in opposite orders
+        GroupBookingDTO family1 = new GroupBookingDTO(savedShowtime.getId(), List.of(5, 4, 3, 2, 1), UUID.randomUUID());
+        GroupBookingDTO family2 = new GroupBookingDTO(savedShowtime.getId(), List.of(5, 6, 7, 8, 9), UUID.randomUUID());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<GroupBookingResponseDTO>> results = new ArrayList<>();
+        for (GroupBookingDTO family : List.of(family1, family2)) {
+            results.add(executor.submit(() -> {
+                startLatch.await();
+                return bookingService.bookTickets(family);
+            }));
+        }
+        startLatch.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Test timed out waiting for group booking threads");
+
+        // 3. Exactly one family gets all of its seats, the other gets none
+        int succeeded = 0;
+        for (Future<GroupBookingResponseDTO> result : results) {
+            try {
+                assertEquals(5, result.get().getBookingIds().size());
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof SeatAlreadyBookedException,
+                        "Failure should be due to seat already booked, but was: " + e.getCause());
+            }
+        }
+        assertEquals(1, succeeded, "Exactly one group booking should succeed");
+
+        long bookedSeats = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getShowtimeId().equals(savedShowtime.getId()))
+                .count();
+        assertEquals(5, bookedSeats, "No partial group booking should be left behind");
+        long unavailableSeats = showSeatRepository.findByShowtimeId(savedShowtime.getId()).stream()
+                .filter(showSeat -> !showSeat.getIsAvailable())
+                .count();
+        assertEquals(5, unavailableSeats, "Only the winning group's show seats should be reserved");
+    }
+
+    @Test
+    public void testHeldSeatsAreBlockedUntilReleased() {
+        // 1. Add a movie and a showtime
+        MovieDTO savedMovie = movieService.addMovie(new MovieDTO(null, "Seat Hold Movie", "Drama", 110, 7.5, 2024));
+        LocalDateTime startTime = LocalDateTime.now().plusDays(4);
+        ShowtimeDTO savedShowtime = showtimeService.addShowtime(new ShowtimeDTO(
+                null, 11.00, savedMovie.getId(), TEST_THEATER_NAME, startTime, startTime.plusHours(2)));
+
+        // 2. One user holds two seats, another user cannot book them meanwhile
+        SeatHoldResponseDTO seatHold = seatHoldService.holdSeats(
+                new GroupBookingDTO(savedShowtime.getId(), List.of(20, 21), UUID.randomUUID()));
+        assertThrows(SeatAlreadyBookedException.class, () -> bookingService.bookTicket(
+                new BookingDTO(null, savedShowtime.getId(), 21, UUID.randomUUID())));
+
+        // 3. The hold is released and the seats can be booked again
+        seatHoldService.releaseHold(seatHold.getHoldId());
+        BookingResponseDTO booking = bookingService.bookTicket(
+                new BookingDTO(null, savedShowtime.getId(), 21, UUID.randomUUID()));
+        assertNotNull(booking.getBookingId());
+
+        // 4. A second hold on the remaining seat is confirmed into a booking
+        SeatHoldResponseDTO secondHold = seatHoldService.holdSeats(
+                new GroupBookingDTO(savedShowtime.getId(), List.of(20), UUID.randomUUID()));
+        GroupBookingResponseDTO confirmed = seatHoldService.confirmHold(secondHold.getHoldId());
+        assertEquals(1, confirmed.getBookingIds().size());
+        assertThrows(ResourceNotFoundException.class, () -> seatHoldService.confirmHold(secondHold.getHoldId()));
+
+        long unavailableSeats = showSeatRepository.findByShowtimeId(savedShowtime.getId()).stream()
+                .filter(showSeat -> !showSeat.getIsAvailable())
+                .count();
+        assertEquals(2, unavailableSeats, "Only the booked seats should stay reserved");
+    }
+
+    @Test
+    public void testGroupCommitBookings() throws Exception {
+        // 1. Add a movie and a showtime
+        MovieDTO savedMovie = movieService.addMovie(new MovieDTO(null, "Group Commit Movie", "Action", 130, 8.0, 2024));
+        LocalDateTime startTime = LocalDateTime.now().plusDays(5);
+        ShowtimeDTO savedShowtime = showtimeService.addShowtime(new ShowtimeDTO(
+                null, 14.00, savedMovie.getId(), TEST_THEATER_NAME, startTime, startTime.plusHours(3)));
+
+        // 2. A booking service that writes through a group commit stage
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BookingGroupCommitter groupCommitter = new BookingGroupCommitter(bookingRepository, showSeatService,
+                transactionManager, meterRegistry, "group-commit", 20, 256, 1024);
+        BookingService groupCommitBookingService = new BookingService(bookingRepository, showtimeResolutionCache,
+                showSeatService, seatStateService, showtimeShardExecutor, groupCommitter);
+
+        // 3. 50 concurrent requests for 40 different seats
+        ExecutorService executor = Executors.newFixedThreadPool(CONTENDING_THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<BookingResponseDTO>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int seatNumber = 60 + i % 40;
+            results.add(executor.submit(() -> {
+                startLatch.await();
+                return groupCommitBookingService.bookTicket(
+                        new BookingDTO(null, savedShowtime.getId(), seatNumber, UUID.randomUUID()));
+            }));
+        }
+        startLatch.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Test timed out waiting for booking threads");
+        groupCommitter.shutdown();
+
+        // 4. Every seat is booked exactly once and every returned booking is durable
+        int succeeded = 0;
+        for (Future<BookingResponseDTO> result : results) {
+            try {
+                assertTrue(bookingRepository.existsById(result.get().getBookingId()));
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof SeatAlreadyBookedException,
+                        "Failure should be due to seat already booked, but was: " + e.getCause());
+            }
+        }
+        assertEquals(40, succeeded);
+        long unavailableSeats = showSeatRepository.findByShowtimeId(savedShowtime.getId()).stream()
+                .filter(showSeat -> !showSeat.getIsAvailable())
+                .count();
+        assertEquals(40, unavailableSeats);
+
+        // 5. Bookings were committed in batches rather than one by one
+        DistributionSummary batchSizes = meterRegistry.get("booking.group.commit.batch.size").summary();
+        assertEquals(40, (long) batchSizes.totalAmount());
+        assertTrue(batchSizes.count() < 40, "Expected fewer commits than bookings, but got " + batchSizes.count());
+    }
+
+    @Test
+    public void testVirtualShowSeatBookings() throws Exception {
+        // 1. A booking stack with virtual show seats - a showtime gets no show seat rows
+        ShowSeatService virtualShowSeatService = new ShowSeatService(showSeatRepository, bookingRepository,
+                showtimeResolutionCache, "virtual");
+        SeatStateService virtualSeatState = new SeatStateService(virtualShowSeatService);
+        BookingService virtualBookingService = new BookingService(bookingRepository, showtimeResolutionCache,
+                virtualShowSeatService, virtualSeatState, showtimeShardExecutor, new BookingGroupCommitter(bookingRepository,
+                virtualShowSeatService, transactionManager, new SimpleMeterRegistry(), "direct", 2, 256, 64));
+
+        MovieDTO savedMovie = movieService.addMovie(new MovieDTO(null, "Virtual Seats Movie", "Drama", 110, 7.5, 2024));
+        LocalDateTime startTime = LocalDateTime.now().plusDays(6);
+        Long theaterId = theaterRepository.findByName(TEST_THEATER_NAME).orElseThrow().getId();
+        Showtime showtime = showtimeRepository.save(new Showtime(
+                null, 11.00, savedMovie.getId(), theaterId, startTime, startTime.plusHours(2)));
+        assertEquals(0, virtualShowSeatService.createShowSeats(showtime.getId(), theaterId));
+        assertTrue(showSeatRepository.findByShowtimeId(showtime.getId()).isEmpty());
+
+        // 2. Concurrent requests for the same seat - exactly one wins
+        ExecutorService executor = Executors.newFixedThreadPool(CONTENDING_THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<BookingResponseDTO>> results = new ArrayList<>();
+        for (int i = 0; i < CONTENDING_THREADS; i++) {
+            results.add(executor.submit(() -> {
+                startLatch.await();
+                return virtualBookingService.bookTicket(
+                        new BookingDTO(null, showtime.getId(), TEST_SEAT_NUMBER, UUID.randomUUID()));
+            }));
+        }
+        startLatch.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Test timed out waiting for booking threads");
+        int succeeded = 0;
+        for (Future<BookingResponseDTO> result : results) {
+            try {
+                result.get();
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof SeatAlreadyBookedException,
+                        "Failure should be due to seat already booked, but was: " + e.getCause());
+            }
+        }
+        assertEquals(1, succeeded);
+
+        // 3. A seat state that missed that booking thinks the seat is free - the unique booking constraint rejects it
+        SeatStateService staleSeatState = new SeatStateService(virtualShowSeatService);
+        BookingService staleBookingService = new BookingService(bookingRepository, showtimeResolutionCache,
+                virtualShowSeatService, staleSeatState, showtimeShardExecutor, new BookingGroupCommitter(bookingRepository,
+                virtualShowSeatService, transactionManager, new SimpleMeterRegistry(), "direct", 2, 256, 64));
+        assertEquals(99, staleSeatState.getRemainingSeats(showtime.getId(), 100));
+        staleSeatState.release(showtime.getId(), TEST_SEAT_NUMBER);
+        assertThrows(SeatAlreadyBookedException.class, () -> staleBookingService.bookTicket(
+                new BookingDTO(null, showtime.getId(), TEST_SEAT_NUMBER, UUID.randomUUID())));
+        assertEquals(1, bookingRepository.findSeatNumbersByShowtimeId(showtime.getId()).size());
+
+        // 4. The derived show seats and a fresh seat state agree with the bookings
+        assertEquals(99, new SeatStateService(virtualShowSeatService).getRemainingSeats(showtime.getId(), 100));
+        assertEquals(99, virtualShowSeatService.getSeatsByShowtimeId(showtime.getId()).stream()
+                .filter(showSeat -> showSeat.getIsAvailable())
+                .count());
+        assertTrue(showSeatRepository.findByShowtimeId(showtime.getId()).isEmpty());
+    }
+
+    @Test
+    public void testVirtualShowSeatHoldSurvivesSeatStateReload() {
+        // 1. A hold and booking stack with virtual show seats - the hold lives only in memory
+        ShowSeatService virtualShowSeatService = new ShowSeatService(showSeatRepository, bookingRepository,
+                showtimeResolutionCache, "virtual");
+        SeatStateService virtualSeatState = new SeatStateService(virtualShowSeatService);
+        SeatHoldService virtualSeatHoldService = new SeatHoldService(bookingRepository, showtimeResolutionCache,
+                virtualShowSeatService, virtualSeatState, showtimeShardExecutor);
+        virtualSeatHoldService.registerHeldSeats();
+        BookingService virtualBookingService = new BookingService(bookingRepository, showtimeResolutionCache,
+                virtualShowSeatService, virtualSeatState, showtimeShardExecutor, new BookingGroupCommitter(bookingRepository,
+                virtualShowSeatService, transactionManager, new SimpleMeterRegistry(), "direct", 2, 256, 64));
+
+        MovieDTO savedMovie = movieService.addMovie(new MovieDTO(null, "Virtual Hold Movie", "Drama", 110, 7.5, 2024));
+        LocalDateTime startTime = LocalDateTime.now().plusDays(7);
+        Long theaterId = theaterRepository.findByName(TEST_THEATER_NAME).orElseThrow().getId();
+        Showtime showtime = showtimeRepository.save(new Showtime(
+                null, 11.00, savedMovie.getId(), theaterId, startTime, startTime.plusHours(2)));
+        SeatHoldResponseDTO hold = virtualSeatHoldService.holdSeats(
+                new GroupBookingDTO(showtime.getId(), List.of(TEST_SEAT_NUMBER), UUID.randomUUID()));
+
+        // 2. The seat state is dropped, e.g. after a booking conflict - the reload still sees the held seat
+        virtualSeatState.evict(showtime.getId());
+        assertThrows(SeatAlreadyBookedException.class, () -> virtualBookingService.bookTicket(
+                new BookingDTO(null, showtime.getId(), TEST_SEAT_NUMBER, UUID.randomUUID())));
+        assertEquals(99, virtualSeatState.getRemainingSeats(showtime.getId(), 100));
+
+        // 3. Once released the seat can be booked
+        virtualSeatHoldService.releaseHold(hold.getHoldId());
+        virtualSeatState.evict(showtime.getId());
+        assertNotNull(virtualBookingService.bookTicket(
+                new BookingDTO(null, showtime.getId(), TEST_SEAT_NUMBER, UUID.randomUUID())).getBookingId());
+    }
 }
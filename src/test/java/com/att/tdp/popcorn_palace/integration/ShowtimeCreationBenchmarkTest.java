@@ -0,0 +1,195 @@
+package com.att.tdp.popcorn_palace.integration;
+
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
+import com.att.tdp.popcorn_palace.dto.TheaterDTO;
+import com.att.tdp.popcorn_palace.entity.Seat;
+import com.att.tdp.popcorn_palace.entity.ShowSeat;
+import com.att.tdp.popcorn_palace.repository.SeatRepository;
+import com.att.tdp.popcorn_palace.repository.ShowSeatRepository;
+import com.att.tdp.popcorn_palace.repository.TheaterRepository;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import com.att.tdp.popcorn_palace.service.TheaterService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Showtime creation time and statement count versus theater size.
+ * Show seats are created with one INSERT ... SELECT, so the number of statements must not grow with the theater;
+ * the per-row column times the former save-per-seat path on the same theater for comparison.
+ * A bulk schedule import is compared with adding the same number of showtimes one request at a time,
+ * then the movie is deleted with all of them.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ShowtimeCreationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ShowtimeCreationBenchmarkTest.class);
+
+    private static final int[] THEATER_SIZES = {10, 100, 1000};
+    private static final int SHOWTIMES_PER_SIZE = 5;
+    private static final int IMPORT_THEATERS = 10;
+    private static final int IMPORT_SHOWTIMES_PER_THEATER = 70;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private TheaterService theaterService;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowSeatRepository showSeatRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void benchmarkShowtimeCreationByTheaterSize() {
+        MovieDTO movie = movieService.addMovie(new MovieDTO(null, "Benchmark Movie", "Drama", 90, 7.0, 2024));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        List<Long> statementsPerShowtime = new ArrayList<>();
+        StringBuilder report = new StringBuilder(String.format("%n%-8s %-12s %-14s %-14s%n",
+                "seats", "statements", "set-based ms", "per-row ms"));
+        LocalDateTime startTime = LocalDateTime.now().plusDays(30);
+        for (int theaterSize : THEATER_SIZES) {
+            String theaterName = "Benchmark Theater " + theaterSize;
+            if (theaterRepository.findByName(theaterName).isEmpty()) {
+                theaterService.addTheater(new TheaterDTO(null, theaterName, theaterSize));
+            }
+            Long theaterId = theaterRepository.findByName(theaterName).orElseThrow().getId();
+
+            // Set-based path - one showtime after another, the first one warms up the statements
+            long setBasedNanos = 0;
+            long statements = 0;
+            for (int i = 0; i <= SHOWTIMES_PER_SIZE; i++) {
+                statistics.clear();
+                long start = System.nanoTime();
+                ShowtimeDTO showtime = showtimeService.addShowtime(new ShowtimeDTO(
+                        null, 10.00, movie.getId(), theaterName, startTime.plusHours(3L * i), startTime.plusHours(3L * i + 2)));
+                if (i > 0) {
+                    setBasedNanos += System.nanoTime() - start;
+                    statements = statistics.getPrepareStatementCount();
+                }
+                assertEquals(theaterSize, showSeatRepository.findByShowtimeId(showtime.getId()).size());
+            }
+            statementsPerShowtime.add(statements);
+
+            // Former path - one save per seat, for a showtime id that does not exist
+            List<Seat> seats = seatRepository.findByTheaterId(theaterId);
+            long perRowNanos = 0;
+            for (int i = 1; i <= SHOWTIMES_PER_SIZE; i++) {
+                long fakeShowtimeId = -(theaterSize * 100L + i);
+                long start = System.nanoTime();
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Seat seat : seats) {
+                        showSeatRepository.save(new ShowSeat(null, fakeShowtimeId, seat.getId(), true));
+                    }
+                });
+                perRowNanos += System.nanoTime() - start;
+                showSeatRepository.deleteAllInBatch(showSeatRepository.findByShowtimeId(fakeShowtimeId));
+            }
+
+            report.append(String.format("%-8d %-12d %-14.2f %-14.2f%n", theaterSize, statements,
+                    TimeUnit.NANOSECONDS.toMicros(setBasedNanos) / 1000.0 / SHOWTIMES_PER_SIZE,
+                    TimeUnit.NANOSECONDS.toMicros(perRowNanos) / 1000.0 / SHOWTIMES_PER_SIZE));
+        }
+        log.info("Showtime creation by theater size:{}", report);
+        movieService.deleteMovie(movie.getTitle());
+
+        // Creating a showtime costs the same number of statements for any theater size
+        assertTrue(statementsPerShowtime.stream().distinct().count() == 1,
+                "Statements per showtime should not depend on theater size, but were " + statementsPerShowtime);
+    }
+
+    @Test
+    public void benchmarkBulkScheduleImport() {
+        MovieDTO movie = movieService.addMovie(new MovieDTO(null, "Import Benchmark Movie", "Drama", 100, 7.0, 2024));
+        for (int t = 1; t <= IMPORT_THEATERS; t++) {
+            if (theaterRepository.findByName("Import Theater " + t).isEmpty()) {
+                theaterService.addTheater(new TheaterDTO(null, "Import Theater " + t, 100));
+            }
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        // One week of showtimes per path, three hours apart in every theater
+        LocalDateTime bulkWeek = LocalDateTime.now().plusDays(60).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        List<ShowtimeDTO> schedule = new ArrayList<>();
+        for (int t = 1; t <= IMPORT_THEATERS; t++) {
+            for (int i = 0; i < IMPORT_SHOWTIMES_PER_THEATER; i++) {
+                LocalDateTime start = bulkWeek.plusHours(3L * i);
+                schedule.add(new ShowtimeDTO(null, 10.00, movie.getId(), "Import Theater " + t, start, start.plusHours(2)));
+            }
+        }
+
+        statistics.clear();
+        long start = System.nanoTime();
+        List<ShowtimeDTO> imported = showtimeService.addShowtimes(schedule);
+        long bulkNanos = System.nanoTime() - start;
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        start = System.nanoTime();
+        for (ShowtimeDTO showtime : schedule) {
+            showtimeService.addShowtime(new ShowtimeDTO(null, showtime.getPrice(), showtime.getMovieId(), showtime.getTheater(),
+                    showtime.getStartTime().plusDays(30), showtime.getEndTime().plusDays(30)));
+        }
+        long singleNanos = System.nanoTime() - start;
+        long singleStatements = statistics.getPrepareStatementCount();
+
+        log.info("Schedule import of {} showtimes: bulk {} statements in {} ms, one at a time {} statements in {} ms",
+                schedule.size(), bulkStatements, TimeUnit.NANOSECONDS.toMillis(bulkNanos),
+                singleStatements, TimeUnit.NANOSECONDS.toMillis(singleNanos));
+
+        assertEquals(schedule.size(), imported.size());
+        assertEquals(100, showSeatRepository.findByShowtimeId(imported.get(imported.size() - 1).getId()).size());
+
+        // Deleting the movie cascades to both weeks of showtimes with a few set-based statements
+        statistics.clear();
+        start = System.nanoTime();
+        movieService.deleteMovie(movie.getTitle());
+        long deleteNanos = System.nanoTime() - start;
+        long deleteStatements = statistics.getPrepareStatementCount();
+        log.info("Movie delete with {} showtimes: {} statements in {} ms",
+                imported.size() * 2, deleteStatements, TimeUnit.NANOSECONDS.toMillis(deleteNanos));
+        assertTrue(showSeatRepository.findByShowtimeId(imported.get(0).getId()).isEmpty());
+        assertTrue(deleteStatements <= 10,
+                "Deleting a movie should not issue statements per showtime, but took " + deleteStatements);
+
+        // Prepared statements grow with the number of theaters, not showtimes - Hibernate only sees one show seat insert per theater
+        assertTrue(bulkStatements * 10 < singleStatements,
+                "Bulk import should need far fewer statements, but took " + bulkStatements + " vs " + singleStatements);
+    }
+}
@@ -0,0 +1,127 @@
+package com.att.tdp.popcorn_palace.integration;
+
+import com.att.tdp.popcorn_palace.constants.TheaterConstants;
+import com.att.tdp.popcorn_palace.dto.SeatDTO;
+import com.att.tdp.popcorn_palace.dto.TheaterDTO;
+import com.att.tdp.popcorn_palace.repository.SeatRepository;
+import com.att.tdp.popcorn_palace.repository.TheaterRepository;
+import com.att.tdp.popcorn_palace.service.SeatService;
+import com.att.tdp.popcorn_palace.service.TheaterService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Theater creation time and statement count versus theater size.
+ * Seats are inserted in JDBC batches, so the number of statements grows with the number of batches rather than seats;
+ * the per-row column times the former addSeat-per-seat path, for a theater id that does not exist, on the same sizes for comparison.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class TheaterCreationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TheaterCreationBenchmarkTest.class);
+    private static final int[] THEATER_SIZES = {100, 1000, 10000};
+    private static final String DELETE_SEATS = "DELETE FROM seats WHERE theater_id = ?";
+
+    @Autowired
+    private TheaterService theaterService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    public void deletePerRowSeats() {
+        // Seats of the former path belong to theater ids that do not exist
+        jdbcTemplate.update("DELETE FROM seats WHERE theater_id < 0");
+    }
+
+    @Test
+    public void benchmarkTheaterCreationBySize() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // Warm up both paths
+        theaterService.addTheater(new TheaterDTO(null, "Seat Benchmark Warmup", 10));
+        transactionTemplate.executeWithoutResult(status -> seatService.addSeat(new SeatDTO(null, -1L, 1)));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        List<Long> statementsPerTheater = new ArrayList<>();
+        StringBuilder report = new StringBuilder(String.format("%n%-8s %-12s %-12s %-12s%n",
+                "seats", "statements", "batched ms", "per-row ms"));
+        for (int theaterSize : THEATER_SIZES) {
+            String theaterName = "Seat Benchmark Theater " + theaterSize;
+            theaterRepository.findByName(theaterName).ifPresent(theater -> {
+                jdbcTemplate.update(DELETE_SEATS, theater.getId());
+                theaterRepository.delete(theater);
+            });
+
+            statistics.clear();
+            clearInvocations(jdbcTemplate);
+            long start = System.nanoTime();
+            TheaterDTO theater = theaterService.addTheater(new TheaterDTO(null, theaterName, theaterSize));
+            long batchedNanos = System.nanoTime() - start;
+            statementsPerTheater.add(statistics.getPrepareStatementCount());
+            // One JDBC batch per SEAT_INSERT_BATCH_SIZE seats
+            int seatBatches = (theaterSize + TheaterConstants.SEAT_INSERT_BATCH_SIZE - 1) / TheaterConstants.SEAT_INSERT_BATCH_SIZE;
+            verify(jdbcTemplate, times(seatBatches)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+            assertEquals(theaterSize, seatRepository.findByTheaterId(theater.getId()).size());
+
+            // Former path - one addSeat call per seat in the theater's transaction
+            long fakeTheaterId = -theaterSize;
+            start = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int seatNumber = 1; seatNumber <= theaterSize; seatNumber++) {
+                    seatService.addSeat(new SeatDTO(null, fakeTheaterId, seatNumber));
+                }
+            });
+            long perRowNanos = System.nanoTime() - start;
+
+            report.append(String.format("%-8d %-12d %-12d %-12d%n", theaterSize, statementsPerTheater.get(statementsPerTheater.size() - 1),
+                    TimeUnit.NANOSECONDS.toMillis(batchedNanos), TimeUnit.NANOSECONDS.toMillis(perRowNanos)));
+        }
+        log.info("Theater creation by size:{}", report);
+
+        // Apart from the seat batches, creating a theater costs the same number of statements for any size
+        assertTrue(statementsPerTheater.stream().distinct().count() == 1,
+                "Statements per theater should not depend on its size, but were " + statementsPerTheater);
+    }
+}
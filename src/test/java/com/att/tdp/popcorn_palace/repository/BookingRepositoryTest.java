@@ -1,10 +1,14 @@
 package com.att.tdp.popcorn_palace.repository;
 
 import com.att.tdp.popcorn_palace.entity.Booking;
+import com.att.tdp.popcorn_palace.entity.Showtime;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,6 +20,9 @@ public class BookingRepositoryTest {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
     @Test
     public void testSaveBooking() {
         // Create a new booking
@@ -53,27 +60,16 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    public void testExistsByShowtimeIdAndSeatNumber_True() {
-        // Create and save a booking
-        Booking booking = new Booking();
-        booking.setShowtimeId(2L);
-        booking.setSeatNumber(20);
-        booking.setUserId(UUID.randomUUID());
-        bookingRepository.save(booking);
-
-        // Check if booking exists
-        boolean exists = bookingRepository.existsByShowtimeIdAndSeatNumber(2L, 20);
-
-        // Verify booking exists
-        assertTrue(exists);
-    }
-
-    @Test
-    public void testExistsByShowtimeIdAndSeatNumber_False() {
-        // Check if non-existent booking exists
-        boolean exists = bookingRepository.existsByShowtimeIdAndSeatNumber(999L, 999);
-
-        // Verify booking does not exist
-        assertFalse(exists);
+    public void testFindShowtimeIdsWithoutShowtime() {
+        // One booking of an existing showtime, two of a showtime that was deleted
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        Showtime showtime = showtimeRepository.save(new Showtime(null, 10.0, 1L, 1L, startTime, startTime.plusHours(2)));
+        bookingRepository.save(new Booking(null, showtime.getId(), 1, UUID.randomUUID()));
+        bookingRepository.save(new Booking(null, showtime.getId() + 1000, 1, UUID.randomUUID()));
+        bookingRepository.save(new Booking(null, showtime.getId() + 1000, 2, UUID.randomUUID()));
+
+        // Only the deleted showtime is reported, once
+        assertEquals(List.of(showtime.getId() + 1000),
+                bookingRepository.findShowtimeIdsWithoutShowtime(PageRequest.of(0, 10)));
     }
 }
@@ -0,0 +1,49 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.entity.IdempotencyKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class IdempotencyKeyRepositoryTest {
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Test
+    public void testSaveAndFindById() {
+        // Save a completed key
+        UUID bookingId = UUID.randomUUID();
+        idempotencyKeyRepository.save(new IdempotencyKey("key-1", "1:10:user", bookingId, LocalDateTime.now()));
+
+        // Verify it can be found by the key
+        Optional<IdempotencyKey> found = idempotencyKeyRepository.findById("key-1");
+        assertTrue(found.isPresent());
+        assertEquals(bookingId, found.get().getBookingId());
+        assertEquals("1:10:user", found.get().getRequestFingerprint());
+    }
+
+    @Test
+    public void testDeleteByCreatedAtBefore() {
+        // Save an old and a recent key
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyKeyRepository.save(new IdempotencyKey("old-key", "1:10:user", UUID.randomUUID(), now.minusDays(2)));
+        idempotencyKeyRepository.save(new IdempotencyKey("new-key", "1:11:user", UUID.randomUUID(), now));
+        idempotencyKeyRepository.flush();
+
+        // Delete keys older than a day
+        int deleted = idempotencyKeyRepository.deleteByCreatedAtBefore(now.minusDays(1));
+
+        // Verify only the old key was deleted
+        assertEquals(1, deleted);
+        assertFalse(idempotencyKeyRepository.existsById("old-key"));
+        assertTrue(idempotencyKeyRepository.existsById("new-key"));
+    }
+}
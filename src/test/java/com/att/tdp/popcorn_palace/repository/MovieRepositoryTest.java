@@ -110,4 +110,22 @@ public class MovieRepositoryTest {
         assertTrue(movies.stream().anyMatch(m -> m.getTitle().equals("Movie 1")));
         assertTrue(movies.stream().anyMatch(m -> m.getTitle().equals("Movie 2")));
     }
+
+    @Test
+    public void testInsertAll() {
+        // Create movies without ids
+        List<Movie> movies = List.of(
+                new Movie(null, "Batch Movie 1", "Drama", 100, 7.5, 2020),
+                new Movie(null, "Batch Movie 2", "Comedy", 90, 6.5, 2021));
+
+        // Insert them in one batch
+        movieRepository.insertAll(movies);
+
+        // Verify every movie got its generated id and was stored
+        assertTrue(movies.stream().allMatch(movie -> movie.getId() != null));
+        Movie stored = movieRepository.findById(movies.get(1).getId()).orElseThrow();
+        assertEquals("Batch Movie 2", stored.getTitle());
+        assertEquals(2021, stored.getReleaseYear());
+        assertTrue(movieRepository.findAllTitles().containsAll(List.of("Batch Movie 1", "Batch Movie 2")));
+    }
 }
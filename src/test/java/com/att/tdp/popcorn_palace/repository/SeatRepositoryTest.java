@@ -1,5 +1,6 @@
 package com.att.tdp.popcorn_palace.repository;
 
+import com.att.tdp.popcorn_palace.constants.TheaterConstants;
 import com.att.tdp.popcorn_palace.entity.Seat;
 import com.att.tdp.popcorn_palace.entity.Theater;
 import org.junit.jupiter.api.BeforeEach;
@@ -48,6 +49,21 @@ public class SeatRepositoryTest {
         assertEquals(theaterId, savedSeat.getTheaterId());
     }
 
+    @Test
+    public void testInsertSeats() {
+        // Insert more seats than fit in one batch
+        int numberOfSeats = TheaterConstants.SEAT_INSERT_BATCH_SIZE * 2 + 500;
+        int inserted = seatRepository.insertSeats(theaterId, numberOfSeats);
+
+        // Verify every seat number from 1 up was stored once
+        List<Seat> seats = seatRepository.findByTheaterId(theaterId);
+        assertEquals(numberOfSeats, inserted);
+        assertEquals(numberOfSeats, seats.size());
+        assertEquals(numberOfSeats, seats.stream().map(Seat::getNumber).distinct().count());
+        assertTrue(seatRepository.findByTheaterIdAndNumber(theaterId, numberOfSeats).isPresent());
+        assertTrue(seatRepository.findByTheaterIdAndNumber(theaterId, numberOfSeats + 1).isEmpty());
+    }
+
     @Test
     public void testFindByTheaterId() {
         // Create and save several seats for the theater
@@ -1,13 +1,18 @@
 package com.att.tdp.popcorn_palace.repository;
 
+import com.att.tdp.popcorn_palace.entity.Seat;
 import com.att.tdp.popcorn_palace.entity.ShowSeat;
+import com.att.tdp.popcorn_palace.entity.Showtime;
+import com.att.tdp.popcorn_palace.entity.Theater;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,6 +22,15 @@ public class ShowSeatRepositoryTest {
     @Autowired
     private ShowSeatRepository showSeatRepository;
 
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
     @Test
     public void testSaveShowSeat() {
         // Create a new show seat
@@ -59,38 +73,10 @@ public class ShowSeatRepositoryTest {
         }
     }
 
-    @Test
-    public void testFindByShowtimeIdAndSeatId() {
-        // Create and save a show seat
-        ShowSeat showSeat = new ShowSeat();
-        showSeat.setShowtimeId(3L);
-        showSeat.setSeatId(10L);
-        showSeat.setIsAvailable(true);
-        showSeatRepository.save(showSeat);
-
-        // Find show seat by showtime ID and seat ID
-        Optional<ShowSeat> foundShowSeat = showSeatRepository.findByShowtimeIdAndSeatId(3L, 10L);
-
-        // Verify the show seat was found
-        assertTrue(foundShowSeat.isPresent());
-        assertEquals(3L, foundShowSeat.get().getShowtimeId());
-        assertEquals(10L, foundShowSeat.get().getSeatId());
-        assertTrue(foundShowSeat.get().getIsAvailable());
-    }
-
-    @Test
-    public void testFindByShowtimeIdAndSeatId_NotFound() {
-        // Try to find a non-existent show seat
-        Optional<ShowSeat> notFoundShowSeat = showSeatRepository.findByShowtimeIdAndSeatId(999L, 999L);
-
-        // Verify no show seat was found
-        assertFalse(notFoundShowSeat.isPresent());
-    }
-
     @Test
     @Transactional
-    public void testLockRow() {
-        // Create and save a show seat with known identifiers
+    public void testClaimSeat() {
+        // Create and save an available show seat with known identifiers
         ShowSeat showSeat = new ShowSeat();
         showSeat.setShowtimeId(10L);
         showSeat.setSeatId(20L);
@@ -98,16 +84,12 @@ public class ShowSeatRepositoryTest {
         ShowSeat savedShowSeat = showSeatRepository.saveAndFlush(showSeat);
         assertNotNull(savedShowSeat.getId());
 
-        // Call lockRow to force a row lock
-        // This native query does nothing except force locking, so we expect no changes.
-        showSeatRepository.lockRow(10L, 20L);
+        // The first claim flips the seat, the second one finds it already taken
+        assertEquals(1, showSeatRepository.claimSeat(10L, 20L));
+        assertEquals(0, showSeatRepository.claimSeat(10L, 20L));
 
-        // Retrieve the same row and verify that its contents haven't changed
-        Optional<ShowSeat> lockedShowSeat = showSeatRepository.findByShowtimeIdAndSeatId(10L, 20L);
-        assertTrue(lockedShowSeat.isPresent());
-        assertEquals(10L, lockedShowSeat.get().getShowtimeId());
-        assertEquals(20L, lockedShowSeat.get().getSeatId());
-        assertTrue(lockedShowSeat.get().getIsAvailable());
+        // A seat that does not exist cannot be claimed
+        assertEquals(0, showSeatRepository.claimSeat(10L, 999L));
     }
 
     @Test
@@ -132,4 +114,104 @@ public class ShowSeatRepositoryTest {
         List<ShowSeat> showSeatsAfterDelete = showSeatRepository.findByShowtimeId(4L);
         assertTrue(showSeatsAfterDelete.isEmpty());
     }
+
+    @Test
+    @Transactional
+    public void testInsertShowSeatsForTheater() {
+        // Create seats 1-3 of one theater and a seat of another theater
+        for (int number = 1; number <= 3; number++) {
+            seatRepository.save(new Seat(null, 60L, number));
+        }
+        seatRepository.save(new Seat(null, 61L, 1));
+
+        // Create the show seats of a showtime in that theater
+        int created = showSeatRepository.insertShowSeatsForTheater(6L, 60L);
+
+        // Verify every seat of the theater got an available show seat
+        assertEquals(3, created);
+        List<ShowSeat> showSeats = showSeatRepository.findByShowtimeId(6L);
+        assertEquals(3, showSeats.size());
+        assertTrue(showSeats.stream().allMatch(ShowSeat::getIsAvailable));
+        assertTrue(showSeats.stream().allMatch(showSeat -> showSeat.getId() != null));
+    }
+
+    @Test
+    public void testInsertShowSeatsForShowtimes() {
+        // Create two theaters with 2 and 3 seats, and a showtime in each
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        List<Long> showtimeIds = new ArrayList<>();
+        List<Long> theaterIds = new ArrayList<>();
+        for (int numberOfSeats = 2; numberOfSeats <= 3; numberOfSeats++) {
+            Theater theater = new Theater();
+            theater.setName("Import Theater " + numberOfSeats);
+            theater.setNumberOfSeats(numberOfSeats);
+            Long theaterId = theaterRepository.save(theater).getId();
+            theaterIds.add(theaterId);
+            for (int number = 1; number <= numberOfSeats; number++) {
+                seatRepository.save(new Seat(null, theaterId, number));
+            }
+            showtimeIds.add(showtimeRepository.save(new Showtime(
+                    null, 10.0, 1L, theaterId, startTime, startTime.plusHours(2))).getId());
+        }
+
+        // Create the show seats of each theater's showtimes in one statement
+        int created = showSeatRepository.insertShowSeatsForShowtimes(List.of(showtimeIds.get(0)), theaterIds.get(0))
+                + showSeatRepository.insertShowSeatsForShowtimes(List.of(showtimeIds.get(1)), theaterIds.get(1));
+
+        // Verify each showtime got a show seat for every seat of its own theater
+        assertEquals(5, created);
+        assertEquals(2, showSeatRepository.findByShowtimeId(showtimeIds.get(0)).size());
+        assertEquals(3, showSeatRepository.findByShowtimeId(showtimeIds.get(1)).size());
+    }
+
+    @Test
+    public void testFindUnavailableSeatNumbers() {
+        // Create seats 1-4 and book seats 2 and 4 for the showtime
+        for (int number = 1; number <= 4; number++) {
+            Seat seat = seatRepository.save(new Seat(null, 50L, number));
+            ShowSeat showSeat = new ShowSeat();
+            showSeat.setShowtimeId(5L);
+            showSeat.setSeatId(seat.getId());
+            showSeat.setIsAvailable(number % 2 != 0);
+            showSeatRepository.save(showSeat);
+        }
+
+        // Find the seat numbers that are no longer available
+        List<Integer> unavailableSeatNumbers = showSeatRepository.findUnavailableSeatNumbers(5L);
+
+        // Verify only the booked seat numbers are returned
+        assertEquals(2, unavailableSeatNumbers.size());
+        assertTrue(unavailableSeatNumbers.containsAll(List.of(2, 4)));
+    }
+
+    @Test
+    @Transactional
+    public void testHoldConfirmAndReleaseHolds() {
+        // Create two available show seats
+        for (long seatId = 30L; seatId <= 31L; seatId++) {
+            ShowSeat showSeat = new ShowSeat();
+            showSeat.setShowtimeId(11L);
+            showSeat.setSeatId(seatId);
+            showSeat.setIsAvailable(true);
+            showSeatRepository.saveAndFlush(showSeat);
+        }
+        UUID confirmedHoldId = UUID.randomUUID();
+        UUID releasedHoldId = UUID.randomUUID();
+        LocalDateTime heldUntil = LocalDateTime.now().plusMinutes(10);
+
+        // Hold each seat - a held seat cannot be held or claimed again
+        assertEquals(1, showSeatRepository.holdSeat(11L, 30L, confirmedHoldId, heldUntil));
+        assertEquals(1, showSeatRepository.holdSeat(11L, 31L, releasedHoldId, heldUntil));
+        assertEquals(0, showSeatRepository.holdSeat(11L, 30L, UUID.randomUUID(), heldUntil));
+        assertEquals(0, showSeatRepository.claimSeat(11L, 31L));
+
+        // Confirm one hold and release the other
+        assertEquals(1, showSeatRepository.confirmHold(confirmedHoldId));
+        assertEquals(1, showSeatRepository.releaseHolds(List.of(releasedHoldId)));
+
+        // The released seat can be claimed again, the confirmed one stays taken
+        assertEquals(0, showSeatRepository.claimSeat(11L, 30L));
+        assertEquals(1, showSeatRepository.claimSeat(11L, 31L));
+        assertEquals(0, showSeatRepository.confirmHold(releasedHoldId));
+    }
 }
@@ -4,8 +4,10 @@ import com.att.tdp.popcorn_palace.entity.Showtime;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,7 +23,7 @@ public class ShowtimeRepositoryTest {
         // Create a new showtime
         Showtime showtime = new Showtime();
         showtime.setMovieId(1L);
-        showtime.setTheater("Test Theater");
+        showtime.setTheaterId(1L);
         showtime.setPrice(12.5);
         showtime.setStartTime(LocalDateTime.now().plusHours(1));
         showtime.setEndTime(LocalDateTime.now().plusHours(3));
@@ -31,7 +33,76 @@ public class ShowtimeRepositoryTest {
 
         // Verify the showtime was saved
         assertNotNull(savedShowtime.getId());
-        assertEquals("Test Theater", savedShowtime.getTheater());
+        assertEquals(1L, savedShowtime.getTheaterId());
+    }
+
+    @Test
+    public void testInsertAll() {
+        // Create three showtimes of one theater
+        LocalDateTime startTime = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MINUTES);
+        List<Showtime> showtimes = List.of(
+                new Showtime(null, 10.0, 1L, 10L, startTime, startTime.plusHours(2)),
+                new Showtime(null, 11.0, 2L, 10L, startTime.plusHours(3), startTime.plusHours(5)),
+                new Showtime(null, 12.0, 3L, 10L, startTime.plusHours(6), startTime.plusHours(8)));
+
+        // Insert them in one batch
+        showtimeRepository.insertAll(showtimes);
+
+        // Verify every showtime got its generated id and was stored
+        assertTrue(showtimes.stream().allMatch(showtime -> showtime.getId() != null));
+        assertEquals(3, showtimes.stream().map(Showtime::getId).distinct().count());
+        Showtime stored = showtimeRepository.findById(showtimes.get(1).getId()).orElseThrow();
+        assertEquals(2L, stored.getMovieId());
+        assertEquals(startTime.plusHours(3), stored.getStartTime());
+        assertEquals(3, showtimeRepository.findByTheaterId(10L).size());
+    }
+
+    @Test
+    public void testFindPage() {
+        // Create five showtimes in two theaters, two of them starting at the same time
+        LocalDateTime startTime = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MINUTES);
+        Showtime first = showtimeRepository.save(new Showtime(null, 10.0, 1L, 21L, startTime, startTime.plusHours(2)));
+        Showtime sameStart = showtimeRepository.save(new Showtime(null, 10.0, 2L, 22L, startTime, startTime.plusHours(2)));
+        Showtime third = showtimeRepository.save(new Showtime(null, 10.0, 1L, 22L, startTime.plusHours(3), startTime.plusHours(5)));
+        Showtime fourth = showtimeRepository.save(new Showtime(null, 10.0, 1L, 21L, startTime.plusHours(6), startTime.plusHours(8)));
+        showtimeRepository.save(new Showtime(null, 10.0, 1L, 21L, startTime.plusDays(1), startTime.plusDays(1).plusHours(2)));
+        LocalDateTime to = startTime.plusHours(12);
+
+        // Page through the time window two showtimes at a time
+        List<Showtime> firstPage = showtimeRepository.findPage(null, null, startTime, to, null, null, 2);
+        List<Showtime> secondPage = showtimeRepository.findPage(null, null, startTime, to,
+                sameStart.getStartTime(), sameStart.getId(), 2);
+
+        // Verify the pages follow (start time, id) order without gaps or repeats
+        assertEquals(List.of(first.getId(), sameStart.getId()), firstPage.stream().map(Showtime::getId).toList());
+        assertEquals(List.of(third.getId(), fourth.getId()), secondPage.stream().map(Showtime::getId).toList());
+        assertEquals(startTime.plusHours(3), secondPage.get(0).getStartTime());
+
+        // Verify the movie and theater filters
+        assertEquals(List.of(first.getId(), fourth.getId()), showtimeRepository.findPage(1L, 21L, startTime, to, null, null, 10)
+                .stream().map(Showtime::getId).toList());
+    }
+
+    @Test
+    public void testFindEndedShowtimes() {
+        // Create two ended showtimes and one upcoming showtime
+        LocalDateTime now = LocalDateTime.now();
+        Showtime ended = showtimeRepository.save(new Showtime(null, 10.0, 1L, 30L, now.minusDays(10), now.minusDays(10).plusHours(2)));
+        Showtime endedLater = showtimeRepository.save(new Showtime(null, 10.0, 1L, 30L, now.minusDays(8), now.minusDays(8).plusHours(2)));
+        showtimeRepository.save(new Showtime(null, 10.0, 1L, 30L, now.plusDays(1), now.plusDays(1).plusHours(2)));
+
+        // Find the showtimes that ended a week ago, in id order
+        List<Showtime> found = showtimeRepository.findByEndTimeBeforeOrderById(now.minusDays(7), PageRequest.of(0, 10));
+        List<Long> ids = showtimeRepository.findIdsByEndTimeBetween(now.minusDays(365), now.minusDays(7), 0L, PageRequest.of(0, 10));
+        List<Long> idsAfterFirst = showtimeRepository.findIdsByEndTimeBetween(
+                now.minusDays(365), now.minusDays(7), ended.getId(), PageRequest.of(0, 10));
+        List<Long> idsEndedSince = showtimeRepository.findIdsByEndTimeBetween(now.minusDays(9), now.minusDays(7), 0L, PageRequest.of(0, 10));
+
+        // Verify only the ended showtimes are found
+        assertEquals(List.of(ended.getId(), endedLater.getId()), found.stream().map(Showtime::getId).toList());
+        assertEquals(List.of(ended.getId(), endedLater.getId()), ids);
+        assertEquals(List.of(endedLater.getId()), idsAfterFirst);
+        assertEquals(List.of(endedLater.getId()), idsEndedSince);
     }
 
     @Test
@@ -39,7 +110,7 @@ public class ShowtimeRepositoryTest {
         // Create a showtime
         Showtime showtime = new Showtime();
         showtime.setMovieId(1L);
-        showtime.setTheater("Overlapping Theater");
+        showtime.setTheaterId(40L);
         showtime.setPrice(12.5);
         LocalDateTime baseTime = LocalDateTime.now().plusDays(1).withHour(18).withMinute(0);
         showtime.setStartTime(baseTime);
@@ -48,25 +119,25 @@ public class ShowtimeRepositoryTest {
 
         // Test fully overlapping time range
         List<Showtime> overlapping1 = showtimeRepository.findByTheaterAndTimeRange(
-                "Overlapping Theater", 
+                40L,
                 baseTime.minusMinutes(30), 
                 baseTime.plusHours(2).plusMinutes(30));
         
         // Test partially overlapping time range (starts before, ends during)
         List<Showtime> overlapping2 = showtimeRepository.findByTheaterAndTimeRange(
-                "Overlapping Theater", 
+                40L,
                 baseTime.minusHours(1), 
                 baseTime.plusHours(1));
         
         // Test partially overlapping time range (starts during, ends after)
         List<Showtime> overlapping3 = showtimeRepository.findByTheaterAndTimeRange(
-                "Overlapping Theater", 
+                40L,
                 baseTime.plusHours(1), 
                 baseTime.plusHours(3));
         
         // Test exactly matching time range
         List<Showtime> overlapping4 = showtimeRepository.findByTheaterAndTimeRange(
-                "Overlapping Theater", 
+                40L,
                 baseTime, 
                 baseTime.plusHours(2));
 
@@ -82,7 +153,7 @@ public class ShowtimeRepositoryTest {
         // Create a showtime
         Showtime showtime = new Showtime();
         showtime.setMovieId(1L);
-        showtime.setTheater("Non-overlapping Theater");
+        showtime.setTheaterId(41L);
         showtime.setPrice(12.5);
         LocalDateTime baseTime = LocalDateTime.now().plusDays(1).withHour(18).withMinute(0);
         showtime.setStartTime(baseTime);
@@ -91,19 +162,19 @@ public class ShowtimeRepositoryTest {
 
         // Test time range before the showtime
         List<Showtime> nonOverlapping1 = showtimeRepository.findByTheaterAndTimeRange(
-                "Non-overlapping Theater", 
+                41L,
                 baseTime.minusHours(3), 
                 baseTime.minusHours(1));
         
         // Test time range after the showtime
         List<Showtime> nonOverlapping2 = showtimeRepository.findByTheaterAndTimeRange(
-                "Non-overlapping Theater", 
+                41L,
                 baseTime.plusHours(3), 
                 baseTime.plusHours(5));
         
         // Test different theater
         List<Showtime> nonOverlapping3 = showtimeRepository.findByTheaterAndTimeRange(
-                "Different Theater", 
+                42L, 
                 baseTime, 
                 baseTime.plusHours(2));
 
@@ -0,0 +1,88 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShowtimeSchemaMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:showtime_migration;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE theaters (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE)");
+        jdbcTemplate.update("INSERT INTO theaters (id, name) VALUES (1, 'Theater A'), (2, 'Theater B')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void migrate_TheaterNameColumn_FillsTheaterIdAndDropsName() {
+        // Arrange - the layout from before showtimes stored theater ids
+        jdbcTemplate.execute("CREATE TABLE showtimes (id BIGINT PRIMARY KEY, theater VARCHAR(255) NOT NULL, "
+                + "start_time TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_showtimes_theater_start_time ON showtimes (theater, start_time)");
+        jdbcTemplate.update("INSERT INTO showtimes (id, theater, start_time) VALUES "
+                + "(1, 'Theater B', CURRENT_TIMESTAMP), (2, 'Theater A', CURRENT_TIMESTAMP)");
+
+        // Act
+        new ShowtimeSchemaMigration(dataSource).migrate();
+
+        // Assert
+        assertEquals(List.of(2L, 1L), jdbcTemplate.queryForList("SELECT theater_id FROM showtimes ORDER BY id", Long.class));
+        assertEquals(0, countColumns("THEATER"));
+        assertEquals("NO", jdbcTemplate.queryForObject("SELECT is_nullable FROM information_schema.columns "
+                + "WHERE table_name = 'SHOWTIMES' AND column_name = 'THEATER_ID'", String.class));
+    }
+
+    @Test
+    void migrate_UnknownTheaterName_FailsWithoutChangingTheTable() {
+        // Arrange
+        jdbcTemplate.execute("CREATE TABLE showtimes (id BIGINT PRIMARY KEY, theater VARCHAR(255) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO showtimes (id, theater) VALUES (1, 'Theater A'), (2, 'Closed Theater')");
+        ShowtimeSchemaMigration migration = new ShowtimeSchemaMigration(dataSource);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, migration::migrate);
+        assertEquals(1, countColumns("THEATER"));
+    }
+
+    @Test
+    void migrate_AlreadyMigrated_DoesNothing() {
+        // Arrange
+        jdbcTemplate.execute("CREATE TABLE showtimes (id BIGINT PRIMARY KEY, theater_id BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO showtimes (id, theater_id) VALUES (1, 2)");
+
+        // Act
+        new ShowtimeSchemaMigration(dataSource).migrate();
+
+        // Assert
+        assertEquals(List.of(2L), jdbcTemplate.queryForList("SELECT theater_id FROM showtimes", Long.class));
+    }
+
+    @Test
+    void migrate_NewDatabase_DoesNothing() {
+        // Act
+        new ShowtimeSchemaMigration(dataSource).migrate();
+
+        // Assert
+        assertEquals(0, countColumns("THEATER_ID"));
+    }
+
+    private int countColumns(String columnName) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE table_name = 'SHOWTIMES' AND column_name = ?", Integer.class, columnName);
+    }
+}
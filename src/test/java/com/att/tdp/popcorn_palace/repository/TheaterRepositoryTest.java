@@ -112,4 +112,16 @@ public class TheaterRepositoryTest {
         // Verify count increased by 2
         assertEquals(initialCount + 2, theaterRepository.count());
     }
+
+    @Test
+    public void testFindAllNames() {
+        // Add two theaters
+        theaterRepository.save(new Theater(null, "Names Theater 1"));
+        theaterRepository.save(new Theater(null, "Names Theater 2", 50));
+
+        // Verify only their names are loaded
+        List<String> names = theaterRepository.findAllNames();
+        assertTrue(names.containsAll(List.of("Names Theater 1", "Names Theater 2")));
+        assertEquals(theaterRepository.count(), names.size());
+    }
 }
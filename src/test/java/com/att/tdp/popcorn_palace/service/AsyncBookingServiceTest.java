@@ -0,0 +1,234 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.BookingConstants;
+import com.att.tdp.popcorn_palace.dto.AsyncBookingStatusDTO;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.BookingResponseDTO;
+import com.att.tdp.popcorn_palace.exception.BookingQueueFullException;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncBookingServiceTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @InjectMocks
+    private AsyncBookingService asyncBookingService;
+
+    private BookingDTO bookingDTO;
+
+    @BeforeEach
+    void setUp() {
+        bookingDTO = new BookingDTO(null, 1L, 10, UUID.randomUUID());
+        asyncBookingService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncBookingService.stop();
+    }
+
+    private void whenBooked(Function<BookingDTO, CompletableFuture<BookingResponseDTO>> result) {
+        when(bookingService.bookTicketBatch(anyList())).thenAnswer(invocation -> {
+            List<BookingDTO> bookingDtos = invocation.getArgument(0);
+            return bookingDtos.stream().map(result).toList();
+        });
+    }
+
+    private AsyncBookingStatusDTO awaitOutcome(UUID ticketId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            AsyncBookingStatusDTO status = asyncBookingService.getStatus(ticketId);
+            if (status.getStatus() != AsyncBookingStatusDTO.Status.PENDING) {
+                return status;
+            }
+            Thread.sleep(5);
+        }
+        return fail("Booking ticket " + ticketId + " was not processed");
+    }
+
+    @Test
+    void submit_BooksInBackground() throws InterruptedException {
+        // Arrange
+        UUID bookingId = UUID.randomUUID();
+        whenBooked(bookingDto -> CompletableFuture.completedFuture(new BookingResponseDTO(bookingId)));
+
+        // Act
+        AsyncBookingStatusDTO ticket = asyncBookingService.submit(bookingDTO);
+
+        // Assert
+        assertEquals(AsyncBookingStatusDTO.Status.PENDING, ticket.getStatus());
+        AsyncBookingStatusDTO outcome = awaitOutcome(ticket.getTicketId());
+        assertEquals(AsyncBookingStatusDTO.Status.CONFIRMED, outcome.getStatus());
+        assertEquals(bookingId, outcome.getBookingId());
+    }
+
+    @Test
+    void submit_FailedBookingIsReported() throws InterruptedException {
+        // Arrange
+        whenBooked(bookingDto -> CompletableFuture.failedFuture(
+                new SeatAlreadyBookedException("One or more of seats [10] are already booked for this showtime.")));
+
+        // Act
+        AsyncBookingStatusDTO ticket = asyncBookingService.submit(bookingDTO);
+
+        // Assert
+        AsyncBookingStatusDTO outcome = awaitOutcome(ticket.getTicketId());
+        assertEquals(AsyncBookingStatusDTO.Status.FAILED, outcome.getStatus());
+        assertNull(outcome.getBookingId());
+        assertEquals("Seat 10 is already booked for this showtime.", outcome.getMessage());
+    }
+
+    @Test
+    void submit_UnexpectedFailure_DetailsAreNotReported() throws InterruptedException {
+        // Arrange
+        whenBooked(bookingDto -> CompletableFuture.failedFuture(new CompletionException(
+                new DataAccessResourceFailureException("Connection to db:5432 refused"))));
+
+        // Act
+        AsyncBookingStatusDTO ticket = asyncBookingService.submit(bookingDTO);
+
+        // Assert
+        AsyncBookingStatusDTO outcome = awaitOutcome(ticket.getTicketId());
+        assertEquals(AsyncBookingStatusDTO.Status.FAILED, outcome.getStatus());
+        assertEquals("The booking could not be completed, please try again.", outcome.getMessage());
+    }
+
+    @Test
+    void process_BooksTheBatchInOneCall() {
+        // Arrange - the workers of this instance are not started, so the queued bookings stay put
+        AsyncBookingService notStarted = new AsyncBookingService(bookingService);
+        List<BookingDTO> bookingDtos = List.of(bookingDTO,
+                new BookingDTO(null, 1L, 11, UUID.randomUUID()), new BookingDTO(null, 2L, 1, UUID.randomUUID()));
+        List<AsyncBookingService.QueuedBooking> batch = new ArrayList<>();
+        for (BookingDTO bookingDto : bookingDtos) {
+            batch.add(new AsyncBookingService.QueuedBooking(notStarted.submit(bookingDto).getTicketId(), bookingDto));
+        }
+        whenBooked(bookingDto -> CompletableFuture.completedFuture(new BookingResponseDTO(UUID.randomUUID())));
+
+        // Act
+        notStarted.process(batch);
+
+        // Assert
+        verify(bookingService).bookTicketBatch(bookingDtos);
+        batch.forEach(queuedBooking -> assertEquals(AsyncBookingStatusDTO.Status.CONFIRMED,
+                notStarted.getStatus(queuedBooking.ticketId()).getStatus()));
+    }
+
+    @Test
+    void submit_BeforeStart_WaitsInQueue() throws InterruptedException {
+        // Arrange
+        AsyncBookingService notStarted = new AsyncBookingService(bookingService);
+        whenBooked(bookingDto -> CompletableFuture.completedFuture(new BookingResponseDTO(UUID.randomUUID())));
+
+        try {
+            // Act
+            AsyncBookingStatusDTO ticket = notStarted.submit(bookingDTO);
+            Thread.sleep(50);
+
+            // Assert
+            assertFalse(notStarted.isRunning());
+            assertEquals(AsyncBookingStatusDTO.Status.PENDING, notStarted.getStatus(ticket.getTicketId()).getStatus());
+            verify(bookingService, never()).bookTicketBatch(anyList());
+
+            notStarted.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (notStarted.getStatus(ticket.getTicketId()).getStatus() == AsyncBookingStatusDTO.Status.PENDING
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(AsyncBookingStatusDTO.Status.CONFIRMED, notStarted.getStatus(ticket.getTicketId()).getStatus());
+        } finally {
+            notStarted.stop();
+        }
+    }
+
+    @Test
+    void submit_InvalidBooking_IsRejectedBeforeQueueing() {
+        // Arrange
+        BookingDTO invalidDTO = new BookingDTO(null, 1L, 0, UUID.randomUUID());
+        doThrow(new IllegalArgumentException("Seat number must be greater than 0"))
+                .when(bookingService).validateBookingData(invalidDTO);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> asyncBookingService.submit(invalidDTO));
+        verify(bookingService, never()).bookTicketBatch(anyList());
+    }
+
+    @Test
+    void submit_FullQueue_Throws() throws InterruptedException {
+        // Arrange - workers are stuck on the first bookings
+        CountDownLatch release = new CountDownLatch(1);
+        whenBooked(bookingDto -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture(new BookingResponseDTO(UUID.randomUUID()));
+        });
+
+        // Act
+        int accepted = 0;
+        try {
+            while (accepted <= BookingConstants.ASYNC_BOOKING_QUEUE_CAPACITY
+                    + BookingConstants.ASYNC_BOOKING_WORKERS * BookingConstants.ASYNC_BOOKING_BATCH_SIZE) {
+                asyncBookingService.submit(bookingDTO);
+                accepted++;
+            }
+            fail("Queue never filled up");
+        } catch (BookingQueueFullException e) {
+            // Assert
+            assertTrue(accepted >= BookingConstants.ASYNC_BOOKING_QUEUE_CAPACITY);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void getStatus_UnknownTicket_Throws() {
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> asyncBookingService.getStatus(UUID.randomUUID()));
+    }
+
+    @Test
+    void expireTickets_DropsFinishedTicketsAfterTtl() throws InterruptedException {
+        // Arrange
+        whenBooked(bookingDto -> CompletableFuture.completedFuture(new BookingResponseDTO(UUID.randomUUID())));
+        AsyncBookingStatusDTO ticket = asyncBookingService.submit(bookingDTO);
+        awaitOutcome(ticket.getTicketId());
+        long now = System.currentTimeMillis();
+
+        // Act & Assert - still there before the time to live has passed
+        assertEquals(0, asyncBookingService.expireTickets(now));
+        assertNotNull(asyncBookingService.getStatus(ticket.getTicketId()));
+
+        // Act & Assert - dropped afterwards
+        assertEquals(1, asyncBookingService.expireTickets(
+                now + TimeUnit.MINUTES.toMillis(BookingConstants.ASYNC_TICKET_TTL_MINUTES + 1)));
+        assertThrows(ResourceNotFoundException.class, () -> asyncBookingService.getStatus(ticket.getTicketId()));
+    }
+}
@@ -0,0 +1,201 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.entity.Booking;
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingGroupCommitterTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ShowSeatService showSeatService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingGroupCommitter bookingGroupCommitter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (bookingGroupCommitter != null) {
+            bookingGroupCommitter.shutdown();
+        }
+    }
+
+    private BookingGroupCommitter createCommitter(String mode, long windowMillis, int maxBatchSize) {
+        return new BookingGroupCommitter(bookingRepository, showSeatService, transactionManager, meterRegistry,
+                mode, windowMillis, maxBatchSize, 64);
+    }
+
+    private static BookingGroupCommitter.PendingBooking pendingBooking(long showtimeId, int seatNumber) {
+        return new BookingGroupCommitter.PendingBooking(
+                new Booking(null, showtimeId, seatNumber, UUID.randomUUID()), 100L + seatNumber, new CompletableFuture<>());
+    }
+
+    private void assignBookingIdsOnSave() {
+        when(bookingRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.forEach(booking -> booking.setBookingId(UUID.randomUUID()));
+            return bookings;
+        });
+    }
+
+    @Test
+    void commit_WritesBatchInOneTransaction() throws Exception {
+        // Arrange
+        bookingGroupCommitter = createCommitter("direct", 2, 256);
+        List<BookingGroupCommitter.PendingBooking> batch = List.of(pendingBooking(1L, 1), pendingBooking(1L, 2), pendingBooking(2L, 1));
+        when(showSeatService.reserveSeat(anyLong(), anyLong())).thenReturn(true);
+        assignBookingIdsOnSave();
+
+        // Act
+        bookingGroupCommitter.commit(batch);
+
+        // Assert
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+        verify(bookingRepository).saveAllAndFlush(anyList());
+        for (BookingGroupCommitter.PendingBooking pendingBooking : batch) {
+            assertEquals(pendingBooking.booking().getBookingId(), pendingBooking.result().get());
+        }
+        DistributionSummary batchSizes = meterRegistry.get("booking.group.commit.batch.size").summary();
+        assertEquals(1, batchSizes.count());
+        assertEquals(3, batchSizes.totalAmount());
+        assertEquals(1, meterRegistry.get("booking.group.commit.latency").timer().count());
+    }
+
+    @Test
+    void commit_RejectsOnlyTakenSeats() throws Exception {
+        // Arrange
+        bookingGroupCommitter = createCommitter("direct", 2, 256);
+        BookingGroupCommitter.PendingBooking taken = pendingBooking(1L, 1);
+        BookingGroupCommitter.PendingBooking free = pendingBooking(1L, 2);
+        when(showSeatService.reserveSeat(1L, 101L)).thenReturn(false);
+        when(showSeatService.reserveSeat(1L, 102L)).thenReturn(true);
+        assignBookingIdsOnSave();
+
+        // Act
+        bookingGroupCommitter.commit(List.of(taken, free));
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> taken.result().get());
+        assertInstanceOf(SeatAlreadyBookedException.class, exception.getCause());
+        assertNotNull(free.result().get());
+    }
+
+    @Test
+    void commit_DuplicateBookingRejectsOnlyThatBooking() throws Exception {
+        // Arrange - seat 1 already has a booking in the database, with no show seat row to say so
+        bookingGroupCommitter = createCommitter("direct", 2, 256);
+        BookingGroupCommitter.PendingBooking duplicate = pendingBooking(1L, 1);
+        BookingGroupCommitter.PendingBooking free = pendingBooking(1L, 2);
+        when(showSeatService.reserveSeat(anyLong(), anyLong())).thenReturn(true);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            if (bookings.contains(duplicate.booking())) {
+                throw new DataIntegrityViolationException("uk_bookings_showtime_seat");
+            }
+            bookings.forEach(booking -> booking.setBookingId(UUID.randomUUID()));
+            return bookings;
+        });
+
+        // Act
+        bookingGroupCommitter.commit(List.of(duplicate, free));
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> duplicate.result().get());
+        assertInstanceOf(SeatAlreadyBookedException.class, exception.getCause());
+        assertEquals(free.booking().getBookingId(), free.result().get());
+    }
+
+    @Test
+    void commit_FailedTransactionFailsWholeBatch() {
+        // Arrange
+        bookingGroupCommitter = createCommitter("direct", 2, 256);
+        List<BookingGroupCommitter.PendingBooking> batch = List.of(pendingBooking(1L, 1), pendingBooking(1L, 2));
+        when(showSeatService.reserveSeat(anyLong(), anyLong())).thenReturn(true);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenThrow(new IllegalStateException("Connection lost"));
+
+        // Act
+        bookingGroupCommitter.commit(batch);
+
+        // Assert
+        verify(transactionManager).rollback(any());
+        for (BookingGroupCommitter.PendingBooking pendingBooking : batch) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> pendingBooking.result().get());
+            assertInstanceOf(IllegalStateException.class, exception.getCause());
+        }
+        assertEquals(0, meterRegistry.get("booking.group.commit.batch.size").summary().count());
+    }
+
+    @Test
+    void write_ConcurrentCallersShareOneCommit() throws Exception {
+        // Arrange - the batch is written as soon as it is full
+        bookingGroupCommitter = createCommitter("group-commit", 5_000, 4);
+        when(showSeatService.reserveSeat(anyLong(), anyLong())).thenReturn(true);
+        assignBookingIdsOnSave();
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<UUID>> results = new ArrayList<>();
+        for (int seatNumber = 1; seatNumber <= 4; seatNumber++) {
+            Booking booking = new Booking(null, 1L, seatNumber, UUID.randomUUID());
+            long seatId = 100L + seatNumber;
+            results.add(callers.submit(() -> bookingGroupCommitter.write(booking, seatId)));
+        }
+
+        // Assert
+        for (Future<UUID> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS));
+        }
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(4, meterRegistry.get("booking.group.commit.batch.size").summary().totalAmount());
+        callers.shutdown();
+    }
+
+    @Test
+    void write_DirectMode_Throws() {
+        // Arrange
+        bookingGroupCommitter = createCommitter("direct", 2, 256);
+
+        // Act & Assert
+        assertFalse(bookingGroupCommitter.isEnabled());
+        assertThrows(IllegalStateException.class,
+                () -> bookingGroupCommitter.write(new Booking(null, 1L, 1, UUID.randomUUID()), 101L));
+    }
+}
@@ -1,31 +1,47 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.constants.BookingConstants;
+import com.att.tdp.popcorn_palace.dto.BestAvailableBookingDTO;
+import com.att.tdp.popcorn_palace.dto.BestAvailableBookingResponseDTO;
 import com.att.tdp.popcorn_palace.dto.BookingDTO;
 import com.att.tdp.popcorn_palace.dto.BookingResponseDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingResponseDTO;
 import com.att.tdp.popcorn_palace.dto.ShowSeatDTO;
 import com.att.tdp.popcorn_palace.entity.Booking;
-import com.att.tdp.popcorn_palace.entity.Seat;
-import com.att.tdp.popcorn_palace.entity.Showtime;
-import com.att.tdp.popcorn_palace.entity.Theater;
+import com.att.tdp.popcorn_palace.exception.BookingQueueFullException;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.exception.ShowtimeEndedException;
+import com.att.tdp.popcorn_palace.exception.ShowtimeSoldOutException;
 import com.att.tdp.popcorn_palace.repository.BookingRepository;
-import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
-import com.att.tdp.popcorn_palace.repository.TheaterRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeResolutionCache.ShowtimeResolution;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Optional;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,16 +51,20 @@ public class BookingServiceTest {
     private BookingRepository bookingRepository;
 
     @Mock
-    private ShowtimeRepository showtimeRepository;
+    private ShowtimeResolutionCache showtimeResolutionCache;
 
     @Mock
-    private TheaterRepository theaterRepository;
+    private ShowSeatService showSeatService;
 
     @Mock
-    private SeatService seatService;
+    private SeatStateService seatStateService;
 
     @Mock
-    private ShowSeatService showSeatService;
+    private BookingGroupCommitter bookingGroupCommitter;
+
+    @Spy
+    private ShowtimeShardExecutor showtimeShardExecutor =
+            new ShowtimeShardExecutor(mock(PlatformTransactionManager.class), "direct", 1, 1);
 
     @InjectMocks
     private BookingService bookingService;
@@ -52,9 +72,8 @@ public class BookingServiceTest {
     private UUID userId;
     private Long showtimeId;
     private BookingDTO bookingDTO;
-    private Showtime showtime;
-    private Theater theater;
-    private Seat seat;
+    private ShowtimeResolution resolution;
+    private Long seatId;
     private ShowSeatDTO showSeatDTO;
 
     @BeforeEach
@@ -68,26 +87,13 @@ public class BookingServiceTest {
         bookingDTO.setSeatNumber(10);
         bookingDTO.setUserId(userId);
         
-        // Setup showtime
-        showtime = new Showtime();
-        showtime.setId(showtimeId);
-        showtime.setTheater("Cinema City");
-        showtime.setMovieId(1L);
-        showtime.setStartTime(LocalDateTime.now());
-        showtime.setEndTime(LocalDateTime.now().plusHours(2));
-        showtime.setPrice(12.50);
-        
-        // Setup theater
-        theater = new Theater();
-        theater.setId(1L);
-        theater.setName("Cinema City");
-        theater.setNumberOfSeats(100);
-        
-        // Setup seat
-        seat = new Seat();
-        seat.setId(1L);
-        seat.setTheaterId(1L);
-        seat.setNumber(10);
+        // Setup showtime resolution - theater 1 with 100 seats, seat N has id 100 + N
+        long[] seatIds = new long[101];
+        for (int seatNumber = 1; seatNumber <= 100; seatNumber++) {
+            seatIds[seatNumber] = 100L + seatNumber;
+        }
+        resolution = new ShowtimeResolution(showtimeId, 1L, LocalDateTime.now().plusDays(1), 100, seatIds);
+        seatId = 110L;
         
         // Setup show seat DTO
         showSeatDTO = new ShowSeatDTO();
@@ -100,11 +106,9 @@ public class BookingServiceTest {
     @Test
     void bookTicket_Success() {
         // Arrange
-        when(showtimeRepository.findById(showtimeId)).thenReturn(Optional.of(showtime));
-        when(theaterRepository.findByName("Cinema City")).thenReturn(Optional.of(theater));
-        when(seatService.findByTheaterIdAndNumber(theater.getId(), 10)).thenReturn(seat);
-        when(bookingRepository.existsByShowtimeIdAndSeatNumber(showtimeId, 10)).thenReturn(false);
-        when(showSeatService.reserveSeat(showtimeId, seat.getId())).thenReturn(true);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claim(showtimeId, 100, 10)).thenReturn(true);
+        when(showSeatService.reserveSeat(showtimeId, seatId)).thenReturn(true);
         
         UUID bookingId = UUID.randomUUID();
         Booking savedBooking = new Booking();
@@ -113,7 +117,7 @@ public class BookingServiceTest {
         savedBooking.setSeatNumber(10);
         savedBooking.setUserId(userId);
         
-        when(bookingRepository.save(any(Booking.class))).thenReturn(savedBooking);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenReturn(List.of(savedBooking));
         
         // Act
         BookingResponseDTO result = bookingService.bookTicket(bookingDTO);
@@ -121,79 +125,432 @@ public class BookingServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(bookingId, result.getBookingId());
-        verify(showSeatService).reserveSeat(showtimeId, seat.getId());
-        verify(bookingRepository).save(any(Booking.class));
+        verify(showSeatService).reserveSeat(showtimeId, seatId);
+        verify(bookingRepository).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void bookTicket_SeatAlreadyBookedInDatabase() {
+        // Arrange - no show seat row stops the booking (virtual show seats), the unique booking constraint does
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claim(showtimeId, 100, 10)).thenReturn(true);
+        when(showSeatService.reserveSeat(showtimeId, seatId)).thenReturn(true);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException("uk_bookings_showtime_seat"));
+
+        // Act & Assert
+        assertThrows(SeatAlreadyBookedException.class, () -> bookingService.bookTicket(bookingDTO));
+        verify(seatStateService).evict(showtimeId);
+    }
+
+    @Test
+    void bookTicket_ShardedMode_RunsOnShowtimeShard() throws InterruptedException {
+        // Arrange
+        ShowtimeShardExecutor shardedExecutor =
+                new ShowtimeShardExecutor(mock(PlatformTransactionManager.class), "sharded", 4, 8);
+        BookingService shardedBookingService = new BookingService(bookingRepository, showtimeResolutionCache,
+                showSeatService, seatStateService, shardedExecutor, bookingGroupCommitter);
+
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claim(showtimeId, 100, 10)).thenReturn(true);
+        when(showSeatService.reserveSeat(showtimeId, seatId)).thenReturn(true);
+
+        List<String> bookingThreads = new ArrayList<>();
+        when(bookingRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            bookingThreads.add(Thread.currentThread().getName());
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.forEach(booking -> booking.setBookingId(UUID.randomUUID()));
+            return bookings;
+        });
+
+        try {
+            // Act
+            BookingResponseDTO result = shardedBookingService.bookTicket(bookingDTO);
+
+            // Assert
+            assertNotNull(result.getBookingId());
+            assertEquals(1, bookingThreads.size());
+            assertTrue(bookingThreads.get(0).startsWith("booking-shard-"),
+                    "Booking should run on a shard thread, but ran on " + bookingThreads.get(0));
+        } finally {
+            shardedExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void bookTicket_GroupCommit_WritesThroughCommitter() {
+        // Arrange
+        when(bookingGroupCommitter.isEnabled()).thenReturn(true);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claim(showtimeId, 100, 10)).thenReturn(true);
+        UUID bookingId = UUID.randomUUID();
+        when(bookingGroupCommitter.write(any(Booking.class), eq(seatId))).thenReturn(bookingId);
+
+        // Act
+        BookingResponseDTO result = bookingService.bookTicket(bookingDTO);
+
+        // Assert
+        assertEquals(bookingId, result.getBookingId());
+        verify(showSeatService, never()).reserveSeat(anyLong(), anyLong());
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void bookTicket_GroupCommit_SeatTakenInDatabase() {
+        // Arrange
+        when(bookingGroupCommitter.isEnabled()).thenReturn(true);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claim(showtimeId, 100, 10)).thenReturn(true);
+        when(bookingGroupCommitter.write(any(Booking.class), eq(seatId)))
+                .thenThrow(new SeatAlreadyBookedException("Seat 10 is already booked for this showtime."));
+
+        // Act & Assert
+        assertThrows(SeatAlreadyBookedException.class, () -> bookingService.bookTicket(bookingDTO));
+        verify(seatStateService).evict(showtimeId);
+    }
+
+    @Test
+    void bookTicket_GroupCommit_QueueFullReleasesSeat() {
+        // Arrange
+        when(bookingGroupCommitter.isEnabled()).thenReturn(true);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claim(showtimeId, 100, 10)).thenReturn(true);
+        when(bookingGroupCommitter.write(any(Booking.class), eq(seatId)))
+                .thenThrow(new BookingQueueFullException("Too many bookings waiting to be written, please try again shortly."));
+
+        // Act & Assert
+        assertThrows(BookingQueueFullException.class, () -> bookingService.bookTicket(bookingDTO));
+        verify(seatStateService).release(showtimeId, 10);
+        verify(seatStateService, never()).evict(anyLong());
+    }
+
+    @Test
+    void bookTicket_GroupCommit_InterruptedWaitEvictsSeatState() {
+        // Arrange - the batch may still commit after the caller stopped waiting
+        when(bookingGroupCommitter.isEnabled()).thenReturn(true);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claim(showtimeId, 100, 10)).thenReturn(true);
+        when(bookingGroupCommitter.write(any(Booking.class), eq(seatId)))
+                .thenThrow(new IllegalStateException("Interrupted while waiting for the booking to be written"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> bookingService.bookTicket(bookingDTO));
+        verify(seatStateService).evict(showtimeId);
+        verify(seatStateService, never()).release(anyLong(), anyInt());
+    }
+
+    @Test
+    void bookTicketBatch_GroupCommit_SubmitsAllBeforeWaiting() {
+        // Arrange - seat 10 commits, seat 11 is rejected by its batch, seat 12 is taken in memory
+        when(bookingGroupCommitter.isEnabled()).thenReturn(true);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claim(showtimeId, 100, 10)).thenReturn(true);
+        when(seatStateService.claim(showtimeId, 100, 11)).thenReturn(true);
+        when(seatStateService.claim(showtimeId, 100, 12)).thenReturn(false);
+        CompletableFuture<UUID> committed = new CompletableFuture<>();
+        CompletableFuture<UUID> rejected = new CompletableFuture<>();
+        when(bookingGroupCommitter.submit(any(Booking.class), eq(110L))).thenReturn(committed);
+        when(bookingGroupCommitter.submit(any(Booking.class), eq(111L))).thenReturn(rejected);
+
+        // Act
+        List<CompletableFuture<BookingResponseDTO>> results = bookingService.bookTicketBatch(List.of(bookingDTO,
+                new BookingDTO(null, showtimeId, 11, userId), new BookingDTO(null, showtimeId, 12, userId)));
+
+        // Assert - nothing waited for the batch, each booking completes on its own
+        assertEquals(3, results.size());
+        assertFalse(results.get(0).isDone());
+        assertTrue(results.get(2).isCompletedExceptionally());
+        UUID bookingId = UUID.randomUUID();
+        committed.complete(bookingId);
+        rejected.completeExceptionally(new SeatAlreadyBookedException("Seat 11 is already booked for this showtime."));
+        assertEquals(bookingId, results.get(0).join().getBookingId());
+        assertTrue(results.get(1).isCompletedExceptionally());
+        verify(seatStateService, times(1)).evict(showtimeId);
+        verify(bookingGroupCommitter, never()).write(any(Booking.class), anyLong());
     }
 
     @Test
     void bookTicket_ShowtimeNotFound() {
         // Arrange
-        when(showtimeRepository.findById(999L)).thenReturn(Optional.empty());
+        when(showtimeResolutionCache.resolve(999L)).thenThrow(new ResourceNotFoundException("Showtime not found with id: 999"));
         
         bookingDTO.setShowtimeId(999L);
         
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> bookingService.bookTicket(bookingDTO));
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
     }
 
     @Test
-    void bookTicket_TheaterNotFound() {
+    void bookTicket_ShowtimeEnded() {
         // Arrange
-        when(showtimeRepository.findById(showtimeId)).thenReturn(Optional.of(showtime));
-        when(theaterRepository.findByName("Cinema City")).thenReturn(Optional.empty());
-        
-        // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> bookingService.bookTicket(bookingDTO));
-        verify(bookingRepository, never()).save(any(Booking.class));
+        when(showtimeResolutionCache.resolve(showtimeId))
+                .thenReturn(new ShowtimeResolution(showtimeId, 1L, LocalDateTime.now().minusMinutes(1), 100, new long[101]));
+
+        // Act & Assert - rejected before the seat state, which may have been re-seeded from purged show seats
+        assertThrows(ShowtimeEndedException.class, () -> bookingService.bookTicket(bookingDTO));
+        verify(seatStateService, never()).claim(anyLong(), anyInt(), anyInt());
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
     }
 
     @Test
     void bookTicket_InvalidSeatNumber() {
         // Arrange
-        when(showtimeRepository.findById(showtimeId)).thenReturn(Optional.of(showtime));
-        when(theaterRepository.findByName("Cinema City")).thenReturn(Optional.of(theater));
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
         
         // Test with seat number = 0
         bookingDTO.setSeatNumber(0);
         
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> bookingService.bookTicket(bookingDTO));
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
         
         // Test with seat number > number of seats
         bookingDTO.setSeatNumber(101);
         
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> bookingService.bookTicket(bookingDTO));
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
     }
 
     @Test
-    void bookTicket_SeatAlreadyInRepository() {
+    void bookTicket_SeatAlreadyClaimed() {
         // Arrange
-        when(showtimeRepository.findById(showtimeId)).thenReturn(Optional.of(showtime));
-        when(theaterRepository.findByName("Cinema City")).thenReturn(Optional.of(theater));
-        when(bookingRepository.existsByShowtimeIdAndSeatNumber(showtimeId, 10)).thenReturn(true);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claim(showtimeId, 100, 10)).thenReturn(false);
         
         // Act & Assert
         assertThrows(SeatAlreadyBookedException.class, () -> bookingService.bookTicket(bookingDTO));
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(showSeatService, never()).reserveSeat(anyLong(), anyLong());
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
     }
 
     @Test
     void bookTicket_ReservationFailed() {
         // Arrange
-        when(showtimeRepository.findById(showtimeId)).thenReturn(Optional.of(showtime));
-        when(theaterRepository.findByName("Cinema City")).thenReturn(Optional.of(theater));
-        when(seatService.findByTheaterIdAndNumber(theater.getId(), 10)).thenReturn(seat);
-        when(bookingRepository.existsByShowtimeIdAndSeatNumber(showtimeId, 10)).thenReturn(false);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claim(showtimeId, 100, 10)).thenReturn(true);
         
         // Make reservation fail
-        when(showSeatService.reserveSeat(showtimeId, seat.getId())).thenReturn(false);
+        when(showSeatService.reserveSeat(showtimeId, seatId)).thenReturn(false);
         
         // Act & Assert
         assertThrows(SeatAlreadyBookedException.class, () -> bookingService.bookTicket(bookingDTO));
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(seatStateService).evict(showtimeId);
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void bookTickets_Success_ClaimsSeatsInAscendingOrder() {
+        // Arrange
+        GroupBookingDTO groupBookingDTO = new GroupBookingDTO(showtimeId, Arrays.asList(12, 10, 11), userId);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claimAll(showtimeId, 100, List.of(10, 11, 12))).thenReturn(true);
+        when(showSeatService.reserveSeat(eq(showtimeId), anyLong())).thenReturn(true);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.forEach(booking -> booking.setBookingId(UUID.randomUUID()));
+            return bookings;
+        });
+
+        // Act
+        GroupBookingResponseDTO result = bookingService.bookTickets(groupBookingDTO);
+
+        // Assert
+        assertEquals(3, result.getBookingIds().size());
+        InOrder inOrder = inOrder(showSeatService);
+        inOrder.verify(showSeatService).reserveSeat(showtimeId, 110L);
+        inOrder.verify(showSeatService).reserveSeat(showtimeId, 111L);
+        inOrder.verify(showSeatService).reserveSeat(showtimeId, 112L);
+    }
+
+    @Test
+    void bookTickets_SeatAlreadyClaimed() {
+        // Arrange
+        GroupBookingDTO groupBookingDTO = new GroupBookingDTO(showtimeId, Arrays.asList(10, 11), userId);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claimAll(showtimeId, 100, List.of(10, 11))).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(SeatAlreadyBookedException.class, () -> bookingService.bookTickets(groupBookingDTO));
+        verify(showSeatService, never()).reserveSeat(anyLong(), anyLong());
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void bookTickets_ReservationFailed_NothingIsBooked() {
+        // Arrange
+        GroupBookingDTO groupBookingDTO = new GroupBookingDTO(showtimeId, Arrays.asList(10, 11), userId);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claimAll(showtimeId, 100, List.of(10, 11))).thenReturn(true);
+        when(showSeatService.reserveSeat(showtimeId, 110L)).thenReturn(true);
+        when(showSeatService.reserveSeat(showtimeId, 111L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(SeatAlreadyBookedException.class, () -> bookingService.bookTickets(groupBookingDTO));
+        verify(seatStateService).evict(showtimeId);
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void bookTickets_InvalidSeatNumber() {
+        // Arrange
+        GroupBookingDTO groupBookingDTO = new GroupBookingDTO(showtimeId, Arrays.asList(10, 101), userId);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bookingService.bookTickets(groupBookingDTO));
+        verify(seatStateService, never()).claimAll(anyLong(), anyInt(), anyList());
+    }
+
+    @Test
+    void bookTickets_DuplicateSeatNumbers() {
+        // Arrange
+        GroupBookingDTO groupBookingDTO = new GroupBookingDTO(showtimeId, Arrays.asList(10, 10), userId);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bookingService.bookTickets(groupBookingDTO));
+        verify(showtimeResolutionCache, never()).resolve(anyLong());
+    }
+
+    @Test
+    void bookTickets_TooManySeats() {
+        // Arrange
+        List<Integer> seatNumbers = IntStream.rangeClosed(1, BookingConstants.MAX_SEATS_PER_BOOKING + 1)
+                .boxed()
+                .collect(Collectors.toList());
+        GroupBookingDTO groupBookingDTO = new GroupBookingDTO(showtimeId, seatNumbers, userId);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bookingService.bookTickets(groupBookingDTO));
+        verify(showtimeResolutionCache, never()).resolve(anyLong());
+    }
+
+    @Test
+    void bookBestAvailable_Success() {
+        // Arrange
+        BestAvailableBookingDTO bestAvailableDTO = new BestAvailableBookingDTO(showtimeId, 3, userId);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.findBestAvailable(showtimeId, 100, 3)).thenReturn(List.of(49, 50, 51));
+        when(seatStateService.claimAll(showtimeId, 100, List.of(49, 50, 51))).thenReturn(true);
+        when(showSeatService.reserveSeat(eq(showtimeId), anyLong())).thenReturn(true);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.forEach(booking -> booking.setBookingId(UUID.randomUUID()));
+            return bookings;
+        });
+
+        // Act
+        BestAvailableBookingResponseDTO result = bookingService.bookBestAvailable(bestAvailableDTO);
+
+        // Assert
+        assertEquals(List.of(49, 50, 51), result.getSeatNumbers());
+        assertEquals(3, result.getBookingIds().size());
+        verify(showSeatService).reserveSeat(showtimeId, 149L);
+        verify(showSeatService).reserveSeat(showtimeId, 151L);
+    }
+
+    @Test
+    void bookBestAvailable_SeatsTakenMeanwhile_PicksAgain() {
+        // Arrange
+        BestAvailableBookingDTO bestAvailableDTO = new BestAvailableBookingDTO(showtimeId, 2, userId);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.findBestAvailable(showtimeId, 100, 2))
+                .thenReturn(List.of(50, 51))
+                .thenReturn(List.of(52, 53));
+        when(seatStateService.claimAll(showtimeId, 100, List.of(50, 51))).thenReturn(false);
+        when(seatStateService.claimAll(showtimeId, 100, List.of(52, 53))).thenReturn(true);
+        when(showSeatService.reserveSeat(eq(showtimeId), anyLong())).thenReturn(true);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        BestAvailableBookingResponseDTO result = bookingService.bookBestAvailable(bestAvailableDTO);
+
+        // Assert
+        assertEquals(List.of(52, 53), result.getSeatNumbers());
+        verify(seatStateService, times(2)).findBestAvailable(showtimeId, 100, 2);
+    }
+
+    @Test
+    void bookBestAvailable_SeatsKeepChanging_Throws() {
+        // Arrange
+        BestAvailableBookingDTO bestAvailableDTO = new BestAvailableBookingDTO(showtimeId, 2, userId);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.findBestAvailable(showtimeId, 100, 2)).thenReturn(List.of(50, 51));
+        when(seatStateService.claimAll(showtimeId, 100, List.of(50, 51))).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(SeatAlreadyBookedException.class, () -> bookingService.bookBestAvailable(bestAvailableDTO));
+        verify(seatStateService, times(BookingConstants.BEST_AVAILABLE_CLAIM_ATTEMPTS)).claimAll(showtimeId, 100, List.of(50, 51));
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void bookBestAvailable_NoAdjacentSeats() {
+        // Arrange
+        BestAvailableBookingDTO bestAvailableDTO = new BestAvailableBookingDTO(showtimeId, 4, userId);
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.findBestAvailable(showtimeId, 100, 4)).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(SeatAlreadyBookedException.class, () -> bookingService.bookBestAvailable(bestAvailableDTO));
+        verify(seatStateService, never()).claimAll(anyLong(), anyInt(), anyList());
+    }
+
+    @Test
+    void bookBestAvailable_MoreSeatsThanTheater() {
+        // Arrange
+        BestAvailableBookingDTO bestAvailableDTO = new BestAvailableBookingDTO(showtimeId, 4, userId);
+        when(showtimeResolutionCache.resolve(showtimeId))
+                .thenReturn(new ShowtimeResolution(showtimeId, 1L, LocalDateTime.now().plusDays(1), 3, new long[] {0, 101, 102, 103}));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bookingService.bookBestAvailable(bestAvailableDTO));
+        verify(seatStateService, never()).findBestAvailable(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void bookBestAvailable_InvalidData() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.bookBestAvailable(new BestAvailableBookingDTO(showtimeId, 0, userId)));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.bookBestAvailable(new BestAvailableBookingDTO(showtimeId, BookingConstants.MAX_SEATS_PER_BOOKING + 1, userId)));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.bookBestAvailable(new BestAvailableBookingDTO(showtimeId, 2, null)));
+        verify(showtimeResolutionCache, never()).resolve(anyLong());
+    }
+
+    @Test
+    void bookTicket_SoldOut_FailsWithoutTouchingTheDatabase() {
+        // Arrange
+        when(seatStateService.isSoldOut(showtimeId, 1)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ShowtimeSoldOutException.class, () -> bookingService.bookTicket(bookingDTO));
+        verify(showtimeShardExecutor, never()).execute(anyLong(), any());
+        verify(showtimeResolutionCache, never()).resolve(anyLong());
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void bookTickets_NotEnoughSeatsLeft_FailsFast() {
+        // Arrange
+        GroupBookingDTO groupBookingDTO = new GroupBookingDTO(showtimeId, Arrays.asList(10, 11, 12), userId);
+        when(seatStateService.isSoldOut(showtimeId, 3)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ShowtimeSoldOutException.class, () -> bookingService.bookTickets(groupBookingDTO));
+        verify(showtimeResolutionCache, never()).resolve(anyLong());
+    }
+
+    @Test
+    void bookBestAvailable_NotEnoughSeatsLeft_FailsFast() {
+        // Arrange
+        when(seatStateService.isSoldOut(showtimeId, 2)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ShowtimeSoldOutException.class,
+                () -> bookingService.bookBestAvailable(new BestAvailableBookingDTO(showtimeId, 2, userId)));
+        verify(showtimeResolutionCache, never()).resolve(anyLong());
     }
 }
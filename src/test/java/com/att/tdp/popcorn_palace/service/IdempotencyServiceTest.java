@@ -0,0 +1,235 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.BookingConstants;
+import com.att.tdp.popcorn_palace.dto.BookingDTO;
+import com.att.tdp.popcorn_palace.dto.BookingResponseDTO;
+import com.att.tdp.popcorn_palace.entity.IdempotencyKey;
+import com.att.tdp.popcorn_palace.exception.IdempotencyKeyReusedException;
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private IdempotencyService idempotencyService;
+
+    private BookingDTO bookingDTO;
+    private UUID bookingId;
+    private AtomicInteger bookings;
+
+    @BeforeEach
+    void setUp() {
+        bookingDTO = new BookingDTO(null, 1L, 10, UUID.randomUUID());
+        bookingId = UUID.randomUUID();
+        bookings = new AtomicInteger();
+    }
+
+    private BookingResponseDTO book() {
+        bookings.incrementAndGet();
+        return new BookingResponseDTO(bookingId);
+    }
+
+    @Test
+    void bookTicket_FirstRequest_BooksAndPersistsKey() {
+        // Arrange
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.empty());
+
+        // Act
+        BookingResponseDTO result = idempotencyService.bookTicket("key-1", bookingDTO, this::book);
+
+        // Assert
+        assertEquals(bookingId, result.getBookingId());
+        assertEquals(1, bookings.get());
+        verify(idempotencyKeyRepository).save(argThat(key ->
+                key.getIdempotencyKey().equals("key-1") && key.getBookingId().equals(bookingId)));
+    }
+
+    @Test
+    void bookTicket_KeyNotSaved_BookingRolledBack() {
+        // Arrange
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.save(any(IdempotencyKey.class))).thenThrow(new IllegalStateException("Connection lost"));
+
+        // Act & Assert - the booking and its key commit together or not at all
+        assertThrows(IllegalStateException.class, () -> idempotencyService.bookTicket("key-1", bookingDTO, this::book));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void bookTicket_PersistedKeyNearExpiry_CachedOnlyUntilItExpires() throws Exception {
+        // Arrange - the key was written almost a full time to live ago
+        String fingerprint = "1:10:" + bookingDTO.getUserId();
+        LocalDateTime createdAt = LocalDateTime.now().minusHours(BookingConstants.IDEMPOTENCY_KEY_TTL_HOURS).plusSeconds(1);
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(
+                new IdempotencyKey("key-1", fingerprint, UUID.randomUUID(), createdAt)));
+        idempotencyService.bookTicket("key-1", bookingDTO, this::book);
+        assertEquals(0, bookings.get());
+
+        // Act - once the stored key has expired
+        Thread.sleep(1_100);
+        BookingResponseDTO result = idempotencyService.bookTicket("key-1", bookingDTO, this::book);
+
+        // Assert - the cache did not keep it for another full time to live
+        assertEquals(bookingId, result.getBookingId());
+        assertEquals(1, bookings.get());
+    }
+
+    @Test
+    void bookTicket_Retry_ReturnsOriginalResponseWithoutBooking() {
+        // Arrange
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.empty());
+        idempotencyService.bookTicket("key-1", bookingDTO, this::book);
+
+        // Act
+        BookingResponseDTO replay = idempotencyService.bookTicket("key-1",
+                new BookingDTO(null, 1L, 10, bookingDTO.getUserId()), this::book);
+
+        // Assert
+        assertEquals(bookingId, replay.getBookingId());
+        assertEquals(1, bookings.get());
+        verify(idempotencyKeyRepository, times(1)).save(any(IdempotencyKey.class));
+    }
+
+    @Test
+    void bookTicket_RetryAfterRestart_ReplaysPersistedKey() {
+        // Arrange
+        String fingerprint = "1:10:" + bookingDTO.getUserId();
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(
+                new IdempotencyKey("key-1", fingerprint, bookingId, LocalDateTime.now().minusMinutes(5))));
+
+        // Act
+        BookingResponseDTO replay = idempotencyService.bookTicket("key-1", bookingDTO, this::book);
+
+        // Assert
+        assertEquals(bookingId, replay.getBookingId());
+        assertEquals(0, bookings.get());
+        verify(idempotencyKeyRepository, never()).save(any(IdempotencyKey.class));
+    }
+
+    @Test
+    void bookTicket_ExpiredPersistedKey_BooksAgain() {
+        // Arrange
+        String fingerprint = "1:10:" + bookingDTO.getUserId();
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(
+                new IdempotencyKey("key-1", fingerprint, UUID.randomUUID(), LocalDateTime.now().minusDays(2))));
+
+        // Act
+        BookingResponseDTO result = idempotencyService.bookTicket("key-1", bookingDTO, this::book);
+
+        // Assert
+        assertEquals(bookingId, result.getBookingId());
+        assertEquals(1, bookings.get());
+    }
+
+    @Test
+    void bookTicket_KeyReusedForDifferentRequest_Throws() {
+        // Arrange
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.empty());
+        idempotencyService.bookTicket("key-1", bookingDTO, this::book);
+        BookingDTO otherSeat = new BookingDTO(null, 1L, 11, bookingDTO.getUserId());
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReusedException.class, () -> idempotencyService.bookTicket("key-1", otherSeat, this::book));
+        assertEquals(1, bookings.get());
+    }
+
+    @Test
+    void bookTicket_FailedRequest_IsNotRemembered() {
+        // Arrange
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.empty());
+        assertThrows(SeatAlreadyBookedException.class, () -> idempotencyService.bookTicket("key-1", bookingDTO, () -> {
+            throw new SeatAlreadyBookedException("Seat 10 is already booked for this showtime.");
+        }));
+
+        // Act
+        BookingResponseDTO result = idempotencyService.bookTicket("key-1", bookingDTO, this::book);
+
+        // Assert
+        assertEquals(bookingId, result.getBookingId());
+        assertEquals(1, bookings.get());
+    }
+
+    @Test
+    void bookTicket_ConcurrentRetry_WaitsForRunningRequest() throws Exception {
+        // Arrange
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.empty());
+        CountDownLatch bookingStarted = new CountDownLatch(1);
+        CountDownLatch finishBooking = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<BookingResponseDTO> original = executor.submit(() -> idempotencyService.bookTicket("key-1", bookingDTO, () -> {
+            bookingStarted.countDown();
+            try {
+                finishBooking.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return book();
+        }));
+        assertTrue(bookingStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<BookingResponseDTO> retry = executor.submit(() -> idempotencyService.bookTicket("key-1", bookingDTO, this::book));
+        finishBooking.countDown();
+
+        // Assert
+        assertEquals(bookingId, original.get(5, TimeUnit.SECONDS).getBookingId());
+        assertEquals(bookingId, retry.get(5, TimeUnit.SECONDS).getBookingId());
+        assertEquals(1, bookings.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void bookTicket_BlankKey_Throws() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.bookTicket(" ", bookingDTO, this::book));
+        verify(idempotencyKeyRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void bookTicket_TooLongKey_Throws() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.bookTicket("k".repeat(256), bookingDTO, this::book));
+    }
+
+    @Test
+    void purgeExpiredKeys_DeletesKeysOlderThanTtl() {
+        // Act
+        idempotencyService.purgeExpiredKeys();
+
+        // Assert
+        verify(idempotencyKeyRepository).deleteByCreatedAtBefore(argThat(cutoff ->
+                cutoff.isBefore(LocalDateTime.now().minusHours(23)) && cutoff.isAfter(LocalDateTime.now().minusHours(25))));
+    }
+}
@@ -0,0 +1,75 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.service.MovieCatalogCache.MovieCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MovieCatalogCacheTest {
+
+    private final MovieCatalogCache movieCatalogCache = new MovieCatalogCache(new ObjectMapper());
+    private final AtomicInteger loads = new AtomicInteger();
+    private List<MovieDTO> movies = List.of(new MovieDTO(1L, "Inception", "Sci-Fi", 148, 8.8, 2010));
+    private final Supplier<List<MovieDTO>> loader = () -> {
+        loads.incrementAndGet();
+        return movies;
+    };
+
+    @Test
+    void getCatalog_LoadsOnceUntilInvalidated() throws Exception {
+        MovieCatalog first = movieCatalogCache.getCatalog(loader);
+        MovieCatalog second = movieCatalogCache.getCatalog(loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertArrayEquals(new ObjectMapper().writeValueAsBytes(movies), first.json());
+
+        movies = List.of(new MovieDTO(1L, "Inception", "Sci-Fi", 148, 9.0, 2010));
+        movieCatalogCache.invalidate();
+        MovieCatalog changed = movieCatalogCache.getCatalog(loader);
+
+        assertEquals(2, loads.get());
+        assertNotEquals(first.eTag(), changed.eTag());
+        assertTrue(changed.eTag().startsWith("\"") && changed.eTag().endsWith("\""));
+    }
+
+    @Test
+    void invalidate_InTransaction_DropsSnapshotLoadedBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            movieCatalogCache.invalidate();
+            // Another request reads the catalog before the write commits
+            movieCatalogCache.getCatalog(loader);
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        movieCatalogCache.getCatalog(loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void matches_IfNoneMatchHeader() {
+        MovieCatalog catalog = new MovieCatalog(List.of(), new byte[0], "\"abc\"");
+
+        assertTrue(catalog.matches("\"abc\""));
+        assertTrue(catalog.matches("W/\"abc\""));
+        assertTrue(catalog.matches("\"old\", \"abc\""));
+        assertTrue(catalog.matches("*"));
+        assertFalse(catalog.matches("\"old\""));
+        assertFalse(catalog.matches("abc"));
+        assertFalse(catalog.matches(null));
+    }
+}
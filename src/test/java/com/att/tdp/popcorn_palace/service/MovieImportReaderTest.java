@@ -0,0 +1,90 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.MovieConstants;
+import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.service.MovieImportReader.Format;
+import com.att.tdp.popcorn_palace.service.MovieImportReader.Row;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MovieImportReaderTest {
+
+    @Test
+    void next_Csv_ColumnsInAnyOrderAndQuotedFields() throws IOException {
+        List<Row> rows = readAll("\uFEFFreleaseYear,title,genre,duration,rating\r\n"
+                + "2014,\"Interstellar\",Sci-Fi,169,8.6\r\n"
+                + "\r\n"
+                + "2019,\"Parasite, \"\"Gisaengchung\"\"\",Thriller, 132 ,8.5\r\n", Format.CSV);
+
+        assertEquals(2, rows.size());
+        assertEquals(new Row(2, new MovieDTO(null, "Interstellar", "Sci-Fi", 169, 8.6, 2014), null), rows.get(0));
+        assertEquals(4, rows.get(1).line());
+        assertEquals("Parasite, \"Gisaengchung\"", rows.get(1).movie().getTitle());
+        assertEquals(132, rows.get(1).movie().getDuration());
+    }
+
+    @Test
+    void next_Csv_ReportsUnreadableRows() throws IOException {
+        List<Row> rows = readAll("title,genre,duration,rating,releaseYear\n"
+                + "Interstellar,Sci-Fi,long,8.6,2014\n"
+                + "Interstellar,Sci-Fi,169\n"
+                + "\"Interstellar,Sci-Fi,169,8.6,2014\n"
+                + "Interstellar,Sci-Fi,,8.6,2014", Format.CSV);
+
+        assertEquals(List.of("Invalid duration: long", "Expected 5 fields but found 3", "Quoted field is not closed"),
+                rows.subList(0, 3).stream().map(Row::error).toList());
+        // Empty fields are left to validation
+        assertNull(rows.get(3).error());
+        assertNull(rows.get(3).movie().getDuration());
+        assertEquals(5, rows.get(3).line());
+    }
+
+    @Test
+    void next_CsvHeaderMissingColumn_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> readAll("title,genre,duration,rating\nInterstellar,Sci-Fi,169,8.6\n", Format.CSV));
+    }
+
+    @Test
+    void next_Ndjson() throws IOException {
+        List<Row> rows = readAll("{\"title\": \"Interstellar\", \"genre\": \"Sci-Fi\", \"duration\": 169, \"rating\": 8.6, \"releaseYear\": 2014}\n"
+                + "{\"title\": \"Tenet\", \"duration\": \"long\"}\n"
+                + "not json\n", Format.NDJSON);
+
+        assertEquals(new MovieDTO(null, "Interstellar", "Sci-Fi", 169, 8.6, 2014), rows.get(0).movie());
+        assertTrue(rows.get(1).error().startsWith("Invalid JSON"));
+        assertTrue(rows.get(2).error().startsWith("Invalid JSON"));
+        assertEquals(3, rows.get(2).line());
+    }
+
+    @Test
+    void next_LineTooLong_SkippedWithoutBuffering() throws IOException {
+        String longTitle = "a".repeat(MovieConstants.MAX_IMPORT_LINE_LENGTH * 10);
+        List<Row> rows = readAll("{\"title\": \"" + longTitle + "\"}\n"
+                + "{\"title\": \"Tenet\", \"genre\": \"Action\", \"duration\": 150, \"rating\": 7.3, \"releaseYear\": 2020}\n", Format.NDJSON);
+
+        assertEquals(2, rows.size());
+        assertEquals("Line is longer than " + MovieConstants.MAX_IMPORT_LINE_LENGTH + " characters", rows.get(0).error());
+        assertEquals("Tenet", rows.get(1).movie().getTitle());
+        assertEquals(2, rows.get(1).line());
+    }
+
+    private List<Row> readAll(String upload, Format format) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (MovieImportReader reader = new MovieImportReader(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), format, new ObjectMapper())) {
+            Row row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,95 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.entity.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MovieSearchIndexTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @InjectMocks
+    private MovieSearchIndex movieSearchIndex;
+
+    private final Movie darkKnight = new Movie(1L, "The Dark Knight", "Action", 152, 9.0, 2008);
+    private final Movie darkCity = new Movie(2L, "Dark City", "Sci-Fi", 100, 7.6, 1998);
+    private final Movie darkWaters = new Movie(3L, "Dark Waters", "Drama", 126, 7.6, 2019);
+
+    @Test
+    void search_RanksByRatingThenReleaseYear() {
+        // Arrange
+        when(movieRepository.findAll()).thenReturn(List.of(darkCity, darkKnight, darkWaters));
+
+        // Act
+        List<Movie> all = movieSearchIndex.search("dark", 10);
+        List<Movie> top = movieSearchIndex.search("dark", 2);
+
+        // Assert - loaded once, best rated first and the newer of two equally rated movies next
+        assertEquals(List.of(darkKnight, darkWaters, darkCity), all);
+        assertEquals(List.of(darkKnight, darkWaters), top);
+        verify(movieRepository, times(1)).findAll();
+    }
+
+    @Test
+    void putAndRemove_UpdateTheIndex() {
+        // Arrange
+        when(movieRepository.findAll()).thenReturn(List.of(darkKnight, darkCity));
+        movieSearchIndex.search("dark", 10);
+
+        // Act
+        movieSearchIndex.put(new Movie(1L, "The Dark Knight", "Thriller", 152, 9.0, 2008));
+        movieSearchIndex.remove(2L);
+
+        // Assert
+        assertEquals(1, movieSearchIndex.search("thrill", 10).size());
+        assertTrue(movieSearchIndex.search("action", 10).isEmpty());
+        assertTrue(movieSearchIndex.search("city", 10).isEmpty());
+    }
+
+    @Test
+    void put_InTransaction_AppliedOnlyOnCommit() {
+        // Arrange
+        when(movieRepository.findAll()).thenReturn(List.of(darkKnight));
+        movieSearchIndex.search("dark", 10);
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            // Act
+            movieSearchIndex.put(darkCity);
+            assertTrue(movieSearchIndex.search("city", 10).isEmpty());
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(List.of(darkCity), movieSearchIndex.search("city", 10));
+    }
+
+    @Test
+    void put_BeforeLoad_LeftToTheLoad() {
+        // Arrange
+        when(movieRepository.findAll()).thenReturn(List.of(darkKnight));
+
+        // Act
+        movieSearchIndex.put(darkCity);
+
+        // Assert - the load reads the committed movies
+        assertTrue(movieSearchIndex.search("city", 10).isEmpty());
+        assertEquals(List.of(darkKnight), movieSearchIndex.search("dark", 10));
+    }
+}
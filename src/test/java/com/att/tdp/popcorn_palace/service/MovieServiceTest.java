@@ -1,20 +1,27 @@
 package com.att.tdp.popcorn_palace.service;
 
+import com.att.tdp.popcorn_palace.constants.MovieConstants;
 import com.att.tdp.popcorn_palace.dto.MovieDTO;
+import com.att.tdp.popcorn_palace.dto.MovieImportErrorDTO;
+import com.att.tdp.popcorn_palace.dto.MovieImportResultDTO;
 import com.att.tdp.popcorn_palace.entity.Movie;
-import com.att.tdp.popcorn_palace.entity.Showtime;
 import com.att.tdp.popcorn_palace.exception.ResourceAlreadyExistsException;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
-import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.MovieCatalogCache.MovieCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +29,10 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,12 +42,14 @@ public class MovieServiceTest {
     private MovieRepository movieRepository;
 
     @Mock
-    private ShowtimeRepository showtimeRepository;
+    private ShowtimeService showtimeService;
 
     @Mock
-    private ShowtimeService showtimeService;
+    private MovieSearchIndex movieSearchIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
-    @InjectMocks
     private MovieService movieService;
 
     private Movie movie;
@@ -45,6 +58,9 @@ public class MovieServiceTest {
 
     @BeforeEach
     void setUp() {
+        movieService = new MovieService(movieRepository, showtimeService, new MovieCatalogCache(new ObjectMapper()), movieSearchIndex,
+                new ObjectMapper(), transactionManager, "inline");
+
         // Initialize test data
         movie = new Movie(1L, "Inception", "Science Fiction", 148, 8.8, 2010);
         movieDTO = new MovieDTO(1L, "Inception", "Science Fiction", 148, 8.8, 2010);
@@ -68,6 +84,131 @@ public class MovieServiceTest {
         assertEquals("The Dark Knight", result.get(1).getTitle());
     }
 
+    @Test
+    void getMovieCatalog_CachedUntilMovieWrite() {
+        // Arrange
+        when(movieRepository.findAll()).thenReturn(movies);
+        when(movieRepository.findByTitle("Inception")).thenReturn(Optional.of(movie));
+        when(movieRepository.save(any(Movie.class))).thenReturn(movie);
+
+        // Act
+        MovieCatalog first = movieService.getMovieCatalog();
+        MovieCatalog second = movieService.getMovieCatalog();
+        movieService.updateMovie("Inception", movieDTO);
+        MovieCatalog afterUpdate = movieService.getMovieCatalog();
+
+        // Assert - one query per catalog version, the same content keeps its ETag
+        assertSame(first, second);
+        assertNotSame(first, afterUpdate);
+        assertEquals(first.eTag(), afterUpdate.eTag());
+        assertTrue(new String(first.json()).contains("\"title\":\"The Dark Knight\""));
+        verify(movieRepository, times(2)).findAll();
+    }
+
+    @Test
+    void searchMovies_ServedFromIndex() {
+        // Arrange
+        when(movieSearchIndex.search("dark", MovieConstants.DEFAULT_SEARCH_RESULTS)).thenReturn(List.of(movies.get(1)));
+
+        // Act
+        List<MovieDTO> result = movieService.searchMovies("dark", null);
+
+        // Assert
+        assertEquals(List.of("The Dark Knight"), result.stream().map(MovieDTO::getTitle).toList());
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void importMovies_InsertsValidRowsAndReportsTheRest() throws Exception {
+        // Arrange
+        String upload = """
+                {"title": "Interstellar", "genre": "Sci-Fi", "duration": 169, "rating": 8.6, "releaseYear": 2014}
+                {"title": "Inception", "genre": "Sci-Fi", "duration": 148, "rating": 8.8, "releaseYear": 2010}
+                {"title": "Interstellar", "genre": "Sci-Fi", "duration": 169, "rating": 8.6, "releaseYear": 2014}
+
+                {"title": "Tenet", "genre": "Action", "duration": 150, "rating": 11.0, "releaseYear": 2020}
+                {"title": "Dunkirk",
+                """;
+        when(movieRepository.findAllTitles()).thenReturn(List.of("Inception"));
+        List<String> insertedTitles = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<Movie> batch = invocation.getArgument(0);
+            batch.forEach(inserted -> {
+                inserted.setId(10L);
+                insertedTitles.add(inserted.getTitle());
+            });
+            return null;
+        }).when(movieRepository).insertAll(anyList());
+
+        // Act
+        MovieImportResultDTO result = movieService.importMovies(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), MovieImportReader.Format.NDJSON);
+
+        // Assert - one batch with the only valid row, the others reported by line
+        assertEquals(1, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(2L, 3L, 5L, 6L), result.getErrors().stream().map(MovieImportErrorDTO::getLine).toList());
+        assertEquals("Movie with title Inception already exists.", result.getErrors().get(0).getMessage());
+        assertEquals("Movie rating must be between 0.0 and 10.0", result.getErrors().get(2).getMessage());
+        assertTrue(result.getErrors().get(3).getMessage().startsWith("Invalid JSON"));
+        assertEquals(List.of("Interstellar"), insertedTitles);
+        verify(movieRepository, times(1)).insertAll(anyList());
+        verify(movieSearchIndex).put(argThat(imported -> imported.getId() == 10L));
+        verify(movieRepository, never()).findByTitle(anyString());
+    }
+
+    @Test
+    void importMovies_InsertsInBatches() throws Exception {
+        // Arrange
+        StringBuilder upload = new StringBuilder("title,genre,duration,rating,releaseYear\n");
+        int rows = MovieConstants.IMPORT_BATCH_SIZE * 2 + 500;
+        for (int i = 0; i < rows; i++) {
+            upload.append("Movie ").append(i).append(",Drama,100,7.5,2020\n");
+        }
+        when(movieRepository.findAllTitles()).thenReturn(List.of());
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<Movie> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            return null;
+        }).when(movieRepository).insertAll(anyList());
+
+        // Act
+        MovieImportResultDTO result = movieService.importMovies(
+                new ByteArrayInputStream(upload.toString().getBytes(StandardCharsets.UTF_8)), MovieImportReader.Format.CSV);
+
+        // Assert - each batch is a transaction of its own
+        assertEquals(rows, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertEquals(List.of(MovieConstants.IMPORT_BATCH_SIZE, MovieConstants.IMPORT_BATCH_SIZE, 500), batchSizes);
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void importMovies_TitleTakenConcurrently_RetriesBatchOneMovieAtATime() throws Exception {
+        // Arrange
+        String upload = "title,genre,duration,rating,releaseYear\nInterstellar,Sci-Fi,169,8.6,2014\nTenet,Action,150,7.3,2020\n";
+        when(movieRepository.findAllTitles()).thenReturn(List.of());
+        doAnswer(invocation -> {
+            List<Movie> batch = invocation.getArgument(0);
+            if (batch.size() > 1 || batch.get(0).getTitle().equals("Tenet")) {
+                throw new DataIntegrityViolationException("duplicate title");
+            }
+            return null;
+        }).when(movieRepository).insertAll(anyList());
+        when(movieRepository.findByTitle("Tenet")).thenReturn(Optional.of(new Movie()));
+
+        // Act
+        MovieImportResultDTO result = movieService.importMovies(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), MovieImportReader.Format.CSV);
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(new MovieImportErrorDTO(3L, "Tenet", "Movie with title Tenet already exists."), result.getErrors().get(0));
+        verify(movieRepository, times(3)).insertAll(anyList());
+    }
+
     @Test
     void getMovieByTitle_Success() {
         // Arrange
@@ -92,6 +233,47 @@ public class MovieServiceTest {
                      () -> movieService.getMovieByTitle("Non-existent"));
     }
 
+    @Test
+    void importMovies_RowFailsForAnotherReason_ReportsItAsNotSaved() throws Exception {
+        // Arrange
+        String upload = "title,genre,duration,rating,releaseYear\nInterstellar,Sci-Fi,169,8.6,2014\nTenet,Action,150,7.3,2020\n";
+        when(movieRepository.findAllTitles()).thenReturn(List.of());
+        doAnswer(invocation -> {
+            List<Movie> batch = invocation.getArgument(0);
+            if (batch.size() > 1 || batch.get(0).getTitle().equals("Tenet")) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return null;
+        }).when(movieRepository).insertAll(anyList());
+        when(movieRepository.findByTitle("Tenet")).thenReturn(Optional.empty());
+
+        // Act
+        MovieImportResultDTO result = movieService.importMovies(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), MovieImportReader.Format.CSV);
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(new MovieImportErrorDTO(3L, "Tenet", "Movie with title Tenet could not be saved."), result.getErrors().get(0));
+    }
+
+    @Test
+    void importMovies_TitleTooLong_ReportsRowWithoutInserting() throws Exception {
+        // Arrange
+        String title = "T".repeat(MovieConstants.MAX_TITLE_LENGTH + 1);
+        String upload = "title,genre,duration,rating,releaseYear\n" + title + ",Action,150,7.3,2020\n";
+        when(movieRepository.findAllTitles()).thenReturn(List.of());
+
+        // Act
+        MovieImportResultDTO result = movieService.importMovies(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), MovieImportReader.Format.CSV);
+
+        // Assert
+        assertEquals(0, result.getImported());
+        assertEquals(new MovieImportErrorDTO(2L, title,
+                "Movie title cannot be longer than " + MovieConstants.MAX_TITLE_LENGTH + " characters"), result.getErrors().get(0));
+        verify(movieRepository, never()).insertAll(anyList());
+    }
+
     @Test
     void addMovie_Success() {
         // Arrange
@@ -108,6 +290,7 @@ public class MovieServiceTest {
         assertEquals(3L, result.getId());
         assertEquals("New Movie", result.getTitle());
         verify(movieRepository).save(any(Movie.class));
+        verify(movieSearchIndex).put(newMovie);
     }
 
     @Test
@@ -138,6 +321,7 @@ public class MovieServiceTest {
         assertEquals("Thriller", result.getGenre());
         assertEquals(150, result.getDuration());
         verify(movieRepository).save(any(Movie.class));
+        verify(movieSearchIndex).put(updatedMovie);
     }
 
     @Test
@@ -156,20 +340,60 @@ public class MovieServiceTest {
         // Arrange
         when(movieRepository.findByTitle("Inception")).thenReturn(Optional.of(movie));
         
-        // Create some showtimes related to this movie
-        List<Showtime> relatedShowtimes = Arrays.asList(
-            new Showtime(1L, 12.50, 1L, "Theater 1", LocalDateTime.now(), LocalDateTime.now().plusHours(2)),
-            new Showtime(2L, 15.00, 1L, "Theater 2", LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(1).plusHours(2))
-        );
+        when(showtimeService.deleteShowtimesByMovie(1L)).thenReturn(Arrays.asList(1L, 2L));
         
-        when(showtimeRepository.findByMovieId(1L)).thenReturn(relatedShowtimes);
+        // Act
+        movieService.deleteMovie("Inception");
+        
+        // Assert - verify showtimes are deleted first according to the data flow, all at once
+        verify(showtimeService).deleteShowtimesByMovie(1L);
+        verify(showtimeService).purgeBookingsAndShowSeats(Arrays.asList(1L, 2L));
+        verify(showtimeService, never()).deleteShowtime(anyLong());
+        verify(movieRepository).delete(movie);
+        verify(movieSearchIndex).remove(1L);
+    }
+
+    @Test
+    void deleteMovie_Background_FailedPurgeDoesNotStopLaterOnes() {
+        // Arrange
+        MovieService backgroundMovieService = new MovieService(movieRepository, showtimeService,
+                new MovieCatalogCache(new ObjectMapper()), movieSearchIndex, new ObjectMapper(), transactionManager, "background");
+        when(movieRepository.findByTitle("Inception")).thenReturn(Optional.of(movie));
+        when(showtimeService.deleteShowtimesByMovie(1L)).thenReturn(List.of(1L), List.of(2L));
+        doThrow(new IllegalStateException("Connection reset")).when(showtimeService).purgeBookingsAndShowSeats(List.of(1L));
+
+        try {
+            // Act - two deletes, each committed
+            for (int i = 0; i < 2; i++) {
+                TransactionSynchronizationManager.initSynchronization();
+                List<TransactionSynchronization> synchronizations;
+                try {
+                    backgroundMovieService.deleteMovie("Inception");
+                    synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+
+            // Assert - the second purge still runs on the purge thread
+            verify(showtimeService, timeout(5000)).purgeBookingsAndShowSeats(List.of(2L));
+        } finally {
+            backgroundMovieService.shutdown();
+        }
+    }
+
+    @Test
+    void deleteMovie_NoShowtimes_NothingToPurge() {
+        // Arrange
+        when(movieRepository.findByTitle("Inception")).thenReturn(Optional.of(movie));
+        when(showtimeService.deleteShowtimesByMovie(1L)).thenReturn(List.of());
         
         // Act
         movieService.deleteMovie("Inception");
         
-        // Assert - verify showtimes are deleted first according to the data flow
-        verify(showtimeService).deleteShowtime(1L);
-        verify(showtimeService).deleteShowtime(2L);
+        // Assert
+        verify(showtimeService, never()).purgeBookingsAndShowSeats(any());
         verify(movieRepository).delete(movie);
     }
 
@@ -0,0 +1,109 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.ShowtimeConstants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RetentionServiceTest {
+
+    @Mock
+    private ShowtimeService showtimeService;
+
+    @InjectMocks
+    private RetentionService retentionService;
+
+    @Test
+    void deleteEndedShowtimes_RunsBatchesUntilOneIsNotFull() {
+        // Arrange
+        LocalDateTime endedBefore = LocalDateTime.now().minusDays(ShowtimeConstants.SHOWTIME_RETENTION_DAYS);
+        when(showtimeService.deleteEndedShowtimes(endedBefore))
+                .thenReturn(ShowtimeConstants.DELETE_BATCH_SIZE, ShowtimeConstants.DELETE_BATCH_SIZE, 3);
+
+        // Act
+        int deleted = retentionService.deleteEndedShowtimes(endedBefore);
+
+        // Assert
+        assertEquals(2 * ShowtimeConstants.DELETE_BATCH_SIZE + 3, deleted);
+        verify(showtimeService, times(3)).deleteEndedShowtimes(endedBefore);
+    }
+
+    @Test
+    void purgeShowSeats_ContinuesAfterLastPurgedShowtime() {
+        // Arrange
+        LocalDateTime endedBefore = LocalDateTime.now().minusDays(ShowtimeConstants.SHOW_SEAT_RETENTION_DAYS);
+        LocalDateTime endedFrom = endedBefore.minusDays(1);
+        when(showtimeService.purgeShowSeatsOfEndedShowtimes(endedFrom, endedBefore, 0L)).thenReturn(List.of(1L, 4L));
+        when(showtimeService.purgeShowSeatsOfEndedShowtimes(endedFrom, endedBefore, 4L)).thenReturn(List.of(7L));
+        when(showtimeService.purgeShowSeatsOfEndedShowtimes(endedFrom, endedBefore, 7L)).thenReturn(List.of());
+
+        // Act
+        int purged = retentionService.purgeShowSeats(endedFrom, endedBefore);
+
+        // Assert
+        assertEquals(3, purged);
+        verify(showtimeService, times(3)).purgeShowSeatsOfEndedShowtimes(eq(endedFrom), eq(endedBefore), anyLong());
+    }
+
+    @Test
+    void purgeExpiredData_NextRunScansOnlyShowtimesEndedSinceThePreviousOne() {
+        // Arrange
+        when(showtimeService.purgeShowSeatsOfEndedShowtimes(any(LocalDateTime.class), any(LocalDateTime.class), eq(0L)))
+                .thenReturn(List.of());
+        ArgumentCaptor<LocalDateTime> endedFrom = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> endedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        // Act
+        retentionService.purgeExpiredData();
+        retentionService.purgeExpiredData();
+
+        // Assert - the first run starts where showtimes are deleted, the second where the first one stopped
+        verify(showtimeService, times(2)).purgeShowSeatsOfEndedShowtimes(endedFrom.capture(), endedBefore.capture(), eq(0L));
+        assertEquals(ShowtimeConstants.SHOWTIME_RETENTION_DAYS - ShowtimeConstants.SHOW_SEAT_RETENTION_DAYS,
+                Duration.between(endedFrom.getAllValues().get(0), endedBefore.getAllValues().get(0)).toDays());
+        assertEquals(endedBefore.getAllValues().get(0), endedFrom.getAllValues().get(1));
+    }
+
+    @Test
+    void purgeOrphanedData_RunsUntilNothingIsLeft() {
+        // Arrange
+        when(showtimeService.purgeOrphanedBookingsAndShowSeats()).thenReturn(ShowtimeConstants.DELETE_BATCH_SIZE, 2, 0);
+
+        // Act
+        int purged = retentionService.purgeOrphanedData();
+
+        // Assert
+        assertEquals(ShowtimeConstants.DELETE_BATCH_SIZE + 2, purged);
+        verify(showtimeService, times(3)).purgeOrphanedBookingsAndShowSeats();
+    }
+
+    @Test
+    void purgeExpiredData_DeletesShowtimesBeforePurgingShowSeats() {
+        // Arrange
+        when(showtimeService.deleteEndedShowtimes(any(LocalDateTime.class))).thenReturn(0);
+        when(showtimeService.purgeShowSeatsOfEndedShowtimes(any(LocalDateTime.class), any(LocalDateTime.class), eq(0L)))
+                .thenReturn(List.of());
+
+        // Act
+        retentionService.purgeExpiredData();
+
+        // Assert
+        var inOrder = inOrder(showtimeService);
+        inOrder.verify(showtimeService).deleteEndedShowtimes(any(LocalDateTime.class));
+        inOrder.verify(showtimeService).purgeShowSeatsOfEndedShowtimes(any(LocalDateTime.class), any(LocalDateTime.class), eq(0L));
+        inOrder.verify(showtimeService).purgeOrphanedBookingsAndShowSeats();
+    }
+}
@@ -0,0 +1,245 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.BookingConstants;
+import com.att.tdp.popcorn_palace.dto.GroupBookingDTO;
+import com.att.tdp.popcorn_palace.dto.GroupBookingResponseDTO;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponseDTO;
+import com.att.tdp.popcorn_palace.entity.Booking;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import com.att.tdp.popcorn_palace.exception.ShowtimeEndedException;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeResolutionCache.ShowtimeResolution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SeatHoldServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ShowtimeResolutionCache showtimeResolutionCache;
+
+    @Mock
+    private ShowSeatService showSeatService;
+
+    @Mock
+    private SeatStateService seatStateService;
+
+    @Spy
+    private ShowtimeShardExecutor showtimeShardExecutor =
+            new ShowtimeShardExecutor(mock(PlatformTransactionManager.class), "direct", 1, 1);
+
+    @InjectMocks
+    private SeatHoldService seatHoldService;
+
+    private UUID userId;
+    private Long showtimeId;
+    private ShowtimeResolution resolution;
+    private GroupBookingDTO holdDTO;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        showtimeId = 1L;
+
+        // Theater 1 with 100 seats, seat N has id 100 + N
+        long[] seatIds = new long[101];
+        for (int seatNumber = 1; seatNumber <= 100; seatNumber++) {
+            seatIds[seatNumber] = 100L + seatNumber;
+        }
+        resolution = new ShowtimeResolution(showtimeId, 1L, LocalDateTime.now().plusDays(1).plusHours(2), 100, seatIds);
+        holdDTO = new GroupBookingDTO(showtimeId, List.of(11, 10), userId);
+    }
+
+    private SeatHoldResponseDTO holdSeats() {
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claimAll(showtimeId, 100, List.of(10, 11))).thenReturn(true);
+        when(showSeatService.holdSeat(eq(showtimeId), anyLong(), any(UUID.class), any(LocalDateTime.class))).thenReturn(true);
+        return seatHoldService.holdSeats(holdDTO);
+    }
+
+    @Test
+    void holdSeats_Success() {
+        // Act
+        SeatHoldResponseDTO result = holdSeats();
+
+        // Assert
+        assertNotNull(result.getHoldId());
+        assertEquals(List.of(10, 11), result.getSeatNumbers());
+        assertTrue(result.getExpiresAt().isAfter(LocalDateTime.now().plusMinutes(BookingConstants.HOLD_DURATION_MINUTES - 1)));
+        assertEquals(1, seatHoldService.getActiveHoldCount());
+        verify(showSeatService).holdSeat(showtimeId, 110L, result.getHoldId(), result.getExpiresAt());
+        verify(showSeatService).holdSeat(showtimeId, 111L, result.getHoldId(), result.getExpiresAt());
+        verify(showtimeShardExecutor).execute(eq(showtimeId), any());
+    }
+
+    @Test
+    void holdSeats_SeatTaken() {
+        // Arrange
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(resolution);
+        when(seatStateService.claimAll(showtimeId, 100, List.of(10, 11))).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(SeatAlreadyBookedException.class, () -> seatHoldService.holdSeats(holdDTO));
+        verify(showSeatService, never()).holdSeat(anyLong(), anyLong(), any(), any());
+        assertEquals(0, seatHoldService.getActiveHoldCount());
+    }
+
+    @Test
+    void holdSeats_ShowtimeEnded() {
+        // Arrange - its show seats may already have been purged
+        when(showtimeResolutionCache.resolve(showtimeId)).thenReturn(new ShowtimeResolution(
+                showtimeId, 1L, LocalDateTime.now().minusMinutes(1), 100, resolution.seatIds()));
+
+        // Act & Assert
+        assertThrows(ShowtimeEndedException.class, () -> seatHoldService.holdSeats(holdDTO));
+        verify(seatStateService, never()).claimAll(anyLong(), anyInt(), anyList());
+        assertEquals(0, seatHoldService.getActiveHoldCount());
+    }
+
+    @Test
+    void holdSeats_NullUserId() {
+        // Arrange
+        GroupBookingDTO invalidDTO = new GroupBookingDTO(showtimeId, List.of(10), null);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> seatHoldService.holdSeats(invalidDTO));
+        verify(showtimeResolutionCache, never()).resolve(anyLong());
+    }
+
+    @Test
+    void confirmHold_CreatesBookings() {
+        // Arrange
+        SeatHoldResponseDTO seatHold = holdSeats();
+        when(showSeatService.confirmHold(seatHold.getHoldId(), 2)).thenReturn(true);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.forEach(booking -> booking.setBookingId(UUID.randomUUID()));
+            return bookings;
+        });
+
+        // Act
+        GroupBookingResponseDTO result = seatHoldService.confirmHold(seatHold.getHoldId());
+
+        // Assert - on the executor that owns the showtime, like its bookings
+        assertEquals(2, result.getBookingIds().size());
+        assertEquals(0, seatHoldService.getActiveHoldCount());
+        verify(showtimeShardExecutor, times(2)).execute(eq(showtimeId), any());
+        assertThrows(ResourceNotFoundException.class, () -> seatHoldService.confirmHold(seatHold.getHoldId()));
+    }
+
+    @Test
+    void confirmHold_UnknownHold() {
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> seatHoldService.confirmHold(UUID.randomUUID()));
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
+        verify(showtimeShardExecutor, never()).execute(anyLong(), any());
+    }
+
+    @Test
+    void releaseHold_FreesSeats() {
+        // Arrange
+        SeatHoldResponseDTO seatHold = holdSeats();
+
+        // Act
+        seatHoldService.releaseHold(seatHold.getHoldId());
+
+        // Assert
+        verify(showSeatService).releaseHolds(List.of(seatHold.getHoldId()));
+        verify(seatStateService).release(showtimeId, 10);
+        verify(seatStateService).release(showtimeId, 11);
+        assertEquals(0, seatHoldService.getActiveHoldCount());
+    }
+
+    @Test
+    void expireHolds_ReleasesOnlyExpiredHolds() {
+        // Arrange
+        SeatHoldResponseDTO seatHold = holdSeats();
+        long now = System.currentTimeMillis();
+
+        // Act & Assert - nothing is due before the hold duration has passed
+        assertEquals(0, seatHoldService.expireHolds(now));
+        verify(showSeatService, never()).releaseHolds(anyList());
+
+        // Act & Assert - the hold is released once it has expired
+        long afterExpiry = now + TimeUnit.MINUTES.toMillis(BookingConstants.HOLD_DURATION_MINUTES) + BookingConstants.HOLD_EXPIRY_TICK_MILLIS;
+        assertEquals(1, seatHoldService.expireHolds(afterExpiry));
+        verify(showSeatService).releaseHolds(List.of(seatHold.getHoldId()));
+        verify(seatStateService).release(showtimeId, 10);
+        verify(seatStateService).release(showtimeId, 11);
+        assertThrows(ResourceNotFoundException.class, () -> seatHoldService.confirmHold(seatHold.getHoldId()));
+    }
+
+    @Test
+    void expireHolds_ConfirmRolledBackAfterExpiry_HoldStillExpires() {
+        // Arrange
+        SeatHoldResponseDTO seatHold = holdSeats();
+        long afterExpiry = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(BookingConstants.HOLD_DURATION_MINUTES)
+                + BookingConstants.HOLD_EXPIRY_TICK_MILLIS;
+        when(showSeatService.confirmHold(seatHold.getHoldId(), 2)).thenReturn(true);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException("duplicate booking"));
+
+        // Act - the confirmation fails, and its expiry fires while it has the hold
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            assertThrows(SeatAlreadyBookedException.class, () -> seatHoldService.confirmHold(seatHold.getHoldId()));
+            assertEquals(0, seatHoldService.expireHolds(afterExpiry));
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert - the hold is back and expires on the next tick
+        assertEquals(1, seatHoldService.getActiveHoldCount());
+        assertEquals(1, seatHoldService.expireHolds(afterExpiry + BookingConstants.HOLD_EXPIRY_TICK_MILLIS));
+        verify(showSeatService).releaseHolds(List.of(seatHold.getHoldId()));
+        verify(seatStateService).release(showtimeId, 10);
+        verify(seatStateService).release(showtimeId, 11);
+        assertEquals(0, seatHoldService.getActiveHoldCount());
+    }
+
+    @Test
+    void expireHolds_ConfirmedHoldIsNotReleased() {
+        // Arrange
+        SeatHoldResponseDTO seatHold = holdSeats();
+        when(showSeatService.confirmHold(seatHold.getHoldId(), 2)).thenReturn(true);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        seatHoldService.confirmHold(seatHold.getHoldId());
+
+        // Act
+        long afterExpiry = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(BookingConstants.HOLD_DURATION_MINUTES + 1);
+        int released = seatHoldService.expireHolds(afterExpiry);
+
+        // Assert
+        assertEquals(0, released);
+        verify(showSeatService, never()).releaseHolds(anyList());
+        verify(seatStateService, never()).release(anyLong(), anyInt());
+    }
+}
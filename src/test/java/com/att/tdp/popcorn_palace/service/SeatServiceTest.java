@@ -72,6 +72,29 @@ public class SeatServiceTest {
         assertEquals(3, result.getNumber());
     }
 
+    @Test
+    void addSeats_InsertsAllSeatsInBatches() {
+        // Arrange
+        when(seatRepository.insertSeats(1L, 250)).thenReturn(250);
+        
+        // Act
+        int result = seatService.addSeats(1L, 250);
+        
+        // Assert
+        assertEquals(250, result);
+        verify(seatRepository, never()).save(any(Seat.class));
+    }
+
+    @Test
+    void addSeats_InvalidData_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> seatService.addSeats(null, 100));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> seatService.addSeats(1L, 0));
+        assertEquals("Number of seats must be greater than 0", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> seatService.addSeats(1L, null));
+        verify(seatRepository, never()).insertSeats(any(), anyInt());
+    }
+
     @Test
     void findByTheaterIdAndNumber_Success() {
         // Arrange
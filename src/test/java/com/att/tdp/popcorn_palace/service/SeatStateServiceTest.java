@@ -0,0 +1,159 @@
+package com.att.tdp.popcorn_palace.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SeatStateServiceTest {
+
+    @Mock
+    private ShowSeatService showSeatService;
+
+    @InjectMocks
+    private SeatStateService seatStateService;
+
+    @Test
+    void claim_SeededFromShowSeats() {
+        // Arrange
+        when(showSeatService.findUnavailableSeatNumbers(1L)).thenReturn(List.of(5, 6));
+
+        // Act & Assert
+        assertFalse(seatStateService.claim(1L, 100, 5));
+        assertTrue(seatStateService.claim(1L, 100, 7));
+        assertFalse(seatStateService.claim(1L, 100, 7));
+    }
+
+    @Test
+    void claim_LoadsStateOnlyOnce() {
+        // Arrange
+        when(showSeatService.findUnavailableSeatNumbers(1L)).thenReturn(Collections.emptyList());
+
+        // Act
+        seatStateService.claim(1L, 100, 1);
+        seatStateService.claim(1L, 100, 2);
+        seatStateService.claim(1L, 100, 3);
+
+        // Assert
+        verify(showSeatService, times(1)).findUnavailableSeatNumbers(1L);
+    }
+
+    @Test
+    void release_FreesClaimedSeat() {
+        // Arrange
+        when(showSeatService.findUnavailableSeatNumbers(1L)).thenReturn(Collections.emptyList());
+        seatStateService.claim(1L, 100, 10);
+
+        // Act
+        seatStateService.release(1L, 10);
+
+        // Assert
+        assertFalse(seatStateService.isClaimed(1L, 100, 10));
+    }
+
+    @Test
+    void evict_ReseedsOnNextAccess() {
+        // Arrange
+        when(showSeatService.findUnavailableSeatNumbers(1L))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.of(10));
+        assertFalse(seatStateService.isClaimed(1L, 100, 10));
+
+        // Act
+        seatStateService.evict(1L);
+
+        // Assert
+        assertTrue(seatStateService.isClaimed(1L, 100, 10));
+        verify(showSeatService, times(2)).findUnavailableSeatNumbers(1L);
+    }
+
+    @Test
+    void claimAll_OneSeatTaken_ClaimsNothing() {
+        // Arrange
+        when(showSeatService.findUnavailableSeatNumbers(1L)).thenReturn(List.of(3));
+
+        // Act
+        boolean claimed = seatStateService.claimAll(1L, 100, List.of(1, 2, 3, 4));
+
+        // Assert
+        assertFalse(claimed);
+        assertFalse(seatStateService.isClaimed(1L, 100, 1));
+        assertFalse(seatStateService.isClaimed(1L, 100, 2));
+        assertFalse(seatStateService.isClaimed(1L, 100, 4));
+    }
+
+    @Test
+    void claimAll_AllFree_ClaimsEverySeat() {
+        // Arrange
+        when(showSeatService.findUnavailableSeatNumbers(1L)).thenReturn(Collections.emptyList());
+
+        // Act
+        boolean claimed = seatStateService.claimAll(1L, 100, List.of(1, 2, 3));
+
+        // Assert
+        assertTrue(claimed);
+        assertTrue(seatStateService.isClaimed(1L, 100, 2));
+        assertFalse(seatStateService.claim(1L, 100, 3));
+    }
+
+    @Test
+    void findBestAvailable_ReturnsAdjacentFreeSeats() {
+        // Arrange
+        when(showSeatService.findUnavailableSeatNumbers(1L)).thenReturn(List.of(5));
+
+        // Act
+        List<Integer> seats = seatStateService.findBestAvailable(1L, 10, 3);
+
+        // Assert - center of 1..10 is 5.5 and seat 5 is taken, 6..8 is the closest free block
+        assertEquals(List.of(6, 7, 8), seats);
+        assertFalse(seatStateService.isClaimed(1L, 10, 6));
+    }
+
+    @Test
+    void findBestAvailable_NoBlockFree_ReturnsEmptyList() {
+        // Arrange
+        when(showSeatService.findUnavailableSeatNumbers(1L)).thenReturn(List.of(3, 6, 9));
+
+        // Act & Assert
+        assertTrue(seatStateService.findBestAvailable(1L, 10, 3).isEmpty());
+    }
+
+    @Test
+    void getRemainingSeats_SeededFromShowSeats() {
+        // Arrange
+        when(showSeatService.findUnavailableSeatNumbers(1L)).thenReturn(List.of(1, 2, 3));
+
+        // Act
+        int before = seatStateService.getRemainingSeats(1L, 10);
+        seatStateService.claim(1L, 10, 4);
+
+        // Assert
+        assertEquals(7, before);
+        assertEquals(6, seatStateService.getRemainingSeats(1L, 10));
+    }
+
+    @Test
+    void isSoldOut_OnlyForLoadedShowtimes() {
+        // Arrange
+        when(showSeatService.findUnavailableSeatNumbers(1L)).thenReturn(List.of(1));
+
+        // Act & Assert - nothing is loaded yet, so nothing is known to be sold out
+        assertFalse(seatStateService.isSoldOut(1L, 1));
+        verify(showSeatService, never()).findUnavailableSeatNumbers(1L);
+
+        assertTrue(seatStateService.claim(1L, 2, 2));
+        assertTrue(seatStateService.isSoldOut(1L, 1));
+
+        seatStateService.release(1L, 2);
+        assertFalse(seatStateService.isSoldOut(1L, 1));
+        assertTrue(seatStateService.isSoldOut(1L, 2));
+    }
+}
@@ -2,20 +2,23 @@ package com.att.tdp.popcorn_palace.service;
 
 import com.att.tdp.popcorn_palace.dto.ShowSeatDTO;
 import com.att.tdp.popcorn_palace.entity.ShowSeat;
+import com.att.tdp.popcorn_palace.repository.BookingRepository;
 import com.att.tdp.popcorn_palace.repository.ShowSeatRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeResolutionCache.ShowtimeResolution;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,16 +27,24 @@ public class ShowSeatServiceTest {
     @Mock
     private ShowSeatRepository showSeatRepository;
 
-    @InjectMocks
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ShowtimeResolutionCache showtimeResolutionCache;
+
     private ShowSeatService showSeatService;
+    private ShowSeatService virtualShowSeatService;
 
     private ShowSeat availableShowSeat;
     private ShowSeat unavailableShowSeat;
     private List<ShowSeat> showSeats;
-    private List<Long> seatIds;
 
     @BeforeEach
     void setUp() {
+        showSeatService = new ShowSeatService(showSeatRepository, bookingRepository, showtimeResolutionCache, "materialized");
+        virtualShowSeatService = new ShowSeatService(showSeatRepository, bookingRepository, showtimeResolutionCache, "virtual");
+
         // Initialize test data
         availableShowSeat = new ShowSeat(1L, 1L, 1L, true);
         unavailableShowSeat = new ShowSeat(2L, 2L, 3L, false);
@@ -42,20 +53,19 @@ public class ShowSeatServiceTest {
             availableShowSeat,
             unavailableShowSeat
         );
-        
-        seatIds = Arrays.asList(1L, 2L, 3L);
     }
 
     @Test
     void createShowSeats_Success() {
         // Arrange
-        when(showSeatRepository.save(any(ShowSeat.class))).thenReturn(availableShowSeat);
+        when(showSeatRepository.insertShowSeatsForTheater(1L, 7L)).thenReturn(3);
         
         // Act
-        showSeatService.createShowSeats(1L, seatIds);
+        int created = showSeatService.createShowSeats(1L, 7L);
         
         // Assert
-        verify(showSeatRepository, times(3)).save(any(ShowSeat.class));
+        assertEquals(3, created);
+        verify(showSeatRepository, never()).save(any(ShowSeat.class));
     }
 
     @Test
@@ -87,26 +97,21 @@ public class ShowSeatServiceTest {
     @Test
     void reserveSeat_AvailableSeat_ReturnsTrue() {
         // Arrange
-        when(showSeatRepository.findByShowtimeIdAndSeatId(1L, 1L))
-                .thenReturn(Optional.of(availableShowSeat));
-        when(showSeatRepository.save(any(ShowSeat.class))).thenReturn(unavailableShowSeat);
+        when(showSeatRepository.claimSeat(1L, 1L)).thenReturn(1);
         
         // Act
         boolean result = showSeatService.reserveSeat(1L, 1L);
         
         // Assert
         assertTrue(result);
-        verify(showSeatRepository).save(any(ShowSeat.class));
-        
-        // Verify the seat is now unavailable
-        assertFalse(availableShowSeat.getIsAvailable());
+        verify(showSeatRepository).claimSeat(1L, 1L);
+        verify(showSeatRepository, never()).save(any(ShowSeat.class));
     }
 
     @Test
     void reserveSeat_UnavailableSeat_ReturnsFalse() {
         // Arrange
-        when(showSeatRepository.findByShowtimeIdAndSeatId(2L, 3L))
-                .thenReturn(Optional.of(unavailableShowSeat));
+        when(showSeatRepository.claimSeat(2L, 3L)).thenReturn(0);
 
         // Act
         boolean result = showSeatService.reserveSeat(2L, 3L);
@@ -117,13 +122,78 @@ public class ShowSeatServiceTest {
     }
 
     @Test
-    void reserveSeat_NotFound() {
+    void reserveSeat_NotFound_ReturnsFalse() {
         // Arrange
-        when(showSeatRepository.findByShowtimeIdAndSeatId(1L, 999L))
-                .thenReturn(Optional.empty());
+        when(showSeatRepository.claimSeat(1L, 999L)).thenReturn(0);
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> showSeatService.reserveSeat(1L, 999L));
+        assertFalse(showSeatService.reserveSeat(1L, 999L));
         verify(showSeatRepository, never()).save(any(ShowSeat.class));
     }
+
+    @Test
+    void confirmHold_AllSeatsStillHeld() {
+        // Arrange
+        UUID holdId = UUID.randomUUID();
+        when(showSeatRepository.confirmHold(holdId)).thenReturn(2);
+
+        // Act & Assert
+        assertTrue(showSeatService.confirmHold(holdId, 2));
+        assertFalse(showSeatService.confirmHold(holdId, 3));
+    }
+
+    @Test
+    void virtualMode_CreatesNoShowSeats() {
+        // Act
+        int created = virtualShowSeatService.createShowSeats(1L, 7L);
+
+        // Assert
+        assertEquals(0, created);
+        verifyNoInteractions(showSeatRepository);
+    }
+
+    @Test
+    void virtualMode_UnavailableSeatsAreBookedSeats() {
+        // Arrange
+        when(bookingRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(4, 9));
+
+        // Act
+        List<Integer> unavailable = virtualShowSeatService.findUnavailableSeatNumbers(1L);
+
+        // Assert
+        assertEquals(List.of(4, 9), unavailable);
+        verifyNoInteractions(showSeatRepository);
+    }
+
+    @Test
+    void virtualMode_SeatChangesLeaveNoRows() {
+        // Arrange
+        UUID holdId = UUID.randomUUID();
+
+        // Act & Assert
+        assertTrue(virtualShowSeatService.reserveSeat(1L, 1L));
+        assertTrue(virtualShowSeatService.holdSeat(1L, 1L, holdId, LocalDateTime.now().plusMinutes(5)));
+        assertTrue(virtualShowSeatService.confirmHold(holdId, 2));
+        assertEquals(0, virtualShowSeatService.releaseHolds(List.of(holdId)));
+        assertEquals(0, virtualShowSeatService.releaseAllHolds());
+        verifyNoInteractions(showSeatRepository);
+    }
+
+    @Test
+    void virtualMode_GetSeatsByShowtimeId_DerivedFromBookings() {
+        // Arrange
+        when(showtimeResolutionCache.resolve(1L)).thenReturn(new ShowtimeResolution(1L, 7L, LocalDateTime.now().plusDays(1), 3, new long[] {0, 71, 72, 73}));
+        when(bookingRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(2));
+
+        // Act
+        List<ShowSeatDTO> result = virtualShowSeatService.getSeatsByShowtimeId(1L);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals(71L, result.get(0).getSeatId());
+        assertTrue(result.get(0).getIsAvailable());
+        assertFalse(result.get(1).getIsAvailable());
+        assertTrue(result.get(2).getIsAvailable());
+        verify(showSeatRepository, never()).findByShowtimeId(anyLong());
+    }
 }
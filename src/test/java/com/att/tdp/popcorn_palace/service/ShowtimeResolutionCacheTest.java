@@ -0,0 +1,135 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.entity.Seat;
+import com.att.tdp.popcorn_palace.entity.Showtime;
+import com.att.tdp.popcorn_palace.entity.Theater;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.repository.SeatRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeResolutionCache.ShowtimeResolution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ShowtimeResolutionCacheTest {
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private TheaterCache theaterCache;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @InjectMocks
+    private ShowtimeResolutionCache showtimeResolutionCache;
+
+    private Showtime showtime;
+    private Theater theater;
+
+    @BeforeEach
+    void setUp() {
+        showtime = new Showtime(1L, 12.50, 1L, 7L, LocalDateTime.now(), LocalDateTime.now().plusHours(2));
+
+        theater = new Theater();
+        theater.setId(7L);
+        theater.setName("Cinema City");
+        theater.setNumberOfSeats(3);
+    }
+
+    @Test
+    void resolve_LoadsTheaterAndSeatIds() {
+        // Arrange
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(theaterCache.getTheater(7L)).thenReturn(theater);
+        when(seatRepository.findByTheaterId(7L)).thenReturn(List.of(
+                new Seat(71L, 7L, 1), new Seat(72L, 7L, 2), new Seat(73L, 7L, 3)));
+
+        // Act
+        ShowtimeResolution resolution = showtimeResolutionCache.resolve(1L);
+
+        // Assert
+        assertEquals(1L, resolution.showtimeId());
+        assertEquals(7L, resolution.theaterId());
+        assertEquals(3, resolution.seatCount());
+        assertEquals(71L, resolution.seatId(1));
+        assertEquals(73L, resolution.seatId(3));
+        assertThrows(RuntimeException.class, () -> resolution.seatId(4));
+    }
+
+    @Test
+    void resolve_CachesPerShowtime() {
+        // Arrange
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(theaterCache.getTheater(7L)).thenReturn(theater);
+        when(seatRepository.findByTheaterId(7L)).thenReturn(List.of(new Seat(71L, 7L, 1)));
+
+        // Act
+        ShowtimeResolution first = showtimeResolutionCache.resolve(1L);
+        ShowtimeResolution second = showtimeResolutionCache.resolve(1L);
+
+        // Assert
+        assertSame(first, second);
+        verify(showtimeRepository, times(1)).findById(1L);
+        verify(theaterCache, times(1)).getTheater(7L);
+        verify(seatRepository, times(1)).findByTheaterId(7L);
+    }
+
+    @Test
+    void invalidate_ReloadsOnNextResolve() {
+        // Arrange
+        Theater otherTheater = new Theater();
+        otherTheater.setId(8L);
+        otherTheater.setName("Other Cinema");
+        otherTheater.setNumberOfSeats(2);
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(theaterCache.getTheater(7L)).thenReturn(theater);
+        when(theaterCache.getTheater(8L)).thenReturn(otherTheater);
+        when(seatRepository.findByTheaterId(anyLong())).thenReturn(List.of());
+        showtimeResolutionCache.resolve(1L);
+
+        // Act - the showtime moves to another theater
+        showtime.setTheaterId(8L);
+        showtimeResolutionCache.invalidate(1L);
+        ShowtimeResolution resolution = showtimeResolutionCache.resolve(1L);
+
+        // Assert
+        assertEquals(8L, resolution.theaterId());
+        assertEquals(2, resolution.seatCount());
+        verify(showtimeRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void resolve_ShowtimeNotFound() {
+        // Arrange
+        when(showtimeRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> showtimeResolutionCache.resolve(999L));
+        assertEquals(0, showtimeResolutionCache.size());
+    }
+
+    @Test
+    void resolve_TheaterNotFound() {
+        // Arrange
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(theaterCache.getTheater(7L)).thenThrow(new ResourceNotFoundException("Theater not found with id: 7"));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> showtimeResolutionCache.resolve(1L));
+        verify(seatRepository, never()).findByTheaterId(anyLong());
+    }
+}
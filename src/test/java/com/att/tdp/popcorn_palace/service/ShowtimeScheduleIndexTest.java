@@ -0,0 +1,111 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.entity.Showtime;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ShowtimeScheduleIndexTest {
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @InjectMocks
+    private ShowtimeScheduleIndex showtimeScheduleIndex;
+
+    private LocalDateTime startTime;
+    private Showtime showtime;
+
+    @BeforeEach
+    void setUp() {
+        startTime = LocalDateTime.now().plusDays(1);
+        showtime = new Showtime(1L, 12.50, 1L, 1L, startTime, startTime.plusHours(2));
+    }
+
+    @Test
+    void overlaps_NoOverlap_LoadsTheaterOnce() {
+        // Arrange
+        when(showtimeRepository.findByTheaterId(1L)).thenReturn(List.of(showtime));
+
+        // Act
+        boolean before = showtimeScheduleIndex.overlaps(1L, startTime.minusHours(3), startTime.minusHours(1), null);
+        boolean after = showtimeScheduleIndex.overlaps(1L, startTime.plusHours(3), startTime.plusHours(5), null);
+
+        // Assert
+        assertFalse(before);
+        assertFalse(after);
+        verify(showtimeRepository, times(1)).findByTheaterId(1L);
+        verify(showtimeRepository, never()).findByTheaterAndTimeRange(anyLong(), any(), any());
+    }
+
+    @Test
+    void overlaps_HitConfirmedByDatabase() {
+        // Arrange
+        when(showtimeRepository.findByTheaterId(1L)).thenReturn(List.of(showtime));
+        when(showtimeRepository.findByTheaterAndTimeRange(1L, startTime.plusHours(1), startTime.plusHours(3)))
+                .thenReturn(List.of(showtime));
+
+        // Act & Assert
+        assertTrue(showtimeScheduleIndex.overlaps(1L, startTime.plusHours(1), startTime.plusHours(3), null));
+        assertFalse(showtimeScheduleIndex.overlaps(1L, startTime.plusHours(1), startTime.plusHours(3), 1L));
+    }
+
+    @Test
+    void overlaps_StaleHitIsDropped() {
+        // Arrange - the showtime was deleted without going through the index
+        when(showtimeRepository.findByTheaterId(1L)).thenReturn(List.of(showtime));
+        when(showtimeRepository.findByTheaterAndTimeRange(1L, startTime, startTime.plusHours(1)))
+                .thenReturn(List.of());
+
+        // Act
+        boolean first = showtimeScheduleIndex.overlaps(1L, startTime, startTime.plusHours(1), null);
+        boolean second = showtimeScheduleIndex.overlaps(1L, startTime, startTime.plusHours(1), null);
+
+        // Assert
+        assertFalse(first);
+        assertFalse(second);
+        verify(showtimeRepository, times(1)).findByTheaterAndTimeRange(1L, startTime, startTime.plusHours(1));
+    }
+
+    @Test
+    void tryAdd_RejectsOverlapAndIndexesTheRest() {
+        // Arrange
+        when(showtimeRepository.findByTheaterId(1L)).thenReturn(List.of());
+        Showtime overlapping = new Showtime(2L, 12.50, 1L, 1L, startTime.plusHours(1), startTime.plusHours(3));
+        when(showtimeRepository.findByTheaterAndTimeRange(1L, overlapping.getStartTime(), overlapping.getEndTime()))
+                .thenReturn(List.of(showtime, overlapping));
+
+        // Act & Assert
+        assertTrue(showtimeScheduleIndex.tryAdd(showtime));
+        assertFalse(showtimeScheduleIndex.tryAdd(overlapping));
+        // The rejected showtime was not indexed
+        assertFalse(showtimeScheduleIndex.overlaps(1L, startTime.plusHours(2).plusMinutes(1), startTime.plusHours(3), null));
+    }
+
+    @Test
+    void remove_FreesTheSlot() {
+        // Arrange
+        when(showtimeRepository.findByTheaterId(1L)).thenReturn(List.of(showtime));
+        showtimeScheduleIndex.overlaps(1L, startTime.minusHours(3), startTime.minusHours(1), null);
+
+        // Act
+        showtimeScheduleIndex.remove(1L, 1L, showtime.getStartTime(), showtime.getEndTime());
+
+        // Assert
+        assertFalse(showtimeScheduleIndex.overlaps(1L, startTime, startTime.plusHours(2), null));
+        verify(showtimeRepository, never()).findByTheaterAndTimeRange(anyLong(), any(), any());
+    }
+}
@@ -1,33 +1,42 @@
 package com.att.tdp.popcorn_palace.service;
 
-import com.att.tdp.popcorn_palace.dto.SeatDTO;
+import com.att.tdp.popcorn_palace.constants.ShowtimeConstants;
+import com.att.tdp.popcorn_palace.dto.ShowtimeAvailabilityDTO;
 import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
-import com.att.tdp.popcorn_palace.dto.TheaterDTO;
+import com.att.tdp.popcorn_palace.dto.ShowtimePageDTO;
+import com.att.tdp.popcorn_palace.entity.Movie;
 import com.att.tdp.popcorn_palace.entity.Showtime;
 import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
 import com.att.tdp.popcorn_palace.exception.ShowtimeOverlapException;
 import com.att.tdp.popcorn_palace.repository.BookingRepository;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeResolutionCache.ShowtimeResolution;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,21 +52,25 @@ public class ShowtimeServiceTest {
     private BookingRepository bookingRepository;
 
     @Mock
-    private TheaterService theaterService;
+    private TheaterCache theaterCache;
 
     @Mock
-    private SeatService seatService;
+    private ShowSeatService showSeatService;
 
     @Mock
-    private ShowSeatService showSeatService;
+    private SeatStateService seatStateService;
+
+    @Mock
+    private ShowtimeResolutionCache showtimeResolutionCache;
+
+    @Mock
+    private ShowtimeScheduleIndex showtimeScheduleIndex;
 
     @InjectMocks
     private ShowtimeService showtimeService;
 
     private Showtime showtime;
     private ShowtimeDTO showtimeDTO;
-    private TheaterDTO theaterDTO;
-    private List<SeatDTO> seatDTOs;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
 
@@ -67,14 +80,12 @@ public class ShowtimeServiceTest {
         startTime = LocalDateTime.now().plusDays(1);
         endTime = startTime.plusHours(2);
         
-        showtime = new Showtime(1L, 12.50, 1L, "Theater 1", startTime, endTime);
+        showtime = new Showtime(1L, 12.50, 1L, 1L, startTime, endTime);
         showtimeDTO = new ShowtimeDTO(null, 12.50, 1L, "Theater 1", startTime, endTime);
-        
-        theaterDTO = new TheaterDTO(1L, "Theater 1", 100);
-        
-        seatDTOs = IntStream.rangeClosed(1, 100)
-                .mapToObj(i -> new SeatDTO((long) i, 1L, i))
-                .collect(Collectors.toList());
+
+        // Showtimes store theater ids, DTOs carry theater names
+        lenient().when(theaterCache.getName(1L)).thenReturn("Theater 1");
+        lenient().when(theaterCache.getName(2L)).thenReturn("Theater 2");
     }
 
     @Test
@@ -92,6 +103,36 @@ public class ShowtimeServiceTest {
         assertEquals(startTime, result.getStartTime());
     }
 
+    @Test
+    void getAvailability_ReadsInMemorySeatState() {
+        // Arrange
+        when(showtimeResolutionCache.resolve(1L))
+                .thenReturn(new ShowtimeResolution(1L, 1L, LocalDateTime.now().plusDays(1), 100, new long[101]));
+        when(seatStateService.getRemainingSeats(1L, 100)).thenReturn(58);
+
+        // Act
+        ShowtimeAvailabilityDTO result = showtimeService.getAvailability(1L);
+
+        // Assert
+        assertEquals(1L, result.getShowtimeId());
+        assertEquals(100, result.getTotalSeats());
+        assertEquals(58, result.getRemainingSeats());
+    }
+
+    @Test
+    void getAvailability_EndedShowtime_NoSeatsLeft() {
+        // Arrange
+        when(showtimeResolutionCache.resolve(1L))
+                .thenReturn(new ShowtimeResolution(1L, 1L, LocalDateTime.now().minusDays(8), 100, new long[101]));
+
+        // Act
+        ShowtimeAvailabilityDTO result = showtimeService.getAvailability(1L);
+
+        // Assert - not read from a seat state re-seeded from purged show seats
+        assertEquals(0, result.getRemainingSeats());
+        verify(seatStateService, never()).getRemainingSeats(anyLong(), anyInt());
+    }
+
     @Test
     void getShowtimeById_NotFound() {
         // Arrange
@@ -105,8 +146,8 @@ public class ShowtimeServiceTest {
     void getAllShowtimes_Success() {
         // Arrange
         List<Showtime> showtimes = Arrays.asList(
-            new Showtime(1L, 12.50, 1L, "Theater 1", startTime, endTime),
-            new Showtime(2L, 15.00, 2L, "Theater 2", startTime.plusDays(1), endTime.plusDays(1))
+            new Showtime(1L, 12.50, 1L, 1L, startTime, endTime),
+            new Showtime(2L, 15.00, 2L, 2L, startTime.plusDays(1), endTime.plusDays(1))
         );
         
         when(showtimeRepository.findAll()).thenReturn(showtimes);
@@ -124,13 +165,12 @@ public class ShowtimeServiceTest {
     void addShowtime_Success() {
         // Arrange
         when(movieRepository.existsById(1L)).thenReturn(true);
-        when(showtimeRepository.findByTheaterAndTimeRange(anyString(), any(), any()))
-                .thenReturn(new ArrayList<>());
-        when(theaterService.getTheaterByName("Theater 1")).thenReturn(theaterDTO);
-        when(seatService.getSeatsByTheater(1L)).thenReturn(seatDTOs);
+        when(showtimeScheduleIndex.overlaps(1L, startTime, endTime, null)).thenReturn(false);
+        when(theaterCache.getId("Theater 1")).thenReturn(1L);
         
-        Showtime savedShowtime = new Showtime(1L, 12.50, 1L, "Theater 1", startTime, endTime);
+        Showtime savedShowtime = new Showtime(1L, 12.50, 1L, 1L, startTime, endTime);
         when(showtimeRepository.save(any(Showtime.class))).thenReturn(savedShowtime);
+        when(showtimeScheduleIndex.tryAdd(savedShowtime)).thenReturn(true);
         
         // Act
         ShowtimeDTO result = showtimeService.addShowtime(showtimeDTO);
@@ -141,7 +181,23 @@ public class ShowtimeServiceTest {
         assertEquals("Theater 1", result.getTheater());
         
         // Verify data flow - show seats are created
-        verify(showSeatService).createShowSeats(eq(1L), any());
+        verify(showSeatService).createShowSeats(1L, 1L);
+        verify(showtimeRepository, never()).findByTheaterAndTimeRange(anyLong(), any(), any());
+    }
+
+    @Test
+    void addShowtime_OverlapAddedConcurrently() {
+        // Arrange - the schedule was free when checked, but another request took the slot before this one was indexed
+        when(movieRepository.existsById(1L)).thenReturn(true);
+        when(showtimeScheduleIndex.overlaps(1L, startTime, endTime, null)).thenReturn(false);
+        when(theaterCache.getId("Theater 1")).thenReturn(1L);
+        Showtime savedShowtime = new Showtime(1L, 12.50, 1L, 1L, startTime, endTime);
+        when(showtimeRepository.save(any(Showtime.class))).thenReturn(savedShowtime);
+        when(showtimeScheduleIndex.tryAdd(savedShowtime)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ShowtimeOverlapException.class, () -> showtimeService.addShowtime(showtimeDTO));
+        verify(showSeatService, never()).createShowSeats(anyLong(), anyLong());
     }
 
     @Test
@@ -169,9 +225,7 @@ public class ShowtimeServiceTest {
     void addShowtime_TheaterNotFound() {
         // Arrange
         when(movieRepository.existsById(1L)).thenReturn(true);
-        when(showtimeRepository.findByTheaterAndTimeRange(anyString(), any(), any()))
-                .thenReturn(new ArrayList<>());
-        when(theaterService.getTheaterByName("Theater 1"))
+        when(theaterCache.getId("Theater 1"))
                 .thenThrow(new ResourceNotFoundException("Theater not found with name: Theater 1"));
 
         // Act & Assert
@@ -183,34 +237,109 @@ public class ShowtimeServiceTest {
     void addShowtime_Overlap() {
         // Arrange
         when(movieRepository.existsById(1L)).thenReturn(true);
-        
-        List<Showtime> overlappingShowtimes = Arrays.asList(
-            new Showtime(2L, 15.00, 2L, "Theater 1", startTime.minusHours(1), endTime.plusHours(1))
-        );
-        
-        when(showtimeRepository.findByTheaterAndTimeRange(eq("Theater 1"), any(), any()))
-                .thenReturn(overlappingShowtimes);
+        when(theaterCache.getId("Theater 1")).thenReturn(1L);
+        when(showtimeScheduleIndex.overlaps(1L, startTime, endTime, null)).thenReturn(true);
         
         // Act & Assert
         assertThrows(ShowtimeOverlapException.class, () -> showtimeService.addShowtime(showtimeDTO));
         verify(showtimeRepository, never()).save(any(Showtime.class));
     }
 
+    @Test
+    void addShowtimes_Success() {
+        // Arrange - two showtimes back to back in one theater and one in another
+        List<ShowtimeDTO> showtimeDtos = List.of(
+            new ShowtimeDTO(null, 12.50, 1L, "Theater 1", startTime.plusHours(3), endTime.plusHours(3)),
+            new ShowtimeDTO(null, 12.50, 1L, "Theater 1", startTime, endTime),
+            new ShowtimeDTO(null, 10.00, 2L, "Theater 2", startTime, endTime));
+        when(movieRepository.findAllById(anySet())).thenReturn(List.of(new Movie(1L, "Movie", "Drama", 120, 8.0, 2024), new Movie(2L, "Movie", "Drama", 120, 8.0, 2024)));
+        when(showtimeScheduleIndex.overlaps(anyLong(), any(), any(), isNull())).thenReturn(false);
+        doAnswer(invocation -> {
+            List<Showtime> showtimes = invocation.getArgument(0);
+            for (int i = 0; i < showtimes.size(); i++) {
+                showtimes.get(i).setId(10L + i);
+            }
+            return null;
+        }).when(showtimeRepository).insertAll(anyList());
+        when(showtimeScheduleIndex.tryAdd(any(Showtime.class))).thenReturn(true);
+        when(theaterCache.getIds(Set.of("Theater 1", "Theater 2"))).thenReturn(Map.of("Theater 1", 1L, "Theater 2", 2L));
+
+        // Act
+        List<ShowtimeDTO> result = showtimeService.addShowtimes(showtimeDtos);
+
+        // Assert
+        assertEquals(List.of(10L, 11L, 12L), result.stream().map(ShowtimeDTO::getId).toList());
+        assertEquals(startTime.plusHours(3), result.get(0).getStartTime());
+        verify(showSeatService).createShowSeats(Map.of(1L, List.of(10L, 11L), 2L, List.of(12L)));
+        verify(showtimeRepository, never()).save(any(Showtime.class));
+    }
+
+    @Test
+    void addShowtimes_OverlapWithinBatch() {
+        // Arrange
+        List<ShowtimeDTO> showtimeDtos = List.of(
+            new ShowtimeDTO(null, 12.50, 1L, "Theater 1", startTime, endTime),
+            new ShowtimeDTO(null, 12.50, 1L, "Theater 1", endTime, endTime.plusHours(2)));
+        when(movieRepository.findAllById(anySet())).thenReturn(List.of(new Movie(1L, "Movie", "Drama", 120, 8.0, 2024)));
+
+        // Act & Assert
+        assertThrows(ShowtimeOverlapException.class, () -> showtimeService.addShowtimes(showtimeDtos));
+        verify(showtimeRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void addShowtimes_OverlapWithExistingShowtime() {
+        // Arrange
+        List<ShowtimeDTO> showtimeDtos = List.of(showtimeDTO);
+        when(movieRepository.findAllById(anySet())).thenReturn(List.of(new Movie(1L, "Movie", "Drama", 120, 8.0, 2024)));
+        when(theaterCache.getIds(Set.of("Theater 1"))).thenReturn(Map.of("Theater 1", 1L));
+        when(showtimeScheduleIndex.overlaps(1L, startTime, endTime, null)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ShowtimeOverlapException.class, () -> showtimeService.addShowtimes(showtimeDtos));
+        verify(showtimeRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void addShowtimes_MovieNotFound() {
+        // Arrange
+        List<ShowtimeDTO> showtimeDtos = List.of(showtimeDTO);
+        when(movieRepository.findAllById(anySet())).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> showtimeService.addShowtimes(showtimeDtos));
+        verify(theaterCache, never()).getIds(any());
+    }
+
+    @Test
+    void addShowtimes_InvalidShowtime() {
+        // Arrange
+        List<ShowtimeDTO> showtimeDtos = List.of(showtimeDTO,
+            new ShowtimeDTO(null, -1.0, 1L, "Theater 1", startTime, endTime));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> showtimeService.addShowtimes(showtimeDtos));
+        assertTrue(exception.getMessage().startsWith("Showtime 1: "));
+        verifyNoInteractions(movieRepository);
+    }
+
     @Test
     void updateShowtime_Success() {
         // Arrange
         when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
         when(movieRepository.existsById(1L)).thenReturn(true);
-        when(showtimeRepository.findByTheaterAndTimeRange(anyString(), any(), any()))
-                .thenReturn(new ArrayList<>());
+        when(theaterCache.getId("Theater 1")).thenReturn(1L);
+        when(showtimeScheduleIndex.overlaps(1L, startTime.plusHours(1), endTime.plusHours(1), 1L)).thenReturn(false);
         
         ShowtimeDTO updatedDTO = new ShowtimeDTO(
             1L, 15.00, 1L, "Theater 1", startTime.plusHours(1), endTime.plusHours(1));
         
         Showtime updatedShowtime = new Showtime(
-            1L, 15.00, 1L, "Theater 1", startTime.plusHours(1), endTime.plusHours(1));
+            1L, 15.00, 1L, 1L, startTime.plusHours(1), endTime.plusHours(1));
         
         when(showtimeRepository.save(any(Showtime.class))).thenReturn(updatedShowtime);
+        when(showtimeScheduleIndex.tryAdd(updatedShowtime)).thenReturn(true);
         
         // Act
         ShowtimeDTO result = showtimeService.updateShowtime(1L, updatedDTO);
@@ -220,6 +349,8 @@ public class ShowtimeServiceTest {
         assertEquals(15.00, result.getPrice());
         assertEquals(startTime.plusHours(1), result.getStartTime());
         assertEquals(endTime.plusHours(1), result.getEndTime());
+        verify(showtimeResolutionCache).invalidate(1L);
+        verify(showtimeScheduleIndex).remove(1L, 1L, startTime, endTime);
     }
 
     @Test
@@ -254,7 +385,7 @@ public class ShowtimeServiceTest {
         ShowtimeDTO changedTheaterDTO = new ShowtimeDTO(
             1L, 12.50, 1L, "New Theater", startTime, endTime);
         
-        when(theaterService.getTheaterByName("New Theater"))
+        when(theaterCache.getId("New Theater"))
                 .thenThrow(new ResourceNotFoundException("Theater not found with name: New Theater"));
         
         // Act & Assert
@@ -268,24 +399,68 @@ public class ShowtimeServiceTest {
         // Arrange
         when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
         when(movieRepository.existsById(1L)).thenReturn(true);
-        
-        List<Showtime> overlappingShowtimes = Arrays.asList(
-            new Showtime(2L, 15.00, 2L, "Theater 1", startTime.minusHours(1), endTime.plusHours(1))
-        );
-        
-        when(showtimeRepository.findByTheaterAndTimeRange(eq("Theater 1"), any(), any()))
-                .thenReturn(overlappingShowtimes);
+        when(theaterCache.getId("Theater 1")).thenReturn(1L);
+        when(showtimeScheduleIndex.overlaps(1L, startTime, endTime, 1L)).thenReturn(true);
         
         // Act & Assert
         assertThrows(ShowtimeOverlapException.class, 
                      () -> showtimeService.updateShowtime(1L, showtimeDTO));
         verify(showtimeRepository, never()).save(any(Showtime.class));
+        verify(showtimeScheduleIndex, never()).remove(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void getShowtimes_CursorResumesAfterLastShowtime() {
+        // Arrange
+        Showtime second = new Showtime(2L, 15.00, 1L, 1L, startTime.plusHours(3), endTime.plusHours(3));
+        Showtime third = new Showtime(3L, 15.00, 1L, 1L, startTime.plusHours(6), endTime.plusHours(6));
+        when(theaterCache.getId("Theater 1")).thenReturn(1L);
+        when(showtimeRepository.findPage(1L, 1L, null, null, null, null, 3))
+                .thenReturn(List.of(showtime, second, third));
+        when(showtimeRepository.findPage(1L, 1L, null, null, second.getStartTime(), 2L, 3))
+                .thenReturn(List.of(third));
+
+        // Act
+        ShowtimePageDTO firstPage = showtimeService.getShowtimes(1L, "Theater 1", null, null, null, 2);
+        ShowtimePageDTO lastPage = showtimeService.getShowtimes(1L, "Theater 1", null, null, firstPage.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(2, firstPage.getShowtimes().size());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(List.of(3L), lastPage.getShowtimes().stream().map(ShowtimeDTO::getId).toList());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    void getShowtimes_DefaultPageSize() {
+        // Arrange
+        when(showtimeRepository.findPage(null, null, null, null, null, null, ShowtimeConstants.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(List.of(showtime));
+
+        // Act
+        ShowtimePageDTO page = showtimeService.getShowtimes(null, null, null, null, null, null);
+
+        // Assert
+        assertEquals(1, page.getShowtimes().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getShowtimes_InvalidRequest_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> showtimeService.getShowtimes(null, null, null, null, "not-a-cursor", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> showtimeService.getShowtimes(null, null, null, null, null, ShowtimeConstants.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> showtimeService.getShowtimes(null, null, endTime, startTime, null, null));
+        verify(showtimeRepository, never()).findPage(any(), any(), any(), any(), any(), any(), anyInt());
     }
 
     @Test
     void deleteShowtime_Success() {
         // Arrange
-        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
         doNothing().when(bookingRepository).deleteByShowtimeId(1L);
         doNothing().when(showSeatService).deleteShowSeatsByShowtime(1L);
         doNothing().when(showtimeRepository).deleteById(1L);
@@ -298,12 +473,37 @@ public class ShowtimeServiceTest {
         verify(bookingRepository).deleteByShowtimeId(1L);
         verify(showSeatService).deleteShowSeatsByShowtime(1L);
         verify(showtimeRepository).deleteById(1L);
+        verify(seatStateService).evict(1L);
+        verify(showtimeResolutionCache).invalidate(1L);
+        verify(showtimeScheduleIndex).remove(1L, 1L, startTime, endTime);
+    }
+
+    @Test
+    void deleteShowtime_InTransaction_DropsStateOnlyOnCommit() {
+        // Arrange
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            // Act
+            showtimeService.deleteShowtime(1L);
+            verify(seatStateService, never()).evict(anyLong());
+            verify(showtimeResolutionCache, never()).invalidate(anyLong());
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        verify(seatStateService).evict(1L);
+        verify(showtimeResolutionCache).invalidate(1L);
     }
 
     @Test
     void deleteShowtime_NotFound() {
         // Arrange
-        when(showtimeRepository.existsById(999L)).thenReturn(false);
+        when(showtimeRepository.findById(999L)).thenReturn(Optional.empty());
         
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> showtimeService.deleteShowtime(999L));
@@ -311,18 +511,152 @@ public class ShowtimeServiceTest {
         verify(showtimeRepository, never()).deleteById(anyLong());
     }
 
+    @Test
+    void deleteShowtimesByMovie_DeletesAllAtOnce() {
+        // Arrange
+        Showtime other = new Showtime(2L, 15.00, 1L, 2L, startTime, endTime);
+        when(showtimeRepository.findByMovieId(1L)).thenReturn(List.of(showtime, other));
+
+        // Act
+        List<Long> result = showtimeService.deleteShowtimesByMovie(1L);
+
+        // Assert - one statement for all showtimes, nothing deleted one by one
+        assertEquals(List.of(1L, 2L), result);
+        verify(showtimeRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(showtimeRepository, never()).deleteById(anyLong());
+        verify(seatStateService).evict(1L);
+        verify(seatStateService).evict(2L);
+        verify(showtimeResolutionCache).invalidate(2L);
+        verify(showtimeScheduleIndex).remove(2L, 2L, startTime, endTime);
+        verify(bookingRepository, never()).deleteByShowtimeIdIn(any());
+    }
+
+    @Test
+    void deleteShowtimesByMovie_InTransaction_DropsStateOnlyOnCommit() {
+        // Arrange
+        when(showtimeRepository.findByMovieId(1L)).thenReturn(List.of(showtime));
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            // Act
+            showtimeService.deleteShowtimesByMovie(1L);
+            verify(seatStateService, never()).evict(anyLong());
+            verify(showtimeResolutionCache, never()).invalidate(anyLong());
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        verify(seatStateService).evict(1L);
+        verify(showtimeResolutionCache).invalidate(1L);
+    }
+
+    @Test
+    void purgeOrphanedBookingsAndShowSeats_PurgesShowtimesThatNoLongerExist() {
+        // Arrange - showtime 3 has both bookings and show seats left
+        when(bookingRepository.findShowtimeIdsWithoutShowtime(PageRequest.of(0, ShowtimeConstants.DELETE_BATCH_SIZE)))
+                .thenReturn(List.of(5L, 3L));
+        when(showSeatService.findShowtimeIdsWithoutShowtime(ShowtimeConstants.DELETE_BATCH_SIZE)).thenReturn(List.of(3L, 4L));
+
+        // Act
+        int purged = showtimeService.purgeOrphanedBookingsAndShowSeats();
+
+        // Assert
+        assertEquals(3, purged);
+        verify(bookingRepository).deleteByShowtimeIdIn(List.of(3L, 4L, 5L));
+        verify(showSeatService).deleteShowSeatsByShowtimes(List.of(3L, 4L, 5L));
+    }
+
+    @Test
+    void purgeBookingsAndShowSeats_DeletesInBatches() {
+        // Arrange
+        List<Long> showtimeIds = new ArrayList<>();
+        for (long id = 1; id <= ShowtimeConstants.DELETE_BATCH_SIZE + 1; id++) {
+            showtimeIds.add(id);
+        }
+
+        // Act
+        showtimeService.purgeBookingsAndShowSeats(showtimeIds);
+
+        // Assert
+        verify(bookingRepository).deleteByShowtimeIdIn(showtimeIds.subList(0, ShowtimeConstants.DELETE_BATCH_SIZE));
+        verify(bookingRepository).deleteByShowtimeIdIn(List.of(ShowtimeConstants.DELETE_BATCH_SIZE + 1L));
+        verify(showSeatService, times(2)).deleteShowSeatsByShowtimes(any());
+        verify(bookingRepository, never()).deleteByShowtimeId(anyLong());
+    }
+
+    @Test
+    void deleteEndedShowtimes_DeletesBatchWithBookingsAndShowSeats() {
+        // Arrange
+        LocalDateTime endedBefore = LocalDateTime.now().minusDays(ShowtimeConstants.SHOWTIME_RETENTION_DAYS);
+        when(showtimeRepository.findByEndTimeBeforeOrderById(endedBefore, PageRequest.of(0, ShowtimeConstants.DELETE_BATCH_SIZE)))
+                .thenReturn(List.of(showtime));
+
+        // Act
+        int deleted = showtimeService.deleteEndedShowtimes(endedBefore);
+
+        // Assert
+        assertEquals(1, deleted);
+        verify(showtimeRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(bookingRepository).deleteByShowtimeIdIn(List.of(1L));
+        verify(showSeatService).deleteShowSeatsByShowtimes(List.of(1L));
+        verify(showtimeScheduleIndex).remove(1L, 1L, startTime, endTime);
+    }
+
+    @Test
+    void purgeShowSeatsOfEndedShowtimes_KeepsShowtimesAndBookings() {
+        // Arrange
+        LocalDateTime endedBefore = LocalDateTime.now().minusDays(ShowtimeConstants.SHOW_SEAT_RETENTION_DAYS);
+        LocalDateTime endedFrom = endedBefore.minusDays(1);
+        when(showtimeRepository.findIdsByEndTimeBetween(endedFrom, endedBefore, 5L, PageRequest.of(0, ShowtimeConstants.DELETE_BATCH_SIZE)))
+                .thenReturn(List.of(6L, 9L));
+
+        // Act
+        List<Long> result = showtimeService.purgeShowSeatsOfEndedShowtimes(endedFrom, endedBefore, 5L);
+
+        // Assert
+        assertEquals(List.of(6L, 9L), result);
+        verify(showSeatService).deleteShowSeatsByShowtimes(List.of(6L, 9L));
+        verify(seatStateService).evict(9L);
+        verify(showtimeResolutionCache).invalidate(9L);
+        verify(showtimeRepository, never()).deleteAllByIdInBatch(any());
+        verify(bookingRepository, never()).deleteByShowtimeIdIn(any());
+    }
+
+    @Test
+    void purgeShowSeatsOfEndedShowtimes_InTransaction_DropsStateOnlyOnCommit() {
+        // Arrange
+        LocalDateTime endedBefore = LocalDateTime.now().minusDays(ShowtimeConstants.SHOW_SEAT_RETENTION_DAYS);
+        LocalDateTime endedFrom = endedBefore.minusDays(1);
+        when(showtimeRepository.findIdsByEndTimeBetween(endedFrom, endedBefore, 0L, PageRequest.of(0, ShowtimeConstants.DELETE_BATCH_SIZE)))
+                .thenReturn(List.of(6L));
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            // Act
+            showtimeService.purgeShowSeatsOfEndedShowtimes(endedFrom, endedBefore, 0L);
+            verify(seatStateService, never()).evict(anyLong());
+            verify(showtimeResolutionCache, never()).invalidate(anyLong());
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        verify(seatStateService).evict(6L);
+        verify(showtimeResolutionCache).invalidate(6L);
+    }
+
     @Test
     void isShowtimeOverlapping_True() {
         // Arrange
-        List<Showtime> overlappingShowtimes = Arrays.asList(
-            new Showtime(2L, 15.00, 2L, "Theater 1", startTime.minusHours(1), endTime.plusHours(1))
-        );
-        
-        when(showtimeRepository.findByTheaterAndTimeRange(eq("Theater 1"), any(), any()))
-                .thenReturn(overlappingShowtimes);
+        when(showtimeScheduleIndex.overlaps(1L, startTime, endTime, null)).thenReturn(true);
         
         // Act
-        boolean result = showtimeService.isShowtimeOverlapping("Theater 1", startTime, endTime);
+        boolean result = showtimeService.isShowtimeOverlapping(1L, startTime, endTime);
         
         // Assert
         assertTrue(result);
@@ -331,11 +665,10 @@ public class ShowtimeServiceTest {
     @Test
     void isShowtimeOverlapping_False() {
         // Arrange
-        when(showtimeRepository.findByTheaterAndTimeRange(eq("Theater 1"), any(), any()))
-                .thenReturn(new ArrayList<>());
+        when(showtimeScheduleIndex.overlaps(1L, startTime, endTime, null)).thenReturn(false);
         
         // Act
-        boolean result = showtimeService.isShowtimeOverlapping("Theater 1", startTime, endTime);
+        boolean result = showtimeService.isShowtimeOverlapping(1L, startTime, endTime);
         
         // Assert
         assertFalse(result);
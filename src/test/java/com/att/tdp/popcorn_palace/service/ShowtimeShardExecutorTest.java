@@ -0,0 +1,149 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.exception.BookingQueueFullException;
+import com.att.tdp.popcorn_palace.exception.SeatAlreadyBookedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ShowtimeShardExecutorTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ShowtimeShardExecutor shardExecutor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (shardExecutor != null) {
+            shardExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void execute_DirectMode_RunsOnCallerThreadInReadCommittedTransaction() {
+        // Arrange
+        shardExecutor = new ShowtimeShardExecutor(transactionManager, "direct", 4, 8);
+
+        // Act
+        String threadName = shardExecutor.execute(1L, () -> Thread.currentThread().getName());
+
+        // Assert
+        assertEquals(ShowtimeShardExecutor.Mode.DIRECT, shardExecutor.getMode());
+        assertEquals(Thread.currentThread().getName(), threadName);
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getIsolationLevel() == TransactionDefinition.ISOLATION_READ_COMMITTED));
+    }
+
+    @Test
+    void execute_ShardedMode_RunsShowtimeTasksOneAtATime() throws Exception {
+        // Arrange
+        shardExecutor = new ShowtimeShardExecutor(transactionManager, "sharded", 4, 1_000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            results.add(callers.submit(() -> shardExecutor.execute(7L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.onSpinWait();
+                running.decrementAndGet();
+                return Thread.currentThread().getName();
+            })));
+        }
+
+        // Assert
+        String shardThread = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<String> result : results) {
+            assertEquals(shardThread, result.get(5, TimeUnit.SECONDS), "All tasks of a showtime should run on one shard");
+        }
+        assertTrue(shardThread.startsWith("booking-shard-"));
+        assertEquals(1, maxRunning.get(), "Tasks of one showtime should never run concurrently");
+        callers.shutdown();
+    }
+
+    @Test
+    void execute_ShardedMode_RethrowsTaskException() {
+        // Arrange
+        shardExecutor = new ShowtimeShardExecutor(transactionManager, "sharded", 2, 8);
+
+        // Act & Assert
+        SeatAlreadyBookedException exception = assertThrows(SeatAlreadyBookedException.class,
+                () -> shardExecutor.execute(1L, () -> {
+                    throw new SeatAlreadyBookedException("Seat 5 is already booked for this showtime.");
+                }));
+        assertEquals("Seat 5 is already booked for this showtime.", exception.getMessage());
+    }
+
+    @Test
+    void execute_ShardedMode_RejectsWhenQueueIsFull() throws Exception {
+        // Arrange - one shard with room for a single queued task
+        shardExecutor = new ShowtimeShardExecutor(transactionManager, "sharded", 1, 1);
+        CountDownLatch shardBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger();
+
+        Thread running = new Thread(() -> completed.addAndGet(shardExecutor.execute(1L, () -> {
+            shardBusy.countDown();
+            awaitQuietly(release);
+            return 1;
+        })));
+        running.start();
+        assertTrue(shardBusy.await(5, TimeUnit.SECONDS));
+
+        Thread queued = new Thread(() -> completed.addAndGet(shardExecutor.execute(2L, () -> 1)));
+        queued.start();
+        waitUntilWaiting(queued);
+
+        // Act & Assert
+        assertThrows(BookingQueueFullException.class, () -> shardExecutor.execute(3L, () -> 1));
+
+        release.countDown();
+        running.join(5_000);
+        queued.join(5_000);
+        assertEquals(2, completed.get());
+    }
+
+    @Test
+    void constructor_InvalidMode_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShowtimeShardExecutor(transactionManager, "actors", 4, 8));
+    }
+
+    private static void waitUntilWaiting(Thread caller) throws InterruptedException {
+        // The caller parks on the task's result once the task sits in the shard queue
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (caller.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "The queued caller never started waiting");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
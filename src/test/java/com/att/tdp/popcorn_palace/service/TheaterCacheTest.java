@@ -0,0 +1,167 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.entity.Theater;
+import com.att.tdp.popcorn_palace.exception.ResourceNotFoundException;
+import com.att.tdp.popcorn_palace.repository.TheaterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TheaterCacheTest {
+
+    @Mock
+    private TheaterRepository theaterRepository;
+
+    @InjectMocks
+    private TheaterCache theaterCache;
+
+    private Theater theater1;
+    private Theater theater2;
+
+    @BeforeEach
+    void setUp() {
+        theater1 = new Theater(1L, "Theater 1");
+        theater2 = new Theater(2L, "Theater 2", 150);
+    }
+
+    @Test
+    void getId_LoadsTheaterOnce() {
+        // Arrange
+        when(theaterRepository.findByName("Theater 1")).thenReturn(Optional.of(theater1));
+
+        // Act
+        Long first = theaterCache.getId("Theater 1");
+        Long second = theaterCache.getId("Theater 1");
+
+        // Assert - the name is known in both directions from then on
+        assertEquals(1L, first);
+        assertEquals(1L, second);
+        assertEquals("Theater 1", theaterCache.getName(1L));
+        verify(theaterRepository, times(1)).findByName("Theater 1");
+        verify(theaterRepository, never()).findById(1L);
+    }
+
+    @Test
+    void warmUp_ServesLookupsFromMemory() {
+        // Arrange
+        when(theaterRepository.findAll()).thenReturn(List.of(theater1, theater2));
+
+        // Act
+        theaterCache.warmUp();
+
+        // Assert
+        assertSame(theater2, theaterCache.getTheater("Theater 2"));
+        assertSame(theater1, theaterCache.getTheater(1L));
+        assertEquals(Map.of("Theater 1", 1L, "Theater 2", 2L), theaterCache.getIds(List.of("Theater 1", "Theater 2")));
+        verify(theaterRepository, never()).findByName(anyString());
+        verify(theaterRepository, never()).findById(anyLong());
+        verify(theaterRepository, never()).findByNameIn(any());
+    }
+
+    @Test
+    void put_InTransaction_CachedOnCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            // Act
+            theaterCache.put(theater1);
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertSame(theater1, theaterCache.getTheater("Theater 1"));
+        verifyNoInteractions(theaterRepository);
+    }
+
+    @Test
+    void put_RecreatedTheater_ReplacesOldId() {
+        // Arrange
+        theaterCache.put(theater1);
+        when(theaterRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act
+        theaterCache.put(new Theater(5L, "Theater 1"));
+
+        // Assert
+        assertEquals(5L, theaterCache.getId("Theater 1"));
+        assertThrows(ResourceNotFoundException.class, () -> theaterCache.getTheater(1L));
+    }
+
+    @Test
+    void getId_NotFound_IsNotRemembered() {
+        // Arrange
+        when(theaterRepository.findByName("New Theater")).thenReturn(Optional.empty(), Optional.of(new Theater(3L, "New Theater")));
+
+        // Act & Assert - the theater may be created later
+        assertThrows(ResourceNotFoundException.class, () -> theaterCache.getId("New Theater"));
+        assertEquals(3L, theaterCache.getId("New Theater"));
+    }
+
+    @Test
+    void getIds_LoadsOnlyUnknownTheaters() {
+        // Arrange
+        when(theaterRepository.findByName("Theater 1")).thenReturn(Optional.of(theater1));
+        when(theaterRepository.findByNameIn(List.of("Theater 2"))).thenReturn(List.of(theater2));
+        theaterCache.getId("Theater 1");
+
+        // Act
+        Map<String, Long> result = theaterCache.getIds(List.of("Theater 1", "Theater 2"));
+
+        // Assert
+        assertEquals(Map.of("Theater 1", 1L, "Theater 2", 2L), result);
+    }
+
+    @Test
+    void getIds_OneNotFound() {
+        // Arrange
+        when(theaterRepository.findByNameIn(List.of("Theater 1", "Missing Theater"))).thenReturn(List.of(theater1));
+
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> theaterCache.getIds(List.of("Theater 1", "Missing Theater")));
+        assertTrue(exception.getMessage().contains("Missing Theater"));
+    }
+
+    @Test
+    void getName_Success() {
+        // Arrange
+        when(theaterRepository.findById(2L)).thenReturn(Optional.of(theater2));
+
+        // Act
+        String first = theaterCache.getName(2L);
+        String second = theaterCache.getName(2L);
+
+        // Assert
+        assertEquals("Theater 2", first);
+        assertEquals("Theater 2", second);
+        verify(theaterRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    void getName_NotFound() {
+        // Arrange
+        when(theaterRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> theaterCache.getName(999L));
+    }
+}
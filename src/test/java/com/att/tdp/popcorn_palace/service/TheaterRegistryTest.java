@@ -0,0 +1,146 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.constants.TheaterConstants;
+import com.att.tdp.popcorn_palace.entity.Theater;
+import com.att.tdp.popcorn_palace.exception.ResourceAlreadyExistsException;
+import com.att.tdp.popcorn_palace.exception.TheaterLimitExceededException;
+import com.att.tdp.popcorn_palace.repository.TheaterRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TheaterRegistryTest {
+
+    @Mock
+    private TheaterRepository theaterRepository;
+
+    @InjectMocks
+    private TheaterRegistry theaterRegistry;
+
+    @Test
+    void register_LoadsNamesOnce() {
+        // Arrange
+        when(theaterRepository.findAllNames()).thenReturn(List.of("Theater B", "Theater A"));
+
+        // Act
+        theaterRegistry.register("Theater C");
+
+        // Assert
+        assertEquals(List.of("Theater A", "Theater B", "Theater C"), theaterRegistry.getTheaterNames());
+        verify(theaterRepository, times(1)).findAllNames();
+        verify(theaterRepository, never()).count();
+    }
+
+    @Test
+    void register_ExistingName_ThrowsException() {
+        // Arrange
+        when(theaterRepository.findAllNames()).thenReturn(List.of("Theater A"));
+        when(theaterRepository.findByName("Theater A")).thenReturn(Optional.of(new Theater(1L, "Theater A")));
+
+        // Act & Assert
+        assertThrows(ResourceAlreadyExistsException.class, () -> theaterRegistry.register("Theater A"));
+        assertEquals(List.of("Theater A"), theaterRegistry.getTheaterNames());
+    }
+
+    @Test
+    void register_NameOfRemovedTheater_IsReused() {
+        // Arrange - the theater was deleted without going through the registry
+        when(theaterRepository.findAllNames()).thenReturn(List.of("Theater A"));
+        when(theaterRepository.findByName("Theater A")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertDoesNotThrow(() -> theaterRegistry.register("Theater A"));
+        assertEquals(List.of("Theater A"), theaterRegistry.getTheaterNames());
+    }
+
+    @Test
+    void register_MaxLimit_ThrowsException() {
+        // Arrange
+        when(theaterRepository.findAllNames()).thenReturn(theaterNames(TheaterConstants.MAX_THEATERS));
+
+        // Act & Assert
+        TheaterLimitExceededException exception = assertThrows(TheaterLimitExceededException.class,
+                () -> theaterRegistry.register("New Theater"));
+        assertEquals(TheaterConstants.MAX_THEATERS, exception.getAvailableTheaters().size());
+        assertFalse(theaterRegistry.getTheaterNames().contains("New Theater"));
+    }
+
+    @Test
+    void register_RolledBack_ReleasesNameAndSlot() {
+        // Arrange
+        when(theaterRepository.findAllNames()).thenReturn(theaterNames(TheaterConstants.MAX_THEATERS - 1));
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            // Act - the last slot is taken while the transaction is open
+            theaterRegistry.register("New Theater");
+            assertThrows(ResourceAlreadyExistsException.class, () -> theaterRegistry.register("New Theater"));
+            assertThrows(TheaterLimitExceededException.class, () -> theaterRegistry.register("Other Theater"));
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert - the pending theater was never listed and its slot is free again
+        assertFalse(theaterRegistry.getTheaterNames().contains("New Theater"));
+        assertDoesNotThrow(() -> theaterRegistry.register("Other Theater"));
+    }
+
+    @Test
+    void register_Concurrently_NeverExceedsLimit() throws Exception {
+        // Arrange - ten slots left, fifty theaters added at once
+        when(theaterRepository.findAllNames()).thenReturn(theaterNames(TheaterConstants.MAX_THEATERS - 10));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String theaterName = "Concurrent Theater " + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    theaterRegistry.register(theaterName);
+                    return true;
+                } catch (TheaterLimitExceededException e) {
+                    return false;
+                }
+            }));
+        }
+
+        // Act
+        start.countDown();
+        int added = 0;
+        for (Future<Boolean> result : results) {
+            added += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(10, added);
+        assertEquals(TheaterConstants.MAX_THEATERS, theaterRegistry.getTheaterNames().size());
+    }
+
+    private static List<String> theaterNames(int count) {
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            names.add("Theater " + i);
+        }
+        return names;
+    }
+}
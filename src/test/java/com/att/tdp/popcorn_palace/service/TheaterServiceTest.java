@@ -18,7 +18,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +32,12 @@ public class TheaterServiceTest {
     @Mock
     private SeatService seatService;
 
+    @Mock
+    private TheaterRegistry theaterRegistry;
+
+    @Mock
+    private TheaterCache theaterCache;
+
     @InjectMocks
     private TheaterService theaterService;
 
@@ -54,7 +59,7 @@ public class TheaterServiceTest {
     @Test
     void getTheaterById_Success() {
         // Arrange
-        when(theaterRepository.findById(1L)).thenReturn(Optional.of(theater1));
+        when(theaterCache.getTheater(1L)).thenReturn(theater1);
         
         // Act
         TheaterDTO result = theaterService.getTheaterById(1L);
@@ -68,7 +73,7 @@ public class TheaterServiceTest {
     @Test
     void getTheaterById_NotFound() {
         // Arrange
-        when(theaterRepository.findById(999L)).thenReturn(Optional.empty());
+        when(theaterCache.getTheater(999L)).thenThrow(new ResourceNotFoundException("Theater not found with id: 999"));
         
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> theaterService.getTheaterById(999L));
@@ -92,14 +97,7 @@ public class TheaterServiceTest {
     void addTheater_Success() {
         // Arrange
         Theater newTheater = new Theater(3L, "New Theater");
-        when(theaterRepository.count()).thenReturn(2L); // Well below max theaters limit
-        when(theaterRepository.findByName("New Theater")).thenReturn(Optional.empty());
         when(theaterRepository.save(any(Theater.class))).thenReturn(newTheater);
-        when(seatService.addSeat(any(SeatDTO.class))).thenAnswer(invocation -> {
-            SeatDTO seat = invocation.getArgument(0);
-            seat.setId(seat.getNumber().longValue());
-            return seat;
-        });
 
         // Act
         TheaterDTO result = theaterService.addTheater(theaterDTO);
@@ -109,22 +107,18 @@ public class TheaterServiceTest {
         assertEquals("New Theater", result.getName());
         assertEquals(TheaterConstants.DEFAULT_SEATS, result.getNumberOfSeats());
         
-        // Verify data flow - seats are created
-        verify(seatService, times(TheaterConstants.DEFAULT_SEATS)).addSeat(any(SeatDTO.class));
+        // Verify data flow - the name is reserved and seats are created
+        verify(theaterRegistry).register("New Theater");
+        verify(theaterCache).put(newTheater);
+        verify(seatService).addSeats(3L, TheaterConstants.DEFAULT_SEATS);
+        verify(seatService, never()).addSeat(any(SeatDTO.class));
     }
 
     @Test
     void addTheater_WithCustomSeats_Success() {
         // Arrange
         Theater newTheater = new Theater(3L, "Custom Seats Theater", 200);
-        when(theaterRepository.count()).thenReturn(2L); 
-        when(theaterRepository.findByName("Custom Seats Theater")).thenReturn(Optional.empty());
         when(theaterRepository.save(any(Theater.class))).thenReturn(newTheater);
-        when(seatService.addSeat(any(SeatDTO.class))).thenAnswer(invocation -> {
-            SeatDTO seat = invocation.getArgument(0);
-            seat.setId(seat.getNumber().longValue());
-            return seat;
-        });
 
         // Act
         TheaterDTO result = theaterService.addTheater(theaterDTOWithCustomSeats);
@@ -135,27 +129,28 @@ public class TheaterServiceTest {
         assertEquals(200, result.getNumberOfSeats());
         
         // Verify data flow - custom number of seats are created
-        verify(seatService, times(200)).addSeat(any(SeatDTO.class));
+        verify(seatService).addSeats(3L, 200);
     }
 
     @Test
     void addTheater_AlreadyExists() {
         // Arrange
-        when(theaterRepository.count()).thenReturn(2L);
-        when(theaterRepository.findByName("Theater 1")).thenReturn(Optional.of(theater1));
+        doThrow(new ResourceAlreadyExistsException("Theater with name 'Theater 1' already exists."))
+                .when(theaterRegistry).register("Theater 1");
         
         TheaterDTO existingTheaterDTO = new TheaterDTO(null, "Theater 1", 100);
         
         // Act & Assert
         assertThrows(ResourceAlreadyExistsException.class, () -> theaterService.addTheater(existingTheaterDTO));
-        verify(seatService, never()).addSeat(any(SeatDTO.class));
+        verify(seatService, never()).addSeats(anyLong(), anyInt());
     }
 
     @Test
     void addTheater_MaxLimit() {
         // Arrange
-        when(theaterRepository.count()).thenReturn((long) TheaterConstants.MAX_THEATERS); // At max theaters limit
-        when(theaterRepository.findAll()).thenReturn(Collections.nCopies(TheaterConstants.MAX_THEATERS, theater1));
+        List<String> theaterNames = Collections.nCopies(TheaterConstants.MAX_THEATERS, "Theater 1");
+        doThrow(new TheaterLimitExceededException("Maximum number of theaters reached", theaterNames))
+                .when(theaterRegistry).register("New Theater");
 
         // Act & Assert
         TheaterLimitExceededException exception = assertThrows(TheaterLimitExceededException.class, 
@@ -163,7 +158,8 @@ public class TheaterServiceTest {
         
         assertEquals(TheaterConstants.MAX_THEATERS, exception.getAvailableTheaters().size());
         verify(theaterRepository, never()).save(any(Theater.class));
-        verify(seatService, never()).addSeat(any(SeatDTO.class));
+        verify(theaterRepository, never()).count();
+        verify(seatService, never()).addSeats(anyLong(), anyInt());
     }
 
     @Test
@@ -189,7 +185,7 @@ public class TheaterServiceTest {
     @Test
     void getTheaterByName_Success() {
         // Arrange
-        when(theaterRepository.findByName("Theater 1")).thenReturn(Optional.of(theater1));
+        when(theaterCache.getTheater("Theater 1")).thenReturn(theater1);
         
         // Act
         TheaterDTO result = theaterService.getTheaterByName("Theater 1");
@@ -203,7 +199,7 @@ public class TheaterServiceTest {
     @Test
     void getTheaterByName_NotFound() {
         // Arrange
-        when(theaterRepository.findByName("Non-existent")).thenReturn(Optional.empty());
+        when(theaterCache.getTheater("Non-existent")).thenThrow(new ResourceNotFoundException("Theater not found with name: Non-existent"));
         
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> theaterService.getTheaterByName("Non-existent"));
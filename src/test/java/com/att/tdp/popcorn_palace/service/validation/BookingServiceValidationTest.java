@@ -2,11 +2,9 @@ package com.att.tdp.popcorn_palace.service.validation;
 
 import com.att.tdp.popcorn_palace.dto.BookingDTO;
 import com.att.tdp.popcorn_palace.repository.BookingRepository;
-import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
-import com.att.tdp.popcorn_palace.repository.TheaterRepository;
 import com.att.tdp.popcorn_palace.service.BookingService;
-import com.att.tdp.popcorn_palace.service.SeatService;
 import com.att.tdp.popcorn_palace.service.ShowSeatService;
+import com.att.tdp.popcorn_palace.service.ShowtimeResolutionCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,13 +24,7 @@ public class BookingServiceValidationTest {
     private BookingRepository bookingRepository;
 
     @Mock
-    private ShowtimeRepository showtimeRepository;
-
-    @Mock
-    private TheaterRepository theaterRepository;
-
-    @Mock
-    private SeatService seatService;
+    private ShowtimeResolutionCache showtimeResolutionCache;
 
     @Mock
     private ShowSeatService showSeatService;
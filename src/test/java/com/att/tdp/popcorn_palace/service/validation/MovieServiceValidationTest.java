@@ -1,18 +1,27 @@
 package com.att.tdp.popcorn_palace.service.validation;
 
+import com.att.tdp.popcorn_palace.constants.MovieConstants;
 import com.att.tdp.popcorn_palace.dto.MovieDTO;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
-import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.MovieCatalogCache;
+import com.att.tdp.popcorn_palace.service.MovieImportReader;
+import com.att.tdp.popcorn_palace.service.MovieSearchIndex;
 import com.att.tdp.popcorn_palace.service.MovieService;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,18 +31,22 @@ public class MovieServiceValidationTest {
     private MovieRepository movieRepository;
 
     @Mock
-    private ShowtimeRepository showtimeRepository;
+    private ShowtimeService showtimeService;
 
     @Mock
-    private ShowtimeService showtimeService;
+    private MovieSearchIndex movieSearchIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
-    @InjectMocks
     private MovieService movieService;
 
     private MovieDTO validMovieDTO;
 
     @BeforeEach
     void setUp() {
+        movieService = new MovieService(movieRepository, showtimeService, new MovieCatalogCache(new ObjectMapper()), movieSearchIndex,
+                new ObjectMapper(), transactionManager, "inline");
         validMovieDTO = new MovieDTO(null, "Test Movie", "Action", 120, 8.5, 2022);
     }
 
@@ -126,4 +139,29 @@ public class MovieServiceValidationTest {
         assertThrows(IllegalArgumentException.class, () -> movieService.addMovie(movieDTO));
         verify(movieRepository, never()).save(any());
     }
+
+    @Test
+    void searchMovies_InvalidRequest_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> movieService.searchMovies(null, null));
+        assertThrows(IllegalArgumentException.class, () -> movieService.searchMovies("  ", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> movieService.searchMovies("a".repeat(MovieConstants.MAX_SEARCH_QUERY_LENGTH + 1), null));
+        assertThrows(IllegalArgumentException.class, () -> movieService.searchMovies("dark", 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> movieService.searchMovies("dark", MovieConstants.MAX_SEARCH_RESULTS + 1));
+        verifyNoInteractions(movieSearchIndex);
+    }
+
+    @Test
+    void importMovies_CsvWithoutHeader_ThrowsException() {
+        // Arrange
+        when(movieRepository.findAllTitles()).thenReturn(List.of());
+        String upload = "Interstellar,Sci-Fi,169,8.6,2014\n";
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> movieService.importMovies(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), MovieImportReader.Format.CSV));
+        verify(movieRepository, never()).insertAll(anyList());
+    }
 }
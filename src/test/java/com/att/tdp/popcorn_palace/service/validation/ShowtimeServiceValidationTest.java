@@ -4,10 +4,9 @@ import com.att.tdp.popcorn_palace.dto.ShowtimeDTO;
 import com.att.tdp.popcorn_palace.repository.BookingRepository;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
-import com.att.tdp.popcorn_palace.service.SeatService;
 import com.att.tdp.popcorn_palace.service.ShowSeatService;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
-import com.att.tdp.popcorn_palace.service.TheaterService;
+import com.att.tdp.popcorn_palace.service.TheaterCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,10 +32,7 @@ public class ShowtimeServiceValidationTest {
     private BookingRepository bookingRepository;
 
     @Mock
-    private TheaterService theaterService;
-
-    @Mock
-    private SeatService seatService;
+    private TheaterCache theaterCache;
 
     @Mock
     private ShowSeatService showSeatService;
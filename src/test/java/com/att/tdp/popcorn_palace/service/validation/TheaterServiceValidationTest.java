@@ -2,10 +2,11 @@ package com.att.tdp.popcorn_palace.service.validation;
 
 import com.att.tdp.popcorn_palace.constants.TheaterConstants;
 import com.att.tdp.popcorn_palace.dto.TheaterDTO;
-import com.att.tdp.popcorn_palace.entity.Theater;
+import com.att.tdp.popcorn_palace.exception.ResourceAlreadyExistsException;
 import com.att.tdp.popcorn_palace.exception.TheaterLimitExceededException;
 import com.att.tdp.popcorn_palace.repository.TheaterRepository;
 import com.att.tdp.popcorn_palace.service.SeatService;
+import com.att.tdp.popcorn_palace.service.TheaterRegistry;
 import com.att.tdp.popcorn_palace.service.TheaterService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,7 +16,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -29,6 +29,9 @@ public class TheaterServiceValidationTest {
     @Mock
     private SeatService seatService;
 
+    @Mock
+    private TheaterRegistry theaterRegistry;
+
     @InjectMocks
     private TheaterService theaterService;
 
@@ -99,10 +102,9 @@ public class TheaterServiceValidationTest {
     @Test
     void addTheater_ExceedsMaxTheaters_ThrowsException() {
         // Arrange
-        when(theaterRepository.count()).thenReturn((long) TheaterConstants.MAX_THEATERS);
-        when(theaterRepository.findAll()).thenReturn(
-            Collections.nCopies(TheaterConstants.MAX_THEATERS, new Theater())
-        );
+        doThrow(new TheaterLimitExceededException("Maximum number of theaters reached",
+            Collections.nCopies(TheaterConstants.MAX_THEATERS, "Theater")))
+            .when(theaterRegistry).register("Test Theater");
         
         // Act & Assert
         assertThrows(TheaterLimitExceededException.class, () -> theaterService.addTheater(validTheaterDTO));
@@ -112,8 +114,8 @@ public class TheaterServiceValidationTest {
     @Test
     void addTheater_AlreadyExists_ThrowsException() {
         // Arrange
-        when(theaterRepository.count()).thenReturn(5L); // Below limit
-        when(theaterRepository.findByName("Test Theater")).thenReturn(Optional.of(new Theater()));
+        doThrow(new ResourceAlreadyExistsException("Theater with name 'Test Theater' already exists."))
+            .when(theaterRegistry).register("Test Theater");
         
         // Act & Assert
         assertThrows(Exception.class, () -> theaterService.addTheater(validTheaterDTO));
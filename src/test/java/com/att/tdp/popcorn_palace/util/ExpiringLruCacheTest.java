@@ -0,0 +1,74 @@
+package com.att.tdp.popcorn_palace.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpiringLruCacheTest {
+
+    @Test
+    void get_ReturnsValueUntilItExpires() {
+        AtomicLong now = new AtomicLong(1_000);
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 500, now::get);
+        cache.put("a", 1);
+
+        now.set(1_499);
+        assertEquals(1, cache.get("a"));
+
+        now.set(1_500);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_WithExpiryTime_ExpiresThenAndNotAfterTheTimeToLive() {
+        AtomicLong now = new AtomicLong(1_000);
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 500, now::get);
+        cache.put("a", 1, 1_200);
+        cache.put("b", 2, 9_000);
+        cache.put("c", 3, 1_000);
+
+        now.set(1_199);
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("c"));
+
+        now.set(1_200);
+        assertNull(cache.get("a"));
+        assertEquals(2, cache.get("b"));
+
+        now.set(1_500);
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void put_EvictsLeastRecentlyUsedEntryWhenFull() {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(2, 60_000);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        cache.put("c", 3);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void remove_DropsEntry() {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(2, 60_000);
+        cache.put("a", 1);
+
+        cache.remove("a");
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void constructor_InvalidSize_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpiringLruCache<String, Integer>(0, 60_000));
+    }
+}
@@ -0,0 +1,79 @@
+package com.att.tdp.popcorn_palace.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MILLIS = 100;
+
+    @Test
+    void advance_ExpiresTimerOnItsTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, 3, 0);
+        wheel.schedule("hold", 1_000);
+
+        assertTrue(wheel.advance(900).isEmpty());
+        assertEquals(List.of("hold"), wheel.advance(1_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_CascadesTimersFromHigherLevels() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, 3, 0);
+        // Level 0 covers 64 ticks, level 1 covers 4,096 ticks, level 2 covers 262,144 ticks
+        long[] deadlines = {50 * TICK_MILLIS, 700 * TICK_MILLIS, 5_000 * TICK_MILLIS, 200_000 * TICK_MILLIS};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        for (long deadline : deadlines) {
+            assertTrue(wheel.advance(deadline - TICK_MILLIS).isEmpty(), "Timer " + deadline + " expired early");
+            assertEquals(List.of(deadline), wheel.advance(deadline));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ExpiresManyTimersInOneCall() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, 4, 0);
+        for (int i = 0; i < 100_000; i++) {
+            wheel.schedule(i, (i % 6_000) * TICK_MILLIS + 1);
+        }
+
+        Set<Integer> expired = new HashSet<>(wheel.advance(6_000 * TICK_MILLIS));
+
+        assertEquals(100_000, expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_PastDeadline_ExpiresOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, 2, 10_000);
+        wheel.schedule("late", 5_000);
+
+        assertEquals(List.of("late"), wheel.advance(10_000));
+    }
+
+    @Test
+    void cancel_SkipsTimer() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, 2, 0);
+        HierarchicalTimingWheel.Timer<String> cancelled = wheel.schedule("cancelled", 500);
+        wheel.schedule("kept", 500);
+
+        cancelled.cancel();
+
+        assertEquals(List.of("kept"), wheel.advance(500));
+    }
+
+    @Test
+    void schedule_BeyondRange_Throws() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, 1, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule("too far", 64 * TICK_MILLIS));
+    }
+}
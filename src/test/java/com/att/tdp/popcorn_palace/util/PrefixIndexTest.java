@@ -0,0 +1,60 @@
+package com.att.tdp.popcorn_palace.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefixIndexTest {
+
+    @Test
+    void search_MatchesWordPrefixesCaseInsensitively() {
+        PrefixIndex index = new PrefixIndex();
+        index.add(1L, "The Dark Knight", "Action");
+        index.add(2L, "Dark City", "Sci-Fi");
+        index.add(3L, "Inception", "Sci-Fi");
+
+        assertEquals(Set.of(1L, 2L), index.search("DAR"));
+        assertEquals(Set.of(1L), index.search("dark kn"));
+        assertEquals(Set.of(2L, 3L), index.search("sci"));
+        assertEquals(Set.of(2L), index.search("fi city"));
+        // Prefixes only - not the middle of a word
+        assertTrue(index.search("ark").isEmpty());
+        assertTrue(index.search("dark zz").isEmpty());
+        assertTrue(index.search(" - ").isEmpty());
+    }
+
+    @Test
+    void add_ReplacesPreviousWords() {
+        PrefixIndex index = new PrefixIndex();
+        index.add(1L, "Inception", "Sci-Fi");
+
+        index.add(1L, "Inception Updated", "Thriller");
+
+        assertEquals(Set.of(1L), index.search("thr"));
+        assertTrue(index.search("sci").isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void remove_DropsDocument() {
+        PrefixIndex index = new PrefixIndex();
+        index.add(1L, "Inception");
+        index.add(2L, "Interstellar");
+
+        index.remove(1L);
+        index.remove(99L);
+
+        assertEquals(Set.of(2L), index.search("in"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void tokenize_SplitsOnNonWordCharacters() {
+        assertEquals(List.of("spider", "man", "2"), PrefixIndex.tokenize("Spider-Man: 2"));
+        assertEquals(List.of("amélie"), PrefixIndex.tokenize("  Amélie "));
+        assertTrue(PrefixIndex.tokenize(null).isEmpty());
+    }
+}
@@ -0,0 +1,142 @@
+package com.att.tdp.popcorn_palace.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeatBitmapTest {
+
+    @Test
+    void claim_FreeSeat_ReturnsTrue() {
+        SeatBitmap seatBitmap = new SeatBitmap(100);
+
+        assertTrue(seatBitmap.claim(42));
+        assertTrue(seatBitmap.isClaimed(42));
+        assertFalse(seatBitmap.isClaimed(41));
+    }
+
+    @Test
+    void claim_TakenSeat_ReturnsFalse() {
+        SeatBitmap seatBitmap = new SeatBitmap(100);
+        seatBitmap.claim(64);
+
+        assertFalse(seatBitmap.claim(64));
+    }
+
+    @Test
+    void release_TakenSeat_FreesIt() {
+        SeatBitmap seatBitmap = new SeatBitmap(130);
+        seatBitmap.claim(130);
+
+        assertTrue(seatBitmap.release(130));
+        assertFalse(seatBitmap.isClaimed(130));
+        assertFalse(seatBitmap.release(130));
+    }
+
+    @Test
+    void claim_OutOfRange_Throws() {
+        SeatBitmap seatBitmap = new SeatBitmap(100);
+
+        assertThrows(IllegalArgumentException.class, () -> seatBitmap.claim(0));
+        assertThrows(IllegalArgumentException.class, () -> seatBitmap.claim(101));
+    }
+
+    @Test
+    void claim_Concurrent_OnlyOneWinner() throws InterruptedException {
+        SeatBitmap seatBitmap = new SeatBitmap(100);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                startLatch.await();
+                if (seatBitmap.claim(7)) {
+                    winners.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, winners.get());
+    }
+
+    @Test
+    void findBestFreeBlock_EmptyTheater_PicksCenter() {
+        SeatBitmap seatBitmap = new SeatBitmap(100);
+
+        // Center of seats 1..100 is 50.5 - four seats 49..52 are centered exactly
+        assertEquals(49, seatBitmap.findBestFreeBlock(4));
+        assertEquals(50, seatBitmap.findBestFreeBlock(1));
+    }
+
+    @Test
+    void findBestFreeBlock_CenterTaken_PicksClosestBlock() {
+        SeatBitmap seatBitmap = new SeatBitmap(100);
+        for (int seat = 45; seat <= 55; seat++) {
+            seatBitmap.claim(seat);
+        }
+        seatBitmap.claim(60);
+
+        // Free runs next to the center are 1..44 and 56..59 - 56..58 is closer to the center than 42..44
+        assertEquals(56, seatBitmap.findBestFreeBlock(3));
+        // Five seats do not fit into 56..59, 40..44 is closer than 61..65
+        assertEquals(40, seatBitmap.findBestFreeBlock(5));
+    }
+
+    @Test
+    void findBestFreeBlock_BlockAcrossWordBoundary() {
+        SeatBitmap seatBitmap = new SeatBitmap(130);
+        for (int seat = 1; seat <= 130; seat++) {
+            if (seat < 62 || seat > 67) {
+                seatBitmap.claim(seat);
+            }
+        }
+
+        assertEquals(62, seatBitmap.findBestFreeBlock(6));
+        assertEquals(-1, seatBitmap.findBestFreeBlock(7));
+    }
+
+    @Test
+    void findBestFreeBlock_LastSeatsOfTheater() {
+        SeatBitmap seatBitmap = new SeatBitmap(70);
+        for (int seat = 1; seat <= 67; seat++) {
+            seatBitmap.claim(seat);
+        }
+
+        assertEquals(68, seatBitmap.findBestFreeBlock(3));
+        assertEquals(-1, seatBitmap.findBestFreeBlock(4));
+    }
+
+    @Test
+    void findBestFreeBlock_InvalidCount_Throws() {
+        SeatBitmap seatBitmap = new SeatBitmap(10);
+
+        assertThrows(IllegalArgumentException.class, () -> seatBitmap.findBestFreeBlock(0));
+        assertThrows(IllegalArgumentException.class, () -> seatBitmap.findBestFreeBlock(11));
+    }
+
+    @Test
+    void getFreeSeats_FollowsClaimsAndReleases() {
+        SeatBitmap seatBitmap = new SeatBitmap(130);
+
+        seatBitmap.claim(1);
+        seatBitmap.claim(65);
+        seatBitmap.claim(65);
+        assertEquals(128, seatBitmap.getFreeSeats());
+
+        seatBitmap.release(65);
+        seatBitmap.release(65);
+        assertEquals(129, seatBitmap.getFreeSeats());
+    }
+}
@@ -0,0 +1,86 @@
+package com.att.tdp.popcorn_palace.util;
+
+import com.att.tdp.popcorn_palace.util.ShowtimeSchedule.Slot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShowtimeScheduleTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Test
+    void findOverlapping_MatchesRepositoryQuery() {
+        ShowtimeSchedule schedule = new ShowtimeSchedule();
+        schedule.add(1L, NOON, NOON.plusHours(2), true);
+
+        // Contained, containing, partially before and after, touching either end
+        assertEquals(1, schedule.findOverlapping(NOON.plusMinutes(30), NOON.plusHours(1), null).size());
+        assertEquals(1, schedule.findOverlapping(NOON.minusHours(1), NOON.plusHours(3), null).size());
+        assertEquals(1, schedule.findOverlapping(NOON.minusHours(1), NOON.plusMinutes(30), null).size());
+        assertEquals(1, schedule.findOverlapping(NOON.plusHours(1), NOON.plusHours(3), null).size());
+        assertEquals(1, schedule.findOverlapping(NOON.minusHours(1), NOON, null).size());
+        assertEquals(1, schedule.findOverlapping(NOON.plusHours(2), NOON.plusHours(3), null).size());
+
+        // Entirely before or after
+        assertTrue(schedule.findOverlapping(NOON.minusHours(3), NOON.minusMinutes(1), null).isEmpty());
+        assertTrue(schedule.findOverlapping(NOON.plusHours(2).plusMinutes(1), NOON.plusHours(4), null).isEmpty());
+    }
+
+    @Test
+    void findOverlapping_FindsLongShowtimeStartingEarlier() {
+        ShowtimeSchedule schedule = new ShowtimeSchedule();
+        schedule.add(1L, NOON.minusHours(10), NOON.plusHours(1), true);
+        schedule.add(2L, NOON.minusHours(5), NOON.minusHours(4), true);
+
+        List<Slot> overlapping = schedule.findOverlapping(NOON, NOON.plusMinutes(30), null);
+
+        assertEquals(1, overlapping.size());
+        assertEquals(1L, overlapping.get(0).getShowtimeId());
+    }
+
+    @Test
+    void findOverlapping_IgnoresExcludedShowtime() {
+        ShowtimeSchedule schedule = new ShowtimeSchedule();
+        schedule.add(1L, NOON, NOON.plusHours(2), true);
+
+        assertTrue(schedule.findOverlapping(NOON, NOON.plusHours(2), 1L).isEmpty());
+        assertEquals(1, schedule.findOverlapping(NOON, NOON.plusHours(2), 2L).size());
+    }
+
+    @Test
+    void add_SameStartTimeKeepsBoth() {
+        ShowtimeSchedule schedule = new ShowtimeSchedule();
+        schedule.add(1L, NOON, NOON.plusHours(1), true);
+        schedule.add(2L, NOON, NOON.plusHours(2), false);
+
+        assertEquals(2, schedule.size());
+        assertEquals(2, schedule.findOverlapping(NOON, NOON, null).size());
+    }
+
+    @Test
+    void findAndRemove_ExactSlot() {
+        ShowtimeSchedule schedule = new ShowtimeSchedule();
+        Slot slot = schedule.add(1L, NOON, NOON.plusHours(2), false);
+
+        assertNull(schedule.find(1L, NOON, NOON.plusHours(3)));
+        assertSame(slot, schedule.find(1L, NOON, NOON.plusHours(2)));
+        assertFalse(slot.isCommitted());
+        slot.commit();
+        assertTrue(slot.isCommitted());
+
+        assertTrue(schedule.remove(slot));
+        assertFalse(schedule.remove(slot));
+        assertTrue(schedule.findOverlapping(NOON, NOON.plusHours(2), null).isEmpty());
+    }
+
+    @Test
+    void add_EndBeforeStart_Throws() {
+        ShowtimeSchedule schedule = new ShowtimeSchedule();
+
+        assertThrows(IllegalArgumentException.class, () -> schedule.add(1L, NOON, NOON.minusMinutes(1), true));
+    }
+}